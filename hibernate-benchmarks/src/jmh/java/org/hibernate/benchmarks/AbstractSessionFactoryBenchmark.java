@@ -0,0 +1,120 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.benchmarks.model.Address;
+import org.hibernate.benchmarks.model.Customer;
+import org.hibernate.benchmarks.model.OrderLine;
+import org.hibernate.benchmarks.model.PurchaseOrder;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Common JMH state for benchmarks needing a {@link SessionFactory} built over the
+ * benchmark model, backed by an in-memory H2 database.
+ */
+@State( Scope.Benchmark )
+public abstract class AbstractSessionFactoryBenchmark {
+	private StandardServiceRegistry serviceRegistry;
+	private SessionFactoryImplementor sessionFactory;
+
+	@Setup( Level.Trial )
+	public void buildSessionFactory() {
+		final Map<String, Object> settings = new HashMap<>();
+		settings.put( AvailableSettings.DRIVER, "org.h2.Driver" );
+		settings.put( AvailableSettings.URL, "jdbc:h2:mem:" + getClass().getSimpleName() + ";DB_CLOSE_DELAY=-1" );
+		settings.put( AvailableSettings.USER, "sa" );
+		settings.put( AvailableSettings.PASS, "" );
+		settings.put( AvailableSettings.HBM2DDL_AUTO, "create-drop" );
+		settings.put( AvailableSettings.SHOW_SQL, "false" );
+		applySettings( settings );
+
+		serviceRegistry = new StandardServiceRegistryBuilder().applySettings( settings ).build();
+		sessionFactory = (SessionFactoryImplementor) new MetadataSources( serviceRegistry )
+				.addAnnotatedClass( Customer.class )
+				.addAnnotatedClass( Address.class )
+				.addAnnotatedClass( PurchaseOrder.class )
+				.addAnnotatedClass( OrderLine.class )
+				.buildMetadata()
+				.buildSessionFactory();
+
+		afterSessionFactoryBuilt();
+	}
+
+	@TearDown( Level.Trial )
+	public void releaseSessionFactory() {
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+		}
+		if ( serviceRegistry != null ) {
+			StandardServiceRegistryBuilder.destroy( serviceRegistry );
+		}
+	}
+
+	/**
+	 * Hook for subclasses to add or override configuration settings.
+	 *
+	 * @param settings The settings used to build the service registry
+	 */
+	protected void applySettings(Map<String, Object> settings) {
+	}
+
+	/**
+	 * Hook for subclasses to prepare data once the SessionFactory is available.
+	 */
+	protected void afterSessionFactoryBuilt() {
+	}
+
+	protected SessionFactoryImplementor sessionFactory() {
+		return sessionFactory;
+	}
+
+	/**
+	 * Persist the given number of customers, each with one address and one order of two lines.
+	 *
+	 * @param count The number of customers to create
+	 */
+	protected void createCustomers(int count) {
+		try ( Session session = sessionFactory.openSession() ) {
+			session.getTransaction().begin();
+			for ( int i = 0; i < count; i++ ) {
+				persistCustomerGraph( session, i );
+				if ( i % 50 == 0 ) {
+					session.flush();
+					session.clear();
+				}
+			}
+			session.getTransaction().commit();
+		}
+	}
+
+	protected static void persistCustomerGraph(Session session, int i) {
+		final Customer customer = new Customer( "customer-" + i, i );
+		session.persist( customer );
+		session.persist( new Address( customer, i + " Main Street", "Springfield", "0" + i ) );
+
+		final PurchaseOrder order = new PurchaseOrder( customer, "PO-" + i, BigDecimal.TEN );
+		session.persist( order );
+		session.persist( new OrderLine( order, "widget", 1, BigDecimal.ONE ) );
+		session.persist( new OrderLine( order, "gadget", 9, BigDecimal.ONE ) );
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.model.Customer;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the flush-time dirty checking performed by
+ * {@link org.hibernate.event.internal.DefaultFlushEntityEventListener} over a
+ * persistence context holding {@link #managedEntities} loaded entities, of which
+ * {@link #dirtyEntities} are modified before each flush.  A non-zero
+ * {@link #parallelDirtyCheckingThreshold} compares the entities to their snapshot
+ * in parallel.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class DirtyCheckBenchmark extends AbstractSessionFactoryBenchmark {
+	@Param( { "1000", "10000", "100000" } )
+	public int managedEntities;
+
+	@Param( { "0", "10" } )
+	public int dirtyEntities;
+
+	@Param( { "0", "1000" } )
+	public int parallelDirtyCheckingThreshold;
+
+	private Session session;
+	private List<Customer> customers;
+	private int counter;
+
+	@Override
+	protected void applySettings(Map<String, Object> settings) {
+		settings.put( AvailableSettings.PARALLEL_DIRTY_CHECKING_THRESHOLD, parallelDirtyCheckingThreshold );
+	}
+
+	@Override
+	protected void afterSessionFactoryBuilt() {
+		createCustomers( managedEntities );
+	}
+
+	@Setup( Level.Iteration )
+	public void openSession() {
+		session = sessionFactory().openSession();
+		session.getTransaction().begin();
+		customers = session.createQuery( "from Customer", Customer.class ).getResultList();
+	}
+
+	@TearDown( Level.Iteration )
+	public void closeSession() {
+		session.getTransaction().rollback();
+		session.close();
+	}
+
+	@Benchmark
+	public void flush() {
+		for ( int i = 0; i < dirtyEntities; i++ ) {
+			customers.get( ( counter + i ) % customers.size() ).setLoyaltyPoints( counter );
+		}
+		counter++;
+		session.flush();
+	}
+}
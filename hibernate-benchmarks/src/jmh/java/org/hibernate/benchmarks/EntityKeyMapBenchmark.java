@@ -0,0 +1,131 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.benchmarks.model.Customer;
+import org.hibernate.engine.internal.EntityKeyMap;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link EntityKeyMap} with the {@link HashMap} it replaces in
+ * {@link org.hibernate.engine.internal.StatefulPersistenceContext}: lookup cost, and the heap
+ * retained per entry.
+ * <p/>
+ * Run with {@code -prof gc} to also compare the allocation rate of the lookups.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class EntityKeyMapBenchmark extends AbstractSessionFactoryBenchmark {
+	@Param( { "hashmap", "entitykeymap" } )
+	public String map;
+
+	@Param( { "1000", "500000" } )
+	public int size;
+
+	private EntityPersister persister;
+	private Customer[] entities;
+	private Map<EntityKey,Object> entitiesByKey;
+
+	@Override
+	protected void afterSessionFactoryBuilt() {
+		persister = sessionFactory().getMetamodel().entityPersister( Customer.class );
+		entities = new Customer[size];
+		for ( int i = 0; i < size; i++ ) {
+			entities[i] = new Customer( "customer-" + i, i );
+		}
+		entitiesByKey = populate();
+	}
+
+	private Map<EntityKey,Object> populate() {
+		final Map<EntityKey,Object> result = "hashmap".equals( map ) ? new HashMap<>( 8 ) : new EntityKeyMap<>();
+		for ( int i = 0; i < size; i++ ) {
+			result.put( new EntityKey( (long) i, persister ), entities[i] );
+		}
+		return result;
+	}
+
+	/**
+	 * The path taken by loaders and event listeners today: a key is created per lookup.
+	 */
+	@Benchmark
+	public void lookupByNewKey(Blackhole blackhole) {
+		for ( int i = 0; i < size; i++ ) {
+			blackhole.consume( entitiesByKey.get( new EntityKey( (long) i, persister ) ) );
+		}
+	}
+
+	/**
+	 * Lookups by persister and numeric identifier, which {@link EntityKeyMap} serves without
+	 * creating a key.
+	 */
+	@Benchmark
+	public void lookupByIdentifier(Blackhole blackhole) {
+		if ( entitiesByKey instanceof EntityKeyMap ) {
+			final EntityKeyMap<Object> keyMap = (EntityKeyMap<Object>) entitiesByKey;
+			for ( int i = 0; i < size; i++ ) {
+				blackhole.consume( keyMap.get( persister, (long) i ) );
+			}
+		}
+		else {
+			lookupByNewKey( blackhole );
+		}
+	}
+
+	@Benchmark
+	public void iterateValues(Blackhole blackhole) {
+		for ( Object entity : entitiesByKey.values() ) {
+			blackhole.consume( entity );
+		}
+	}
+
+	/**
+	 * Measures the heap retained by a fully populated map, excluding the entities themselves,
+	 * reported as the {@code retainedBytesPerEntry} secondary result.  The timing of this benchmark
+	 * is dominated by forced garbage collections and is meaningless.
+	 */
+	@Benchmark
+	@BenchmarkMode( Mode.AverageTime )
+	public Map<EntityKey,Object> footprint(Footprint footprint) {
+		final long before = footprint.usedHeap();
+		final Map<EntityKey,Object> populated = populate();
+		final long after = footprint.usedHeap();
+		footprint.retainedBytesPerEntry = ( after - before ) / (double) size;
+		return populated;
+	}
+
+	@State( Scope.Thread )
+	@AuxCounters( AuxCounters.Type.EVENTS )
+	public static class Footprint {
+		private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+		public double retainedBytesPerEntry;
+
+		private long usedHeap() {
+			for ( int i = 0; i < 3; i++ ) {
+				System.gc();
+			}
+			return memory.getHeapMemoryUsage().getUsed();
+		}
+	}
+}
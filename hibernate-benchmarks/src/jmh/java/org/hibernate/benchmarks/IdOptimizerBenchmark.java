@@ -0,0 +1,95 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the throughput of the pooled {@link Optimizer} implementations under contention.
+ * The database structure is simulated in memory so that only the optimizer's own cost
+ * (and its locking) is measured.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class IdOptimizerBenchmark {
+	@Param( { "pooled", "pooled-lo", "pooled-lotl", "pooled-concurrent" } )
+	public String optimizerName;
+
+	@Param( { "50" } )
+	public int incrementSize;
+
+	private Optimizer optimizer;
+	private InMemorySequence sequence;
+
+	@Setup( Level.Iteration )
+	public void buildOptimizer() {
+		optimizer = OptimizerFactory.buildOptimizer( optimizerName, Long.class, incrementSize, 1 );
+		sequence = new InMemorySequence( incrementSize );
+	}
+
+	@Benchmark
+	@Threads( 1 )
+	public Serializable singleThread() {
+		return optimizer.generate( sequence );
+	}
+
+	@Benchmark
+	@Threads( 8 )
+	public Serializable eightThreads() {
+		return optimizer.generate( sequence );
+	}
+
+	@Benchmark
+	@Threads( Threads.MAX )
+	public Serializable allCores() {
+		return optimizer.generate( sequence );
+	}
+
+	/**
+	 * Behaves like a sequence defined with {@code start with 1 increment by <incrementSize>}.
+	 */
+	private static class InMemorySequence implements AccessCallback {
+		private final int incrementSize;
+		private long nextValue = 1;
+
+		private InMemorySequence(int incrementSize) {
+			this.incrementSize = incrementSize;
+		}
+
+		@Override
+		public synchronized IntegralDataTypeHolder getNextValue() {
+			final IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( Long.class );
+			value.initialize( nextValue );
+			nextValue += incrementSize;
+			return value;
+		}
+
+		@Override
+		public String getTenantIdentifier() {
+			return null;
+		}
+	}
+}
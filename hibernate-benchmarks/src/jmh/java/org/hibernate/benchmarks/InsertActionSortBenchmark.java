@@ -0,0 +1,63 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures {@link org.hibernate.engine.spi.ActionQueue#sortActions()} with
+ * {@value AvailableSettings#ORDER_INSERTS} enabled, over an insert queue that interleaves
+ * four related entity types (as happens when persisting object graphs one by one).
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class InsertActionSortBenchmark extends AbstractSessionFactoryBenchmark {
+	@Param( { "100", "2000" } )
+	public int graphs;
+
+	private Session session;
+
+	@Override
+	protected void applySettings(Map<String, Object> settings) {
+		settings.put( AvailableSettings.ORDER_INSERTS, "true" );
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "50" );
+	}
+
+	@Setup( Level.Invocation )
+	public void queueInserts() {
+		session = sessionFactory().openSession();
+		session.getTransaction().begin();
+		for ( int i = 0; i < graphs; i++ ) {
+			persistCustomerGraph( session, i );
+		}
+	}
+
+	@TearDown( Level.Invocation )
+	public void discardInserts() {
+		session.getTransaction().rollback();
+		session.close();
+	}
+
+	@Benchmark
+	public void sortInserts() {
+		( (SessionImplementor) session ).getActionQueue().sortActions();
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.model.Customer;
+import org.hibernate.cache.local.LocalRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the built-in {@code local} region factory with the JCache one (backed by Ehcache) on entity loads
+ * skewed towards a small set of customers, as most real workloads are, interleaved with loads of rarely used
+ * customers.  The local regions are bounded below the number of customers, so that they have to evict.
+ * {@code local-off-heap} keeps the entity regions outside of the heap, with compact entries, and is bounded to about
+ * the same number of entries.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class LocalRegionFactoryBenchmark extends AbstractSessionFactoryBenchmark {
+	private static final int CUSTOMERS = 2_000;
+
+	@Param( { "local", "local-off-heap", "jcache" } )
+	public String regionFactory;
+
+	private Long[] customerIds;
+
+	@Override
+	protected void applySettings(Map<String, Object> settings) {
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.JPA_SHARED_CACHE_MODE, "ALL" );
+		if ( "local".equals( regionFactory ) ) {
+			settings.put( AvailableSettings.CACHE_REGION_FACTORY, LocalRegionFactory.SHORT_NAME );
+			settings.put( LocalRegionFactory.MAX_WEIGHT, String.valueOf( CUSTOMERS / 4 ) );
+		}
+		else if ( "local-off-heap".equals( regionFactory ) ) {
+			settings.put( AvailableSettings.CACHE_REGION_FACTORY, LocalRegionFactory.SHORT_NAME );
+			settings.put( AvailableSettings.USE_COMPACT_CACHE, "true" );
+			// room for a quarter of the customers, in slots of 256 bytes
+			settings.put( LocalRegionFactory.OFF_HEAP_SIZE, String.valueOf( CUSTOMERS / 4 * 256 ) );
+		}
+		else {
+			settings.put( AvailableSettings.CACHE_REGION_FACTORY, "org.hibernate.cache.jcache.JCacheRegionFactory" );
+		}
+	}
+
+	@Override
+	protected void afterSessionFactoryBuilt() {
+		createCustomers( CUSTOMERS );
+		try ( Session session = sessionFactory().openSession() ) {
+			customerIds = session.createQuery( "select c.id from Customer c order by c.id", Long.class )
+					.list()
+					.toArray( new Long[0] );
+		}
+	}
+
+	@Benchmark
+	@Threads( 4 )
+	public Customer skewedLoads() {
+		try ( Session session = sessionFactory().openSession() ) {
+			Customer customer = null;
+			for ( int i = 0; i < 10; i++ ) {
+				customer = session.get( Customer.class, customerIds[skewedIndex()] );
+			}
+			// one rarely used customer per unit of work
+			session.get( Customer.class, customerIds[ThreadLocalRandom.current().nextInt( CUSTOMERS )] );
+			return customer;
+		}
+	}
+
+	/**
+	 * An index biased towards the first customers: a tenth of them get most of the loads.
+	 */
+	private static int skewedIndex() {
+		final double random = ThreadLocalRandom.current().nextDouble();
+		return (int) ( CUSTOMERS * random * random * random * random );
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.benchmarks.model.Customer;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures registering and looking up entities by {@link EntityKey} in
+ * {@link org.hibernate.engine.internal.StatefulPersistenceContext}.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class PersistenceContextBenchmark extends AbstractSessionFactoryBenchmark {
+	@Param( { "1000", "100000" } )
+	public int size;
+
+	private EntityPersister persister;
+	private SessionImplementor session;
+	private EntityKey[] keys;
+	private Customer[] entities;
+
+	@Setup( Level.Iteration )
+	public void openSession() {
+		session = (SessionImplementor) sessionFactory().openSession();
+		persister = sessionFactory().getMetamodel().entityPersister( Customer.class );
+		keys = new EntityKey[size];
+		entities = new Customer[size];
+		for ( int i = 0; i < size; i++ ) {
+			keys[i] = session.generateEntityKey( (long) i, persister );
+			entities[i] = new Customer( "customer-" + i, i );
+		}
+	}
+
+	@TearDown( Level.Iteration )
+	public void closeSession() {
+		session.close();
+	}
+
+	@Benchmark
+	public void addThenLookup(Blackhole blackhole) {
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		for ( int i = 0; i < size; i++ ) {
+			persistenceContext.addEntity( keys[i], entities[i] );
+		}
+		for ( int i = 0; i < size; i++ ) {
+			blackhole.consume( persistenceContext.getEntity( keys[i] ) );
+		}
+		persistenceContext.clear();
+	}
+
+	@Benchmark
+	public void lookupWithNewKeys(Blackhole blackhole) {
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		for ( int i = 0; i < size; i++ ) {
+			persistenceContext.addEntity( keys[i], entities[i] );
+		}
+		// the common path in loaders: a key instance is created per lookup
+		for ( int i = 0; i < size; i++ ) {
+			blackhole.consume( persistenceContext.getEntity( session.generateEntityKey( (long) i, persister ) ) );
+		}
+		persistenceContext.clear();
+	}
+
+	@Benchmark
+	public void lookupByIdentifier(Blackhole blackhole) {
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		for ( int i = 0; i < size; i++ ) {
+			persistenceContext.addEntity( keys[i], entities[i] );
+		}
+		// no key instance is needed when looking up by persister and identifier
+		for ( int i = 0; i < size; i++ ) {
+			blackhole.consume( persistenceContext.getEntity( persister, keys[i].getIdentifier() ) );
+		}
+		persistenceContext.clear();
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.model.Customer;
+import org.hibernate.cache.local.LocalRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures a query cache hit returning entities, with the query cache entries storing only the ids of the
+ * entities or also their state, while the entity region holds the entities or has evicted them.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class QueryCacheHitBenchmark extends AbstractSessionFactoryBenchmark {
+	private static final int CUSTOMERS = 200;
+
+	@Param( { "ids", "state" } )
+	public String entryFormat;
+
+	@Param( { "warm", "evicted" } )
+	public String entityRegion;
+
+	@Override
+	protected void applySettings(Map<String, Object> settings) {
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.USE_QUERY_CACHE, "true" );
+		settings.put( AvailableSettings.JPA_SHARED_CACHE_MODE, "ALL" );
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, LocalRegionFactory.SHORT_NAME );
+		settings.put( AvailableSettings.QUERY_CACHE_STORE_ENTITY_STATE, String.valueOf( "state".equals( entryFormat ) ) );
+		if ( "evicted".equals( entityRegion ) ) {
+			// a region keeping a single customer
+			settings.put( LocalRegionFactory.MAX_WEIGHT + '.' + Customer.class.getName(), "1" );
+		}
+	}
+
+	@Override
+	protected void afterSessionFactoryBuilt() {
+		createCustomers( CUSTOMERS );
+		queryCacheHit();
+	}
+
+	@Benchmark
+	@Threads( 4 )
+	public List<Customer> queryCacheHit() {
+		try ( Session session = sessionFactory().openSession() ) {
+			return session.createQuery( "from Customer c where c.loyaltyPoints < 50", Customer.class )
+					.setCacheable( true )
+					.list();
+		}
+	}
+}
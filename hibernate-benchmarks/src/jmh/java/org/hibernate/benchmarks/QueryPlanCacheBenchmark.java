@@ -0,0 +1,71 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures {@link QueryPlanCache#getHQLQueryPlan} for the cache-hit path (single
+ * and contended) and for the compile path, where each query string is new, against
+ * each of the built-in plan cache storages.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class QueryPlanCacheBenchmark extends AbstractSessionFactoryBenchmark {
+	private static final String HQL = "select c from Customer c where c.name = :name and c.loyaltyPoints > :points";
+
+	@Param( { "weighted", "lirs" } )
+	public String storage;
+
+	private QueryPlanCache queryPlanCache;
+	private long counter;
+
+	@Override
+	protected void applySettings(Map<String, Object> settings) {
+		settings.put( AvailableSettings.QUERY_PLAN_CACHE_STORAGE_FACTORY, storage );
+	}
+
+	@Override
+	protected void afterSessionFactoryBuilt() {
+		queryPlanCache = sessionFactory().getQueryPlanCache();
+		queryPlanCache.getHQLQueryPlan( HQL, false, Collections.emptyMap() );
+	}
+
+	@Benchmark
+	public HQLQueryPlan hit() {
+		return queryPlanCache.getHQLQueryPlan( HQL, false, Collections.emptyMap() );
+	}
+
+	@Benchmark
+	@Threads( 4 )
+	public HQLQueryPlan contendedHit() {
+		return queryPlanCache.getHQLQueryPlan( HQL, false, Collections.emptyMap() );
+	}
+
+	@Benchmark
+	public HQLQueryPlan miss() {
+		// a distinct literal forces a new plan (and, eventually, evictions)
+		return queryPlanCache.getHQLQueryPlan(
+				"select c from Customer c where c.loyaltyPoints > " + counter++,
+				false,
+				Collections.emptyMap()
+		);
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.model.Customer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Measures {@link org.hibernate.loader.Loader#doQuery} row processing: reading the
+ * {@link java.sql.ResultSet}, hydrating entity state and registering the entities
+ * with the persistence context.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class RowHydrationBenchmark extends AbstractSessionFactoryBenchmark {
+	@Param( { "100", "5000" } )
+	public int rows;
+
+	@Override
+	protected void afterSessionFactoryBuilt() {
+		createCustomers( rows );
+	}
+
+	@Benchmark
+	public List<Customer> loadEntities() {
+		try ( Session session = sessionFactory().openSession() ) {
+			return session.createQuery( "from Customer", Customer.class ).getResultList();
+		}
+	}
+
+	@Benchmark
+	public List<Customer> loadReadOnlyEntities() {
+		try ( Session session = sessionFactory().openSession() ) {
+			return session.createQuery( "from Customer", Customer.class ).setReadOnly( true ).getResultList();
+		}
+	}
+
+	@Benchmark
+	public List<Object[]> loadProjection() {
+		try ( Session session = sessionFactory().openSession() ) {
+			return session.createQuery( "select c.id, c.name, c.balance from Customer c", Object[].class )
+					.getResultList();
+		}
+	}
+}
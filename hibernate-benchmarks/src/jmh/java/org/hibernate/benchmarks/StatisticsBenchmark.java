@@ -0,0 +1,79 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.model.Customer;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.internal.HistogramStatisticsFactory;
+import org.hibernate.stat.internal.StatisticsInitiator;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the overhead of {@code hibernate.generate_statistics} on a short read-only unit of work,
+ * and the cost of the statistics callbacks themselves when many threads update the same counters.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class StatisticsBenchmark extends AbstractSessionFactoryBenchmark {
+	private static final int CUSTOMERS = 100;
+
+	@Param( { "off", "on", "histogram" } )
+	public String statistics;
+
+	private StatisticsImplementor statisticsImplementor;
+
+	@Override
+	protected void applySettings(Map<String, Object> settings) {
+		settings.put( AvailableSettings.GENERATE_STATISTICS, String.valueOf( !"off".equals( statistics ) ) );
+		if ( "histogram".equals( statistics ) ) {
+			settings.put( StatisticsInitiator.STATS_BUILDER, HistogramStatisticsFactory.class.getName() );
+		}
+	}
+
+	@Override
+	protected void afterSessionFactoryBuilt() {
+		createCustomers( CUSTOMERS );
+		statisticsImplementor = sessionFactory().getStatistics();
+	}
+
+	@Benchmark
+	@Threads( 4 )
+	public List<Customer> unitOfWork() {
+		try ( Session session = sessionFactory().openSession() ) {
+			for ( int i = 0; i < 10; i++ ) {
+				session.get( Customer.class, (long) ThreadLocalRandom.current().nextInt( 1, CUSTOMERS + 1 ) );
+			}
+			return session.createQuery( "from Customer c where c.loyaltyPoints < 10", Customer.class ).list();
+		}
+	}
+
+	/**
+	 * The callbacks made for each entity loaded and each query executed, without the work itself.
+	 */
+	@Benchmark
+	@Threads( 4 )
+	public void contendedCallbacks() {
+		if ( statisticsImplementor.isStatisticsEnabled() ) {
+			statisticsImplementor.loadEntity( Customer.class.getName() );
+			statisticsImplementor.entityLoadExecuted( Customer.class.getName(), 1_000, TimeUnit.NANOSECONDS );
+			statisticsImplementor.queryExecuted( "from Customer", 1, 10_000, TimeUnit.NANOSECONDS );
+		}
+	}
+}
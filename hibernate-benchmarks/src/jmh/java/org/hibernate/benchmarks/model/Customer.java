@@ -0,0 +1,109 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks.model;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+/**
+ * Root entity of the benchmark model; deliberately "wide" enough that
+ * dirty checking and hydration costs are visible.
+ */
+@Entity
+public class Customer {
+	@Id
+	@GeneratedValue
+	private Long id;
+
+	private String name;
+	private String email;
+	private String phone;
+	private int loyaltyPoints;
+	private boolean active;
+	private BigDecimal balance;
+
+	@Temporal( TemporalType.TIMESTAMP )
+	private Date createdOn;
+
+	public Customer() {
+	}
+
+	public Customer(String name, int loyaltyPoints) {
+		this.name = name;
+		this.email = name + "@example.com";
+		this.phone = "555-" + loyaltyPoints;
+		this.loyaltyPoints = loyaltyPoints;
+		this.active = true;
+		this.balance = BigDecimal.valueOf( loyaltyPoints, 2 );
+		this.createdOn = new Date();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public String getPhone() {
+		return phone;
+	}
+
+	public void setPhone(String phone) {
+		this.phone = phone;
+	}
+
+	public int getLoyaltyPoints() {
+		return loyaltyPoints;
+	}
+
+	public void setLoyaltyPoints(int loyaltyPoints) {
+		this.loyaltyPoints = loyaltyPoints;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+
+	public void setActive(boolean active) {
+		this.active = active;
+	}
+
+	public BigDecimal getBalance() {
+		return balance;
+	}
+
+	public void setBalance(BigDecimal balance) {
+		this.balance = balance;
+	}
+
+	public Date getCreatedOn() {
+		return createdOn;
+	}
+
+	public void setCreatedOn(Date createdOn) {
+		this.createdOn = createdOn;
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmarks.model;
+
+import java.math.BigDecimal;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+@Entity
+public class PurchaseOrder {
+	@Id
+	@GeneratedValue
+	private Long id;
+
+	private String reference;
+	private BigDecimal total;
+
+	@ManyToOne( fetch = FetchType.LAZY )
+	private Customer customer;
+
+	public PurchaseOrder() {
+	}
+
+	public PurchaseOrder(Customer customer, String reference, BigDecimal total) {
+		this.customer = customer;
+		this.reference = reference;
+		this.total = total;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getReference() {
+		return reference;
+	}
+
+	public void setReference(String reference) {
+		this.reference = reference;
+	}
+
+	public BigDecimal getTotal() {
+		return total;
+	}
+
+	public void setTotal(BigDecimal total) {
+		this.total = total;
+	}
+
+	public Customer getCustomer() {
+		return customer;
+	}
+
+	public void setCustomer(Customer customer) {
+		this.customer = customer;
+	}
+}
@@ -137,4 +137,14 @@ public class QueryHints {
 	 */
 	public static final String PASS_DISTINCT_THROUGH = "hibernate.query.passDistinctThrough";
 
+	/**
+	 * Should the entities returned by {@link org.hibernate.query.Query#stream()} be evicted from the session once the
+	 * stream advances past them, so that streaming a large result runs in constant memory?  Only the entities and
+	 * proxies first loaded by the stream are evicted, without cascading: those already managed by the session when
+	 * the stream is opened are kept, with their pending changes.
+	 *
+	 * @since 5.3
+	 */
+	public static final String STREAM_EVICTION = "org.hibernate.streamEviction";
+
 }
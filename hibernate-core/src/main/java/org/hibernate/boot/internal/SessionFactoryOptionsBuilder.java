@@ -61,6 +61,7 @@ import org.hibernate.tuple.entity.EntityTuplizerFactory;
 import org.jboss.logging.Logger;
 
 import static org.hibernate.cfg.AvailableSettings.ACQUIRE_CONNECTIONS;
+import static org.hibernate.cfg.AvailableSettings.ADAPTIVE_STATEMENT_FETCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.ALLOW_JTA_TRANSACTION_ACCESS;
 import static org.hibernate.cfg.AvailableSettings.ALLOW_REFRESH_DETACHED_ENTITY;
 import static org.hibernate.cfg.AvailableSettings.ALLOW_UPDATE_OUTSIDE_TRANSACTION;
@@ -80,10 +81,13 @@ import static org.hibernate.cfg.AvailableSettings.DEFAULT_BATCH_FETCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.DEFAULT_ENTITY_MODE;
 import static org.hibernate.cfg.AvailableSettings.ENABLE_LAZY_LOAD_NO_TRANS;
 import static org.hibernate.cfg.AvailableSettings.FAIL_ON_PAGINATION_OVER_COLLECTION_FETCH;
+import static org.hibernate.cfg.AvailableSettings.FINGERPRINT_DIRTY_CHECKING;
 import static org.hibernate.cfg.AvailableSettings.FLUSH_BEFORE_COMPLETION;
 import static org.hibernate.cfg.AvailableSettings.GENERATE_STATISTICS;
 import static org.hibernate.cfg.AvailableSettings.HQL_BULK_ID_STRATEGY;
+import static org.hibernate.cfg.AvailableSettings.INCREMENTAL_FLUSH;
 import static org.hibernate.cfg.AvailableSettings.INTERCEPTOR;
+import static org.hibernate.cfg.AvailableSettings.IN_CLAUSE_PARAMETER_PADDING;
 import static org.hibernate.cfg.AvailableSettings.JDBC_TIME_ZONE;
 import static org.hibernate.cfg.AvailableSettings.JDBC_TYLE_PARAMS_ZERO_BASE;
 import static org.hibernate.cfg.AvailableSettings.JTA_TRACK_BY_THREAD;
@@ -91,19 +95,25 @@ import static org.hibernate.cfg.AvailableSettings.LOG_SESSION_METRICS;
 import static org.hibernate.cfg.AvailableSettings.MAX_FETCH_DEPTH;
 import static org.hibernate.cfg.AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER;
 import static org.hibernate.cfg.AvailableSettings.ORDER_INSERTS;
+import static org.hibernate.cfg.AvailableSettings.ORDER_STATELESS_STATEMENTS;
 import static org.hibernate.cfg.AvailableSettings.ORDER_UPDATES;
+import static org.hibernate.cfg.AvailableSettings.PARALLEL_DIRTY_CHECKING_THRESHOLD;
+import static org.hibernate.cfg.AvailableSettings.PARTIAL_AUTO_FLUSH;
 import static org.hibernate.cfg.AvailableSettings.PREFER_USER_TRANSACTION;
 import static org.hibernate.cfg.AvailableSettings.PROCEDURE_NULL_PARAM_PASSING;
 import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_FACTORY;
 import static org.hibernate.cfg.AvailableSettings.QUERY_STARTUP_CHECKING;
 import static org.hibernate.cfg.AvailableSettings.QUERY_SUBSTITUTIONS;
+import static org.hibernate.cfg.AvailableSettings.READ_ONLY_LAZY_HYDRATION;
 import static org.hibernate.cfg.AvailableSettings.RELEASE_CONNECTIONS;
 import static org.hibernate.cfg.AvailableSettings.SESSION_FACTORY_NAME;
 import static org.hibernate.cfg.AvailableSettings.SESSION_FACTORY_NAME_IS_JNDI;
 import static org.hibernate.cfg.AvailableSettings.SESSION_SCOPED_INTERCEPTOR;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_BATCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_FETCH_SIZE;
+import static org.hibernate.cfg.AvailableSettings.STATEMENT_FETCH_SIZE_MEMORY_BUDGET;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_INSPECTOR;
+import static org.hibernate.cfg.AvailableSettings.USE_COMPACT_CACHE;
 import static org.hibernate.cfg.AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES;
 import static org.hibernate.cfg.AvailableSettings.USE_GET_GENERATED_KEYS;
 import static org.hibernate.cfg.AvailableSettings.USE_IDENTIFIER_ROLLBACK;
@@ -172,6 +182,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private EntityTuplizerFactory entityTuplizerFactory = new EntityTuplizerFactory();
 	private boolean checkNullability;
 	private boolean initializeLazyStateOutsideTransactions;
+	private boolean readOnlyLazyHydrationEnabled;
 	private MultiTableBulkIdStrategy multiTableBulkIdStrategy;
 	private TempTableDdlTransactionHandling tempTableDdlTransactionHandling;
 	private BatchFetchStyle batchFetchStyle;
@@ -180,6 +191,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private NullPrecedence defaultNullPrecedence;
 	private boolean orderUpdatesEnabled;
 	private boolean orderInsertsEnabled;
+	private boolean orderStatelessStatementsEnabled;
+	private boolean incrementalFlushEnabled;
+	private int parallelDirtyCheckingThreshold;
+	private boolean partialAutoFlushEnabled;
+	private boolean fingerprintDirtyCheckingEnabled;
 
 
 	// multi-tenancy
@@ -202,6 +218,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private boolean minimalPutsEnabled;
 	private boolean structuredCacheEntriesEnabled;
 	private boolean directReferenceCacheEntriesEnabled;
+	private boolean compactCacheEntriesEnabled;
 	private boolean autoEvictCollectionCache;
 
 	// Schema tooling
@@ -212,6 +229,8 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private int jdbcBatchSize;
 	private boolean jdbcBatchVersionedData;
 	private Integer jdbcFetchSize;
+	private boolean adaptiveJdbcFetchSizeEnabled;
+	private int jdbcFetchSizeMemoryBudget;
 	private boolean scrollableResultSetsEnabled;
 	private boolean commentsEnabled;
 	private PhysicalConnectionHandlingMode connectionHandlingMode;
@@ -226,6 +245,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private JpaComplianceImpl jpaCompliance;
 
 	private boolean failOnPaginationOverCollectionFetchEnabled;
+	private boolean inClauseParameterPaddingEnabled;
 
 	@SuppressWarnings({"WeakerAccess", "deprecation"})
 	public SessionFactoryOptionsBuilder(StandardServiceRegistry serviceRegistry) {
@@ -297,6 +317,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		this.defaultEntityMode = EntityMode.parse( (String) configurationSettings.get( DEFAULT_ENTITY_MODE ) );
 		this.checkNullability = cfgService.getSetting( CHECK_NULLABILITY, BOOLEAN, true );
 		this.initializeLazyStateOutsideTransactions = cfgService.getSetting( ENABLE_LAZY_LOAD_NO_TRANS, BOOLEAN, false );
+		this.readOnlyLazyHydrationEnabled = cfgService.getSetting( READ_ONLY_LAZY_HYDRATION, BOOLEAN, false );
 
 		this.multiTenancyStrategy = MultiTenancyStrategy.determineMultiTenancyStrategy( configurationSettings );
 		this.currentTenantIdentifierResolver = strategySelector.resolveStrategy(
@@ -319,6 +340,18 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		this.defaultNullPrecedence = NullPrecedence.parse( defaultNullPrecedence );
 		this.orderUpdatesEnabled = ConfigurationHelper.getBoolean( ORDER_UPDATES, configurationSettings );
 		this.orderInsertsEnabled = ConfigurationHelper.getBoolean( ORDER_INSERTS, configurationSettings );
+		this.orderStatelessStatementsEnabled = ConfigurationHelper.getBoolean( ORDER_STATELESS_STATEMENTS, configurationSettings );
+		this.incrementalFlushEnabled = ConfigurationHelper.getBoolean( INCREMENTAL_FLUSH, configurationSettings );
+		this.parallelDirtyCheckingThreshold = ConfigurationHelper.getInt(
+				PARALLEL_DIRTY_CHECKING_THRESHOLD,
+				configurationSettings,
+				0
+		);
+		this.partialAutoFlushEnabled = ConfigurationHelper.getBoolean( PARTIAL_AUTO_FLUSH, configurationSettings );
+		this.fingerprintDirtyCheckingEnabled = ConfigurationHelper.getBoolean(
+				FINGERPRINT_DIRTY_CHECKING,
+				configurationSettings
+		);
 
 		this.jtaTrackByThread = cfgService.getSetting( JTA_TRACK_BY_THREAD, BOOLEAN, true );
 
@@ -347,6 +380,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		);
 		this.structuredCacheEntriesEnabled = cfgService.getSetting( USE_STRUCTURED_CACHE, BOOLEAN, false );
 		this.directReferenceCacheEntriesEnabled = cfgService.getSetting( USE_DIRECT_REFERENCE_CACHE_ENTRIES,BOOLEAN, false );
+		this.compactCacheEntriesEnabled = cfgService.getSetting( USE_COMPACT_CACHE, BOOLEAN, false );
 		this.autoEvictCollectionCache = cfgService.getSetting( AUTO_EVICT_COLLECTION_CACHE, BOOLEAN, false );
 
 		try {
@@ -391,6 +425,12 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 				meta.supportsGetGeneratedKeys()
 		);
 		this.jdbcFetchSize = ConfigurationHelper.getInteger( STATEMENT_FETCH_SIZE, configurationSettings );
+		this.adaptiveJdbcFetchSizeEnabled = ConfigurationHelper.getBoolean( ADAPTIVE_STATEMENT_FETCH_SIZE, configurationSettings );
+		this.jdbcFetchSizeMemoryBudget = ConfigurationHelper.getInt(
+				STATEMENT_FETCH_SIZE_MEMORY_BUDGET,
+				configurationSettings,
+				1024 * 1024
+		);
 
 		this.connectionHandlingMode = interpretConnectionHandlingMode( configurationSettings, serviceRegistry );
 		this.connectionProviderDisablesAutoCommit = ConfigurationHelper.getBoolean(
@@ -455,6 +495,12 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 				configurationSettings,
 				false
 		);
+
+		this.inClauseParameterPaddingEnabled = ConfigurationHelper.getBoolean(
+				IN_CLAUSE_PARAMETER_PADDING,
+				configurationSettings,
+				false
+		);
 	}
 
 	@SuppressWarnings("deprecation")
@@ -713,6 +759,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return initializeLazyStateOutsideTransactions;
 	}
 
+	@Override
+	public boolean isReadOnlyLazyHydrationEnabled() {
+		return readOnlyLazyHydrationEnabled;
+	}
+
 	@Override
 	public MultiTableBulkIdStrategy getMultiTableBulkIdStrategy() {
 		return multiTableBulkIdStrategy;
@@ -753,6 +804,31 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return orderInsertsEnabled;
 	}
 
+	@Override
+	public boolean isOrderStatelessStatementsEnabled() {
+		return orderStatelessStatementsEnabled;
+	}
+
+	@Override
+	public boolean isIncrementalFlushEnabled() {
+		return incrementalFlushEnabled;
+	}
+
+	@Override
+	public int getParallelDirtyCheckingThreshold() {
+		return parallelDirtyCheckingThreshold;
+	}
+
+	@Override
+	public boolean isPartialAutoFlushEnabled() {
+		return partialAutoFlushEnabled;
+	}
+
+	@Override
+	public boolean isFingerprintDirtyCheckingEnabled() {
+		return fingerprintDirtyCheckingEnabled;
+	}
+
 	@Override
 	public MultiTenancyStrategy getMultiTenancyStrategy() {
 		return multiTenancyStrategy;
@@ -828,6 +904,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return directReferenceCacheEntriesEnabled;
 	}
 
+	@Override
+	public boolean isCompactCacheEntriesEnabled() {
+		return compactCacheEntriesEnabled;
+	}
+
 	@Override
 	public boolean isAutoEvictCollectionCache() {
 		return autoEvictCollectionCache;
@@ -868,6 +949,16 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return jdbcFetchSize;
 	}
 
+	@Override
+	public boolean isAdaptiveJdbcFetchSizeEnabled() {
+		return adaptiveJdbcFetchSizeEnabled;
+	}
+
+	@Override
+	public int getJdbcFetchSizeMemoryBudget() {
+		return jdbcFetchSizeMemoryBudget;
+	}
+
 	@Override
 	public PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode() {
 		return connectionHandlingMode;
@@ -943,6 +1034,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return this.failOnPaginationOverCollectionFetchEnabled;
 	}
 
+	@Override
+	public boolean isInClauseParameterPaddingEnabled() {
+		return this.inClauseParameterPaddingEnabled;
+	}
+
 	@Override
 	public JpaCompliance getJpaCompliance() {
 		return jpaCompliance;
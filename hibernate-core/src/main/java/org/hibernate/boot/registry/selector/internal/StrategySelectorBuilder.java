@@ -22,7 +22,9 @@ import org.hibernate.boot.registry.selector.spi.StrategySelectionException;
 import org.hibernate.boot.registry.selector.spi.StrategySelector;
 import org.hibernate.cache.internal.DefaultCacheKeysFactory;
 import org.hibernate.cache.internal.SimpleCacheKeysFactory;
+import org.hibernate.cache.local.LocalRegionFactory;
 import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.dialect.CUBRIDDialect;
 import org.hibernate.dialect.Cache71Dialect;
 import org.hibernate.dialect.DB2390Dialect;
@@ -70,6 +72,9 @@ import org.hibernate.dialect.SybaseASE15Dialect;
 import org.hibernate.dialect.SybaseAnywhereDialect;
 import org.hibernate.dialect.TeradataDialect;
 import org.hibernate.dialect.TimesTenDialect;
+import org.hibernate.engine.query.internal.LirsQueryPlanCacheStorageFactory;
+import org.hibernate.engine.query.internal.WeightedQueryPlanCacheStorageFactory;
+import org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory;
 import org.hibernate.engine.transaction.jta.platform.internal.BitronixJtaPlatform;
 import org.hibernate.engine.transaction.jta.platform.internal.BorlandEnterpriseServerJtaPlatform;
 import org.hibernate.engine.transaction.jta.platform.internal.JBossAppServerJtaPlatform;
@@ -167,6 +172,8 @@ public class StrategySelectorBuilder {
 		addEntityCopyObserverStrategies( strategySelector );
 		addImplicitNamingStrategies( strategySelector );
 		addCacheKeysFactories( strategySelector );
+		addCacheRegionFactories( strategySelector );
+		addQueryPlanCacheStorageFactories( strategySelector );
 
 		// apply auto-discovered registrations
 		for ( StrategyRegistrationProvider provider : classLoaderService.loadJavaServices( StrategyRegistrationProvider.class ) ) {
@@ -477,4 +484,25 @@ public class StrategySelectorBuilder {
 			SimpleCacheKeysFactory.class
 		);
 	}
+
+	private void addCacheRegionFactories(StrategySelectorImpl strategySelector) {
+		strategySelector.registerStrategyImplementor(
+				RegionFactory.class,
+				LocalRegionFactory.SHORT_NAME,
+				LocalRegionFactory.class
+		);
+	}
+
+	private void addQueryPlanCacheStorageFactories(StrategySelectorImpl strategySelector) {
+		strategySelector.registerStrategyImplementor(
+				QueryPlanCacheStorageFactory.class,
+				WeightedQueryPlanCacheStorageFactory.SHORT_NAME,
+				WeightedQueryPlanCacheStorageFactory.class
+		);
+		strategySelector.registerStrategyImplementor(
+				QueryPlanCacheStorageFactory.class,
+				LirsQueryPlanCacheStorageFactory.SHORT_NAME,
+				LirsQueryPlanCacheStorageFactory.class
+		);
+	}
 }
@@ -151,6 +151,11 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isInitializeLazyStateOutsideTransactionsEnabled();
 	}
 
+	@Override
+	public boolean isReadOnlyLazyHydrationEnabled() {
+		return delegate.isReadOnlyLazyHydrationEnabled();
+	}
+
 	@Override
 	public MultiTableBulkIdStrategy getMultiTableBulkIdStrategy() {
 		return delegate.getMultiTableBulkIdStrategy();
@@ -191,6 +196,31 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isOrderInsertsEnabled();
 	}
 
+	@Override
+	public boolean isOrderStatelessStatementsEnabled() {
+		return delegate.isOrderStatelessStatementsEnabled();
+	}
+
+	@Override
+	public boolean isIncrementalFlushEnabled() {
+		return delegate.isIncrementalFlushEnabled();
+	}
+
+	@Override
+	public int getParallelDirtyCheckingThreshold() {
+		return delegate.getParallelDirtyCheckingThreshold();
+	}
+
+	@Override
+	public boolean isPartialAutoFlushEnabled() {
+		return delegate.isPartialAutoFlushEnabled();
+	}
+
+	@Override
+	public boolean isFingerprintDirtyCheckingEnabled() {
+		return delegate.isFingerprintDirtyCheckingEnabled();
+	}
+
 	@Override
 	public MultiTenancyStrategy getMultiTenancyStrategy() {
 		return delegate.getMultiTenancyStrategy();
@@ -276,6 +306,11 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isDirectReferenceCacheEntriesEnabled();
 	}
 
+	@Override
+	public boolean isCompactCacheEntriesEnabled() {
+		return delegate.isCompactCacheEntriesEnabled();
+	}
+
 	@Override
 	public boolean isAutoEvictCollectionCache() {
 		return delegate.isAutoEvictCollectionCache();
@@ -316,6 +351,16 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.getJdbcFetchSize();
 	}
 
+	@Override
+	public boolean isAdaptiveJdbcFetchSizeEnabled() {
+		return delegate.isAdaptiveJdbcFetchSizeEnabled();
+	}
+
+	@Override
+	public int getJdbcFetchSizeMemoryBudget() {
+		return delegate.getJdbcFetchSizeMemoryBudget();
+	}
+
 	@Override
 	public PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode() {
 		return delegate.getPhysicalConnectionHandlingMode();
@@ -406,4 +451,9 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 	public boolean isFailOnPaginationOverCollectionFetchEnabled() {
 		return delegate.isFailOnPaginationOverCollectionFetchEnabled();
 	}
+
+	@Override
+	public boolean isInClauseParameterPaddingEnabled() {
+		return delegate.isInClauseParameterPaddingEnabled();
+	}
 }
@@ -141,6 +141,16 @@ public interface SessionFactoryOptions {
 
 	boolean isInitializeLazyStateOutsideTransactionsEnabled();
 
+	/**
+	 * Should the lazy associations of read-only entities enhanced for lazy loading be resolved on first access, rather
+	 * than when the entities are loaded?
+	 *
+	 * @return {@code true} if read-only entities are hydrated lazily
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#READ_ONLY_LAZY_HYDRATION
+	 */
+	boolean isReadOnlyLazyHydrationEnabled();
+
 	MultiTableBulkIdStrategy getMultiTableBulkIdStrategy();
 
 	TempTableDdlTransactionHandling getTempTableDdlTransactionHandling();
@@ -157,6 +167,52 @@ public interface SessionFactoryOptions {
 
 	boolean isOrderInsertsEnabled();
 
+	/**
+	 * Should the statements of a {@link org.hibernate.StatelessSession} be grouped per entity and operation
+	 * for more efficient JDBC batching?
+	 *
+	 * @return {@code true} if statements are grouped
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#ORDER_STATELESS_STATEMENTS
+	 */
+	boolean isOrderStatelessStatementsEnabled();
+
+	/**
+	 * Should flushes only visit the entities written to since the last flush?
+	 *
+	 * @return {@code true} if flushes are incremental
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#INCREMENTAL_FLUSH
+	 */
+	boolean isIncrementalFlushEnabled();
+
+	/**
+	 * The number of entities a flush has to dirty check from which it compares their state in parallel.
+	 *
+	 * @return The threshold, or {@code 0} if dirty checking is never parallel
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PARALLEL_DIRTY_CHECKING_THRESHOLD
+	 */
+	int getParallelDirtyCheckingThreshold();
+
+	/**
+	 * Should auto-flushes first only dirty check the entities which may write to the tables of the query?
+	 *
+	 * @return {@code true} if auto-flushes are limited to the tables of the query when possible
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PARTIAL_AUTO_FLUSH
+	 */
+	boolean isPartialAutoFlushEnabled();
+
+	/**
+	 * Should the managed entities keep a fingerprint of their loaded state rather than the state itself?
+	 *
+	 * @return {@code true} if the loaded state is fingerprinted when possible
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#FINGERPRINT_DIRTY_CHECKING
+	 */
+	boolean isFingerprintDirtyCheckingEnabled();
+
 	MultiTenancyStrategy getMultiTenancyStrategy();
 
 	CurrentTenantIdentifierResolver getCurrentTenantIdentifierResolver();
@@ -192,6 +248,15 @@ public interface SessionFactoryOptions {
 
 	boolean isDirectReferenceCacheEntriesEnabled();
 
+	/**
+	 * Should the state of entities be kept in their cache entries as compact binary data?
+	 *
+	 * @return {@code true} if compact cache entries are enabled
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#USE_COMPACT_CACHE
+	 */
+	boolean isCompactCacheEntriesEnabled();
+
 	boolean isAutoEvictCollectionCache();
 
 	SchemaAutoTooling getSchemaAutoTooling();
@@ -208,6 +273,25 @@ public interface SessionFactoryOptions {
 
 	Integer getJdbcFetchSize();
 
+	/**
+	 * Should the JDBC fetch size of queries adapt to the number of rows their previous executions read?
+	 *
+	 * @return {@code true} if the fetch size adapts
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#ADAPTIVE_STATEMENT_FETCH_SIZE
+	 */
+	boolean isAdaptiveJdbcFetchSizeEnabled();
+
+	/**
+	 * The number of bytes the rows fetched at once by a statement should take at most, when the JDBC fetch size
+	 * adapts.
+	 *
+	 * @return The memory budget of a statement
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#STATEMENT_FETCH_SIZE_MEMORY_BUDGET
+	 */
+	int getJdbcFetchSizeMemoryBudget();
+
 	PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode();
 
 	default boolean doesConnectionProviderDisableAutoCommit() {
@@ -262,4 +346,6 @@ public interface SessionFactoryOptions {
 	JpaCompliance getJpaCompliance();
 
 	boolean isFailOnPaginationOverCollectionFetchEnabled();
+
+	boolean isInClauseParameterPaddingEnabled();
 }
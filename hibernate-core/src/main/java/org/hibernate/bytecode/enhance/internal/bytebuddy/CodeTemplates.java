@@ -64,6 +64,24 @@ class CodeTemplates {
 		}
 	}
 
+	static class TrackChangeNotifyingInterceptor {
+		@Advice.OnMethodEnter
+		static void $$_hibernate_trackChange(
+				@Advice.This Object self,
+				@Advice.Argument(0) String name,
+				@Advice.FieldValue(value = EnhancerConstants.TRACKER_FIELD_NAME, readOnly = false) DirtyTracker $$_hibernate_tracker,
+				@Advice.FieldValue(EnhancerConstants.INTERCEPTOR_FIELD_NAME) Object $$_hibernate_attributeInterceptor) {
+			if ( $$_hibernate_tracker == null ) {
+				$$_hibernate_tracker = new SimpleFieldTracker();
+			}
+			$$_hibernate_tracker.add( name );
+			// the attribute interceptor learns of every change, even to the attributes whose writes it does not intercept
+			if ( $$_hibernate_attributeInterceptor instanceof LazyAttributeLoadingInterceptor ) {
+				( (LazyAttributeLoadingInterceptor) $$_hibernate_attributeInterceptor ).attributeChanged( self );
+			}
+		}
+	}
+
 	static class GetDirtyAttributes {
 		@Advice.OnMethodExit
 		static void $$_hibernate_getDirtyAttributes(
@@ -135,18 +135,32 @@ public class EntityEnhancer extends PersistentAttributesEnhancer {
 		}
 	}
 
+	private void addTrackChangeMethod(CtClass managedCtClass) throws CannotCompileException {
+		// the attribute interceptor learns of every change, even to the attributes whose writes it does not intercept
+		final String interceptorNotification = enhancementContext.hasLazyLoadableAttributes( managedCtClass )
+				? String.format(
+						"  if (%1$s instanceof %2$s) { ((%2$s) %1$s).attributeChanged(this); }%n",
+						EnhancerConstants.INTERCEPTOR_FIELD_NAME,
+						LazyAttributeLoadingInterceptor.class.getName()
+				)
+				: "";
+		MethodWriter.write(
+				managedCtClass,
+				"public void %1$s(String name) {%n" +
+						"  if (%2$s == null) { %2$s = new %3$s(); }%n" +
+						"  %2$s.add(name);%n" +
+						"%4$s" +
+						"}",
+				EnhancerConstants.TRACKER_CHANGER_NAME,
+				EnhancerConstants.TRACKER_FIELD_NAME,
+				DIRTY_TRACKER_IMPL,
+				interceptorNotification
+		);
+	}
+
 	private void createDirtyTrackerMethodsWithoutCollections(CtClass managedCtClass) {
 		try {
-			MethodWriter.write(
-					managedCtClass,
-					"public void %1$s(String name) {%n" +
-							"  if (%2$s == null) { %2$s = new %3$s(); }%n" +
-							"  %2$s.add(name);%n" +
-							"}",
-					EnhancerConstants.TRACKER_CHANGER_NAME,
-					EnhancerConstants.TRACKER_FIELD_NAME,
-					DIRTY_TRACKER_IMPL
-			);
+			addTrackChangeMethod( managedCtClass );
 
 			MethodWriter.write(
 					managedCtClass,
@@ -200,16 +214,7 @@ public class EntityEnhancer extends PersistentAttributesEnhancer {
 
 	private void createDirtyTrackerMethodsWithCollections(CtClass managedCtClass) {
 		try {
-			MethodWriter.write(
-					managedCtClass,
-							"public void %1$s(String name) {%n" +
-							"  if (%2$s == null) { %2$s = new %3$s(); }%n" +
-							"  %2$s.add(name);%n" +
-							"}",
-					EnhancerConstants.TRACKER_CHANGER_NAME,
-					EnhancerConstants.TRACKER_FIELD_NAME,
-					DIRTY_TRACKER_IMPL
-			);
+			addTrackChangeMethod( managedCtClass );
 
 			createCollectionDirtyCheckMethod( managedCtClass );
 			createCollectionDirtyCheckGetFieldsMethod( managedCtClass );
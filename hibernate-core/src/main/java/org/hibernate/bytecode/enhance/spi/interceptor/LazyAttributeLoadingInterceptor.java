@@ -8,9 +8,11 @@
 package org.hibernate.bytecode.enhance.spi.interceptor;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.hibernate.LockMode;
@@ -19,11 +21,14 @@ import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
 import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer.InterceptorImplementor;
 import org.hibernate.bytecode.enhance.spi.interceptor.Helper.Consumer;
 import org.hibernate.bytecode.enhance.spi.interceptor.Helper.LazyInitializationWork;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.PersistentAttributeInterceptor;
 import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.EntityType;
 
 import org.jboss.logging.Logger;
 
@@ -41,6 +46,7 @@ public class LazyAttributeLoadingInterceptor
 	private final Set<String> lazyFields;
 
 	private Set<String> initializedLazyFields;
+	private Map<String, Object> deferredValues;
 
 	private transient SharedSessionContractImplementor session;
 	private boolean allowLoadOutsideTransaction;
@@ -57,6 +63,9 @@ public class LazyAttributeLoadingInterceptor
 	}
 
 	protected final Object intercept(Object target, String attributeName, Object value) {
+		if ( deferredValues != null && deferredValues.containsKey( attributeName ) ) {
+			return resolveDeferredAttribute( target, attributeName, false );
+		}
 		if ( !isAttributeLoaded( attributeName ) ) {
 			Object loadedValue = fetchAttribute( target, attributeName );
 			attributeInitialized( attributeName );
@@ -125,6 +134,103 @@ public class LazyAttributeLoadingInterceptor
 		);
 	}
 
+	/**
+	 * Defers the resolution of some attributes of a read-only entity until they are accessed.
+	 *
+	 * @param hydratedValues The hydrated values of the attributes, by attribute name
+	 */
+	public void deferResolution(Map<String, Object> hydratedValues) {
+		this.deferredValues = hydratedValues.isEmpty() ? null : hydratedValues;
+	}
+
+	public boolean hasDeferredAttributes() {
+		return deferredValues != null;
+	}
+
+	/**
+	 * Resolves all the deferred attributes, before the state of the entity is read.
+	 */
+	public void resolveDeferredAttributes(Object target) {
+		while ( deferredValues != null ) {
+			resolveDeferredAttribute( target, deferredValues.keySet().iterator().next(), true );
+		}
+	}
+
+	private Object resolveDeferredAttribute(final Object target, final String attributeName, final boolean set) {
+		final Object hydratedValue = deferredValues.get( attributeName );
+		final Object value = new Helper( this ).performWork(
+				new LazyInitializationWork<Object>() {
+					@Override
+					public Object doWork(SharedSessionContractImplementor session, boolean isTemporarySession) {
+						final EntityPersister persister = session.getFactory().getMetamodel().entityPersister( getEntityName() );
+						final Object resolvedValue = persister.getPropertyType( attributeName ).resolve( hydratedValue, session, target );
+						if ( set ) {
+							persister.setPropertyValue(
+									target,
+									persister.getEntityMetamodel().getPropertyIndex( attributeName ),
+									resolvedValue
+							);
+						}
+						return resolvedValue;
+					}
+
+					@Override
+					public String getEntityName() {
+						return entityName;
+					}
+
+					@Override
+					public String getAttributeName() {
+						return attributeName;
+					}
+				}
+		);
+		removeDeferredValue( attributeName );
+		return value;
+	}
+
+	/**
+	 * Sets the deferred attributes to the associated entities already in the persistence context, or to detached
+	 * proxies of them, without loading anything: used when the entity gets detached from its session.  The
+	 * associations which cannot be proxied, or may be loaded outside of the session, remain deferred as lazy
+	 * attributes.
+	 *
+	 * @param target The entity
+	 * @param persistenceContext The persistence context the entity is being detached from
+	 */
+	public void proxyDeferredAttributes(Object target, PersistenceContext persistenceContext) {
+		if ( deferredValues == null || session == null ) {
+			return;
+		}
+		final EntityPersister persister = session.getFactory().getMetamodel().entityPersister( entityName );
+		for ( Map.Entry<String, Object> entry : new ArrayList<>( deferredValues.entrySet() ) ) {
+			final EntityType type = (EntityType) persister.getPropertyType( entry.getKey() );
+			final EntityPersister associatedPersister = session.getFactory().getMetamodel().entityPersister(
+					type.getAssociatedEntityName()
+			);
+			final EntityKey key = new EntityKey( (Serializable) entry.getValue(), associatedPersister );
+			Object value = persistenceContext.getProxy( key );
+			if ( value == null ) {
+				value = persistenceContext.getEntity( key );
+			}
+			if ( value == null && associatedPersister.hasProxy() && !allowLoadOutsideTransaction ) {
+				value = associatedPersister.createProxy( key.getIdentifier(), null );
+			}
+			if ( value != null ) {
+				persister.setPropertyValue( target, persister.getEntityMetamodel().getPropertyIndex( entry.getKey() ), value );
+			}
+		}
+	}
+
+	private void removeDeferredValue(String attributeName) {
+		if ( deferredValues != null ) {
+			deferredValues.remove( attributeName );
+			if ( deferredValues.isEmpty() ) {
+				deferredValues = null;
+			}
+		}
+	}
+
 	public final void setSession(SharedSessionContractImplementor session) {
 		this.session = session;
 		if ( session != null && !allowLoadOutsideTransaction ) {
@@ -187,6 +293,23 @@ public class LazyAttributeLoadingInterceptor
 		}
 	}
 
+	/**
+	 * Called by the dirty tracking of the entity on each change to one of its attributes, including those whose
+	 * writes are not intercepted.
+	 *
+	 * @param target The entity
+	 */
+	public void attributeChanged(Object target) {
+		written( target );
+	}
+
+	private void written(Object target) {
+		// feeds the incremental flush, which only visits the entities written to since the last flush
+		if ( session != null && !session.isClosed() ) {
+			session.getPersistenceContext().markEntityDirty( target );
+		}
+	}
+
 	@Override
 	public boolean readBoolean(Object obj, String name, boolean oldValue) {
 		return (Boolean) intercept( obj, name, oldValue );
@@ -197,6 +320,7 @@ public class LazyAttributeLoadingInterceptor
 		if ( lazyFields != null && lazyFields.contains( name ) ) {
 			attributeInitialized( name );
 		}
+		written( obj );
 		return newValue;
 	}
 
@@ -210,6 +334,7 @@ public class LazyAttributeLoadingInterceptor
 		if ( lazyFields != null && lazyFields.contains( name ) ) {
 			attributeInitialized( name );
 		}
+		written( obj );
 		return newValue;
 	}
 
@@ -223,6 +348,7 @@ public class LazyAttributeLoadingInterceptor
 		if ( lazyFields != null && lazyFields.contains( name ) ) {
 			attributeInitialized( name );
 		}
+		written( obj );
 		return newValue;
 	}
 
@@ -236,6 +362,7 @@ public class LazyAttributeLoadingInterceptor
 		if ( lazyFields != null && lazyFields.contains( name ) ) {
 			attributeInitialized( name );
 		}
+		written( obj );
 		return newValue;
 	}
 
@@ -249,6 +376,7 @@ public class LazyAttributeLoadingInterceptor
 		if ( lazyFields != null && lazyFields.contains( name ) ) {
 			attributeInitialized( name );
 		}
+		written( obj );
 		return newValue;
 	}
 
@@ -262,6 +390,7 @@ public class LazyAttributeLoadingInterceptor
 		if ( lazyFields != null && lazyFields.contains( name ) ) {
 			attributeInitialized( name );
 		}
+		written( obj );
 		return newValue;
 	}
 
@@ -275,6 +404,7 @@ public class LazyAttributeLoadingInterceptor
 		if ( lazyFields != null && lazyFields.contains( name ) ) {
 			attributeInitialized( name );
 		}
+		written( obj );
 		return newValue;
 	}
 
@@ -288,6 +418,7 @@ public class LazyAttributeLoadingInterceptor
 		if ( lazyFields != null && lazyFields.contains( name ) ) {
 			attributeInitialized( name );
 		}
+		written( obj );
 		return newValue;
 	}
 
@@ -298,9 +429,11 @@ public class LazyAttributeLoadingInterceptor
 
 	@Override
 	public Object writeObject(Object obj, String name, Object oldValue, Object newValue) {
+		removeDeferredValue( name );
 		if ( lazyFields != null && lazyFields.contains( name ) ) {
 			attributeInitialized( name );
 		}
+		written( obj );
 		return newValue;
 	}
 
@@ -321,6 +454,7 @@ public class LazyAttributeLoadingInterceptor
 
 	@Override
 	public void attributeInitialized(String name) {
+		removeDeferredValue( name );
 		if ( !isLazyAttribute( name ) ) {
 			return;
 		}
@@ -22,10 +22,21 @@ import org.hibernate.cache.spi.QueryKey;
 import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.BatchFetchQueue;
 import org.hibernate.engine.spi.CacheImplementor;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.spi.Status;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
@@ -34,6 +45,9 @@ import org.hibernate.type.TypeHelper;
  * implementation is very good at recognizing stale query results and
  * and re-running queries when it detects this condition, re-caching the new
  * results.
+ * <p/>
+ * If {@value AvailableSettings#QUERY_CACHE_STORE_ENTITY_STATE} is enabled, the second-level cache entries of
+ * the entities returned are stored along with their ids, and used to load them when the results are read.
  *
  * @author Gavin King
  * @author Steve Ebersole
@@ -46,6 +60,7 @@ public class StandardQueryCache implements QueryCache {
 
 	private final QueryResultsRegion cacheRegion;
 	private final UpdateTimestampsCache updateTimestampsCache;
+	private final boolean storeEntityState;
 
 	/**
 	 * Constructs a StandardQueryCache instance
@@ -75,12 +90,17 @@ public class StandardQueryCache implements QueryCache {
 				props
 		);
 		this.updateTimestampsCache = updateTimestampsCache;
+		this.storeEntityState = ConfigurationHelper.getBoolean( AvailableSettings.QUERY_CACHE_STORE_ENTITY_STATE, props );
 	}
 
 	public StandardQueryCache(QueryResultsRegion cacheRegion, CacheImplementor cacheManager) {
 		LOG.startingQueryCache( cacheRegion.getName() );
 		this.cacheRegion = cacheRegion;
 		this.updateTimestampsCache = cacheManager.getUpdateTimestampsCache();
+		this.storeEntityState = ConfigurationHelper.getBoolean(
+				AvailableSettings.QUERY_CACHE_STORE_ENTITY_STATE,
+				cacheManager.getSessionFactory().getProperties()
+		);
 	}
 
 	@Override
@@ -134,6 +154,12 @@ public class StandardQueryCache implements QueryCache {
 				logCachedResultRowDetails( returnTypes, aResult );
 			}
 		}
+		if ( storeEntityState ) {
+			final EntityStates entityStates = EntityStates.of( result, returnTypes, session );
+			if ( entityStates != null ) {
+				cacheable.add( entityStates );
+			}
+		}
 
 		try {
 			session.getEventListenerManager().cachePutStart();
@@ -180,17 +206,75 @@ public class StandardQueryCache implements QueryCache {
 		if ( DEBUGGING ) {
 			LOG.debug( "Returning cached query results" );
 		}
+		final EntityStates entityStates = EntityStates.from( cacheable );
+		final List rows = entityStates == null ? cacheable : cacheable.subList( 0, cacheable.size() - 1 );
 		final boolean singleResult = returnTypes.length == 1;
-		for ( int i = 1; i < cacheable.size(); i++ ) {
+		for ( int i = 1; i < rows.size(); i++ ) {
 			if ( singleResult ) {
-				returnTypes[0].beforeAssemble( (Serializable) cacheable.get( i ), session );
+				returnTypes[0].beforeAssemble( (Serializable) rows.get( i ), session );
 			}
 			else {
-				TypeHelper.beforeAssemble( (Serializable[]) cacheable.get( i ), returnTypes, session );
+				TypeHelper.beforeAssemble( (Serializable[]) rows.get( i ), returnTypes, session );
 			}
 		}
 
-		return assembleCachedResult(key, cacheable, isNaturalKeyLookup, singleResult, returnTypes, session);
+		prefetchCacheEntries( rows, entityStates, singleResult, returnTypes, session );
+		try {
+			return assembleCachedResult( key, rows, isNaturalKeyLookup, singleResult, returnTypes, session );
+		}
+		finally {
+			session.getPersistenceContext().getBatchFetchQueue().clearPrefetchedCacheEntries();
+		}
+	}
+
+	/**
+	 * Reads the second-level cache entries of the entities returned by the cached query, a single region call
+	 * per entity type rather than one per row.  The entries stored with the cached query results are used
+	 * instead, if any.
+	 */
+	private static void prefetchCacheEntries(
+			final List cacheable,
+			final EntityStates entityStates,
+			final boolean singleResult,
+			final Type[] returnTypes,
+			final SharedSessionContractImplementor session) {
+		if ( !session.getCacheMode().isGetEnabled() ) {
+			return;
+		}
+		final BatchFetchQueue batchFetchQueue = session.getPersistenceContext().getBatchFetchQueue();
+		for ( int j = 0; j < returnTypes.length; j++ ) {
+			if ( !returnTypes[j].isEntityType() || !( (EntityType) returnTypes[j] ).isReferenceToPrimaryKey() ) {
+				continue;
+			}
+			final EntityPersister persister = session.getFactory().getMetamodel()
+					.entityPersister( ( (EntityType) returnTypes[j] ).getAssociatedEntityName() );
+			if ( !persister.canReadFromCache() ) {
+				continue;
+			}
+			final List<Serializable> ids = new ArrayList<>( cacheable.size() - 1 );
+			for ( int i = 1; i < cacheable.size(); i++ ) {
+				final Serializable cacheItem = singleResult
+						? (Serializable) cacheable.get( i )
+						: ( (Serializable[]) cacheable.get( i ) )[j];
+				if ( cacheItem == null ) {
+					continue;
+				}
+				final Serializable id = (Serializable) persister.getIdentifierType().assemble( cacheItem, session, null );
+				final Object entityState = entityStates == null ? null : entityStates.get( i - 1, j );
+				if ( entityState == null ) {
+					ids.add( id );
+				}
+				else {
+					final EntityKey entityKey = session.generateEntityKey( id, persister );
+					if ( !session.getPersistenceContext().containsEntity( entityKey ) ) {
+						batchFetchQueue.addPrefetchedCacheEntry( entityKey, entityState );
+					}
+				}
+			}
+			if ( ids.size() > 1 ) {
+				batchFetchQueue.prefetchCacheEntries( persister, ids );
+			}
+		}
 	}
 
 	private List assembleCachedResult(
@@ -263,6 +347,88 @@ public class StandardQueryCache implements QueryCache {
 		return "StandardQueryCache(" + cacheRegion.getName() + ')';
 	}
 
+	/**
+	 * The second-level cache entries of the entities returned by a query, stored as the last element of the
+	 * cached results.  An entry is null if the entity could not be cached.
+	 */
+	private static final class EntityStates implements Serializable {
+		private final Object[][] states;
+
+		private EntityStates(Object[][] states) {
+			this.states = states;
+		}
+
+		private Object get(int row, int column) {
+			return states[row][column];
+		}
+
+		private static EntityStates from(List cacheable) {
+			final Object last = cacheable.get( cacheable.size() - 1 );
+			return last instanceof EntityStates ? (EntityStates) last : null;
+		}
+
+		/**
+		 * @return The cache entries of the entities of the results, or null if there are none
+		 */
+		private static EntityStates of(List result, Type[] returnTypes, SharedSessionContractImplementor session) {
+			final EntityPersister[] persisters = new EntityPersister[returnTypes.length];
+			boolean cacheableEntities = false;
+			for ( int j = 0; j < returnTypes.length; j++ ) {
+				if ( returnTypes[j].isEntityType() && ( (EntityType) returnTypes[j] ).isReferenceToPrimaryKey() ) {
+					final EntityPersister persister = session.getFactory().getMetamodel()
+							.entityPersister( ( (EntityType) returnTypes[j] ).getAssociatedEntityName() );
+					if ( persister.canWriteToCache() && persister.canReadFromCache() ) {
+						persisters[j] = persister;
+						cacheableEntities = true;
+					}
+				}
+			}
+			if ( !cacheableEntities || result.isEmpty() ) {
+				return null;
+			}
+
+			final boolean singleResult = returnTypes.length == 1;
+			final Object[][] states = new Object[result.size()][];
+			for ( int i = 0; i < states.length; i++ ) {
+				final Object row = result.get( i );
+				states[i] = new Object[returnTypes.length];
+				for ( int j = 0; j < returnTypes.length; j++ ) {
+					if ( persisters[j] != null ) {
+						states[i][j] = cacheEntry( singleResult ? row : ( (Object[]) row )[j], session );
+					}
+				}
+			}
+			return new EntityStates( states );
+		}
+
+		private static Object cacheEntry(Object entity, SharedSessionContractImplementor session) {
+			if ( entity instanceof HibernateProxy ) {
+				final LazyInitializer lazyInitializer = ( (HibernateProxy) entity ).getHibernateLazyInitializer();
+				if ( lazyInitializer.isUninitialized() ) {
+					return null;
+				}
+				entity = lazyInitializer.getImplementation();
+			}
+			if ( entity == null ) {
+				return null;
+			}
+			final EntityEntry entry = session.getPersistenceContext().getEntry( entity );
+			if ( entry == null
+					|| entry.getLoadedState() == null
+					|| ( entry.getStatus() != Status.MANAGED && entry.getStatus() != Status.READ_ONLY ) ) {
+				return null;
+			}
+			final EntityPersister persister = entry.getPersister();
+			final CacheEntry cacheEntry = persister.buildCacheEntry(
+					entity,
+					entry.getLoadedState(),
+					entry.getVersion(),
+					session
+			);
+			return persister.getCacheEntryStructure().structure( cacheEntry );
+		}
+	}
+
 	private static void logCachedResultDetails(QueryKey key, Set querySpaces, Type[] returnTypes, List result) {
 		if ( !TRACING ) {
 			return;
@@ -0,0 +1,495 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * A concurrent map bounded by the total weight of its entries, evicting with the W-TinyLFU policy.
+ * <p/>
+ * New entries enter a small LRU window (1% of the maximum weight).  Entries overflowing the window are candidates
+ * for the main space, a segmented LRU of a probation and a protected (80%) segment: when the cache is over its
+ * maximum weight, a candidate is only admitted if a {@link FrequencySketch} estimates it was accessed more often
+ * than the least recently used entry of the probation segment, which is evicted instead.  Entries accessed while
+ * on probation are promoted to the protected segment.  This keeps frequently used entries in the cache through
+ * scans of entries used only once, which an LRU policy does not.
+ * <p/>
+ * Reads never block: they look up the {@link ConcurrentHashMap} and record the access in a striped, lossy buffer,
+ * replayed onto the policy by whichever thread acquires the eviction lock.  Writes replace the entry, then update
+ * the policy under the eviction lock.  Entries are immutable, a write always replacing the entry.
+ * <p/>
+ * A maximum weight of zero or less means the cache is unbounded, in which case no policy is maintained.
+ * <p/>
+ * The values are kept by a {@link ValueStorage}, in the heap unless stated otherwise: the nodes reference the stored
+ * form of their value, which is weighed and released once the node is removed from the map.
+ */
+final class BoundedCache {
+	private static final int READ_BUFFER_SIZE = 16;
+	// the read counters of the stripes are spaced by a cache line
+	private static final int READ_COUNT_SPACING = 8;
+
+	private static final byte NONE = 0;
+	private static final byte WINDOW = 1;
+	private static final byte PROBATION = 2;
+	private static final byte PROTECTED = 3;
+
+	private final ConcurrentHashMap<Object, Node> data = new ConcurrentHashMap<>();
+	private final ToIntFunction<Object> weigher;
+	private final ValueStorage storage;
+	private final long maximumWeight;
+	private final LongAdder evictionCount = new LongAdder();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+	private final FrequencySketch sketch;
+	private final AccessOrderDeque window = new AccessOrderDeque();
+	private final AccessOrderDeque probation = new AccessOrderDeque();
+	private final AccessOrderDeque protectedSegment = new AccessOrderDeque();
+	private final long windowMaximum;
+	private final long protectedMaximum;
+	private long windowWeight;
+	private long protectedWeight;
+	private volatile long totalWeight;
+
+	private final int stripeMask;
+	private final AtomicLongArray readCounts;
+	private final AtomicReferenceArray<Node> readBuffer;
+
+	/**
+	 * Constructs a BoundedCache
+	 *
+	 * @param maximumWeight The maximum total weight of the entries, zero or less for an unbounded cache
+	 * @param weigher The weight of a value, 1 or more
+	 */
+	BoundedCache(long maximumWeight, ToIntFunction<Object> weigher) {
+		this( maximumWeight, weigher, ValueStorage.HEAP );
+	}
+
+	/**
+	 * Constructs a BoundedCache
+	 *
+	 * @param maximumWeight The maximum total weight of the entries, zero or less for an unbounded cache
+	 * @param weigher The weight of a stored value, 1 or more
+	 * @param storage The storage of the values
+	 */
+	BoundedCache(long maximumWeight, ToIntFunction<Object> weigher, ValueStorage storage) {
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+		this.storage = storage;
+		if ( maximumWeight <= 0 ) {
+			this.sketch = null;
+			this.windowMaximum = 0;
+			this.protectedMaximum = 0;
+			this.stripeMask = 0;
+			this.readCounts = null;
+			this.readBuffer = null;
+		}
+		else {
+			this.sketch = new FrequencySketch( maximumWeight );
+			this.windowMaximum = Math.max( 1, maximumWeight / 100 );
+			this.protectedMaximum = ( maximumWeight - windowMaximum ) * 8 / 10;
+			int stripes = 1;
+			while ( stripes < Runtime.getRuntime().availableProcessors() ) {
+				stripes <<= 1;
+			}
+			this.stripeMask = stripes - 1;
+			this.readCounts = new AtomicLongArray( stripes * READ_COUNT_SPACING );
+			this.readBuffer = new AtomicReferenceArray<>( stripes * READ_BUFFER_SIZE );
+		}
+	}
+
+	private boolean isBounded() {
+		return maximumWeight > 0;
+	}
+
+	Object get(Object key) {
+		final Node node = data.get( key );
+		if ( node == null ) {
+			return null;
+		}
+		afterRead( node );
+		return storage.load( node.value );
+	}
+
+	Map<Object, Object> getAll(Collection<?> keys) {
+		final Map<Object, Object> values = new HashMap<>();
+		for ( Object key : keys ) {
+			final Object value = get( key );
+			if ( value != null ) {
+				values.put( key, value );
+			}
+		}
+		return values;
+	}
+
+	boolean containsKey(Object key) {
+		return data.containsKey( key );
+	}
+
+	void put(Object key, Object value) {
+		final Node node = newNode( key, value );
+		final Node previous = data.put( key, node );
+		if ( previous != null ) {
+			retire( previous );
+		}
+		afterWrite( previous, node );
+	}
+
+	boolean putIfAbsent(Object key, Object value) {
+		final Node node = newNode( key, value );
+		final Node existing = data.putIfAbsent( key, node );
+		if ( existing != null ) {
+			storage.release( node.value );
+			afterRead( existing );
+			return false;
+		}
+		afterWrite( null, node );
+		return true;
+	}
+
+	/**
+	 * Replaces the value of the key if it is equal to the expected one.
+	 *
+	 * @return true if the value was replaced
+	 */
+	boolean replace(Object key, Object expectedValue, Object value) {
+		while ( true ) {
+			final Node current = data.get( key );
+			if ( current == null || !Objects.equals( storage.load( current.value ), expectedValue ) ) {
+				return false;
+			}
+			final Node node = newNode( key, value );
+			if ( data.replace( key, current, node ) ) {
+				retire( current );
+				afterWrite( current, node );
+				return true;
+			}
+			storage.release( node.value );
+		}
+	}
+
+	void remove(Object key) {
+		final Node node = data.remove( key );
+		if ( node != null ) {
+			retire( node );
+			afterWrite( node, null );
+		}
+	}
+
+	void clear() {
+		for ( Object key : data.keySet() ) {
+			remove( key );
+		}
+	}
+
+	long size() {
+		return data.size();
+	}
+
+	/**
+	 * @return The total weight of the entries, or their number if the cache is unbounded
+	 */
+	long weightedSize() {
+		return isBounded() ? totalWeight : data.size();
+	}
+
+	long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	Map<Object, Object> toMap() {
+		final Map<Object, Object> map = new HashMap<>();
+		for ( Node node : data.values() ) {
+			final Object value = storage.load( node.value );
+			if ( value != null ) {
+				map.put( node.key, value );
+			}
+		}
+		return map;
+	}
+
+	private Node newNode(Object key, Object value) {
+		final Object stored = storage.store( value );
+		return new Node( key, stored, isBounded() ? Math.max( 1, weigher.applyAsInt( stored ) ) : 1 );
+	}
+
+	/**
+	 * Marks a node removed from the map, by the only thread which removed it.
+	 */
+	private void retire(Node node) {
+		node.retired = true;
+		storage.release( node.value );
+	}
+
+	private void afterRead(Node node) {
+		if ( !isBounded() ) {
+			return;
+		}
+		final int stripe = (int) Thread.currentThread().getId() & stripeMask;
+		final long count = readCounts.getAndIncrement( stripe * READ_COUNT_SPACING );
+		if ( count < READ_BUFFER_SIZE ) {
+			readBuffer.lazySet( stripe * READ_BUFFER_SIZE + (int) count, node );
+		}
+		if ( count >= READ_BUFFER_SIZE - 1 && evictionLock.tryLock() ) {
+			// the buffer is full; if another thread holds the lock, the access is dropped
+			try {
+				drainReadBuffer();
+			}
+			finally {
+				evictionLock.unlock();
+			}
+		}
+	}
+
+	private void afterWrite(Node previous, Node node) {
+		if ( !isBounded() ) {
+			return;
+		}
+		evictionLock.lock();
+		try {
+			drainReadBuffer();
+			if ( previous != null && previous.queue != NONE ) {
+				if ( node != null && !node.retired ) {
+					// an update takes the place of the previous entry, as an access
+					replaceEntry( previous, node );
+				}
+				else {
+					removeEntry( previous );
+				}
+			}
+			else if ( node != null && !node.retired ) {
+				addEntry( node );
+			}
+			evict();
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private void drainReadBuffer() {
+		for ( int stripe = 0; stripe <= stripeMask; stripe++ ) {
+			for ( int i = 0; i < READ_BUFFER_SIZE; i++ ) {
+				final Node node = readBuffer.getAndSet( stripe * READ_BUFFER_SIZE + i, null );
+				if ( node != null ) {
+					onAccess( node );
+				}
+			}
+			readCounts.set( stripe * READ_COUNT_SPACING, 0 );
+		}
+	}
+
+	private void onAccess(Node node) {
+		if ( node.retired || node.queue == NONE ) {
+			return;
+		}
+		sketch.increment( node.key );
+		switch ( node.queue ) {
+			case WINDOW:
+				window.moveToBack( node );
+				break;
+			case PROBATION:
+				probation.unlink( node );
+				protectedSegment.linkLast( node );
+				node.queue = PROTECTED;
+				protectedWeight += node.weight;
+				demoteProtected();
+				break;
+			default:
+				protectedSegment.moveToBack( node );
+				break;
+		}
+	}
+
+	private void demoteProtected() {
+		while ( protectedWeight > protectedMaximum ) {
+			final Node demoted = protectedSegment.peekFirst();
+			protectedSegment.unlink( demoted );
+			protectedWeight -= demoted.weight;
+			probation.linkLast( demoted );
+			demoted.queue = PROBATION;
+		}
+	}
+
+	private void addEntry(Node node) {
+		sketch.increment( node.key );
+		window.linkLast( node );
+		node.queue = WINDOW;
+		windowWeight += node.weight;
+		totalWeight += node.weight;
+	}
+
+	private void replaceEntry(Node previous, Node node) {
+		final byte queue = previous.queue;
+		removeEntry( previous );
+		sketch.increment( node.key );
+		node.queue = queue;
+		totalWeight += node.weight;
+		if ( queue == WINDOW ) {
+			window.linkLast( node );
+			windowWeight += node.weight;
+		}
+		else if ( queue == PROBATION ) {
+			probation.linkLast( node );
+		}
+		else {
+			protectedSegment.linkLast( node );
+			protectedWeight += node.weight;
+			demoteProtected();
+		}
+	}
+
+	private void removeEntry(Node node) {
+		switch ( node.queue ) {
+			case NONE:
+				return;
+			case WINDOW:
+				window.unlink( node );
+				windowWeight -= node.weight;
+				break;
+			case PROBATION:
+				probation.unlink( node );
+				break;
+			default:
+				protectedSegment.unlink( node );
+				protectedWeight -= node.weight;
+				break;
+		}
+		node.queue = NONE;
+		totalWeight -= node.weight;
+	}
+
+	private void evict() {
+		// the entries overflowing the window become candidates for the main space, at the back of probation
+		Node candidate = null;
+		while ( windowWeight > windowMaximum ) {
+			final Node node = window.peekFirst();
+			window.unlink( node );
+			windowWeight -= node.weight;
+			probation.linkLast( node );
+			node.queue = PROBATION;
+			if ( candidate == null ) {
+				candidate = node;
+			}
+		}
+
+		while ( totalWeight > maximumWeight ) {
+			final Node victim = probation.peekFirst();
+			if ( victim == null ) {
+				final Node node = protectedSegment.peekFirst() != null
+						? protectedSegment.peekFirst()
+						: window.peekFirst();
+				evictEntry( node );
+				continue;
+			}
+			if ( candidate == null || candidate == victim ) {
+				candidate = candidate == null ? null : candidate.next;
+				evictEntry( victim );
+				continue;
+			}
+
+			// admit the candidate only if it is used more often than the victim
+			final Node next = candidate.next;
+			if ( sketch.frequency( candidate.key ) > sketch.frequency( victim.key ) ) {
+				evictEntry( victim );
+			}
+			else {
+				evictEntry( candidate );
+			}
+			candidate = next;
+		}
+	}
+
+	private void evictEntry(Node node) {
+		removeEntry( node );
+		if ( data.remove( node.key, node ) ) {
+			retire( node );
+			evictionCount.increment();
+		}
+		else {
+			node.retired = true;
+		}
+	}
+
+	/**
+	 * An entry, linked in the deque of its segment.
+	 */
+	private static final class Node {
+		private final Object key;
+		private final Object value;
+		private final int weight;
+
+		// guarded by the eviction lock
+		private Node previous;
+		private Node next;
+		private byte queue;
+
+		private volatile boolean retired;
+
+		private Node(Object key, Object value, int weight) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * A doubly linked list of the entries of a segment, from the least to the most recently used.
+	 */
+	private static final class AccessOrderDeque {
+		private Node first;
+		private Node last;
+
+		private Node peekFirst() {
+			return first;
+		}
+
+		private void linkLast(Node node) {
+			node.previous = last;
+			node.next = null;
+			if ( last == null ) {
+				first = node;
+			}
+			else {
+				last.next = node;
+			}
+			last = node;
+		}
+
+		private void unlink(Node node) {
+			if ( node.previous == null ) {
+				first = node.next;
+			}
+			else {
+				node.previous.next = node.next;
+			}
+			if ( node.next == null ) {
+				last = node.previous;
+			}
+			else {
+				node.next.previous = node.previous;
+			}
+			node.previous = null;
+			node.next = null;
+		}
+
+		private void moveToBack(Node node) {
+			if ( node != last ) {
+				unlink( node );
+				linkLast( node );
+			}
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+/**
+ * A probabilistic estimate of how often keys were accessed recently: a count-min sketch of 4-bit counters, four
+ * per key, whose counts are all halved once the number of increments reaches ten times the capacity, so that
+ * the estimates age.  Used by {@link BoundedCache} to decide whether to admit a new entry at the expense of
+ * the entry it would evict.
+ * <p/>
+ * Not thread safe; guarded by the eviction lock of the owning cache.
+ */
+final class FrequencySketch {
+	private static final long[] SEEDS = {
+			0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+	};
+	private static final long RESET_MASK = 0x7777777777777777L;
+	private static final long ONE_MASK = 0x1111111111111111L;
+
+	private final long[] table;
+	private final int tableMask;
+	private final int sampleSize;
+	private int size;
+
+	/**
+	 * Constructs a FrequencySketch
+	 *
+	 * @param capacity The expected number of distinct keys
+	 */
+	FrequencySketch(long capacity) {
+		final int maximum = (int) Math.min( Math.max( capacity, 16 ), 1 << 24 );
+		int tableSize = 1;
+		while ( tableSize < maximum ) {
+			tableSize <<= 1;
+		}
+		this.table = new long[tableSize];
+		this.tableMask = tableSize - 1;
+		this.sampleSize = 10 * maximum;
+	}
+
+	/**
+	 * @return The estimated number of recent accesses to the key, at most 15
+	 */
+	int frequency(Object key) {
+		final int hash = spread( key.hashCode() );
+		final int start = ( hash & 3 ) << 2;
+		int frequency = Integer.MAX_VALUE;
+		for ( int i = 0; i < 4; i++ ) {
+			final int index = indexOf( hash, i );
+			final int count = (int) ( ( table[index] >>> ( ( start + i ) << 2 ) ) & 0xfL );
+			frequency = Math.min( frequency, count );
+		}
+		return frequency;
+	}
+
+	/**
+	 * Records an access to the key.
+	 */
+	void increment(Object key) {
+		final int hash = spread( key.hashCode() );
+		final int start = ( hash & 3 ) << 2;
+		boolean added = false;
+		for ( int i = 0; i < 4; i++ ) {
+			added |= incrementAt( indexOf( hash, i ), start + i );
+		}
+		if ( added && ++size == sampleSize ) {
+			reset();
+		}
+	}
+
+	private boolean incrementAt(int index, int counter) {
+		final int offset = counter << 2;
+		final long mask = 0xfL << offset;
+		if ( ( table[index] & mask ) != mask ) {
+			table[index] += 1L << offset;
+			return true;
+		}
+		return false;
+	}
+
+	private void reset() {
+		int oddCounters = 0;
+		for ( int i = 0; i < table.length; i++ ) {
+			oddCounters += Long.bitCount( table[i] & ONE_MASK );
+			table[i] = ( table[i] >>> 1 ) & RESET_MASK;
+		}
+		size = ( size >>> 1 ) - ( oddCounters >>> 2 );
+	}
+
+	private int indexOf(int hash, int i) {
+		long index = ( hash + SEEDS[i] ) * SEEDS[i];
+		index += index >>> 32;
+		return (int) index & tableMask;
+	}
+
+	private static int spread(int hash) {
+		int spread = ( ( hash >>> 16 ) ^ hash ) * 0x45d9f3b;
+		spread = ( ( spread >>> 16 ) ^ spread ) * 0x45d9f3b;
+		return ( spread >>> 16 ) ^ spread;
+	}
+}
@@ -0,0 +1,42 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.local.access.NonStrictCollectionRegionAccessStrategy;
+import org.hibernate.cache.local.access.ReadOnlyCollectionRegionAccessStrategy;
+import org.hibernate.cache.local.access.ReadWriteCollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+
+/**
+ * A {@link org.hibernate.cache.spi.CollectionRegion} stored in a {@link BoundedCache}.
+ */
+public class LocalCollectionRegion extends LocalTransactionalDataRegion implements CollectionRegion {
+
+	LocalCollectionRegion(String name, BoundedCache cache, CacheDataDescription metadata, SessionFactoryOptions options) {
+		super( name, cache, metadata, options );
+	}
+
+	@Override
+	public CollectionRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
+		switch ( accessType ) {
+			case READ_ONLY:
+				return new ReadOnlyCollectionRegionAccessStrategy( this );
+			case NONSTRICT_READ_WRITE:
+			case TRANSACTIONAL:
+				return new NonStrictCollectionRegionAccessStrategy( this );
+			case READ_WRITE:
+				return new ReadWriteCollectionRegionAccessStrategy( this );
+			default:
+				throw new IllegalArgumentException( "Unknown AccessType: " + accessType );
+		}
+	}
+}
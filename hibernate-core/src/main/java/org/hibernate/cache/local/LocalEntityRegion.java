@@ -0,0 +1,42 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.local.access.NonStrictEntityRegionAccessStrategy;
+import org.hibernate.cache.local.access.ReadOnlyEntityRegionAccessStrategy;
+import org.hibernate.cache.local.access.ReadWriteEntityRegionAccessStrategy;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+
+/**
+ * An {@link org.hibernate.cache.spi.EntityRegion} stored in a {@link BoundedCache}.
+ */
+public class LocalEntityRegion extends LocalTransactionalDataRegion implements EntityRegion {
+
+	LocalEntityRegion(String name, BoundedCache cache, CacheDataDescription metadata, SessionFactoryOptions options) {
+		super( name, cache, metadata, options );
+	}
+
+	@Override
+	public EntityRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
+		switch ( accessType ) {
+			case READ_ONLY:
+				return new ReadOnlyEntityRegionAccessStrategy( this );
+			case NONSTRICT_READ_WRITE:
+			case TRANSACTIONAL:
+				return new NonStrictEntityRegionAccessStrategy( this );
+			case READ_WRITE:
+				return new ReadWriteEntityRegionAccessStrategy( this );
+			default:
+				throw new IllegalArgumentException( "Unknown AccessType: " + accessType );
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.GeneralDataRegion;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Base of the query results and timestamps regions of the {@link LocalRegionFactory}.
+ */
+public class LocalGeneralDataRegion extends LocalRegion implements GeneralDataRegion {
+
+	LocalGeneralDataRegion(String name, BoundedCache cache) {
+		super( name, cache );
+	}
+
+	@Override
+	public Object get(SharedSessionContractImplementor session, Object key) throws CacheException {
+		return cache.get( key );
+	}
+
+	@Override
+	public void put(SharedSessionContractImplementor session, Object key, Object value) throws CacheException {
+		cache.put( key, value );
+	}
+
+	@Override
+	public Map<Object, Object> getAll(SharedSessionContractImplementor session, Collection<?> keys) throws CacheException {
+		return getAll( keys );
+	}
+
+	@Override
+	public void putAll(SharedSessionContractImplementor session, Map<?, ?> items) throws CacheException {
+		for ( Map.Entry<?, ?> item : items.entrySet() ) {
+			cache.put( item.getKey(), item.getValue() );
+		}
+	}
+
+	@Override
+	public void evict(Object key) throws CacheException {
+		cache.remove( key );
+	}
+
+	@Override
+	public void evictAll() throws CacheException {
+		cache.clear();
+	}
+}
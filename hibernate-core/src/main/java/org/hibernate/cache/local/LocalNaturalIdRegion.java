@@ -0,0 +1,42 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.local.access.NonStrictNaturalIdRegionAccessStrategy;
+import org.hibernate.cache.local.access.ReadOnlyNaturalIdRegionAccessStrategy;
+import org.hibernate.cache.local.access.ReadWriteNaturalIdRegionAccessStrategy;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+
+/**
+ * A {@link org.hibernate.cache.spi.NaturalIdRegion} stored in a {@link BoundedCache}.
+ */
+public class LocalNaturalIdRegion extends LocalTransactionalDataRegion implements NaturalIdRegion {
+
+	LocalNaturalIdRegion(String name, BoundedCache cache, CacheDataDescription metadata, SessionFactoryOptions options) {
+		super( name, cache, metadata, options );
+	}
+
+	@Override
+	public NaturalIdRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
+		switch ( accessType ) {
+			case READ_ONLY:
+				return new ReadOnlyNaturalIdRegionAccessStrategy( this );
+			case NONSTRICT_READ_WRITE:
+			case TRANSACTIONAL:
+				return new NonStrictNaturalIdRegionAccessStrategy( this );
+			case READ_WRITE:
+				return new ReadWriteNaturalIdRegionAccessStrategy( this );
+			default:
+				throw new IllegalArgumentException( "Unknown AccessType: " + accessType );
+		}
+	}
+}
@@ -0,0 +1,19 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import org.hibernate.cache.spi.QueryResultsRegion;
+
+/**
+ * A {@link QueryResultsRegion} stored in a {@link BoundedCache}, each result list weighing its size.
+ */
+public class LocalQueryResultsRegion extends LocalGeneralDataRegion implements QueryResultsRegion {
+
+	LocalQueryResultsRegion(String name, BoundedCache cache) {
+		super( name, cache );
+	}
+}
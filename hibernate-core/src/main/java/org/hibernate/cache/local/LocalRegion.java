@@ -0,0 +1,92 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.Region;
+
+/**
+ * Base of the regions of the {@link LocalRegionFactory}, stored in a {@link BoundedCache} of the JVM heap.
+ */
+public class LocalRegion implements Region {
+
+	private final String name;
+	final BoundedCache cache;
+
+	LocalRegion(String name, BoundedCache cache) {
+		if ( cache == null ) {
+			throw new NullPointerException( "LocalRegion requires a BoundedCache!" );
+		}
+		this.name = name;
+		this.cache = cache;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public void destroy() throws CacheException {
+		cache.clear();
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return cache.containsKey( key );
+	}
+
+	/**
+	 * Gets several entries at once.
+	 *
+	 * @param keys The keys of the entries
+	 * @return The entries found, by key
+	 */
+	public Map<Object, Object> getAll(Collection<?> keys) {
+		return cache.getAll( keys );
+	}
+
+	@Override
+	public long getSizeInMemory() {
+		return -1;
+	}
+
+	@Override
+	public long getElementCountInMemory() {
+		return cache.size();
+	}
+
+	@Override
+	public long getElementCountOnDisk() {
+		return 0;
+	}
+
+	/**
+	 * @return The number of entries evicted to keep the region within its maximum weight
+	 */
+	public long getEvictionCount() {
+		return cache.getEvictionCount();
+	}
+
+	@Override
+	public Map toMap() {
+		return cache.toMap();
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return LocalRegionFactory.nextTS();
+	}
+
+	@Override
+	public int getTimeout() {
+		return LocalRegionFactory.timeOut();
+	}
+}
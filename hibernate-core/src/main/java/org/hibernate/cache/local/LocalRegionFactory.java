@@ -0,0 +1,173 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+/**
+ * A {@link RegionFactory} keeping the regions in the heap of the JVM, without any dependency.
+ * <p/>
+ * Each region is a concurrent map bounded by the total weight of its entries ({@value #DEFAULT_MAX_WEIGHT} by
+ * default, see {@link #MAX_WEIGHT}), evicting with the W-TinyLFU policy: entries are admitted into the region at the
+ * expense of others only if they are used more often, so that scans do not flush the frequently used entries.  An
+ * entry weighs 1, except for query results which weigh the number of their rows.  The timestamps region is never
+ * bounded, as an evicted timestamp would let stale query results be used.
+ * <p/>
+ * The entity, collection and natural id regions may instead be kept in direct memory, outside of the heap, with
+ * {@link #OFF_HEAP_SIZE}: only their keys and a small handle per entry stay in the heap, and they are then bounded
+ * by the total size of their serialized entries.
+ * <p/>
+ * The regions are local to the JVM, so they must only be used when the cached data is only modified through this
+ * JVM, or is read only.  They are not transaction aware: {@link AccessType#TRANSACTIONAL} is served as
+ * {@link AccessType#NONSTRICT_READ_WRITE}.
+ */
+public class LocalRegionFactory implements RegionFactory {
+	/**
+	 * The short name of this factory, for {@value org.hibernate.cfg.AvailableSettings#CACHE_REGION_FACTORY}
+	 */
+	public static final String SHORT_NAME = "local";
+
+	private static final String PROP_PREFIX = "hibernate.cache.local";
+
+	/**
+	 * The maximum total weight of the entries of each region.  May be set for a single region by appending its
+	 * (prefixed) name, e.g. {@code hibernate.cache.local.max_weight.com.acme.Customer}.  Zero or less means the
+	 * region is unbounded.
+	 */
+	public static final String MAX_WEIGHT = PROP_PREFIX + ".max_weight";
+
+	/**
+	 * The default maximum weight of a region.
+	 */
+	public static final int DEFAULT_MAX_WEIGHT = 10_000;
+
+	/**
+	 * The number of bytes of direct memory of each entity, collection and natural id region, which keeps its entries
+	 * serialized outside of the heap instead of bounding them by {@link #MAX_WEIGHT}.  May be set for a single region
+	 * by appending its (prefixed) name.  Zero or less, the default, keeps the entries in the heap.
+	 */
+	public static final String OFF_HEAP_SIZE = PROP_PREFIX + ".off_heap_size";
+
+	private static final ToIntFunction<Object> UNIT_WEIGHER = value -> 1;
+	private static final ToIntFunction<Object> QUERY_RESULTS_WEIGHER =
+			value -> value instanceof List ? ( (List) value ).size() : 1;
+
+	static long nextTS() {
+		return Timestamper.next();
+	}
+
+	static int timeOut() {
+		return (int) TimeUnit.SECONDS.toMillis( 60 ) * Timestamper.ONE_MS;
+	}
+
+	private final ConcurrentMap<String, BoundedCache> caches = new ConcurrentHashMap<>();
+	private SessionFactoryOptions options;
+	private Properties properties;
+
+	@Override
+	public void start(SessionFactoryOptions options, Properties properties) throws CacheException {
+		this.options = options;
+		this.properties = properties;
+	}
+
+	@Override
+	public void stop() {
+		caches.clear();
+	}
+
+	@Override
+	public boolean isMinimalPutsEnabledByDefault() {
+		// a put is as cheap as the lookup saving it
+		return false;
+	}
+
+	@Override
+	public AccessType getDefaultAccessType() {
+		return AccessType.READ_WRITE;
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return nextTS();
+	}
+
+	@Override
+	public EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new LocalEntityRegion( regionName, getOrCreateDataCache( regionName ), metadata, options );
+	}
+
+	@Override
+	public NaturalIdRegion buildNaturalIdRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new LocalNaturalIdRegion( regionName, getOrCreateDataCache( regionName ), metadata, options );
+	}
+
+	@Override
+	public CollectionRegion buildCollectionRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new LocalCollectionRegion( regionName, getOrCreateDataCache( regionName ), metadata, options );
+	}
+
+	@Override
+	public QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) throws CacheException {
+		return new LocalQueryResultsRegion( regionName, getOrCreateCache( regionName, QUERY_RESULTS_WEIGHER ) );
+	}
+
+	@Override
+	public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) throws CacheException {
+		return new LocalTimestampsRegion(
+				regionName,
+				caches.computeIfAbsent( regionName, name -> new BoundedCache( 0, UNIT_WEIGHER ) )
+		);
+	}
+
+	private BoundedCache getOrCreateDataCache(String regionName) {
+		final long offHeapSize = regionSetting( OFF_HEAP_SIZE, regionName, 0 );
+		if ( offHeapSize <= 0 ) {
+			return getOrCreateCache( regionName, UNIT_WEIGHER );
+		}
+		return caches.computeIfAbsent(
+				regionName,
+				name -> new BoundedCache( offHeapSize, OffHeapStorage::weigh, new OffHeapStorage( offHeapSize ) )
+		);
+	}
+
+	private BoundedCache getOrCreateCache(String regionName, ToIntFunction<Object> weigher) {
+		return caches.computeIfAbsent(
+				regionName,
+				name -> new BoundedCache( regionSetting( MAX_WEIGHT, name, DEFAULT_MAX_WEIGHT ), weigher )
+		);
+	}
+
+	private long regionSetting(String setting, String regionName, int defaultValue) {
+		if ( properties == null ) {
+			throw new IllegalStateException( "LocalRegionFactory not yet started!" );
+		}
+		final String regionSetting = setting + '.' + regionName;
+		return properties.containsKey( regionSetting )
+				? ConfigurationHelper.getLong( regionSetting, properties, defaultValue )
+				: ConfigurationHelper.getLong( setting, properties, defaultValue );
+	}
+}
@@ -0,0 +1,20 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import org.hibernate.cache.spi.TimestampsRegion;
+
+/**
+ * A {@link TimestampsRegion} stored in an unbounded {@link BoundedCache}: a missing timestamp would make stale
+ * query results look up to date, so the timestamps are never evicted.
+ */
+public class LocalTimestampsRegion extends LocalGeneralDataRegion implements TimestampsRegion {
+
+	LocalTimestampsRegion(String name, BoundedCache cache) {
+		super( name, cache );
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.support.SoftLockableDataRegion;
+
+/**
+ * Base of the entity, collection and natural id regions of the {@link LocalRegionFactory}.
+ * <p/>
+ * The regions are not transaction aware: {@link org.hibernate.cache.spi.access.AccessType#TRANSACTIONAL} is
+ * served by the non-strict read-write strategies.
+ */
+public class LocalTransactionalDataRegion extends LocalRegion implements SoftLockableDataRegion {
+
+	private final CacheDataDescription metadata;
+	private final SessionFactoryOptions options;
+
+	LocalTransactionalDataRegion(String name, BoundedCache cache, CacheDataDescription metadata, SessionFactoryOptions options) {
+		super( name, cache );
+		this.metadata = metadata;
+		this.options = options;
+	}
+
+	@Override
+	public boolean isTransactionAware() {
+		return false;
+	}
+
+	@Override
+	public CacheDataDescription getCacheDataDescription() {
+		return metadata;
+	}
+
+	public void clear() {
+		cache.clear();
+	}
+
+	public Object get(Object key) {
+		return cache.get( key );
+	}
+
+	public void remove(Object key) {
+		cache.remove( key );
+	}
+
+	public void put(Object key, Object value) {
+		cache.put( key, value );
+	}
+
+	public boolean putIfAbsent(Object key, Object value) {
+		return cache.putIfAbsent( key, value );
+	}
+
+	public boolean replace(Object key, Object expected, Object value) {
+		return cache.replace( key, expected, value );
+	}
+
+	public SessionFactoryOptions getSessionFactoryOptions() {
+		return options;
+	}
+}
@@ -0,0 +1,252 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+
+import org.hibernate.internal.util.SerializationHelper;
+
+/**
+ * Keeps the values of a {@link BoundedCache} serialized in direct memory, outside of the heap of the JVM.
+ * <p/>
+ * The memory is allocated in pages of {@value #PAGE_SIZE} bytes, each one split into slots of a power of two size
+ * from 64 bytes to the page size.  A value is stored in the smallest slot which fits it; the free slots of each size
+ * are linked through the slots themselves, so that the heap only holds a small {@link Slot} handle per value, whatever
+ * the size of the stored values.  A value which does not fit a page, or for which no slot can be allocated within
+ * the maximum size, is kept serialized in the heap instead.
+ * <p/>
+ * Each slot starts with the generation of the value it holds, which changes whenever the slot is released: loads
+ * copy the slot under an optimistic read of the lock of its page and only return the value if the generation still
+ * is the one of their handle.
+ */
+final class OffHeapStorage implements ValueStorage {
+	static final int PAGE_SIZE = 1 << 20;
+
+	private static final int MIN_SLOT_SHIFT = 6;
+	private static final int MAX_SLOT_SHIFT = 20;
+	private static final int HEADER_SIZE = 8;
+	private static final long NO_SLOT = -1L;
+	private static final long RELEASED = 0L;
+
+	private final int maximumPages;
+	private final AtomicReferenceArray<Page> pages;
+	private final AtomicInteger pageCount = new AtomicInteger();
+	private final SizeClass[] sizeClasses = new SizeClass[MAX_SLOT_SHIFT - MIN_SLOT_SHIFT + 1];
+	private final AtomicLong generations = new AtomicLong();
+
+	/**
+	 * Constructs an OffHeapStorage
+	 *
+	 * @param maximumSize The number of bytes of the stored values, which may be exceeded by a page per slot size
+	 */
+	OffHeapStorage(long maximumSize) {
+		final long pagesNeeded = ( maximumSize + PAGE_SIZE - 1 ) / PAGE_SIZE + sizeClasses.length;
+		this.maximumPages = (int) Math.min( pagesNeeded, Integer.MAX_VALUE );
+		this.pages = new AtomicReferenceArray<>( maximumPages );
+		for ( int i = 0; i < sizeClasses.length; i++ ) {
+			sizeClasses[i] = new SizeClass( 1 << ( MIN_SLOT_SHIFT + i ) );
+		}
+	}
+
+	/**
+	 * The weight of a stored value, the size of its slot.
+	 */
+	static int weigh(Object stored) {
+		return ( (Slot) stored ).size;
+	}
+
+	/**
+	 * @return The number of bytes of direct memory allocated so far
+	 */
+	long getAllocatedSize() {
+		return (long) Math.min( pageCount.get(), maximumPages ) * PAGE_SIZE;
+	}
+
+	@Override
+	public Object store(Object value) {
+		final byte[] bytes = SerializationHelper.serialize( (Serializable) value );
+		final int shift = Math.max(
+				MIN_SLOT_SHIFT,
+				32 - Integer.numberOfLeadingZeros( HEADER_SIZE + bytes.length - 1 )
+		);
+		if ( shift > MAX_SLOT_SHIFT ) {
+			return new Slot( bytes );
+		}
+		final SizeClass sizeClass = sizeClasses[shift - MIN_SLOT_SHIFT];
+		final long address = sizeClass.allocate();
+		if ( address == NO_SLOT ) {
+			return new Slot( bytes );
+		}
+
+		final long generation = generations.incrementAndGet();
+		final Page page = pages.get( (int) ( address >>> 32 ) );
+		final int offset = (int) address;
+		final long stamp = page.lock.writeLock();
+		try {
+			page.buffer.putLong( offset, generation );
+			final ByteBuffer slice = page.buffer.duplicate();
+			slice.position( offset + HEADER_SIZE );
+			slice.put( bytes );
+		}
+		finally {
+			page.lock.unlockWrite( stamp );
+		}
+		return new Slot( address, sizeClass.slotSize, bytes.length, generation );
+	}
+
+	@Override
+	public Object load(Object stored) {
+		final Slot slot = (Slot) stored;
+		if ( slot.bytes != null ) {
+			return SerializationHelper.deserialize( slot.bytes );
+		}
+
+		final Page page = pages.get( (int) ( slot.address >>> 32 ) );
+		final int offset = (int) slot.address;
+		final byte[] bytes = new byte[slot.length];
+		long stamp = page.lock.tryOptimisticRead();
+		long generation = read( page, offset, bytes );
+		if ( !page.lock.validate( stamp ) ) {
+			stamp = page.lock.readLock();
+			try {
+				generation = read( page, offset, bytes );
+			}
+			finally {
+				page.lock.unlockRead( stamp );
+			}
+		}
+		if ( generation != slot.generation ) {
+			// released meanwhile
+			return null;
+		}
+		return SerializationHelper.deserialize( bytes );
+	}
+
+	private static long read(Page page, int offset, byte[] bytes) {
+		final long generation = page.buffer.getLong( offset );
+		final ByteBuffer slice = page.buffer.duplicate();
+		slice.position( offset + HEADER_SIZE );
+		slice.get( bytes );
+		return generation;
+	}
+
+	@Override
+	public void release(Object stored) {
+		final Slot slot = (Slot) stored;
+		if ( slot.bytes == null ) {
+			sizeClasses[Integer.numberOfTrailingZeros( slot.size ) - MIN_SLOT_SHIFT].free( slot.address );
+		}
+	}
+
+	private Page newPage() {
+		while ( true ) {
+			final int index = pageCount.get();
+			if ( index >= maximumPages ) {
+				return null;
+			}
+			if ( pageCount.compareAndSet( index, index + 1 ) ) {
+				final Page page = new Page( index );
+				pages.set( index, page );
+				return page;
+			}
+		}
+	}
+
+	/**
+	 * The handle of a stored value.
+	 */
+	static final class Slot {
+		private final long address;
+		private final int size;
+		private final int length;
+		private final long generation;
+		private final byte[] bytes;
+
+		private Slot(long address, int size, int length, long generation) {
+			this.address = address;
+			this.size = size;
+			this.length = length;
+			this.generation = generation;
+			this.bytes = null;
+		}
+
+		private Slot(byte[] bytes) {
+			this.address = NO_SLOT;
+			this.size = HEADER_SIZE + bytes.length;
+			this.length = bytes.length;
+			this.generation = RELEASED;
+			this.bytes = bytes;
+		}
+	}
+
+	private static final class Page {
+		private final int index;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect( PAGE_SIZE );
+		private final StampedLock lock = new StampedLock();
+
+		private Page(int index) {
+			this.index = index;
+		}
+
+		private long address(int offset) {
+			return ( (long) index << 32 ) | offset;
+		}
+	}
+
+	/**
+	 * The slots of a given size: a free list linked through the released slots, and the page being split.
+	 */
+	private final class SizeClass {
+		private final int slotSize;
+
+		// guarded by this
+		private long freeSlot = NO_SLOT;
+		private Page page;
+		private int nextOffset;
+
+		private SizeClass(int slotSize) {
+			this.slotSize = slotSize;
+		}
+
+		private synchronized long allocate() {
+			if ( freeSlot != NO_SLOT ) {
+				final long address = freeSlot;
+				freeSlot = pages.get( (int) ( address >>> 32 ) ).buffer.getLong( (int) address + HEADER_SIZE );
+				return address;
+			}
+			if ( page == null || nextOffset == PAGE_SIZE ) {
+				page = newPage();
+				nextOffset = 0;
+				if ( page == null ) {
+					return NO_SLOT;
+				}
+			}
+			final long address = page.address( nextOffset );
+			nextOffset += slotSize;
+			return address;
+		}
+
+		private synchronized void free(long address) {
+			final Page slotPage = pages.get( (int) ( address >>> 32 ) );
+			final int offset = (int) address;
+			final long stamp = slotPage.lock.writeLock();
+			try {
+				slotPage.buffer.putLong( offset, RELEASED );
+				slotPage.buffer.putLong( offset + HEADER_SIZE, freeSlot );
+			}
+			finally {
+				slotPage.lock.unlockWrite( stamp );
+			}
+			freeSlot = address;
+		}
+	}
+}
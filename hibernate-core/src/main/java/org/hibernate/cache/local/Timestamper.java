@@ -0,0 +1,36 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates increasing timestamps, 4096 per millisecond (in a single VM only).  Timestamps are not necessarily
+ * strictly increasing, but usually are.
+ */
+final class Timestamper {
+	private static final int BIN_DIGITS = 12;
+	static final short ONE_MS = 1 << BIN_DIGITS;
+	private static final AtomicLong VALUE = new AtomicLong();
+
+	static long next() {
+		while ( true ) {
+			long base = System.currentTimeMillis() << BIN_DIGITS;
+			long maxValue = base + ONE_MS - 1;
+
+			for ( long current = VALUE.get(), update = Math.max( base, current + 1 ); update < maxValue;
+					current = VALUE.get(), update = Math.max( base, current + 1 ) ) {
+				if ( VALUE.compareAndSet( current, update ) ) {
+					return update;
+				}
+			}
+		}
+	}
+
+	private Timestamper() {
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+/**
+ * Where a {@link BoundedCache} keeps its values.
+ */
+interface ValueStorage {
+	/**
+	 * Keeps the values in the heap, as they are.
+	 */
+	ValueStorage HEAP = new ValueStorage() {
+		@Override
+		public Object store(Object value) {
+			return value;
+		}
+
+		@Override
+		public Object load(Object stored) {
+			return stored;
+		}
+
+		@Override
+		public void release(Object stored) {
+		}
+	};
+
+	/**
+	 * Stores a value.
+	 *
+	 * @param value The value
+	 * @return The stored form of the value, referenced by the cache until it is released
+	 */
+	Object store(Object value);
+
+	/**
+	 * Loads a stored value.
+	 *
+	 * @param stored The stored form of the value
+	 * @return The value, or {@code null} if it was released meanwhile
+	 */
+	Object load(Object stored);
+
+	/**
+	 * Releases a stored value, which the cache no longer references.  It may still be loaded concurrently, in which
+	 * case {@link #load} is allowed to return {@code null}.
+	 *
+	 * @param stored The stored form of the value
+	 */
+	void release(Object stored);
+}
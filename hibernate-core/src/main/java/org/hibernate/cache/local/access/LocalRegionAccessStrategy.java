@@ -0,0 +1,106 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local.access;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.local.LocalTransactionalDataRegion;
+import org.hibernate.cache.spi.access.RegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Base of the strategies storing the values themselves in the region, without soft locks.
+ */
+abstract class LocalRegionAccessStrategy<R extends LocalTransactionalDataRegion> implements RegionAccessStrategy {
+
+	private final R region;
+
+	public LocalRegionAccessStrategy(R region) {
+		if ( region == null ) {
+			throw new NullPointerException( "Requires a non-null LocalTransactionalDataRegion" );
+		}
+		this.region = region;
+	}
+
+	@Override
+	public Object get(SharedSessionContractImplementor session, Object key, long txTimestamp) throws CacheException {
+		return region.get( key );
+	}
+
+	@Override
+	public Map<Object, Object> getAll(SharedSessionContractImplementor session, Collection<?> keys, long txTimestamp)
+			throws CacheException {
+		return region.getAll( keys );
+	}
+
+	@Override
+	public boolean putFromLoad(SharedSessionContractImplementor session, Object key, Object value, long txTimestamp, Object version) throws CacheException {
+		final SessionFactoryOptions options = region.getSessionFactoryOptions();
+		final boolean minimalPutOverride = options != null && options.isMinimalPutsEnabled();
+		return putFromLoad( session, key, value, txTimestamp, version, minimalPutOverride );
+	}
+
+	@Override
+	public boolean putFromLoad(SharedSessionContractImplementor session, Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+			throws CacheException {
+		if ( minimalPutOverride && region.contains( key ) ) {
+			return false;
+		}
+		else {
+			region.put( key, value );
+			return true;
+		}
+	}
+
+	@Override
+	public SoftLock lockItem(SharedSessionContractImplementor session, Object key, Object version) throws CacheException {
+		return null;
+	}
+
+	@Override
+	public SoftLock lockRegion() throws CacheException {
+		return null;
+	}
+
+	@Override
+	public void unlockItem(SharedSessionContractImplementor session, Object key, SoftLock lock) throws CacheException {
+		evict( key );
+	}
+
+	@Override
+	public void unlockRegion(SoftLock lock) throws CacheException {
+		evictAll();
+	}
+
+	@Override
+	public void remove(SharedSessionContractImplementor session, Object key) throws CacheException {
+		// only asynchronous access strategies are supported
+	}
+
+	@Override
+	public void removeAll() throws CacheException {
+		evictAll();
+	}
+
+	@Override
+	public void evict(Object key) throws CacheException {
+		region.remove( key );
+	}
+
+	@Override
+	public void evictAll() throws CacheException {
+		region.clear();
+	}
+
+	public R getRegion() {
+		return region;
+	}
+}
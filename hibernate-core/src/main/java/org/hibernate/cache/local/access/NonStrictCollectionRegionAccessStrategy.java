@@ -0,0 +1,45 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+
+package org.hibernate.cache.local.access;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.internal.DefaultCacheKeysFactory;
+import org.hibernate.cache.local.LocalCollectionRegion;
+import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+
+/**
+ * The {@link org.hibernate.cache.spi.access.AccessType#NONSTRICT_READ_WRITE} strategy of a {@link LocalCollectionRegion},
+ * also used for {@link org.hibernate.cache.spi.access.AccessType#TRANSACTIONAL}.
+ */
+public class NonStrictCollectionRegionAccessStrategy
+		extends LocalRegionAccessStrategy<LocalCollectionRegion>
+		implements CollectionRegionAccessStrategy {
+
+	public NonStrictCollectionRegionAccessStrategy(LocalCollectionRegion region) {
+		super( region );
+	}
+
+	@Override
+	public Object generateCacheKey(Object id, CollectionPersister persister, SessionFactoryImplementor factory, String tenantIdentifier) {
+		return DefaultCacheKeysFactory.staticCreateCollectionKey( id, persister, factory, tenantIdentifier );
+	}
+
+	@Override
+	public Object getCacheKeyId(Object cacheKey) {
+		return DefaultCacheKeysFactory.staticGetCollectionId( cacheKey );
+	}
+
+	@Override
+	public void remove(SharedSessionContractImplementor session, Object key) throws CacheException {
+		evict( key );
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+
+package org.hibernate.cache.local.access;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.internal.DefaultCacheKeysFactory;
+import org.hibernate.cache.local.LocalNaturalIdRegion;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * The {@link org.hibernate.cache.spi.access.AccessType#NONSTRICT_READ_WRITE} strategy of a {@link LocalNaturalIdRegion},
+ * also used for {@link org.hibernate.cache.spi.access.AccessType#TRANSACTIONAL}.
+ */
+public class NonStrictNaturalIdRegionAccessStrategy
+		extends LocalRegionAccessStrategy<LocalNaturalIdRegion>
+		implements NaturalIdRegionAccessStrategy {
+
+	public NonStrictNaturalIdRegionAccessStrategy(LocalNaturalIdRegion region) {
+		super( region );
+	}
+
+	@Override
+	public boolean insert(SharedSessionContractImplementor session, Object key, Object value) throws CacheException {
+		return false;
+	}
+
+	@Override
+	public boolean afterInsert(SharedSessionContractImplementor session, Object key, Object value) throws CacheException {
+		return false;
+	}
+
+	@Override
+	public boolean update(SharedSessionContractImplementor session, Object key, Object value) throws CacheException {
+		remove( session, key );
+		return false;
+	}
+
+	@Override
+	public boolean afterUpdate(SharedSessionContractImplementor session, Object key, Object value, SoftLock lock) throws CacheException {
+		unlockItem( session, key, lock );
+		return false;
+	}
+
+	@Override
+	public Object generateCacheKey(Object[] naturalIdValues, EntityPersister persister, SharedSessionContractImplementor session) {
+		return DefaultCacheKeysFactory.staticCreateNaturalIdKey( naturalIdValues, persister, session );
+	}
+
+	@Override
+	public Object[] getNaturalIdValues(Object cacheKey) {
+		return DefaultCacheKeysFactory.staticGetNaturalIdValues( cacheKey );
+	}
+}
@@ -0,0 +1,12 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+
+/**
+ * Built-in caching provider keeping the regions in the heap of the JVM, bounded in size and evicting with the
+ * W-TinyLFU policy.  Selected with {@code hibernate.cache.region.factory_class=local}.
+ */
+package org.hibernate.cache.local;
@@ -6,6 +6,10 @@
  */
 package org.hibernate.cache.spi;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 
@@ -39,6 +43,43 @@ public interface GeneralDataRegion extends Region {
 	 */
 	void put(SharedSessionContractImplementor session, Object key, Object value) throws CacheException;
 
+	/**
+	 * Get several items from the cache.  Regions backed by a remote or clustered cache should override this
+	 * to fetch them all in one round trip; by default each item is fetched in turn.
+	 *
+	 * @param session
+	 * @param keys The keys of the items to be retrieved.
+	 *
+	 * @return the cached objects by key; keys without a cached object are absent
+	 *
+	 * @throws org.hibernate.cache.CacheException Indicates a problem accessing the items or region.
+	 */
+	default Map<Object, Object> getAll(SharedSessionContractImplementor session, Collection<?> keys) throws CacheException {
+		final Map<Object, Object> items = new HashMap<>();
+		for ( Object key : keys ) {
+			final Object item = get( session, key );
+			if ( item != null ) {
+				items.put( key, item );
+			}
+		}
+		return items;
+	}
+
+	/**
+	 * Put several items into the cache.  Regions backed by a remote or clustered cache should override this
+	 * to store them all in one round trip; by default each item is put in turn.
+	 *
+	 * @param session
+	 * @param items The items to cache, by key.
+	 *
+	 * @throws CacheException Indicates a problem accessing the region.
+	 */
+	default void putAll(SharedSessionContractImplementor session, Map<?, ?> items) throws CacheException {
+		for ( Map.Entry<?, ?> item : items.entrySet() ) {
+			put( session, item.getKey(), item.getValue() );
+		}
+	}
+
 	/**
 	 * Evict an item from the cache immediately (without regard for transaction
 	 * isolation).
@@ -7,12 +7,22 @@
 package org.hibernate.cache.spi;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.cache.CacheException;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 
 import org.jboss.logging.Logger;
 
@@ -22,6 +32,10 @@ import org.jboss.logging.Logger;
  * to a higher value than the timeouts of any of the query caches. In fact, we
  * recommend that the the underlying cache not be configured for expiry at all.
  * Note, in particular, that an LRU cache expiry policy is never appropriate.
+ * <p/>
+ * The timestamps of all the spaces of a query are read from the region at once.  If
+ * {@value AvailableSettings#UPDATE_TIMESTAMPS_NEAR_CACHE_TTL} is set, the timestamps read are also kept on
+ * this node for that long, the invalidations made through this node replacing them at once.
  *
  * @author Gavin King
  * @author Mikheil Kapanadze
@@ -38,6 +52,11 @@ public class UpdateTimestampsCache {
 	private final SessionFactoryImplementor factory;
 	private final TimestampsRegion region;
 
+	private final long nearCacheTtl;
+	private final ConcurrentMap<Serializable, NearCacheEntry> nearCache;
+	// incremented by each invalidation, so that timestamps read before it are not kept in the near cache
+	private final AtomicLong invalidations = new AtomicLong();
+
 	/**
 	 * Constructs an UpdateTimestampsCache.
 	 *
@@ -48,6 +67,14 @@ public class UpdateTimestampsCache {
 		LOG.startingUpdateTimestampsCache( region.getName() );
 		this.factory = sessionFactory;
 		this.region = region;
+		this.nearCacheTtl = sessionFactory == null
+				? 0
+				: ConfigurationHelper.getLong(
+						AvailableSettings.UPDATE_TIMESTAMPS_NEAR_CACHE_TTL,
+						sessionFactory.getProperties(),
+						0
+				);
+		this.nearCache = nearCacheTtl > 0 ? new ConcurrentHashMap<>() : null;
 	}
 
 	/**
@@ -60,30 +87,13 @@ public class UpdateTimestampsCache {
 	 * @throws CacheException Indicated problem delegating to underlying region.
 	 */
 	public void preInvalidate(Serializable[] spaces, SharedSessionContractImplementor session) throws CacheException {
-		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
-
 		final Long ts = region.nextTimestamp() + region.getTimeout();
-
-		for ( Serializable space : spaces ) {
-			if ( DEBUG_ENABLED ) {
+		if ( DEBUG_ENABLED ) {
+			for ( Serializable space : spaces ) {
 				LOG.debugf( "Pre-invalidating space [%s], timestamp: %s", space, ts );
 			}
-
-			try {
-				session.getEventListenerManager().cachePutStart();
-
-				//put() has nowait semantics, is this really appropriate?
-				//note that it needs to be async replication, never local or sync
-				region.put( session, space, ts );
-			}
-			finally {
-				session.getEventListenerManager().cachePutEnd();
-			}
-
-			if ( stats ) {
-				factory.getStatistics().updateTimestampsCachePut();
-			}
 		}
+		putTimestamps( spaces, ts, session );
 	}
 
 	/**
@@ -96,27 +106,48 @@ public class UpdateTimestampsCache {
 	 * @throws CacheException Indicated problem delegating to underlying region.
 	 */
 	public void invalidate(Serializable[] spaces, SharedSessionContractImplementor session) throws CacheException {
-		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
-
 		final Long ts = region.nextTimestamp();
-
-		for (Serializable space : spaces) {
-			if ( DEBUG_ENABLED ) {
+		if ( DEBUG_ENABLED ) {
+			for ( Serializable space : spaces ) {
 				LOG.debugf( "Invalidating space [%s], timestamp: %s", space, ts );
 			}
+		}
+		putTimestamps( spaces, ts, session );
+	}
 
-			try {
-				session.getEventListenerManager().cachePutStart();
+	private void putTimestamps(Serializable[] spaces, Long ts, SharedSessionContractImplementor session) {
+		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
 
-				//put() has nowait semantics, is this really appropriate?
-				//note that it needs to be async replication, never local or sync
-				region.put( session, space, ts );
+		try {
+			session.getEventListenerManager().cachePutStart();
+
+			//put() has nowait semantics, is this really appropriate?
+			//note that it needs to be async replication, never local or sync
+			if ( spaces.length == 1 ) {
+				region.put( session, spaces[0], ts );
 			}
-			finally {
-				session.getEventListenerManager().cachePutEnd();
+			else {
+				final Map<Serializable, Long> timestamps = new HashMap<>();
+				for ( Serializable space : spaces ) {
+					timestamps.put( space, ts );
+				}
+				region.putAll( session, timestamps );
 			}
+		}
+		finally {
+			session.getEventListenerManager().cachePutEnd();
+		}
 
-			if ( stats ) {
+		if ( nearCache != null ) {
+			invalidations.incrementAndGet();
+			final NearCacheEntry entry = new NearCacheEntry( ts, System.currentTimeMillis() + nearCacheTtl );
+			for ( Serializable space : spaces ) {
+				nearCache.put( space, entry );
+			}
+		}
+
+		if ( stats ) {
+			for ( int i = 0; i < spaces.length; i++ ) {
 				factory.getStatistics().updateTimestampsCachePut();
 			}
 		}
@@ -137,8 +168,9 @@ public class UpdateTimestampsCache {
 	public boolean isUpToDate(Set<Serializable> spaces, Long timestamp, SharedSessionContractImplementor session) throws CacheException {
 		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
 
+		final Map<Serializable, Long> lastUpdates = getLastUpdateTimestamps( spaces, session );
 		for ( Serializable space : spaces ) {
-			final Long lastUpdate = getLastUpdateTimestampForSpace( space, session );
+			final Long lastUpdate = lastUpdates.get( space );
 			if ( lastUpdate == null ) {
 				if ( stats ) {
 					factory.getStatistics().updateTimestampsCacheMiss();
@@ -167,16 +199,69 @@ public class UpdateTimestampsCache {
 		return true;
 	}
 
-	private Long getLastUpdateTimestampForSpace(Serializable space, SharedSessionContractImplementor session) {
-		Long ts = null;
+	/**
+	 * Gets the last update timestamps of the spaces from the near cache, then those missing from the region
+	 * with a single call.
+	 */
+	private Map<Serializable, Long> getLastUpdateTimestamps(Set<Serializable> spaces, SharedSessionContractImplementor session) {
+		if ( spaces.isEmpty() ) {
+			return Collections.emptyMap();
+		}
+
+		final Map<Serializable, Long> lastUpdates = new HashMap<>();
+		final Collection<Serializable> missing;
+		if ( nearCache == null ) {
+			missing = spaces;
+		}
+		else {
+			final long now = System.currentTimeMillis();
+			missing = new ArrayList<>();
+			for ( Serializable space : spaces ) {
+				final NearCacheEntry entry = nearCache.get( space );
+				if ( entry == null || entry.expiresAt <= now ) {
+					missing.add( space );
+				}
+				else if ( entry.timestamp != null ) {
+					lastUpdates.put( space, entry.timestamp );
+				}
+			}
+			if ( missing.isEmpty() ) {
+				return lastUpdates;
+			}
+		}
+
+		final long invalidationCount = invalidations.get();
+		Map<Object, Object> timestamps = null;
 		try {
 			session.getEventListenerManager().cacheGetStart();
-			ts = (Long) region.get( session, space );
+			if ( missing.size() == 1 ) {
+				final Serializable space = missing.iterator().next();
+				final Object ts = region.get( session, space );
+				timestamps = ts == null ? Collections.emptyMap() : Collections.singletonMap( space, ts );
+			}
+			else {
+				timestamps = region.getAll( session, missing );
+			}
 		}
 		finally {
-			session.getEventListenerManager().cacheGetEnd( ts != null );
+			session.getEventListenerManager().cacheGetEnd( timestamps != null && !timestamps.isEmpty() );
 		}
-		return ts;
+
+		for ( Serializable space : missing ) {
+			final Long ts = (Long) timestamps.get( space );
+			if ( ts != null ) {
+				lastUpdates.put( space, ts );
+			}
+			if ( nearCache != null ) {
+				final NearCacheEntry entry = new NearCacheEntry( ts, System.currentTimeMillis() + nearCacheTtl );
+				// an invalidation since the read has put a newer timestamp in the near cache
+				nearCache.compute(
+						space,
+						(key, existing) -> invalidations.get() == invalidationCount ? entry : existing
+				);
+			}
+		}
+		return lastUpdates;
 	}
 
 	/**
@@ -186,6 +271,10 @@ public class UpdateTimestampsCache {
 	 */
 	public void clear() throws CacheException {
 		region.evictAll();
+		if ( nearCache != null ) {
+			invalidations.incrementAndGet();
+			nearCache.clear();
+		}
 	}
 
 	/**
@@ -216,4 +305,17 @@ public class UpdateTimestampsCache {
 		return "UpdateTimestampsCache";
 	}
 
+	/**
+	 * A timestamp kept in the near cache, null if the region had none.
+	 */
+	private static final class NearCacheEntry {
+		private final Long timestamp;
+		private final long expiresAt;
+
+		private NearCacheEntry(Long timestamp, long expiresAt) {
+			this.timestamp = timestamp;
+			this.expiresAt = expiresAt;
+		}
+	}
+
 }
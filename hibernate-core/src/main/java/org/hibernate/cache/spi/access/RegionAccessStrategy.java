@@ -6,6 +6,9 @@
  */
 package org.hibernate.cache.spi.access;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
@@ -29,6 +32,29 @@ public interface RegionAccessStrategy {
 	 */
 	Object get(SharedSessionContractImplementor session, Object key, long txTimestamp) throws CacheException;
 
+	/**
+	 * Attempt to retrieve several objects from the cache, such as the entities of a batch load or of a cached
+	 * query result.  Strategies over a remote or clustered cache should override this to fetch them in one
+	 * round trip; by default each object is retrieved in turn with {@link #get}.
+	 *
+	 * @param session Current session.
+	 * @param keys The keys of the items to be retrieved.
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @return the cached objects by key; keys without a cached object are absent
+	 * @throws org.hibernate.cache.CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 */
+	default Map<Object, Object> getAll(SharedSessionContractImplementor session, Collection<?> keys, long txTimestamp)
+			throws CacheException {
+		final Map<Object, Object> items = new HashMap<>();
+		for ( Object key : keys ) {
+			final Object item = get( session, key, txTimestamp );
+			if ( item != null ) {
+				items.put( key, item );
+			}
+		}
+		return items;
+	}
+
 	/**
 	 * Attempt to cache an object, after loading from the database.
 	 *
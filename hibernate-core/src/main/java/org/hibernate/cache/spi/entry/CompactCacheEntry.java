@@ -0,0 +1,413 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+import org.hibernate.HibernateException;
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.property.access.internal.PropertyAccessStrategyBackRefImpl;
+
+/**
+ * Compact binary CacheEntry format for entities.  Used to store the entry into the second-level cache
+ * as a {@code byte[]}, which is much smaller than the serialized form of a {@link StandardCacheEntryImpl}
+ * and does not hold an object graph on the heap.
+ * <p/>
+ * The values of the disassembled state are written in the order of the persister's properties, without
+ * their names, each one prefixed with a one byte tag.  Numbers are written as (zig-zag) varints, strings
+ * as UTF-8 and the usual temporal, decimal and binary values by their content.  Component state is written
+ * recursively and any other value falls back to Java serialization.
+ * <p/>
+ * {@link #destructure} only reads the subclass and version; the state itself is decoded when the entry
+ * is assembled.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#USE_COMPACT_CACHE
+ */
+public class CompactCacheEntry implements CacheEntryStructure {
+	private static final byte FORMAT = 1;
+
+	private static final byte NULL = 0;
+	private static final byte UNFETCHED = 1;
+	private static final byte UNKNOWN = 2;
+	private static final byte TRUE = 3;
+	private static final byte FALSE = 4;
+	private static final byte BYTE = 5;
+	private static final byte SHORT = 6;
+	private static final byte INTEGER = 7;
+	private static final byte LONG = 8;
+	private static final byte FLOAT = 9;
+	private static final byte DOUBLE = 10;
+	private static final byte CHARACTER = 11;
+	private static final byte STRING = 12;
+	private static final byte BIG_DECIMAL = 13;
+	private static final byte BIG_INTEGER = 14;
+	private static final byte DATE = 15;
+	private static final byte SQL_DATE = 16;
+	private static final byte SQL_TIME = 17;
+	private static final byte SQL_TIMESTAMP = 18;
+	private static final byte UUID_VALUE = 19;
+	private static final byte BYTES = 20;
+	private static final byte ARRAY = 21;
+	private static final byte SERIALIZED = 22;
+
+	private final EntityPersister persister;
+
+	/**
+	 * Constructs a CompactCacheEntry strategy
+	 *
+	 * @param persister The persister whose data needs to be structured.
+	 */
+	public CompactCacheEntry(EntityPersister persister) {
+		this.persister = persister;
+	}
+
+	@Override
+	public Object structure(Object item) {
+		final CacheEntry entry = (CacheEntry) item;
+		final Serializable[] state = entry.getDisassembledState();
+		final Writer writer = new Writer( 16 + 8 * state.length );
+		writer.writeByte( FORMAT );
+		if ( persister.getEntityName().equals( entry.getSubclass() ) ) {
+			writer.writeByte( NULL );
+		}
+		else {
+			writer.writeValue( entry.getSubclass() );
+		}
+		writer.writeValue( entry.getVersion() );
+		writer.writeVarInt( state.length );
+		for ( Serializable value : state ) {
+			writer.writeValue( value );
+		}
+		return writer.toByteArray();
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		final Reader reader = new Reader( (byte[]) structured );
+		if ( reader.readByte() != FORMAT ) {
+			throw new HibernateException( "Unknown format of compact cache entry for entity: " + persister.getEntityName() );
+		}
+		final Object subclass = reader.readValue();
+		final Object version = reader.readValue();
+		return new LazyCacheEntry(
+				subclass == null ? persister.getEntityName() : (String) subclass,
+				version,
+				reader
+		);
+	}
+
+	/**
+	 * A cache entry whose state is decoded on first access.
+	 */
+	private static class LazyCacheEntry extends StandardCacheEntryImpl {
+		private Reader reader;
+		private Serializable[] disassembledState;
+
+		private LazyCacheEntry(String subclass, Object version, Reader reader) {
+			super( null, null, subclass, version );
+			this.reader = reader;
+		}
+
+		@Override
+		public Serializable[] getDisassembledState() {
+			if ( disassembledState == null ) {
+				final Serializable[] state = new Serializable[reader.readVarInt()];
+				for ( int i = 0; i < state.length; i++ ) {
+					state[i] = reader.readValue();
+				}
+				disassembledState = state;
+				reader = null;
+			}
+			return disassembledState;
+		}
+	}
+
+	private static class Writer {
+		private byte[] buffer;
+		private int position;
+
+		private Writer(int initialCapacity) {
+			this.buffer = new byte[initialCapacity];
+		}
+
+		private void ensureCapacity(int length) {
+			if ( position + length > buffer.length ) {
+				buffer = Arrays.copyOf( buffer, Math.max( buffer.length << 1, position + length ) );
+			}
+		}
+
+		private void writeByte(int value) {
+			ensureCapacity( 1 );
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeBytes(byte[] bytes) {
+			writeVarInt( bytes.length );
+			ensureCapacity( bytes.length );
+			System.arraycopy( bytes, 0, buffer, position, bytes.length );
+			position += bytes.length;
+		}
+
+		private void writeVarInt(int value) {
+			writeVarLong( value & 0xFFFFFFFFL );
+		}
+
+		private void writeVarLong(long value) {
+			ensureCapacity( 10 );
+			while ( ( value & ~0x7FL ) != 0 ) {
+				buffer[position++] = (byte) ( ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeZigZag(long value) {
+			writeVarLong( ( value << 1 ) ^ ( value >> 63 ) );
+		}
+
+		private void writeLong(long value) {
+			ensureCapacity( 8 );
+			for ( int shift = 56; shift >= 0; shift -= 8 ) {
+				buffer[position++] = (byte) ( value >>> shift );
+			}
+		}
+
+		private void writeValue(Object value) {
+			if ( value == null ) {
+				writeByte( NULL );
+			}
+			else if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+				writeByte( UNFETCHED );
+			}
+			else if ( value == PropertyAccessStrategyBackRefImpl.UNKNOWN ) {
+				writeByte( UNKNOWN );
+			}
+			else {
+				final Class<?> valueClass = value.getClass();
+				if ( valueClass == String.class ) {
+					writeByte( STRING );
+					writeBytes( ( (String) value ).getBytes( StandardCharsets.UTF_8 ) );
+				}
+				else if ( valueClass == Integer.class ) {
+					writeByte( INTEGER );
+					writeZigZag( (Integer) value );
+				}
+				else if ( valueClass == Long.class ) {
+					writeByte( LONG );
+					writeZigZag( (Long) value );
+				}
+				else if ( valueClass == Boolean.class ) {
+					writeByte( (Boolean) value ? TRUE : FALSE );
+				}
+				else if ( valueClass == Short.class ) {
+					writeByte( SHORT );
+					writeZigZag( (Short) value );
+				}
+				else if ( valueClass == Byte.class ) {
+					writeByte( BYTE );
+					writeByte( (Byte) value );
+				}
+				else if ( valueClass == Character.class ) {
+					writeByte( CHARACTER );
+					writeVarInt( (Character) value );
+				}
+				else if ( valueClass == Double.class ) {
+					writeByte( DOUBLE );
+					writeLong( Double.doubleToRawLongBits( (Double) value ) );
+				}
+				else if ( valueClass == Float.class ) {
+					writeByte( FLOAT );
+					writeVarInt( Float.floatToRawIntBits( (Float) value ) );
+				}
+				else if ( valueClass == BigDecimal.class ) {
+					final BigDecimal decimal = (BigDecimal) value;
+					writeByte( BIG_DECIMAL );
+					writeZigZag( decimal.scale() );
+					writeBytes( decimal.unscaledValue().toByteArray() );
+				}
+				else if ( valueClass == BigInteger.class ) {
+					writeByte( BIG_INTEGER );
+					writeBytes( ( (BigInteger) value ).toByteArray() );
+				}
+				else if ( valueClass == Date.class ) {
+					writeByte( DATE );
+					writeZigZag( ( (Date) value ).getTime() );
+				}
+				else if ( valueClass == java.sql.Date.class ) {
+					writeByte( SQL_DATE );
+					writeZigZag( ( (Date) value ).getTime() );
+				}
+				else if ( valueClass == Time.class ) {
+					writeByte( SQL_TIME );
+					writeZigZag( ( (Date) value ).getTime() );
+				}
+				else if ( valueClass == Timestamp.class ) {
+					final Timestamp timestamp = (Timestamp) value;
+					writeByte( SQL_TIMESTAMP );
+					writeZigZag( timestamp.getTime() );
+					writeVarInt( timestamp.getNanos() );
+				}
+				else if ( valueClass == UUID.class ) {
+					final UUID uuid = (UUID) value;
+					writeByte( UUID_VALUE );
+					writeLong( uuid.getMostSignificantBits() );
+					writeLong( uuid.getLeastSignificantBits() );
+				}
+				else if ( valueClass == byte[].class ) {
+					writeByte( BYTES );
+					writeBytes( (byte[]) value );
+				}
+				else if ( valueClass == Object[].class || valueClass == Serializable[].class ) {
+					// the disassembled state of a component
+					final Object[] values = (Object[]) value;
+					writeByte( ARRAY );
+					writeVarInt( values.length );
+					for ( Object element : values ) {
+						writeValue( element );
+					}
+				}
+				else {
+					writeByte( SERIALIZED );
+					writeBytes( SerializationHelper.serialize( (Serializable) value ) );
+				}
+			}
+		}
+
+		private byte[] toByteArray() {
+			return Arrays.copyOf( buffer, position );
+		}
+	}
+
+	private static class Reader {
+		private final byte[] buffer;
+		private int position;
+
+		private Reader(byte[] buffer) {
+			this.buffer = buffer;
+		}
+
+		private byte readByte() {
+			return buffer[position++];
+		}
+
+		private byte[] readBytes() {
+			final int length = readVarInt();
+			final byte[] bytes = Arrays.copyOfRange( buffer, position, position + length );
+			position += length;
+			return bytes;
+		}
+
+		private int readVarInt() {
+			return (int) readVarLong();
+		}
+
+		private long readVarLong() {
+			long value = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = buffer[position++];
+				value |= (long) ( b & 0x7F ) << shift;
+				shift += 7;
+			} while ( b < 0 );
+			return value;
+		}
+
+		private long readZigZag() {
+			final long value = readVarLong();
+			return ( value >>> 1 ) ^ -( value & 1 );
+		}
+
+		private long readLong() {
+			long value = 0;
+			for ( int i = 0; i < 8; i++ ) {
+				value = ( value << 8 ) | ( buffer[position++] & 0xFF );
+			}
+			return value;
+		}
+
+		private Serializable readValue() {
+			final byte tag = readByte();
+			switch ( tag ) {
+				case NULL:
+					return null;
+				case UNFETCHED:
+					return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+				case UNKNOWN:
+					return PropertyAccessStrategyBackRefImpl.UNKNOWN;
+				case TRUE:
+					return Boolean.TRUE;
+				case FALSE:
+					return Boolean.FALSE;
+				case BYTE:
+					return readByte();
+				case SHORT:
+					return (short) readZigZag();
+				case INTEGER:
+					return (int) readZigZag();
+				case LONG:
+					return readZigZag();
+				case FLOAT:
+					return Float.intBitsToFloat( readVarInt() );
+				case DOUBLE:
+					return Double.longBitsToDouble( readLong() );
+				case CHARACTER:
+					return (char) readVarInt();
+				case STRING: {
+					final int length = readVarInt();
+					final String string = new String( buffer, position, length, StandardCharsets.UTF_8 );
+					position += length;
+					return string;
+				}
+				case BIG_DECIMAL: {
+					final int scale = (int) readZigZag();
+					return new BigDecimal( new BigInteger( readBytes() ), scale );
+				}
+				case BIG_INTEGER:
+					return new BigInteger( readBytes() );
+				case DATE:
+					return new Date( readZigZag() );
+				case SQL_DATE:
+					return new java.sql.Date( readZigZag() );
+				case SQL_TIME:
+					return new Time( readZigZag() );
+				case SQL_TIMESTAMP: {
+					final Timestamp timestamp = new Timestamp( readZigZag() );
+					timestamp.setNanos( readVarInt() );
+					return timestamp;
+				}
+				case UUID_VALUE:
+					return new UUID( readLong(), readLong() );
+				case BYTES:
+					return readBytes();
+				case ARRAY: {
+					// as disassembled by ComponentType
+					final Object[] values = new Object[readVarInt()];
+					for ( int i = 0; i < values.length; i++ ) {
+						values[i] = readValue();
+					}
+					return values;
+				}
+				case SERIALIZED:
+					return (Serializable) SerializationHelper.deserialize( readBytes() );
+				default:
+					throw new HibernateException( "Unknown value tag in compact cache entry: " + tag );
+			}
+		}
+	}
+}
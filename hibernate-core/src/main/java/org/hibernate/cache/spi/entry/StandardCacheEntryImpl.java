@@ -139,7 +139,7 @@ public class StandardCacheEntryImpl implements CacheEntry {
 
 		//assembled state gets put in a new array (we read from cache by value!)
 		final Object[] state = TypeHelper.assemble(
-				disassembledState,
+				getDisassembledState(),
 				persister.getPropertyTypes(),
 				session, instance
 		);
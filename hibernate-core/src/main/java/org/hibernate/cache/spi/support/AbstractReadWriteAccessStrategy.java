@@ -4,30 +4,33 @@
  * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
  * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
  */
-
-package org.hibernate.cache.jcache.access;
+package org.hibernate.cache.spi.support;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.cache.CacheException;
-import org.hibernate.cache.jcache.JCacheMessageLogger;
-import org.hibernate.cache.jcache.JCacheTransactionalDataRegion;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
-import org.jboss.logging.Logger;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
 
 /**
+ * Base of the {@link org.hibernate.cache.spi.access.AccessType#READ_WRITE} strategies of the regions which are not
+ * transaction aware, guarding the entries being updated with soft locks.  Originally part of the JCache integration,
+ * which, along with the built-in {@link org.hibernate.cache.local.LocalRegionFactory}, now builds its strategies on
+ * this one.
+ *
  * @author Alex Snaps
  */
-abstract class AbstractReadWriteRegionAccessStrategy<R extends JCacheTransactionalDataRegion> {
+public abstract class AbstractReadWriteAccessStrategy<R extends SoftLockableDataRegion> {
 
-	private static final JCacheMessageLogger LOG = Logger.getMessageLogger(
-			JCacheMessageLogger.class,
-			AbstractReadWriteRegionAccessStrategy.class.getName()
-	);
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( AbstractReadWriteAccessStrategy.class );
 
 	protected final R region;
 	protected final Comparator versionComparator;
@@ -35,7 +38,7 @@ abstract class AbstractReadWriteRegionAccessStrategy<R extends JCacheTransaction
 	private final AtomicLong nextLockId = new AtomicLong();
 	private final AtomicLong nextItemId = new AtomicLong();
 
-	public AbstractReadWriteRegionAccessStrategy(R region) {
+	protected AbstractReadWriteAccessStrategy(R region) {
 		this.versionComparator = region.getCacheDataDescription().getVersionComparator();
 		this.region = region;
 	}
@@ -56,6 +59,18 @@ abstract class AbstractReadWriteRegionAccessStrategy<R extends JCacheTransaction
 		}
 	}
 
+	public Map<Object, Object> getAll(SharedSessionContractImplementor session, Collection<?> keys, long txTimestamp)
+			throws CacheException {
+		final Map<Object, Object> values = new HashMap<Object, Object>();
+		for ( Map.Entry<Object, Object> entry : region.getAll( keys ).entrySet() ) {
+			final Lockable item = (Lockable) entry.getValue();
+			if ( item != null && item.isReadable( txTimestamp ) ) {
+				values.put( entry.getKey(), item.getValue() );
+			}
+		}
+		return values;
+	}
+
 	public boolean putFromLoad(SharedSessionContractImplementor session, Object key, Object value, long txTimestamp, Object version) throws CacheException {
 		while (true) {
 			Lockable item = (Lockable) region.get( key );
@@ -64,7 +79,7 @@ abstract class AbstractReadWriteRegionAccessStrategy<R extends JCacheTransaction
 				/*
 				 * If the item is null due a softlock being evicted... then this
 				 * is wrong, the in-doubt soft-lock could get replaced with the
-				 * old value.  All that can be done from a JCache perspective is
+				 * old value.  All that can be done from a cache perspective is
 				 * to log a warning.
 				 */
 				if (region.putIfAbsent( key, new Item( value, version, txTimestamp, nextItemId() ))) {
@@ -151,6 +166,44 @@ abstract class AbstractReadWriteRegionAccessStrategy<R extends JCacheTransaction
 		region.clear();
 	}
 
+	/**
+	 * Puts the item of an entry after its insertion, unless another one was put meanwhile.
+	 *
+	 * @return {@code true} if the item was put
+	 */
+	protected boolean afterInsertItem(Object key, Object value, Object version) {
+		return region.putIfAbsent( key, new Item( value, version, region.nextTimestamp(), nextItemId() ) );
+	}
+
+	/**
+	 * Replaces the lock of an entry by its item after its update, unless it was locked concurrently.
+	 *
+	 * @return {@code true} if the item was put
+	 */
+	protected boolean afterUpdateItem(Object key, Object value, Object version, SoftLock lock) {
+		while (true) {
+			Lockable item = (Lockable) region.get( key );
+
+			if ( item != null && item.isUnlockable( lock ) ) {
+				final Lock lockItem = (Lock) item;
+				if ( lockItem.wasLockedConcurrently() ) {
+					if (region.replace( key, lockItem, lockItem.unlock( region.nextTimestamp() ) )) {
+						return false;
+					}
+				}
+				else {
+					if (region.replace( key, lockItem, new Item( value, version, region.nextTimestamp(), nextItemId() ) )) {
+						return true;
+					}
+				}
+			}
+			else {
+				handleMissingLock( key, item );
+				return false;
+			}
+		}
+	}
+
 	private long nextLockId() {
 		return nextLockId.getAndIncrement();
 	}
@@ -160,7 +213,7 @@ abstract class AbstractReadWriteRegionAccessStrategy<R extends JCacheTransaction
 	}
 
 	protected void handleMissingLock(Object key, Lockable lock) {
-		LOG.missingLock( region, key, lock );
+		LOG.missingLock( region.getName(), key, lock );
 		long ts = region.nextTimestamp() + region.getTimeout();
 		// create new lock that times out immediately
 		Lock newLock = new Lock( ts, uuid, nextLockId.getAndIncrement(), null ).unlock( ts );
@@ -213,7 +266,7 @@ abstract class AbstractReadWriteRegionAccessStrategy<R extends JCacheTransaction
 		/**
 		 * Creates an unlocked item wrapping the given value with a version and creation timestamp.
 		 */
-		Item(Object value, Object version, long timestamp, long itemId) {
+		public Item(Object value, Object version, long timestamp, long itemId) {
 			this.value = value;
 			this.version = version;
 			this.timestamp = timestamp;
@@ -0,0 +1,63 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.support;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.spi.TransactionalDataRegion;
+
+/**
+ * A {@link TransactionalDataRegion} offering the atomic operations {@link AbstractReadWriteAccessStrategy} needs to
+ * guard its entries with soft locks.
+ */
+public interface SoftLockableDataRegion extends TransactionalDataRegion {
+	/**
+	 * Gets the entry of the given key.
+	 *
+	 * @return The entry, or {@code null} if none
+	 */
+	Object get(Object key);
+
+	/**
+	 * Gets several entries at once.
+	 *
+	 * @param keys The keys of the entries
+	 *
+	 * @return The entries found, by key
+	 */
+	Map<Object, Object> getAll(Collection<?> keys);
+
+	/**
+	 * Puts the given entry, replacing any previous one.
+	 */
+	void put(Object key, Object value);
+
+	/**
+	 * Puts the given entry, unless the key already has one.
+	 *
+	 * @return {@code true} if the entry was put
+	 */
+	boolean putIfAbsent(Object key, Object value);
+
+	/**
+	 * Replaces the entry of the given key, if it is still the expected one.
+	 *
+	 * @return {@code true} if the entry was replaced
+	 */
+	boolean replace(Object key, Object expected, Object value);
+
+	/**
+	 * Removes the entry of the given key, if any.
+	 */
+	void remove(Object key);
+
+	/**
+	 * Removes all the entries.
+	 */
+	void clear();
+}
@@ -771,10 +771,41 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String STATEMENT_FETCH_SIZE = "hibernate.jdbc.fetch_size";
 
+	/**
+	 * Enable the adaptation of the JDBC fetch size of each HQL, criteria and native query to the number of rows
+	 * its previous executions read, bounded by the maximum number of rows of the query and by
+	 * {@link #STATEMENT_FETCH_SIZE_MEMORY_BUDGET}.  Until a query has been executed, the fetch size given by
+	 * {@link #STATEMENT_FETCH_SIZE} applies, and the fetch size never adapts below it, or below {@code 10} if it is
+	 * not set; a fetch size set on the query itself always takes precedence.
+	 * <p/>
+	 * Default is {@code false}
+	 *
+	 * @since 5.3
+	 */
+	String ADAPTIVE_STATEMENT_FETCH_SIZE = "hibernate.jdbc.adaptive_fetch_size";
+
+	/**
+	 * The number of bytes the rows fetched at once by a statement should take at most, given the width of the
+	 * columns of its results, when {@link #ADAPTIVE_STATEMENT_FETCH_SIZE} is enabled.
+	 * <p/>
+	 * Default is 1 MiB
+	 *
+	 * @since 5.3
+	 */
+	String STATEMENT_FETCH_SIZE_MEMORY_BUDGET = "hibernate.jdbc.fetch_size_memory_budget";
+
 	/**
 	 * Maximum JDBC batch size. A nonzero value enables batch updates.
 	 */
 	String STATEMENT_BATCH_SIZE = "hibernate.jdbc.batch_size";
+
+	/**
+	 * Should batched entity inserts be combined into multi-row inserts ({@code INSERT ... VALUES (...), (...)})?
+	 * Useful with drivers which execute JDBC batches as one round trip per row.  Only applies to entities
+	 * without custom insert SQL, when JDBC batching is enabled and the Dialect supports multi-row inserts (see
+	 * {@link org.hibernate.dialect.Dialect#getMultiRowInsertRowLimit()}).  Disabled by default.
+	 */
+	String STATEMENT_BATCH_MULTI_ROW_INSERT = "hibernate.jdbc.batch_multi_row_insert";
 	/**
 	 * Select a custom batcher.
 	 */
@@ -900,6 +931,17 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String ORDER_INSERTS = "hibernate.order_inserts";
 
+	/**
+	 * Enable grouping of the insert, update and delete statements of a {@link org.hibernate.StatelessSession}
+	 * per entity and operation, for the purpose of more efficient JDBC batching.  Statements are then executed
+	 * group after group, in the order in which each group was first used, rather than in the order of the calls:
+	 * once a group reaches the JDBC batch size, on transaction commit, and before any query or load through the
+	 * same session.
+	 * <p/>
+	 * Only applies when JDBC batching is enabled (see {@link #STATEMENT_BATCH_SIZE}).  Disabled by default.
+	 */
+	String ORDER_STATELESS_STATEMENTS = "hibernate.order_stateless_statements";
+
 	/**
 	 * Default precedence of null values in {@code ORDER BY} clause.  Supported options: {@code none} (default),
 	 * {@code first}, {@code last}.
@@ -1058,6 +1100,26 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String QUERY_CACHE_FACTORY = "hibernate.cache.query_cache_factory";
 
+	/**
+	 * Should the query cache store the state of the entities returned by a query along with their ids?  A query
+	 * cache hit then needs no second-level cache access or SQL statement to load these entities, even if they
+	 * were evicted from their regions, at the cost of larger query cache entries.  Only applies to the entities
+	 * which can be cached in the second-level cache.  Disabled by default.
+	 *
+	 * @since 5.3
+	 */
+	String QUERY_CACHE_STORE_ENTITY_STATE = "hibernate.cache.query_cache_store_entity_state";
+
+	/**
+	 * The number of milliseconds the update timestamps read from the
+	 * {@link org.hibernate.cache.spi.UpdateTimestampsCache} region are kept on this node, so that the region
+	 * is not accessed by every query cache lookup.  The updates made through this node are seen at once, but
+	 * the updates made through other nodes may be seen that much later.  The default, 0, disables the near cache.
+	 *
+	 * @since 5.3
+	 */
+	String UPDATE_TIMESTAMPS_NEAR_CACHE_TTL = "hibernate.cache.update_timestamps_near_cache_ttl";
+
 	/**
 	 * The <tt>CacheProvider</tt> region name prefix
 	 */
@@ -1073,6 +1135,20 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String USE_STRUCTURED_CACHE = "hibernate.cache.use_structured_entries";
 
+	/**
+	 * Enable use of compact binary second-level cache entries for entities.  The state of the entities
+	 * is stored as a {@code byte[]}, which is smaller than the serialized form of the default entries
+	 * and is only decoded when an entity is assembled from the cache.  {@link #USE_STRUCTURED_CACHE}
+	 * takes precedence over this setting.
+	 * <p/>
+	 * Default is {@code false}
+	 *
+	 * @see org.hibernate.cache.spi.entry.CompactCacheEntry
+	 *
+	 * @since 5.3
+	 */
+	String USE_COMPACT_CACHE = "hibernate.cache.use_compact_entries";
+
 	/**
 	 * Enables the automatic eviction of a bi-directional association's collection cache when an element in the
 	 * ManyToOne collection is added/updated/removed without properly managing the change on the OneToMany side.
@@ -1143,6 +1219,17 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String PREFERRED_POOLED_OPTIMIZER = "hibernate.id.optimizer.pooled.preferred";
 
+	/**
+	 * When using {@link org.hibernate.id.enhanced.Optimizer optimizers} with the
+	 * {@link org.hibernate.id.enhanced.SequenceStyleGenerator} or {@link org.hibernate.id.enhanced.TableGenerator},
+	 * the number of values left in the current block at which the next block should be obtained in the
+	 * background, through an isolated connection, rather than by the thread exhausting the block.
+	 * Can be overridden per generator through the {@code prefetch_low_water_mark} parameter.
+	 * <p/>
+	 * The default is {@code 0}, which disables prefetching.
+	 */
+	String ID_OPTIMIZER_PREFETCH_LOW_WATER_MARK = "hibernate.id.optimizer.prefetch_low_water_mark";
+
 	/**
 	 * The maximum number of strong references maintained by {@link org.hibernate.engine.query.spi.QueryPlanCache}. Default is 128.
 	 * @deprecated in favor of {@link #QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE}
@@ -1175,6 +1262,24 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE = "hibernate.query.plan_parameter_metadata_max_size";
 
+	/**
+	 * The maximum overall weight of the plans maintained by {@link org.hibernate.engine.query.spi.QueryPlanCache},
+	 * where the weight of a plan approximates the number of query-text characters it retains (so that, e.g., a
+	 * query expanded for a large IN list weighs more than a small one).  Applies in addition to
+	 * {@link #QUERY_PLAN_CACHE_MAX_SIZE}, and only to the default
+	 * {@link #QUERY_PLAN_CACHE_STORAGE_FACTORY storage}.  Default is 2097152.
+	 */
+	String QUERY_PLAN_CACHE_MAX_WEIGHT = "hibernate.query.plan_cache_max_weight";
+
+	/**
+	 * The {@link org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory} to use for storing query plans.
+	 * Accepts a {@link org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory} instance, implementation class
+	 * or implementation class name, as well as the short names {@code weighted} (the default, bounded by
+	 * {@link #QUERY_PLAN_CACHE_MAX_WEIGHT} and {@link #QUERY_PLAN_CACHE_MAX_SIZE}) and {@code lirs} (the legacy
+	 * LIRS eviction, bounded by {@link #QUERY_PLAN_CACHE_MAX_SIZE} only).
+	 */
+	String QUERY_PLAN_CACHE_STORAGE_FACTORY = "hibernate.query.plan_cache_storage_factory";
+
 	/**
 	 * Should we not use contextual LOB creation (aka based on {@link java.sql.Connection#createBlob()} et al).
 	 */
@@ -1534,6 +1639,85 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 
 	String ENABLE_LAZY_LOAD_NO_TRANS = "hibernate.enable_lazy_load_no_trans";
 
+	/**
+	 * Should the lazy many-to-one associations of the read-only entities loaded by a query (see
+	 * {@link org.hibernate.query.Query#setReadOnly}) or a read-only session be resolved on first access rather
+	 * than when each row is loaded?  The identifiers read from the row are kept by the bytecode enhancement
+	 * interceptor of the entity until the association is read, which saves looking up or creating a proxy for
+	 * every association never accessed, and loading the associated entities which cannot be proxied.  Only applies
+	 * to the entities enhanced for lazy loading, without a natural id, and loaded without being put into the
+	 * second-level cache.
+	 * <p/>
+	 * Default is {@code false}
+	 *
+	 * @since 5.3
+	 */
+	String READ_ONLY_LAZY_HYDRATION = "hibernate.read_only_lazy_hydration";
+
+	/**
+	 * Should flushes only visit the entities written to since the last flush?  The persistence context then keeps
+	 * the set of entities to visit: the entities it did not yet track the writes of, and the entities enhanced for
+	 * dirty tracking and lazy loading which were written to, directly or through one of their collections, since
+	 * the last flush executed.  Each flush thus costs in proportion to the changes rather than to the size of the
+	 * session.  The entities which are not enhanced, or have embedded attributes, are visited by every flush, as are
+	 * all the entities when the session has an {@link org.hibernate.Interceptor}.  No {@link org.hibernate.event.spi.FlushEntityEvent} is
+	 * fired for the entities which are skipped.
+	 * <p/>
+	 * Default is {@code false}
+	 *
+	 * @since 5.3
+	 */
+	String INCREMENTAL_FLUSH = "hibernate.incremental_flush";
+
+	/**
+	 * The number of entities a flush has to dirty check from which it compares their state to their snapshot in
+	 * parallel, on the common {@link java.util.concurrent.ForkJoinPool}.  The scheduling of the updates stays on the
+	 * thread of the session, in the same order.  Only applies to the entities which are not enhanced, when the
+	 * session has no {@link org.hibernate.Interceptor} and no
+	 * {@link org.hibernate.CustomEntityDirtinessStrategy} is configured; the properties of the entities are then
+	 * read concurrently, so their accessors must not have side effects.  The associations are still compared on
+	 * the thread of the session.
+	 * <p/>
+	 * Default is {@code 0}, which disables the parallel dirty checking
+	 *
+	 * @since 5.3
+	 */
+	String PARALLEL_DIRTY_CHECKING_THRESHOLD = "hibernate.parallel_dirty_checking_threshold";
+
+	/**
+	 * Should the flushes before a query, in {@link org.hibernate.FlushMode#AUTO} mode, first only dirty check the
+	 * entities which may write to the tables the query reads?  Those are the entities mapped to these tables or
+	 * owning collections mapped to them, and the entities not managed anymore.  The flush-time cascades and the
+	 * checks of the collections still cover the whole session.  When none of their changes is to be written to
+	 * the tables of the query, the flush is left to a later one; otherwise the whole session is flushed, as
+	 * usual.  A query thus no longer pays for dirty checking the entities it does not read.  The other entities
+	 * are not visited, so no {@link org.hibernate.event.spi.FlushEntityEvent} is fired for them, and the errors
+	 * their flush would report, such as references to transient entities, are only reported by a later flush.
+	 * Does not apply when the session has an {@link org.hibernate.Interceptor}.
+	 * <p/>
+	 * Default is {@code false}
+	 *
+	 * @since 5.3
+	 */
+	String PARTIAL_AUTO_FLUSH = "hibernate.partial_auto_flush";
+
+	/**
+	 * Should the managed entities keep a fingerprint of their loaded state rather than the state itself?  The
+	 * fingerprint combines the values of the properties of immutable basic types, strings and numbers, into 64
+	 * bits; the values of the other properties are still kept.  A flush finds an entity unchanged when both match
+	 * its current state, and otherwise reads its state from the database to find its dirty properties, so the
+	 * changed entities cost a select each.  Only applies to the entities loaded from the database, when they are
+	 * not enhanced, have no natural id and are not updated dynamically, the session has no
+	 * {@link org.hibernate.Interceptor} and no {@link org.hibernate.CustomEntityDirtinessStrategy} is
+	 * configured.  The update events of these entities have no old state, as for the entities reattached by
+	 * {@link org.hibernate.Session#update}.
+	 * <p/>
+	 * Default is {@code false}
+	 *
+	 * @since 5.3
+	 */
+	String FINGERPRINT_DIRTY_CHECKING = "hibernate.fingerprint_dirty_checking";
+
 	String HQL_BULK_ID_STRATEGY = "hibernate.hql.bulk_id_strategy";
 
 	/**
@@ -1857,4 +2041,18 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 * @since 5.2.13
 	 */
 	String FAIL_ON_PAGINATION_OVER_COLLECTION_FETCH = "hibernate.query.fail_on_pagination_over_collection_fetch";
+
+	/**
+	 * By default, the IN clause expands to include all bind parameter values.
+	 * <p/>
+	 * However, for database systems supporting execution plan caching, there's a better chance of hitting the
+	 * cache if the number of possible IN clause parameters lowers.  For this reason, collection-valued parameters
+	 * can be padded to the next power of two, repeating the last value.  For example, a bound list of 5 values
+	 * is expanded to 8 parameters.  When the {@link org.hibernate.dialect.Dialect#getInExpressionCountLimit()
+	 * IN expression count limit} of the Dialect is exceeded, the IN predicate is split into OR'ed IN predicates,
+	 * each within that limit.
+	 * <p/>
+	 * Applies to HQL, criteria and native queries.  Disabled by default.  Set to true to enable.
+	 */
+	String IN_CLAUSE_PARAMETER_PADDING = "hibernate.query.in_clause_parameter_padding";
 }
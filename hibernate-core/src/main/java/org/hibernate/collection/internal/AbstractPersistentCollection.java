@@ -119,7 +119,17 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 
 	@Override
 	public final void dirty() {
-		dirty = true;
+		if ( !dirty ) {
+			dirty = true;
+			ownerDirtied();
+		}
+	}
+
+	private void ownerDirtied() {
+		// feeds the incremental flush, which only visits the entities written to since the last flush
+		if ( owner != null && session != null && !session.isClosed() ) {
+			session.getPersistenceContext().markEntityDirty( owner );
+		}
 	}
 
 	@Override
@@ -479,7 +489,7 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 		}
 		operationQueue.add( operation );
 		//needed so that we remove this collection from the second-level cache
-		dirty = true;
+		dirty();
 	}
 
 	/**
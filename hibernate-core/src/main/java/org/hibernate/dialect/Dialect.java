@@ -2680,6 +2680,42 @@ public abstract class Dialect implements ConversionContext {
 		return 0;
 	}
 
+	/**
+	 * Return the limit that the underlying database or JDBC driver places on the number of parameters bound to
+	 * a single statement.  If the database defines no such limits, simply return zero or less-than-zero.
+	 *
+	 * @return int The limit, or zero-or-less to indicate no limit.
+	 */
+	public int getParameterCountLimit() {
+		return 0;
+	}
+
+	/**
+	 * Return the maximum number of rows a single multi-row insert ({@code INSERT ... VALUES (...), (...)})
+	 * may insert, for combining batched inserts into multi-row statements
+	 * (see {@link org.hibernate.cfg.AvailableSettings#STATEMENT_BATCH_MULTI_ROW_INSERT}).
+	 * <p/>
+	 * By default, multi-row inserts are assumed to be supported without limit whenever
+	 * {@link #supportsValuesList() VALUES lists} are.
+	 *
+	 * @return int The limit, or zero-or-less to indicate that multi-row inserts are not supported.
+	 */
+	public int getMultiRowInsertRowLimit() {
+		return supportsValuesList() ? Integer.MAX_VALUE : 0;
+	}
+
+	/**
+	 * Return the JDBC fetch size to use when streaming the results of a query which evicts the streamed entities
+	 * (see {@link org.hibernate.annotations.QueryHints#STREAM_EVICTION}), unless a fetch size is specified for the
+	 * query or the session factory.  It should be large enough to avoid a round trip per row, yet small enough for
+	 * the driver not to buffer the whole result.
+	 *
+	 * @return int The fetch size, or zero-or-less to use the default of the JDBC driver.
+	 */
+	public int getStreamFetchSize() {
+		return 256;
+	}
+
 	/**
 	 * HHH-4635
 	 * Oracle expects all Lob values to be last in inserts and updates.
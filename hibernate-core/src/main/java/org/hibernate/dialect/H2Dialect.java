@@ -447,4 +447,9 @@ public class H2Dialect extends Dialect {
 	public String getQueryHintString(String query, String hints) {
 		return IndexQueryHintHandler.INSTANCE.addQueryHints( query, hints );
 	}
+
+	@Override
+	public int getMultiRowInsertRowLimit() {
+		return Integer.MAX_VALUE;
+	}
 }
@@ -676,4 +676,9 @@ public class HSQLDialect extends Dialect {
 	public boolean supportsNamedParameters(DatabaseMetaData databaseMetaData) throws SQLException {
 		return false;
 	}
+
+	@Override
+	public int getMultiRowInsertRowLimit() {
+		return hsqldbVersion < 200 ? 0 : Integer.MAX_VALUE;
+	}
 }
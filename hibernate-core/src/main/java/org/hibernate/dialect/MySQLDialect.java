@@ -588,4 +588,15 @@ public class MySQLDialect extends Dialect {
 	protected String escapeLiteral(String literal) {
 		return super.escapeLiteral( literal ).replace("\\", "\\\\");
 	}
+
+	@Override
+	public int getParameterCountLimit() {
+		// the limit of the binary protocol used by server-side prepared statements
+		return 65535;
+	}
+
+	@Override
+	public int getMultiRowInsertRowLimit() {
+		return Integer.MAX_VALUE;
+	}
 }
@@ -632,4 +632,10 @@ public class PostgreSQL81Dialect extends Dialect {
 	public boolean supportsNationalizedTypes() {
 		return false;
 	}
+
+	@Override
+	public int getParameterCountLimit() {
+		// the wire protocol encodes the parameter count as a 16-bit integer
+		return 32767;
+	}
 }
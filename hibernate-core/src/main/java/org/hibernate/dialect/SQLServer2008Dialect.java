@@ -61,4 +61,10 @@ public class SQLServer2008Dialect extends SQLServer2005Dialect {
 	public boolean supportsValuesList() {
 		return true;
 	}
+
+	@Override
+	public int getMultiRowInsertRowLimit() {
+		// a table value constructor is limited to 1000 rows
+		return 1000;
+	}
 }
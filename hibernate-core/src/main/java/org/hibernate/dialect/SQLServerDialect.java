@@ -205,6 +205,11 @@ public class SQLServerDialect extends AbstractTransactSQLDialect {
 		return PARAM_LIST_SIZE_LIMIT;
 	}
 
+	@Override
+	public int getParameterCountLimit() {
+		return PARAM_LIST_SIZE_LIMIT;
+	}
+
 	@Override
 	public IdentityColumnSupport getIdentityColumnSupport() {
 		return new SQLServerIdentityColumnSupport();
@@ -181,6 +181,7 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 		if ( status == Status.READ_ONLY ) {
 			//memory optimization
 			loadedState = null;
+			discardLoadedStateFingerprint();
 		}
 
 		final Status currentStatus = this.getStatus();
@@ -201,6 +202,25 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 		return loadedState;
 	}
 
+	/**
+	 * Replaces the loaded state by its fingerprint, once the entity is loaded.
+	 *
+	 * @see LoadedStateFingerprint#isApplicable
+	 */
+	public void fingerprintLoadedState() {
+		if ( loadedState != null ) {
+			addExtraState( new LoadedStateFingerprint( loadedState, persister ) );
+			loadedState = null;
+		}
+	}
+
+	private void discardLoadedStateFingerprint() {
+		final LoadedStateFingerprint fingerprint = LoadedStateFingerprint.of( this );
+		if ( fingerprint != null ) {
+			fingerprint.discard();
+		}
+	}
+
 	private static final Object[] DEFAULT_DELETED_STATE = null;
 
 	@Override
@@ -267,7 +287,13 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 
 	@Override
 	public void postUpdate(Object entity, Object[] updatedState, Object nextVersion) {
-		this.loadedState = updatedState;
+		final LoadedStateFingerprint fingerprint = loadedState == null ? LoadedStateFingerprint.of( this ) : null;
+		if ( fingerprint != null ) {
+			fingerprint.take( updatedState, getPersister() );
+		}
+		else {
+			this.loadedState = updatedState;
+		}
 		setLockMode( LockMode.WRITE );
 
 		if ( getPersister().isVersioned() ) {
@@ -312,9 +338,15 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 
 	@Override
 	public Object getLoadedValue(String propertyName) {
-		if ( loadedState == null || propertyName == null ) {
+		if ( propertyName == null ) {
 			return null;
 		}
+		else if ( loadedState == null ) {
+			final LoadedStateFingerprint fingerprint = LoadedStateFingerprint.of( this );
+			return fingerprint == null
+					? null
+					: fingerprint.getLoadedValue( ( (UniqueKeyLoadable) persister ).getPropertyIndex( propertyName ), persister );
+		}
 		else {
 			final int propertyIndex = ( (UniqueKeyLoadable) persister ).getPropertyIndex( propertyName );
 			return loadedState[propertyIndex];
@@ -370,7 +402,15 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 	@Override
 	public void forceLocked(Object entity, Object nextVersion) {
 		version = nextVersion;
-		loadedState[ persister.getVersionProperty() ] = version;
+		if ( loadedState != null ) {
+			loadedState[ persister.getVersionProperty() ] = version;
+		}
+		else {
+			final LoadedStateFingerprint fingerprint = LoadedStateFingerprint.of( this );
+			if ( fingerprint != null ) {
+				fingerprint.versionIncremented( version, persister );
+			}
+		}
 		// TODO:  use LockMode.PESSIMISTIC_FORCE_INCREMENT
 		//noinspection deprecation
 		setLockMode( LockMode.FORCE );
@@ -402,6 +442,7 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 			}
 			setStatus( Status.MANAGED );
 			loadedState = getPersister().getPropertyValues( entity );
+			discardLoadedStateFingerprint();
 			getPersistenceContext().getNaturalIdHelper().manageLocalNaturalIdCrossReference(
 					persister,
 					id,
@@ -433,6 +474,7 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 		oos.writeObject( getLockMode().toString() );
 		oos.writeBoolean( isExistsInDatabase() );
 		oos.writeBoolean( isBeingReplicated() );
+		oos.writeObject( loadedState == null ? LoadedStateFingerprint.of( this ) : null );
 	}
 
 
@@ -7,6 +7,9 @@
 package org.hibernate.engine.internal;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 
 import org.hibernate.cache.spi.access.RegionAccessStrategy;
 import org.hibernate.engine.spi.SessionEventListenerManager;
@@ -37,4 +40,27 @@ public final class CacheHelper {
 		return cachedValue;
 	}
 
+	/**
+	 * Reads several items from the shared cache with a single {@link RegionAccessStrategy#getAll} call.
+	 *
+	 * @return The cached items by cache key; keys without a cached item are absent
+	 */
+	public static Map<Object, Object> fromSharedCache(
+			SharedSessionContractImplementor session,
+			Collection<?> cacheKeys,
+			RegionAccessStrategy cacheAccessStrategy) {
+		if ( cacheKeys.isEmpty() ) {
+			return Collections.emptyMap();
+		}
+		final SessionEventListenerManager eventListenerManager = session.getEventListenerManager();
+		Map<Object, Object> cachedValues = null;
+		eventListenerManager.cacheGetStart();
+		try {
+			cachedValues = cacheAccessStrategy.getAll( session, cacheKeys, session.getTimestamp() );
+		}
+		finally {
+			eventListenerManager.cacheGetEnd( cachedValues != null && !cachedValues.isEmpty() );
+		}
+		return cachedValues;
+	}
 }
@@ -20,14 +20,13 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
  * Defines a context for maintaining the relation between an entity associated with the Session ultimately owning this
  * EntityEntryContext instance and that entity's corresponding EntityEntry.  2 approaches are supported:<ul>
  *     <li>
- *         the entity->EntityEntry association is maintained in a Map within this class
+ *         the entity->EntityEntry association is maintained in a table within this class
  *     </li>
  *     <li>
  *         the EntityEntry is injected into the entity via it implementing the {@link org.hibernate.engine.spi.ManagedEntity} contract,
@@ -35,21 +34,38 @@ import java.util.Map;
  *     </li>
  * </ul>
  * <p/>
+ * The table is an open-addressing hash table (linear probing) keyed by the identity of the entities, whose columns
+ * are plain arrays: the entities, their EntityEntry, and the slots of the previous and next entities in the order
+ * they were added.  Every entity has a slot, so that the order spans both approaches, but the EntityEntry column is
+ * only used for the entities which do not implement ManagedEntity: no object is retained per entity beyond its
+ * EntityEntry.  The entities implementing ManagedEntity are looked up through the EntityEntry they hold, and only
+ * hashed when added or removed; the mutable ones are also linked to each other, in the same order, through their
+ * previous and next references.
  *
  * @author Steve Ebersole
  */
 public class EntityEntryContext {
 	private static final CoreMessageLogger log = CoreLogging.messageLogger( EntityEntryContext.class );
 
+	private static final int INITIAL_CAPACITY = 16;
+
+	// marks a slot whose entity was removed; such slots are reclaimed when the table is rehashed
+	private static final Object REMOVED = new Object();
+
 	private transient PersistenceContext persistenceContext;
 
-	private transient IdentityHashMap<ManagedEntity,ImmutableManagedEntityHolder> immutableManagedEntityXref;
+	private transient Object[] entities;
+	private transient EntityEntry[] entries;
+	private transient int[] previousSlots;
+	private transient int[] nextSlots;
+	private transient int used;
 
-	private transient ManagedEntity head;
-	private transient ManagedEntity tail;
+	private transient int head = -1;
+	private transient int tail = -1;
 	private transient int count;
 
-	private transient IdentityHashMap<Object,ManagedEntity> nonEnhancedEntityXref;
+	private transient ManagedEntity firstManagedEntity;
+	private transient ManagedEntity lastManagedEntity;
 
 	@SuppressWarnings( {"unchecked"})
 	private transient Map.Entry<Object,EntityEntry>[] reentrantSafeEntries = new Map.Entry[0];
@@ -85,71 +101,43 @@ public class EntityEntryContext {
 			assert AbstractEntityEntry.class.cast( entityEntry ).getPersistenceContext() == persistenceContext;
 		}
 
-		// Determine the appropriate ManagedEntity instance to use based on whether the entity is enhanced or not.
-		// Throw an exception if entity is a mutable ManagedEntity that is associated with a different
-		// PersistenceContext.
-		ManagedEntity managedEntity = getAssociatedManagedEntity( entity );
-		final boolean alreadyAssociated = managedEntity != null;
-		if ( !alreadyAssociated ) {
-			if ( ManagedEntity.class.isInstance( entity ) ) {
-				if ( entityEntry.getPersister().isMutable() ) {
-					managedEntity = (ManagedEntity) entity;
-					// We know that managedEntity is not associated with the same PersistenceContext.
-					// Check if managedEntity is associated with a different PersistenceContext.
-					checkNotAssociatedWithOtherPersistenceContextIfMutable( managedEntity );
-				}
-				else {
-					// Create a holder for PersistenceContext-related data.
-					managedEntity = new ImmutableManagedEntityHolder( (ManagedEntity) entity );
-					if ( immutableManagedEntityXref == null ) {
-						immutableManagedEntityXref = new IdentityHashMap<ManagedEntity, ImmutableManagedEntityHolder>();
-					}
-					immutableManagedEntityXref.put(
-							(ManagedEntity) entity,
-							(ImmutableManagedEntityHolder) managedEntity
-					);
-				}
-			}
-			else {
-				if ( nonEnhancedEntityXref == null ) {
-					nonEnhancedEntityXref = new IdentityHashMap<Object, ManagedEntity>();
-				}
-				managedEntity = new ManagedEntityImpl( entity );
-				nonEnhancedEntityXref.put( entity, managedEntity );
+		if ( ManagedEntity.class.isInstance( entity ) ) {
+			final ManagedEntity managedEntity = (ManagedEntity) entity;
+			// an immutable ManagedEntity is associated with this context if it has a slot in the table, even if
+			// another context cleared the EntityEntry it holds
+			final boolean alreadyAssociated = entityEntry.getPersister().isMutable()
+					? getAssociatedEntityEntry( entity ) != null
+					: slotOf( entity ) >= 0;
+			if ( !alreadyAssociated && entityEntry.getPersister().isMutable() ) {
+				// Throw an exception if entity is a mutable ManagedEntity that is associated with a different
+				// PersistenceContext.
+				checkNotAssociatedWithOtherPersistenceContextIfMutable( managedEntity );
 			}
-		}
-
-		// associate the EntityEntry with the entity
-		managedEntity.$$_hibernate_setEntityEntry( entityEntry );
-
-		if ( alreadyAssociated ) {
-			// if the entity was already associated with the context, skip the linking step.
-			return;
-		}
 
-		// TODO: can dirty be set to true here?
+			// associate the EntityEntry with the entity
+			managedEntity.$$_hibernate_setEntityEntry( entityEntry );
 
-		// finally, set up linking and count
-		if ( tail == null ) {
-			assert head == null;
-			// Protect against stale data in the ManagedEntity and nullify previous/next references.
-			managedEntity.$$_hibernate_setPreviousManagedEntity( null );
-			managedEntity.$$_hibernate_setNextManagedEntity( null );
-			head = managedEntity;
-			tail = head;
-			count = 1;
+			if ( !alreadyAssociated ) {
+				// the EntityEntry is held by the entity, not by the table
+				insert( entity, null );
+				if ( entityEntry.getPersister().isMutable() ) {
+					linkManagedEntity( managedEntity );
+				}
+			}
 		}
 		else {
-			tail.$$_hibernate_setNextManagedEntity( managedEntity );
-			managedEntity.$$_hibernate_setPreviousManagedEntity( tail );
-			// Protect against stale data left in the ManagedEntity nullify next reference.
-			managedEntity.$$_hibernate_setNextManagedEntity( null );
-			tail = managedEntity;
-			count++;
+			final int slot = slotOf( entity );
+			if ( slot >= 0 ) {
+				// if the entity was already associated with the context, only replace its EntityEntry.
+				entries[slot] = entityEntry;
+			}
+			else {
+				insert( entity, entityEntry );
+			}
 		}
 	}
 
-	private ManagedEntity getAssociatedManagedEntity(Object entity) {
+	private EntityEntry getAssociatedEntityEntry(Object entity) {
 		if ( ManagedEntity.class.isInstance( entity ) ) {
 			final ManagedEntity managedEntity = (ManagedEntity) entity;
 			if ( managedEntity.$$_hibernate_getEntityEntry() == null ) {
@@ -160,21 +148,21 @@ public class EntityEntryContext {
 
 			if ( entityEntry.getPersister().isMutable() ) {
 				return entityEntry.getPersistenceContext() == persistenceContext
-						? managedEntity // it is associated
+						? entityEntry // it is associated
 						: null;
 			}
 			else {
-				// if managedEntity is associated with this EntityEntryContext, then
-				// it will have an entry in immutableManagedEntityXref and its
-				// holder will be returned.
-				return immutableManagedEntityXref != null
-						? immutableManagedEntityXref.get( managedEntity )
+				// an immutable ManagedEntity may be associated with several EntityEntryContexts, and
+				// is associated with this one if it has a slot in the table.
+				return slotOf( entity ) >= 0
+						? entityEntry
 						: null;
 			}
 		}
 		else {
-			return nonEnhancedEntityXref != null
-					? nonEnhancedEntityXref.get( entity )
+			final int slot = slotOf( entity );
+			return slot >= 0
+					? entries[slot]
 					: null;
 		}
 	}
@@ -220,13 +208,8 @@ public class EntityEntryContext {
 	 * @return The associated EntityEntry
 	 */
 	public EntityEntry getEntityEntry(Object entity) {
-		// locate a ManagedEntity for the entity, but only if it is associated with the same PersistenceContext.
-		final ManagedEntity managedEntity = getAssociatedManagedEntity( entity );
-
-		// and get/return the EntityEntry from the ManagedEntry
-		return managedEntity == null
-				? null
-				: managedEntity.$$_hibernate_getEntityEntry();
+		// locate the EntityEntry of the entity, but only if it is associated with the same PersistenceContext.
+		return getAssociatedEntityEntry( entity );
 	}
 
 	/**
@@ -237,66 +220,48 @@ public class EntityEntryContext {
 	 * @return Tjee EntityEntry
 	 */
 	public EntityEntry removeEntityEntry(Object entity) {
-		// locate a ManagedEntity for the entity, but only if it is associated with the same PersistenceContext.
+		// locate the EntityEntry of the entity, but only if it is associated with the same PersistenceContext.
 		// no need to check if the entity is a ManagedEntity that is associated with a different PersistenceContext
-		final ManagedEntity managedEntity = getAssociatedManagedEntity( entity );
-		if ( managedEntity == null ) {
+		final EntityEntry theEntityEntry = getAssociatedEntityEntry( entity );
+		if ( theEntityEntry == null ) {
 			// not associated with this EntityEntryContext, so nothing to do.
 			return null;
 		}
 
 		dirty = true;
 
-		if ( ImmutableManagedEntityHolder.class.isInstance( managedEntity ) ) {
-			assert entity == ( (ImmutableManagedEntityHolder) managedEntity ).managedEntity;
-			immutableManagedEntityXref.remove( (ManagedEntity) entity );
+		final int slot = slotOf( entity );
+		assert slot >= 0;
 
+		// re-link
+		final int previous = previousSlots[slot];
+		final int next = nextSlots[slot];
+		if ( previous < 0 ) {
+			// we are removing head
+			assert slot == head;
+			head = next;
 		}
-		else if ( !ManagedEntity.class.isInstance( entity ) ) {
-			nonEnhancedEntityXref.remove( entity );
+		else {
+			nextSlots[previous] = next;
 		}
-
-		// prepare for re-linking...
-		final ManagedEntity previous = managedEntity.$$_hibernate_getPreviousManagedEntity();
-		final ManagedEntity next = managedEntity.$$_hibernate_getNextManagedEntity();
-		managedEntity.$$_hibernate_setPreviousManagedEntity( null );
-		managedEntity.$$_hibernate_setNextManagedEntity( null );
-
-		// re-link
-		count--;
-
-		if ( count == 0 ) {
-			// handle as a special case...
-			head = null;
-			tail = null;
-
-			assert previous == null;
-			assert next == null;
+		if ( next < 0 ) {
+			// we are removing tail
+			assert slot == tail;
+			tail = previous;
 		}
 		else {
-			// otherwise, previous or next (or both) should be non-null
-			if ( previous == null ) {
-				// we are removing head
-				assert managedEntity == head;
-				head = next;
-			}
-			else {
-				previous.$$_hibernate_setNextManagedEntity( next );
-			}
-
-			if ( next == null ) {
-				// we are removing tail
-				assert managedEntity == tail;
-				tail = previous;
-			}
-			else {
-				next.$$_hibernate_setPreviousManagedEntity( previous );
-			}
+			previousSlots[next] = previous;
 		}
+		count--;
+		assert count > 0 || ( head < 0 && tail < 0 );
 
-		// finally clean out the ManagedEntity and return the associated EntityEntry
-		final EntityEntry theEntityEntry = managedEntity.$$_hibernate_getEntityEntry();
-		managedEntity.$$_hibernate_setEntityEntry( null );
+		// finally clean out the slot and the ManagedEntity, and return the associated EntityEntry
+		entities[slot] = REMOVED;
+		entries[slot] = null;
+		if ( ManagedEntity.class.isInstance( entity ) && theEntityEntry.getPersister().isMutable() ) {
+			unlinkManagedEntity( (ManagedEntity) entity );
+		}
+		clearEntityEntryReference( entity );
 		return theEntityEntry;
 	}
 
@@ -312,13 +277,8 @@ public class EntityEntryContext {
 		if ( dirty ) {
 			reentrantSafeEntries = new EntityEntryCrossRefImpl[count];
 			int i = 0;
-			ManagedEntity managedEntity = head;
-			while ( managedEntity != null ) {
-				reentrantSafeEntries[i++] = new EntityEntryCrossRefImpl(
-						managedEntity.$$_hibernate_getEntityInstance(),
-						managedEntity.$$_hibernate_getEntityEntry()
-				);
-				managedEntity = managedEntity.$$_hibernate_getNextManagedEntity();
+			for ( int slot = head; slot >= 0; slot = nextSlots[slot] ) {
+				reentrantSafeEntries[i++] = new EntityEntryCrossRefImpl( entities[slot], entityEntryAt( slot ) );
 			}
 			dirty = false;
 		}
@@ -331,28 +291,29 @@ public class EntityEntryContext {
 	public void clear() {
 		dirty = true;
 
-		ManagedEntity node = head;
+		ManagedEntity node = firstManagedEntity;
 		while ( node != null ) {
 			final ManagedEntity nextNode = node.$$_hibernate_getNextManagedEntity();
-
-			node.$$_hibernate_setEntityEntry( null );
-
 			node.$$_hibernate_setPreviousManagedEntity( null );
 			node.$$_hibernate_setNextManagedEntity( null );
-
 			node = nextNode;
 		}
+		firstManagedEntity = null;
+		lastManagedEntity = null;
 
-		if ( immutableManagedEntityXref != null ) {
-			immutableManagedEntityXref.clear();
+		for ( int slot = head; slot >= 0; slot = nextSlots[slot] ) {
+			clearEntityEntryReference( entities[slot] );
 		}
 
-		if ( nonEnhancedEntityXref != null ) {
-			nonEnhancedEntityXref.clear();
-		}
+		// the table is allocated again once needed, rather than retaining the capacity of a large context
+		entities = null;
+		entries = null;
+		previousSlots = null;
+		nextSlots = null;
+		used = 0;
 
-		head = null;
-		tail = null;
+		head = -1;
+		tail = -1;
 		count = 0;
 
 		reentrantSafeEntries = null;
@@ -362,15 +323,8 @@ public class EntityEntryContext {
 	 * Down-grade locks to NONE for all entities in this context
 	 */
 	public void downgradeLocks() {
-		if ( head == null ) {
-			return;
-		}
-
-		ManagedEntity node = head;
-		while ( node != null ) {
-			node.$$_hibernate_getEntityEntry().setLockMode( LockMode.NONE );
-
-			node = node.$$_hibernate_getNextManagedEntity();
+		for ( int slot = head; slot >= 0; slot = nextSlots[slot] ) {
+			entityEntryAt( slot ).setLockMode( LockMode.NONE );
 		}
 	}
 
@@ -388,17 +342,16 @@ public class EntityEntryContext {
 			return;
 		}
 
-		ManagedEntity managedEntity = head;
-		while ( managedEntity != null ) {
-			// so we know whether or not to build a ManagedEntityImpl on deserialize
-			oos.writeBoolean( managedEntity == managedEntity.$$_hibernate_getEntityInstance() );
-			oos.writeObject( managedEntity.$$_hibernate_getEntityInstance() );
+		for ( int slot = head; slot >= 0; slot = nextSlots[slot] ) {
+			final Object entity = entities[slot];
+			final EntityEntry entityEntry = entityEntryAt( slot );
+			// so we know whether or not the EntityEntry is to be injected into the entity on deserialize
+			oos.writeBoolean( ManagedEntity.class.isInstance( entity ) );
+			oos.writeObject( entity );
 			// we need to know which implementation of EntityEntry is being serialized
-			oos.writeInt( managedEntity.$$_hibernate_getEntityEntry().getClass().getName().length() );
-			oos.writeChars( managedEntity.$$_hibernate_getEntityEntry().getClass().getName() );
-			managedEntity.$$_hibernate_getEntityEntry().serialize( oos );
-
-			managedEntity = managedEntity.$$_hibernate_getNextManagedEntity();
+			oos.writeInt( entityEntry.getClass().getName().length() );
+			oos.writeChars( entityEntry.getClass().getName() );
+			entityEntry.serialize( oos );
 		}
 	}
 
@@ -419,14 +372,17 @@ public class EntityEntryContext {
 		log.tracef( "Starting deserialization of [%s] EntityEntry entries", count );
 
 		final EntityEntryContext context = new EntityEntryContext( rtn );
-		context.count = count;
 		context.dirty = true;
 
 		if ( count == 0 ) {
 			return context;
 		}
 
-		ManagedEntity previous = null;
+		int capacity = INITIAL_CAPACITY;
+		while ( count * 4 > capacity * 3 ) {
+			capacity *= 2;
+		}
+		context.allocate( capacity );
 
 		for ( int i = 0; i < count; i++ ) {
 			final boolean isEnhanced = ois.readBoolean();
@@ -441,46 +397,18 @@ public class EntityEntryContext {
 
 			final EntityEntry entry = deserializeEntityEntry( entityEntryClassNameArr, ois, rtn );
 
-			final ManagedEntity managedEntity;
 			if ( isEnhanced ) {
+				( (ManagedEntity) entity ).$$_hibernate_setEntityEntry( entry );
+				context.insert( entity, null );
 				if ( entry.getPersister().isMutable() ) {
-					managedEntity = (ManagedEntity) entity;
-				}
-				else {
-					managedEntity = new ImmutableManagedEntityHolder( (ManagedEntity) entity );
-					if ( context.immutableManagedEntityXref == null ) {
-						context.immutableManagedEntityXref =
-								new IdentityHashMap<ManagedEntity, ImmutableManagedEntityHolder>();
-					}
-					context.immutableManagedEntityXref.put(
-							(ManagedEntity) entity,
-							(ImmutableManagedEntityHolder) managedEntity
-
-					);
-				}
-			}
-			else {
-				managedEntity = new ManagedEntityImpl( entity );
-				if ( context.nonEnhancedEntityXref == null ) {
-					context.nonEnhancedEntityXref = new IdentityHashMap<Object, ManagedEntity>();
+					context.linkManagedEntity( (ManagedEntity) entity );
 				}
-				context.nonEnhancedEntityXref.put( entity, managedEntity );
-			}
-			managedEntity.$$_hibernate_setEntityEntry( entry );
-
-			if ( previous == null ) {
-				context.head = managedEntity;
 			}
 			else {
-				previous.$$_hibernate_setNextManagedEntity( managedEntity );
-				managedEntity.$$_hibernate_setPreviousManagedEntity( previous );
+				context.insert( entity, entry );
 			}
-
-			previous = managedEntity;
 		}
 
-		context.tail = previous;
-
 		return context;
 	}
 
@@ -512,143 +440,167 @@ public class EntityEntryContext {
 		return count;
 	}
 
-	/**
-	 * The wrapper for entity classes which do not implement ManagedEntity
-	 */
-	private static class ManagedEntityImpl implements ManagedEntity {
-		private final Object entityInstance;
-		private EntityEntry entityEntry;
-		private ManagedEntity previous;
-		private ManagedEntity next;
+	private EntityEntry entityEntryAt(int slot) {
+		final Object entity = entities[slot];
+		return ManagedEntity.class.isInstance( entity )
+				? ( (ManagedEntity) entity ).$$_hibernate_getEntityEntry()
+				: entries[slot];
+	}
 
-		public ManagedEntityImpl(Object entityInstance) {
-			this.entityInstance = entityInstance;
+	private int slotOf(Object entity) {
+		if ( entities == null ) {
+			return -1;
 		}
-
-		@Override
-		public Object $$_hibernate_getEntityInstance() {
-			return entityInstance;
+		final int mask = entities.length - 1;
+		int slot = spread( System.identityHashCode( entity ) ) & mask;
+		Object candidate;
+		while ( ( candidate = entities[slot] ) != null ) {
+			if ( candidate == entity ) {
+				return slot;
+			}
+			slot = ( slot + 1 ) & mask;
 		}
+		return -1;
+	}
 
-		@Override
-		public EntityEntry $$_hibernate_getEntityEntry() {
-			return entityEntry;
+	/**
+	 * Adds an entity which is not in the table yet, after the last one.
+	 *
+	 * @param entity The entity
+	 * @param entityEntry Its EntityEntry, or {@code null} if the entity holds it
+	 */
+	private void insert(Object entity, EntityEntry entityEntry) {
+		if ( entities == null ) {
+			allocate( INITIAL_CAPACITY );
 		}
-
-		@Override
-		public void $$_hibernate_setEntityEntry(EntityEntry entityEntry) {
-			this.entityEntry = entityEntry;
+		else if ( ( used + 1 ) * 4 > entities.length * 3 ) {
+			// grow unless enough of the slots are merely removed entities
+			rehash( ( count + 1 ) * 2 > entities.length ? entities.length * 2 : entities.length );
 		}
 
-		@Override
-		public ManagedEntity $$_hibernate_getNextManagedEntity() {
-			return next;
+		final int mask = entities.length - 1;
+		int slot = spread( System.identityHashCode( entity ) ) & mask;
+		// removed slots are not reused, since the entity might still be present further along the probe sequence
+		while ( entities[slot] != null ) {
+			slot = ( slot + 1 ) & mask;
 		}
+		entities[slot] = entity;
+		entries[slot] = entityEntry;
+		used++;
 
-		@Override
-		public void $$_hibernate_setNextManagedEntity(ManagedEntity next) {
-			this.next = next;
+		// finally, set up linking and count
+		previousSlots[slot] = tail;
+		nextSlots[slot] = -1;
+		if ( tail < 0 ) {
+			assert head < 0;
+			head = slot;
 		}
-
-		@Override
-		public ManagedEntity $$_hibernate_getPreviousManagedEntity() {
-			return previous;
+		else {
+			nextSlots[tail] = slot;
 		}
+		tail = slot;
+		count++;
+	}
 
-		@Override
-		public void $$_hibernate_setPreviousManagedEntity(ManagedEntity previous) {
-			this.previous = previous;
+	private void linkManagedEntity(ManagedEntity managedEntity) {
+		if ( lastManagedEntity == null ) {
+			assert firstManagedEntity == null;
+			// Protect against stale data in the ManagedEntity and nullify previous/next references.
+			managedEntity.$$_hibernate_setPreviousManagedEntity( null );
+			managedEntity.$$_hibernate_setNextManagedEntity( null );
+			firstManagedEntity = managedEntity;
+		}
+		else {
+			lastManagedEntity.$$_hibernate_setNextManagedEntity( managedEntity );
+			managedEntity.$$_hibernate_setPreviousManagedEntity( lastManagedEntity );
+			// Protect against stale data left in the ManagedEntity nullify next reference.
+			managedEntity.$$_hibernate_setNextManagedEntity( null );
 		}
+		lastManagedEntity = managedEntity;
 	}
 
-	private static class ImmutableManagedEntityHolder implements ManagedEntity {
-		private ManagedEntity managedEntity;
-		private ManagedEntity previous;
-		private ManagedEntity next;
-
-		public ImmutableManagedEntityHolder(ManagedEntity immutableManagedEntity) {
-			this.managedEntity = immutableManagedEntity;
-		}
+	private void unlinkManagedEntity(ManagedEntity managedEntity) {
+		final ManagedEntity previous = managedEntity.$$_hibernate_getPreviousManagedEntity();
+		final ManagedEntity next = managedEntity.$$_hibernate_getNextManagedEntity();
+		managedEntity.$$_hibernate_setPreviousManagedEntity( null );
+		managedEntity.$$_hibernate_setNextManagedEntity( null );
 
-		@Override
-		public Object $$_hibernate_getEntityInstance() {
-			return managedEntity.$$_hibernate_getEntityInstance();
+		if ( previous == null ) {
+			assert managedEntity == firstManagedEntity;
+			firstManagedEntity = next;
 		}
-
-		@Override
-		public EntityEntry $$_hibernate_getEntityEntry() {
-			return managedEntity.$$_hibernate_getEntityEntry();
+		else {
+			previous.$$_hibernate_setNextManagedEntity( next );
 		}
-
-		@Override
-		public void $$_hibernate_setEntityEntry(EntityEntry entityEntry) {
-			// need to think about implications for memory leaks here if we don't removed reference to EntityEntry
-			if ( entityEntry == null ) {
-				if ( canClearEntityEntryReference() ) {
-					managedEntity.$$_hibernate_setEntityEntry( null );
-				}
-				// otherwise, do nothing.
-			}
-			else {
-				// TODO: we may want to do something different here if
-				// managedEntity is in the process of being deleted.
-				// An immutable ManagedEntity can be associated with
-				// multiple PersistenceContexts. Changing the status
-				// to DELETED probably should not happen directly
-				// in the ManagedEntity because that would affect all
-				// PersistenceContexts to which the ManagedEntity is
-				// associated.
-				managedEntity.$$_hibernate_setEntityEntry( entityEntry );
-			}
+		if ( next == null ) {
+			assert managedEntity == lastManagedEntity;
+			lastManagedEntity = previous;
 		}
-
-		@Override
-		public ManagedEntity $$_hibernate_getPreviousManagedEntity() {
-			// previous reference cannot be stored in an immutable ManagedEntity;
-			// previous reference is maintained by this ManagedEntityHolder.
-			return previous;
+		else {
+			next.$$_hibernate_setPreviousManagedEntity( previous );
 		}
+	}
 
-		@Override
-		public void $$_hibernate_setPreviousManagedEntity(ManagedEntity previous) {
-			// previous reference cannot be stored in an immutable ManagedEntity;
-			// previous reference is maintained by this ManagedEntityHolder.
-			this.previous = previous;
-		}
+	private void allocate(int capacity) {
+		entities = new Object[capacity];
+		entries = new EntityEntry[capacity];
+		previousSlots = new int[capacity];
+		nextSlots = new int[capacity];
+		used = 0;
+	}
 
-		@Override
-		public ManagedEntity $$_hibernate_getNextManagedEntity() {
-			// next reference cannot be stored in an immutable ManagedEntity;
-			// next reference is maintained by this ManagedEntityHolder.
-			return next;
-		}
+	private void rehash(int capacity) {
+		final Object[] oldEntities = entities;
+		final EntityEntry[] oldEntries = entries;
+		final int[] oldNextSlots = nextSlots;
+		final int oldHead = head;
 
-		@Override
-		public void $$_hibernate_setNextManagedEntity(ManagedEntity next) {
-			// next reference cannot be stored in an immutable ManagedEntity;
-			// next reference is maintained by this ManagedEntityHolder.
-			this.next = next;
+		// re-inserting the entities in order rebuilds the links
+		allocate( capacity );
+		head = -1;
+		tail = -1;
+		count = 0;
+		for ( int slot = oldHead; slot >= 0; slot = oldNextSlots[slot] ) {
+			insert( oldEntities[slot], oldEntries[slot] );
 		}
+	}
 
-		/*
-		Check instance type of EntityEntry and if type is ImmutableEntityEntry, check to see if entity is referenced cached in the second level cache
-		 */
-		private boolean canClearEntityEntryReference(){
-
-			if( managedEntity.$$_hibernate_getEntityEntry() == null ) {
-				return true;
-			}
+	private static int spread(int hash) {
+		return hash ^ ( hash >>> 16 );
+	}
 
-			if( !(managedEntity.$$_hibernate_getEntityEntry() instanceof ImmutableEntityEntry) ) {
-				return true;
-			}
-			else if( managedEntity.$$_hibernate_getEntityEntry().getPersister().canUseReferenceCacheEntries() ) {
-				return false;
-			}
+	/**
+	 * Clears the EntityEntry held by an entity implementing ManagedEntity, once it is no longer associated with
+	 * this context.
+	 */
+	private static void clearEntityEntryReference(Object entity) {
+		if ( !ManagedEntity.class.isInstance( entity ) ) {
+			return;
+		}
+		final ManagedEntity managedEntity = (ManagedEntity) entity;
+		if ( canClearEntityEntryReference( managedEntity ) ) {
+			managedEntity.$$_hibernate_setEntityEntry( null );
+		}
+		// otherwise, do nothing.
+	}
 
+	/*
+	Check instance type of EntityEntry and if type is ImmutableEntityEntry, check to see if entity is referenced cached in the second level cache
+	 */
+	private static boolean canClearEntityEntryReference(ManagedEntity managedEntity) {
+		// need to think about implications for memory leaks here if we don't removed reference to EntityEntry
+		if ( managedEntity.$$_hibernate_getEntityEntry() == null ) {
 			return true;
+		}
 
+		if ( !( managedEntity.$$_hibernate_getEntityEntry() instanceof ImmutableEntityEntry ) ) {
+			return true;
 		}
+		else if ( managedEntity.$$_hibernate_getEntityEntry().getPersister().canUseReferenceCacheEntries() ) {
+			return false;
+		}
+
+		return true;
 	}
 
 	/**
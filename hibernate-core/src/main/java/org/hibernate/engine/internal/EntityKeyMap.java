@@ -0,0 +1,633 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.Type;
+
+/**
+ * A {@link Map} keyed by {@link EntityKey}, used by {@link StatefulPersistenceContext} to track the
+ * entity instances and database snapshots of a session.
+ * <p/>
+ * Entries are partitioned per entity hierarchy, and each partition is an open-addressing hash table
+ * (linear probing) over plain arrays, so no node is retained per entry.  The partition of a hierarchy
+ * whose identifiers are {@code long} or {@code int} stores those identifiers as primitives and does not
+ * retain the {@link EntityKey} either; such keys are re-created when iterating over {@link #keySet()} or
+ * {@link #entrySet()}.  Entries can be looked up by persister and identifier through
+ * {@link #get(EntityPersister, Serializable)} and {@link #get(EntityPersister, long)}, which do not need
+ * an {@link EntityKey} instance.
+ * <p/>
+ * Not thread-safe; {@code null} values are not supported.
+ */
+public final class EntityKeyMap<V> extends AbstractMap<EntityKey,V> {
+	private static final int INITIAL_PARTITION_CAPACITY = 8;
+
+	// marks a slot whose entry was removed; such slots are reclaimed when the partition is rehashed
+	private static final Object REMOVED = new Object();
+
+	private final Map<String,Partition> partitions = new HashMap<>();
+	private EntityPersister lastPersister;
+	private Partition lastPartition;
+
+	private int size;
+	private int modCount;
+
+	private Set<EntityKey> keySet;
+	private Collection<V> values;
+	private Set<Map.Entry<EntityKey,V>> entrySet;
+
+	/**
+	 * Get the value associated with the given identifier of the given persister's hierarchy.
+	 *
+	 * @param persister The entity persister
+	 * @param id The entity identifier
+	 *
+	 * @return The associated value, or {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(EntityPersister persister, Serializable id) {
+		final Partition partition = locatePartition( persister, false );
+		if ( partition == null ) {
+			return null;
+		}
+		final int index = partition.indexOf( id );
+		return index < 0 ? null : (V) partition.values[index];
+	}
+
+	/**
+	 * Get the value associated with the given numeric identifier of the given persister's hierarchy.
+	 * <p/>
+	 * For hierarchies having {@code long} or {@code int} identifiers, this neither boxes the identifier
+	 * nor creates an {@link EntityKey}.
+	 *
+	 * @param persister The entity persister
+	 * @param id The entity identifier
+	 *
+	 * @return The associated value, or {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(EntityPersister persister, long id) {
+		final Partition partition = locatePartition( persister, false );
+		if ( partition == null ) {
+			return null;
+		}
+		final int index = partition.primitive
+				? partition.indexOf( id )
+				: partition.indexOf( partition.idClass == Integer.class ? (Serializable) (int) id : (Serializable) id );
+		return index < 0 ? null : (V) partition.values[index];
+	}
+
+	@Override
+	public V get(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		final EntityKey entityKey = (EntityKey) key;
+		return get( entityKey.getPersister(), entityKey.getIdentifier() );
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get( key ) != null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(EntityKey key, V value) {
+		if ( value == null ) {
+			throw new NullPointerException( "EntityKeyMap does not support null values" );
+		}
+		final Partition partition = locatePartition( key.getPersister(), true );
+		final Object previous = partition.put( key, value );
+		if ( previous == null ) {
+			size++;
+			modCount++;
+		}
+		return (V) previous;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		final EntityKey entityKey = (EntityKey) key;
+		final Partition partition = locatePartition( entityKey.getPersister(), false );
+		if ( partition == null ) {
+			return null;
+		}
+		final int index = partition.indexOf( entityKey.getIdentifier() );
+		if ( index < 0 ) {
+			return null;
+		}
+		final Object previous = partition.values[index];
+		partition.removeAt( index );
+		size--;
+		modCount++;
+		return (V) previous;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public void clear() {
+		partitions.clear();
+		lastPersister = null;
+		lastPartition = null;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public Set<EntityKey> keySet() {
+		if ( keySet == null ) {
+			keySet = new AbstractSet<EntityKey>() {
+				@Override
+				public Iterator<EntityKey> iterator() {
+					return new SlotIterator<EntityKey>() {
+						@Override
+						protected EntityKey element(Partition partition, int index) {
+							return partition.keyAt( index );
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public boolean contains(Object o) {
+					return containsKey( o );
+				}
+
+				@Override
+				public void clear() {
+					EntityKeyMap.this.clear();
+				}
+			};
+		}
+		return keySet;
+	}
+
+	@Override
+	public Collection<V> values() {
+		if ( values == null ) {
+			values = new AbstractCollection<V>() {
+				@Override
+				public Iterator<V> iterator() {
+					// does not re-create the keys of primitive partitions
+					return new SlotIterator<V>() {
+						@Override
+						@SuppressWarnings("unchecked")
+						protected V element(Partition partition, int index) {
+							return (V) partition.values[index];
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public void clear() {
+					EntityKeyMap.this.clear();
+				}
+			};
+		}
+		return values;
+	}
+
+	@Override
+	public Set<Map.Entry<EntityKey,V>> entrySet() {
+		if ( entrySet == null ) {
+			entrySet = new AbstractSet<Map.Entry<EntityKey,V>>() {
+				@Override
+				public Iterator<Map.Entry<EntityKey,V>> iterator() {
+					return new SlotIterator<Map.Entry<EntityKey,V>>() {
+						@Override
+						protected Map.Entry<EntityKey,V> element(Partition partition, int index) {
+							return new SlotEntry( partition, index );
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public void clear() {
+					EntityKeyMap.this.clear();
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	private Partition locatePartition(EntityPersister persister, boolean create) {
+		if ( persister == lastPersister ) {
+			return lastPartition;
+		}
+		final String rootEntityName = persister.getRootEntityName();
+		Partition partition = partitions.get( rootEntityName );
+		if ( partition == null ) {
+			if ( !create ) {
+				return null;
+			}
+			partition = new Partition( persister );
+			partitions.put( rootEntityName, partition );
+		}
+		lastPersister = persister;
+		lastPartition = partition;
+		return partition;
+	}
+
+	private static int spread(long id) {
+		return spread( (int) ( id ^ ( id >>> 32 ) ) );
+	}
+
+	private static int spread(int hash) {
+		// like HashMap, keeps consecutive identifiers in consecutive slots, which makes the typical
+		// sequence-generated identifiers collision-free and cache-friendly
+		return hash ^ ( hash >>> 16 );
+	}
+
+	/**
+	 * The entries of one entity hierarchy.  A slot is free when its value is {@code null}.
+	 */
+	private static final class Partition {
+		private final EntityPersister persister;
+		private final Type identifierType;
+		// the identifier class for primitive storage, or null
+		private final Class idClass;
+		private boolean primitive;
+
+		// primitive storage
+		private long[] ids;
+		// the persisters used for the entries, only tracked once another persister of the hierarchy is used
+		private EntityPersister[] persisters;
+
+		// keyed storage
+		private EntityKey[] keys;
+		private int[] hashes;
+
+		private Object[] values;
+		private int size;
+		// live plus removed slots
+		private int used;
+
+		private Partition(EntityPersister persister) {
+			this.persister = persister;
+			this.identifierType = persister.getIdentifierType();
+			if ( identifierType.getClass() == LongType.class ) {
+				this.idClass = Long.class;
+			}
+			else if ( identifierType.getClass() == IntegerType.class ) {
+				this.idClass = Integer.class;
+			}
+			else {
+				this.idClass = null;
+			}
+			this.primitive = idClass != null;
+			allocate( INITIAL_PARTITION_CAPACITY );
+		}
+
+		private void allocate(int capacity) {
+			values = new Object[capacity];
+			if ( primitive ) {
+				ids = new long[capacity];
+				persisters = persisters == null ? null : new EntityPersister[capacity];
+			}
+			else {
+				keys = new EntityKey[capacity];
+				hashes = new int[capacity];
+			}
+			used = 0;
+		}
+
+		private int indexOf(long id) {
+			final int mask = values.length - 1;
+			int index = spread( id ) & mask;
+			Object value;
+			while ( ( value = values[index] ) != null ) {
+				if ( ids[index] == id && value != REMOVED ) {
+					return index;
+				}
+				index = ( index + 1 ) & mask;
+			}
+			return -1;
+		}
+
+		private int indexOf(Serializable id) {
+			if ( primitive ) {
+				// mirrors the identifier type's equality, which never matches an identifier of another class
+				return id.getClass() == idClass ? indexOf( ( (Number) id ).longValue() ) : -1;
+			}
+			final int hash = identifierType.getHashCode( id, persister.getFactory() );
+			final int mask = values.length - 1;
+			int index = spread( hash ) & mask;
+			Object value;
+			while ( ( value = values[index] ) != null ) {
+				if ( value != REMOVED
+						&& hashes[index] == hash
+						&& identifierType.isEqual( keys[index].getIdentifier(), id, persister.getFactory() ) ) {
+					return index;
+				}
+				index = ( index + 1 ) & mask;
+			}
+			return -1;
+		}
+
+		private Object put(EntityKey key, Object value) {
+			final Serializable id = key.getIdentifier();
+			if ( primitive && id.getClass() != idClass ) {
+				// should not happen for a well-formed key, but EntityKey equality must still be honored
+				convertToKeyed();
+			}
+
+			final int index = indexOf( id );
+			if ( index >= 0 ) {
+				final Object previous = values[index];
+				values[index] = value;
+				return previous;
+			}
+
+			if ( ( used + 1 ) * 4 > values.length * 3 ) {
+				// grow unless enough of the slots are merely removed entries
+				rehash( ( size + 1 ) * 2 > values.length ? values.length * 2 : values.length );
+			}
+			if ( primitive ) {
+				insert( ( (Number) id ).longValue(), key.getPersister(), value );
+			}
+			else {
+				insert( key, identifierType.getHashCode( id, persister.getFactory() ), value );
+			}
+			size++;
+			return null;
+		}
+
+		private void insert(long id, EntityPersister entryPersister, Object value) {
+			if ( entryPersister != persister && persisters == null ) {
+				persisters = new EntityPersister[values.length];
+				Arrays.fill( persisters, persister );
+			}
+			final int mask = values.length - 1;
+			int index = spread( id ) & mask;
+			// removed slots are not reused, since the id might still be present further along the probe sequence
+			while ( values[index] != null ) {
+				index = ( index + 1 ) & mask;
+			}
+			ids[index] = id;
+			if ( persisters != null ) {
+				persisters[index] = entryPersister;
+			}
+			values[index] = value;
+			used++;
+		}
+
+		private void insert(EntityKey key, int hash, Object value) {
+			final int mask = values.length - 1;
+			int index = spread( hash ) & mask;
+			while ( values[index] != null ) {
+				index = ( index + 1 ) & mask;
+			}
+			keys[index] = key;
+			hashes[index] = hash;
+			values[index] = value;
+			used++;
+		}
+
+		private void removeAt(int index) {
+			values[index] = REMOVED;
+			if ( primitive ) {
+				if ( persisters != null ) {
+					persisters[index] = null;
+				}
+			}
+			else {
+				keys[index] = null;
+			}
+			size--;
+		}
+
+		private void rehash(int capacity) {
+			final Object[] oldValues = values;
+			final long[] oldIds = ids;
+			final EntityPersister[] oldPersisters = persisters;
+			final EntityKey[] oldKeys = keys;
+			final int[] oldHashes = hashes;
+
+			allocate( capacity );
+			for ( int i = 0; i < oldValues.length; i++ ) {
+				final Object value = oldValues[i];
+				if ( value == null || value == REMOVED ) {
+					continue;
+				}
+				if ( primitive ) {
+					insert( oldIds[i], oldPersisters == null ? persister : oldPersisters[i], value );
+				}
+				else {
+					insert( oldKeys[i], oldHashes[i], value );
+				}
+			}
+		}
+
+		private void convertToKeyed() {
+			final Object[] oldValues = values;
+			final EntityKey[] oldKeys = new EntityKey[oldValues.length];
+			for ( int i = 0; i < oldValues.length; i++ ) {
+				if ( oldValues[i] != null && oldValues[i] != REMOVED ) {
+					oldKeys[i] = keyAt( i );
+				}
+			}
+
+			primitive = false;
+			ids = null;
+			persisters = null;
+			allocate( oldValues.length );
+			for ( int i = 0; i < oldValues.length; i++ ) {
+				if ( oldKeys[i] != null ) {
+					insert(
+							oldKeys[i],
+							identifierType.getHashCode( oldKeys[i].getIdentifier(), persister.getFactory() ),
+							oldValues[i]
+					);
+				}
+			}
+		}
+
+		private EntityKey keyAt(int index) {
+			if ( !primitive ) {
+				return keys[index];
+			}
+			final Serializable id = idClass == Integer.class ? (Serializable) (int) ids[index] : (Serializable) ids[index];
+			final EntityPersister entryPersister = persisters == null ? persister : persisters[index];
+			return new EntityKey( id, entryPersister );
+		}
+	}
+
+	private abstract class SlotIterator<T> implements Iterator<T> {
+		private final Iterator<Partition> partitionIterator = partitions.values().iterator();
+		private int expectedModCount = modCount;
+
+		private Partition partition;
+		private int nextIndex = -1;
+
+		private Partition lastPartition;
+		private int lastIndex = -1;
+
+		private SlotIterator() {
+			advance( 0 );
+		}
+
+		protected abstract T element(Partition partition, int index);
+
+		private void advance(int from) {
+			int index = from;
+			while ( true ) {
+				if ( partition != null ) {
+					final Object[] slots = partition.values;
+					for ( ; index < slots.length; index++ ) {
+						if ( slots[index] != null && slots[index] != REMOVED ) {
+							nextIndex = index;
+							return;
+						}
+					}
+				}
+				if ( !partitionIterator.hasNext() ) {
+					partition = null;
+					nextIndex = -1;
+					return;
+				}
+				partition = partitionIterator.next();
+				index = 0;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextIndex >= 0;
+		}
+
+		@Override
+		public T next() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( nextIndex < 0 ) {
+				throw new NoSuchElementException();
+			}
+			lastPartition = partition;
+			lastIndex = nextIndex;
+			advance( nextIndex + 1 );
+			return element( lastPartition, lastIndex );
+		}
+
+		@Override
+		public void remove() {
+			if ( lastIndex < 0 ) {
+				throw new IllegalStateException();
+			}
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			// removal only marks the slot, so the iteration order is unaffected
+			lastPartition.removeAt( lastIndex );
+			lastIndex = -1;
+			size--;
+			expectedModCount = ++modCount;
+		}
+	}
+
+	private final class SlotEntry implements Map.Entry<EntityKey,V> {
+		private final Partition partition;
+		private final int index;
+		private final EntityKey key;
+
+		private SlotEntry(Partition partition, int index) {
+			this.partition = partition;
+			this.index = index;
+			this.key = partition.keyAt( index );
+		}
+
+		@Override
+		public EntityKey getKey() {
+			return key;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V getValue() {
+			final Object value = partition.values[index];
+			return value == REMOVED ? null : (V) value;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V setValue(V value) {
+			if ( value == null ) {
+				throw new NullPointerException( "EntityKeyMap does not support null values" );
+			}
+			final Object previous = partition.values[index];
+			if ( previous == REMOVED ) {
+				throw new IllegalStateException( "Entry was removed" );
+			}
+			partition.values[index] = value;
+			return (V) previous;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( !( o instanceof Map.Entry ) ) {
+				return false;
+			}
+			final Map.Entry other = (Map.Entry) o;
+			return key.equals( other.getKey() ) && Objects.equals( getValue(), other.getValue() );
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode() ^ Objects.hashCode( getValue() );
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + getValue();
+		}
+	}
+}
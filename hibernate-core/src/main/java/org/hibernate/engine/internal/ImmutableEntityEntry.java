@@ -147,7 +147,7 @@ public final class ImmutableEntityEntry extends AbstractEntityEntry {
 			ObjectInputStream ois,
 			PersistenceContext persistenceContext) throws IOException, ClassNotFoundException {
 		String previousStatusString;
-		return new ImmutableEntityEntry(
+		final AbstractEntityEntry entry = new ImmutableEntityEntry(
 				persistenceContext.getSession().getFactory(),
 				(String) ois.readObject(),
 				(Serializable) ois.readObject(),
@@ -163,6 +163,11 @@ public final class ImmutableEntityEntry extends AbstractEntityEntry {
 				ois.readBoolean(),
 				null
 		);
+		final LoadedStateFingerprint fingerprint = (LoadedStateFingerprint) ois.readObject();
+		if ( fingerprint != null ) {
+			entry.addExtraState( fingerprint );
+		}
+		return entry;
 	}
 
 	@Override
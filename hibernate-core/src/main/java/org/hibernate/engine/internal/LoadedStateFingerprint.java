@@ -0,0 +1,275 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.io.Serializable;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.boot.internal.DefaultCustomEntityDirtinessStrategy;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityEntryExtraState;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.internal.DefaultFlushEntityEventListener;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+
+/**
+ * Stands in for the loaded state of a managed entity, which its {@link EntityEntry} then does not keep: a 64-bit
+ * fingerprint of the values of its properties of immutable basic types, strings and numbers, and the values of
+ * its other properties, such as associations, collections, and properties of mutable types.  A flush deems the
+ * entity unchanged if both match its current state; otherwise it compares the current state to a snapshot read
+ * from the database.
+ * <p/>
+ * The fingerprint of numbers is exact, and the fingerprint of strings is a 64-bit hash: a number changed to
+ * another is always detected, and the changes a matching fingerprint would hide are extremely unlikely.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#FINGERPRINT_DIRTY_CHECKING
+ */
+public final class LoadedStateFingerprint implements EntityEntryExtraState, Serializable {
+	private static final long SEED = 0xcbf29ce484222325L;
+	private static final long PRIME = 0x100000001b3L;
+	private static final long MULTIPLIER = 0x9e3779b97f4a7c15L;
+
+	// the extra states of an entry are not serialized along with it
+	private transient EntityEntryExtraState next;
+	private boolean discarded;
+	private long fingerprint;
+	private Object[] retainedValues;
+
+	/**
+	 * Should the loaded state of the given entity be replaced by its fingerprint?  Only applies to the entities
+	 * which are not enhanced, have no natural id, are not updated dynamically, and have properties to fingerprint,
+	 * in sessions without {@link org.hibernate.Interceptor}, with the default
+	 * {@link org.hibernate.CustomEntityDirtinessStrategy}, and without flush listeners which may change their state,
+	 * such as JPA {@code @PreUpdate} callbacks: those all need the loaded state.
+	 */
+	public static boolean isApplicable(EntityPersister persister, Object entity, SharedSessionContractImplementor session) {
+		return session.getFactory().getSessionFactoryOptions().isFingerprintDirtyCheckingEnabled()
+				&& session.isEventSource()
+				&& persister.isMutable()
+				&& !persister.hasNaturalIdentifier()
+				&& !persister.getEntityMetamodel().isDynamicUpdate()
+				&& !( entity instanceof SelfDirtinessTracker )
+				&& !( entity instanceof PersistentAttributeInterceptable )
+				&& session.getInterceptor() == EmptyInterceptor.INSTANCE
+				&& session.getFactory().getCustomEntityDirtinessStrategy() == DefaultCustomEntityDirtinessStrategy.INSTANCE
+				&& hasFingerprintedProperties( persister )
+				&& !DefaultFlushEntityEventListener.anyMayChangeStateBeforeDirtyCheck(
+						session.getFactory()
+								.getServiceRegistry()
+								.getService( EventListenerRegistry.class )
+								.getEventListenerGroup( EventType.FLUSH_ENTITY )
+								.listeners(),
+						persister
+				);
+	}
+
+	/**
+	 * The fingerprint standing in for the loaded state of the given entry, if any.
+	 */
+	public static LoadedStateFingerprint of(EntityEntry entry) {
+		final LoadedStateFingerprint fingerprint = entry.getExtraState( LoadedStateFingerprint.class );
+		return fingerprint == null || fingerprint.discarded ? null : fingerprint;
+	}
+
+	LoadedStateFingerprint(Object[] state, EntityPersister persister) {
+		take( state, persister );
+	}
+
+	/**
+	 * Replaces the fingerprint by the one of the given state, once written to the database.
+	 *
+	 * @param state The state, whose values must not be changed afterwards
+	 * @param persister The persister of the entity
+	 */
+	void take(Object[] state, EntityPersister persister) {
+		final Type[] types = persister.getPropertyTypes();
+		final int versionProperty = persister.getVersionProperty();
+		int retained = 0;
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( !isFingerprinted( types[i], i, versionProperty ) ) {
+				retained++;
+			}
+		}
+		if ( retainedValues == null || retainedValues.length != retained ) {
+			retainedValues = new Object[retained];
+		}
+		int j = 0;
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( !isFingerprinted( types[i], i, versionProperty ) ) {
+				retainedValues[j++] = state[i];
+			}
+		}
+		fingerprint = fingerprint( state, types, versionProperty );
+	}
+
+	/**
+	 * Does the given state match the loaded state?
+	 *
+	 * @param currentState The current state of the entity
+	 * @param persister The persister of the entity
+	 * @param session The session being flushed
+	 */
+	public boolean matches(Object[] currentState, EntityPersister persister, SharedSessionContractImplementor session) {
+		final Type[] types = persister.getPropertyTypes();
+		final int versionProperty = persister.getVersionProperty();
+		int j = 0;
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( !isFingerprinted( types[i], i, versionProperty )
+					&& types[i].isDirty( retainedValues[j++], currentState[i], session ) ) {
+				return false;
+			}
+		}
+		return fingerprint == fingerprint( currentState, types, versionProperty );
+	}
+
+	/**
+	 * The loaded value of the given property, if it is not part of the fingerprint.
+	 *
+	 * @return The value, or {@code null} if it is not kept
+	 */
+	Object getLoadedValue(int propertyIndex, EntityPersister persister) {
+		final int j = getRetainedIndex( propertyIndex, persister );
+		return j < 0 ? null : retainedValues[j];
+	}
+
+	void versionIncremented(Object version, EntityPersister persister) {
+		retainedValues[getRetainedIndex( persister.getVersionProperty(), persister )] = version;
+	}
+
+	/**
+	 * Marks the fingerprint as no longer standing in for the loaded state, as extra states cannot be removed.
+	 */
+	void discard() {
+		discarded = true;
+		retainedValues = null;
+	}
+
+	private static int getRetainedIndex(int propertyIndex, EntityPersister persister) {
+		final Type[] types = persister.getPropertyTypes();
+		final int versionProperty = persister.getVersionProperty();
+		if ( isFingerprinted( types[propertyIndex], propertyIndex, versionProperty ) ) {
+			return -1;
+		}
+		int j = 0;
+		for ( int i = 0; i < propertyIndex; i++ ) {
+			if ( !isFingerprinted( types[i], i, versionProperty ) ) {
+				j++;
+			}
+		}
+		return j;
+	}
+
+	private static boolean hasFingerprintedProperties(EntityPersister persister) {
+		final Type[] types = persister.getPropertyTypes();
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( isFingerprinted( types[i], i, persister.getVersionProperty() ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isFingerprinted(Type type, int propertyIndex, int versionProperty) {
+		if ( propertyIndex == versionProperty || type.isAssociationType() || type.isMutable() ) {
+			return false;
+		}
+		final Class returnedClass = type.getReturnedClass();
+		return returnedClass == String.class
+				|| returnedClass == Long.class
+				|| returnedClass == Integer.class
+				|| returnedClass == Short.class
+				|| returnedClass == Byte.class
+				|| returnedClass == Character.class
+				|| returnedClass == Boolean.class
+				|| returnedClass == Double.class
+				|| returnedClass == Float.class;
+	}
+
+	private static long fingerprint(Object[] state, Type[] types, int versionProperty) {
+		long fingerprint = SEED;
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( isFingerprinted( types[i], i, versionProperty ) ) {
+				final Object value = state[i];
+				fingerprint = mix( fingerprint, value == null ? 0 : 1 );
+				if ( value != null ) {
+					fingerprint = mix( fingerprint, fingerprint( value ) );
+				}
+			}
+		}
+		return fingerprint;
+	}
+
+	private static long fingerprint(Object value) {
+		if ( value instanceof String ) {
+			// FNV-1a
+			final String string = (String) value;
+			long hash = SEED;
+			for ( int i = 0; i < string.length(); i++ ) {
+				hash ^= string.charAt( i );
+				hash *= PRIME;
+			}
+			return hash;
+		}
+		else if ( value instanceof Double ) {
+			return Double.doubleToLongBits( (Double) value );
+		}
+		else if ( value instanceof Float ) {
+			return Float.floatToIntBits( (Float) value );
+		}
+		else if ( value instanceof Number ) {
+			return ( (Number) value ).longValue();
+		}
+		else if ( value instanceof Character ) {
+			return (Character) value;
+		}
+		else if ( value instanceof Boolean ) {
+			return (Boolean) value ? 1 : 0;
+		}
+		else {
+			return value.hashCode();
+		}
+	}
+
+	// each step is a bijection of both the fingerprint so far and the value, so that a single changed value always
+	// changes the fingerprint
+	private static long mix(long fingerprint, long value) {
+		final long mixed = ( fingerprint ^ value ) * MULTIPLIER;
+		return mixed ^ ( mixed >>> 32 );
+	}
+
+	//the following methods are handling extraState contracts.
+	//they are not shared by a common superclass to avoid alignment padding
+	//we are trading off duplication for padding efficiency
+	@Override
+	public void addExtraState(EntityEntryExtraState extraState) {
+		if ( next == null ) {
+			next = extraState;
+		}
+		else {
+			next.addExtraState( extraState );
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T extends EntityEntryExtraState> T getExtraState(Class<T> extraStateType) {
+		if ( next == null ) {
+			return null;
+		}
+		if ( extraStateType.isAssignableFrom( next.getClass() ) ) {
+			return (T) next;
+		}
+		else {
+			return next.getExtraState( extraStateType );
+		}
+	}
+}
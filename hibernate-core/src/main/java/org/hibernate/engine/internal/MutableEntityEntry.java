@@ -105,7 +105,7 @@ public final class MutableEntityEntry extends AbstractEntityEntry {
 			ObjectInputStream ois,
 			PersistenceContext persistenceContext) throws IOException, ClassNotFoundException {
 		String previousStatusString;
-		return new MutableEntityEntry(
+		final AbstractEntityEntry entry = new MutableEntityEntry(
 				persistenceContext.getSession().getFactory(),
 				(String) ois.readObject(),
 				(Serializable) ois.readObject(),
@@ -121,5 +121,10 @@ public final class MutableEntityEntry extends AbstractEntityEntry {
 				ois.readBoolean(),
 				persistenceContext
 		);
+		final LoadedStateFingerprint fingerprint = (LoadedStateFingerprint) ois.readObject();
+		if ( fingerprint != null ) {
+			entry.addExtraState( fingerprint );
+		}
+		return entry;
 	}
 }
@@ -13,6 +13,7 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -20,6 +21,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 
 import org.hibernate.AssertionFailure;
@@ -48,6 +50,7 @@ import org.hibernate.engine.spi.ManagedEntity;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.PersistentAttributeInterceptable;
 import org.hibernate.engine.spi.PersistentAttributeInterceptor;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
@@ -62,6 +65,7 @@ import org.hibernate.pretty.MessageHelper;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
 import org.hibernate.type.CollectionType;
+import org.hibernate.type.Type;
 
 import org.jboss.logging.Logger;
 
@@ -87,7 +91,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	private SharedSessionContractImplementor session;
 
 	// Loaded entity instances, by EntityKey
-	private Map<EntityKey, Object> entitiesByKey;
+	private EntityKeyMap<Object> entitiesByKey;
 
 	// Loaded entity instances, by EntityUniqueKey
 	private Map<EntityUniqueKey, Object> entitiesByUniqueKey;
@@ -100,7 +104,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 	// Snapshots of current database state for entities
 	// that have *not* been loaded
-	private Map<EntityKey, Object> entitySnapshotsByKey;
+	private EntityKeyMap<Object> entitySnapshotsByKey;
 
 	// Identity map of array holder ArrayHolder instances, by the array instance
 	private Map<Object, PersistentCollection> arrayHolders;
@@ -134,6 +138,11 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	private int removeOrphanBeforeUpdatesCounter;
 	private boolean flushing;
 
+	// Identity sets of the entities the next incremental flush has to visit, and of the entities visited by the
+	// flush whose changes are not executed yet; both null unless flushes are incremental
+	private Set<Object> entitiesToFlush;
+	private Set<Object> flushedEntities;
+
 	private boolean defaultReadOnly;
 	private boolean hasNonReadOnlyEntities;
 
@@ -149,7 +158,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	public StatefulPersistenceContext(SharedSessionContractImplementor session) {
 		this.session = session;
 
-		entitiesByKey = new HashMap<>( INIT_COLL_SIZE );
+		entitiesByKey = new EntityKeyMap<>();
 		entitiesByUniqueKey = new HashMap<>( INIT_COLL_SIZE );
 		//noinspection unchecked
 		proxiesByKey = new ConcurrentReferenceHashMap<>(
@@ -160,7 +169,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 				ConcurrentReferenceHashMap.ReferenceType.WEAK,
 				null
 		);
-		entitySnapshotsByKey = new HashMap<>( INIT_COLL_SIZE );
+		entitySnapshotsByKey = new EntityKeyMap<>();
 
 		entityEntryContext = new EntityEntryContext( this );
 //		entityEntries = IdentityMap.instantiateSequenced( INIT_COLL_SIZE );
@@ -172,6 +181,11 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 		nullifiableEntityKeys = new HashSet<>();
 
+		if ( session instanceof EventSource && session.getFactory().getSessionFactoryOptions().isIncrementalFlushEnabled() ) {
+			entitiesToFlush = Collections.newSetFromMap( new IdentityHashMap<>( INIT_COLL_SIZE ) );
+			flushedEntities = Collections.newSetFromMap( new IdentityHashMap<>( INIT_COLL_SIZE ) );
+		}
+
 		initTransientState();
 	}
 
@@ -234,6 +248,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( objectEntityEntryEntry.getKey() instanceof PersistentAttributeInterceptable ) {
 				final PersistentAttributeInterceptor interceptor = ( (PersistentAttributeInterceptable) objectEntityEntryEntry.getKey() ).$$_hibernate_getInterceptor();
 				if ( interceptor instanceof LazyAttributeLoadingInterceptor ) {
+					( (LazyAttributeLoadingInterceptor) interceptor ).proxyDeferredAttributes( objectEntityEntryEntry.getKey(), this );
 					( (LazyAttributeLoadingInterceptor) interceptor ).unsetSession();
 				}
 			}
@@ -266,6 +281,10 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			loadContexts.cleanup();
 		}
 		naturalIdXrefDelegate.clear();
+		if ( entitiesToFlush != null ) {
+			entitiesToFlush.clear();
+			flushedEntities.clear();
+		}
 	}
 
 	@Override
@@ -313,14 +332,13 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	 */
 	@Override
 	public Object[] getDatabaseSnapshot(Serializable id, EntityPersister persister) throws HibernateException {
-		final EntityKey key = session.generateEntityKey( id, persister );
-		final Object cached = entitySnapshotsByKey.get( key );
+		final Object cached = entitySnapshotsByKey.get( persister, id );
 		if ( cached != null ) {
 			return cached == NO_ROW ? null : (Object[]) cached;
 		}
 		else {
 			final Object[] snapshot = persister.getDatabaseSnapshot( id, session );
-			entitySnapshotsByKey.put( key, snapshot == null ? NO_ROW : snapshot );
+			entitySnapshotsByKey.put( session.generateEntityKey( id, persister ), snapshot == null ? NO_ROW : snapshot );
 			return snapshot;
 		}
 	}
@@ -401,6 +419,11 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		return entitiesByKey.get( key );
 	}
 
+	@Override
+	public Object getEntity(EntityPersister persister, Serializable id) {
+		return entitiesByKey.get( persister, id );
+	}
+
 	@Override
 	public boolean containsEntity(EntityKey key) {
 		return entitiesByKey.containsKey( key );
@@ -443,6 +466,10 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 	@Override
 	public EntityEntry removeEntry(Object entity) {
+		if ( entitiesToFlush != null ) {
+			entitiesToFlush.remove( entity );
+			flushedEntities.remove( entity );
+		}
 		return entityEntryContext.removeEntityEntry( entity );
 	}
 
@@ -542,17 +569,51 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		}
 
 		entityEntryContext.addEntityEntry( entity, e );
+		if ( entitiesToFlush != null && !( status == Status.LOADING && isWriteTrackedOnceLoaded( entity, persister ) ) ) {
+			entitiesToFlush.add( entity );
+		}
 
 		setHasNonReadOnlyEnties( status );
 		return e;
 	}
 
+	/**
+	 * Whether the writes to the given entity, being loaded, will be reported by its attribute interceptor, bound
+	 * to the session once the entity is initialized: the entities with embedded attributes only report their
+	 * writes to their dirtiness tracker.
+	 */
+	private boolean isWriteTrackedOnceLoaded(Object entity, EntityPersister persister) {
+		if ( !( entity instanceof SelfDirtinessTracker ) || !( entity instanceof PersistentAttributeInterceptable ) ) {
+			return false;
+		}
+		final PersistentAttributeInterceptor interceptor =
+				( (PersistentAttributeInterceptable) entity ).$$_hibernate_getInterceptor();
+		if ( interceptor != null && !( interceptor instanceof LazyAttributeLoadingInterceptor ) ) {
+			return false;
+		}
+		if ( interceptor != null ) {
+			final SharedSessionContractImplementor linkedSession = ( (LazyAttributeLoadingInterceptor) interceptor ).getLinkedSession();
+			if ( linkedSession != null && linkedSession != session ) {
+				return false;
+			}
+		}
+		for ( Type type : persister.getPropertyTypes() ) {
+			if ( type.isComponentType() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	public EntityEntry addReferenceEntry(
 			final Object entity,
 			final Status status) {
 
 		((ManagedEntity)entity).$$_hibernate_getEntityEntry().setStatus( status );
 		entityEntryContext.addEntityEntry( entity, ((ManagedEntity)entity).$$_hibernate_getEntityEntry() );
+		if ( entitiesToFlush != null ) {
+			entitiesToFlush.add( entity );
+		}
 
 		setHasNonReadOnlyEnties( status );
 		return ((ManagedEntity)entity).$$_hibernate_getEntityEntry();
@@ -727,7 +788,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		// these 2 are not always the same.  Same is true in the case of ToOne associations with property-ref...
 		final EntityPersister ownerPersister = collectionPersister.getOwnerEntityPersister();
 		if ( ownerPersister.getIdentifierType().getReturnedClass().isInstance( key ) ) {
-			return getEntity( session.generateEntityKey( key, collectionPersister.getOwnerEntityPersister() ) );
+			return getEntity( ownerPersister, key );
 		}
 
 		// we have a property-ref type mapping for the collection key.  But that could show up a few ways here...
@@ -738,7 +799,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( owenerId == null ) {
 				return null;
 			}
-			return getEntity( session.generateEntityKey( owenerId, ownerPersister ) );
+			return getEntity( ownerPersister, owenerId );
 		}
 
 		final CollectionType collectionType = collectionPersister.getCollectionType();
@@ -775,11 +836,11 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			//			in place of natural id snapshots.  BUt really its better to just do it the right way ^^ if we start
 			// 			going that route
 			final Serializable ownerId = ownerPersister.getIdByUniqueKey( key, collectionType.getLHSPropertyName(), session );
-			return getEntity( session.generateEntityKey( ownerId, ownerPersister ) );
+			return getEntity( ownerPersister, ownerId );
 		}
 
 		// as a last resort this is what the old code did...
-		return getEntity( session.generateEntityKey( key, collectionPersister.getOwnerEntityPersister() ) );
+		return getEntity( ownerPersister, key );
 	}
 
 	@Override
@@ -1062,6 +1123,40 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		}
 	}
 
+	@Override
+	public void markEntityDirty(Object entity) {
+		if ( entitiesToFlush != null && entityEntryContext.hasEntityEntry( entity ) ) {
+			entitiesToFlush.add( entity );
+		}
+	}
+
+	@Override
+	public Object[] getEntitiesToFlush() {
+		if ( entitiesToFlush == null ) {
+			return null;
+		}
+		if ( !flushedEntities.isEmpty() ) {
+			// the changes found by the previous flush were not executed
+			entitiesToFlush.addAll( flushedEntities );
+			flushedEntities.clear();
+		}
+		return entitiesToFlush.toArray();
+	}
+
+	@Override
+	public void entityFlushed(Object entity) {
+		if ( entitiesToFlush != null && entitiesToFlush.remove( entity ) ) {
+			flushedEntities.add( entity );
+		}
+	}
+
+	@Override
+	public void flushExecuted() {
+		if ( flushedEntities != null ) {
+			flushedEntities.clear();
+		}
+	}
+
 	public boolean isRemovingOrphanBeforeUpates() {
 		return removeOrphanBeforeUpdatesCounter > 0;
 	}
@@ -1552,7 +1647,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] entitiesByKey entries" );
 			}
-			rtn.entitiesByKey = new HashMap<>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.entitiesByKey = new EntityKeyMap<>();
 			for ( int i = 0; i < count; i++ ) {
 				rtn.entitiesByKey.put( EntityKey.deserialize( ois, sfi ), ois.readObject() );
 			}
@@ -1598,12 +1693,18 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] entitySnapshotsByKey entries" );
 			}
-			rtn.entitySnapshotsByKey = new HashMap<>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.entitySnapshotsByKey = new EntityKeyMap<>();
 			for ( int i = 0; i < count; i++ ) {
 				rtn.entitySnapshotsByKey.put( EntityKey.deserialize( ois, sfi ), ois.readObject() );
 			}
 
 			rtn.entityEntryContext = EntityEntryContext.deserialize( ois, rtn );
+			if ( rtn.entitiesToFlush != null ) {
+				// which of the entities were written to since the last flush is not serialized
+				for ( Map.Entry<Object, EntityEntry> entry : rtn.entityEntryContext.reentrantSafeEntityEntries() ) {
+					rtn.entitiesToFlush.add( entry.getKey() );
+				}
+			}
 
 			count = ois.readInt();
 			if ( tracing ) {
@@ -7,6 +7,8 @@
 package org.hibernate.engine.internal;
 
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.CacheMode;
@@ -18,6 +20,7 @@ import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
 import org.hibernate.engine.spi.SessionEventListenerManager;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
@@ -34,6 +37,7 @@ import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.property.access.internal.PropertyAccessStrategyBackRefImpl;
 import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.ManyToOneType;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
@@ -144,6 +148,27 @@ public final class TwoPhaseLoad {
 			);
 		}
 
+		boolean isReallyReadOnly = readOnly;
+		if ( !persister.isMutable() ) {
+			isReallyReadOnly = true;
+		}
+		else {
+			final Object proxy = persistenceContext.getProxy( entityEntry.getEntityKey() );
+			if ( proxy != null ) {
+				// there is already a proxy for this impl
+				// only set the status to read-only if the proxy is read-only
+				isReallyReadOnly = ( (HibernateProxy) proxy ).getHibernateLazyInitializer().isReadOnly();
+			}
+		}
+
+		// the lazy associations of read-only entities may be resolved on first access (see READ_ONLY_LAZY_HYDRATION)
+		final boolean deferResolution = isReallyReadOnly
+				&& persister.getEntityMetamodel().isReadOnlyLazyHydrationEnabled()
+				&& session.isEventSource()
+				&& !( persister.canWriteToCache() && session.getCacheMode().isPutEnabled() )
+				&& entity instanceof PersistentAttributeInterceptable;
+		Map<String, Object> deferredValues = null;
+
 		final Type[] types = persister.getPropertyTypes();
 		for ( int i = 0; i < hydratedState.length; i++ ) {
 			final Object value = hydratedState[i];
@@ -162,7 +187,18 @@ public final class TwoPhaseLoad {
 			}
 			else if ( value!= PropertyAccessStrategyBackRefImpl.UNKNOWN ) {
 				// we know value != LazyPropertyInitializer.UNFETCHED_PROPERTY
-				hydratedState[i] = types[i].resolve( value, session, entity );
+				if ( deferResolution && value != null && types[i] instanceof ManyToOneType
+						&& ( (ManyToOneType) types[i] ).isResolutionDeferrable() ) {
+					// keep the identifier for the interceptor to resolve on first access
+					if ( deferredValues == null ) {
+						deferredValues = new HashMap<>();
+					}
+					deferredValues.put( persister.getPropertyNames()[i], value );
+					hydratedState[i] = null;
+				}
+				else {
+					hydratedState[i] = types[i].resolve( value, session, entity );
+				}
 			}
 		}
 
@@ -243,18 +279,6 @@ public final class TwoPhaseLoad {
 			);
 		}
 
-		boolean isReallyReadOnly = readOnly;
-		if ( !persister.isMutable() ) {
-			isReallyReadOnly = true;
-		}
-		else {
-			final Object proxy = persistenceContext.getProxy( entityEntry.getEntityKey() );
-			if ( proxy != null ) {
-				// there is already a proxy for this impl
-				// only set the status to read-only if the proxy is read-only
-				isReallyReadOnly = ( (HibernateProxy) proxy ).getHibernateLazyInitializer().isReadOnly();
-			}
-		}
 		if ( isReallyReadOnly ) {
 			//no need to take a snapshot - this is a
 			//performance optimization, but not really
@@ -273,10 +297,18 @@ public final class TwoPhaseLoad {
 					session
 			);
 			persistenceContext.setEntryStatus( entityEntry, Status.MANAGED );
+			if ( entityEntry instanceof AbstractEntityEntry
+					&& LoadedStateFingerprint.isApplicable( persister, entity, session ) ) {
+				( (AbstractEntityEntry) entityEntry ).fingerprintLoadedState();
+			}
 		}
 
 		persister.afterInitialize( entity, session );
 
+		if ( deferredValues != null ) {
+			persister.getInstrumentationMetadata().extractInterceptor( entity ).deferResolution( deferredValues );
+		}
+
 		if ( debugEnabled ) {
 			LOG.debugf(
 					"Done materializing entity %s",
@@ -0,0 +1,337 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.StaleStateException;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.jdbc.Expectations;
+import org.hibernate.jdbc.TooManyRowsAffectedException;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link org.hibernate.engine.jdbc.batch.spi.Batch} implementation which combines the rows added for each
+ * {@code INSERT ... VALUES (...)} statement into multi-row inserts: {@code INSERT ... VALUES (...), (...), ...}.
+ * This saves the round trips of drivers which execute a JDBC batch one row at a time.
+ * <p/>
+ * The statements handed out by {@link #getBatchStatement} record the parameter values bound to them; each
+ * {@link #addToBatch()} completes one row.  On execution, the recorded rows are bound to statements of as many
+ * rows as the {@link org.hibernate.dialect.Dialect} row and parameter limits allow.  As with {@link BatchingBatch},
+ * the entire batch is implicitly executed once the batch size is reached.
+ *
+ * @see MultiRowInsertBatchKey
+ */
+public class MultiRowInsertBatch extends AbstractBatchImpl {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			MultiRowInsertBatch.class.getName()
+	);
+
+	private static final String VALUES = " values ";
+
+	private final int configuredBatchSize;
+	private final int rowLimit;
+	private final int parameterLimit;
+
+	private int batchSize;
+	private int batchPosition;
+	private boolean batchExecuted;
+
+	private final Map<String,PendingRows> pendingRowsBySql = new LinkedHashMap<>();
+	private PendingRows currentRows;
+
+	/**
+	 * Constructs a MultiRowInsertBatch
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param batchSize The batch size.
+	 * @param rowLimit The maximum number of rows per statement
+	 * @param parameterLimit The maximum number of parameters per statement, or zero-or-less for no limit
+	 */
+	public MultiRowInsertBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			int batchSize,
+			int rowLimit,
+			int parameterLimit) {
+		super( key, jdbcCoordinator );
+		if ( ! key.getExpectation().canBeBatched() ) {
+			throw new HibernateException( "attempting to batch an operation which cannot be batched" );
+		}
+		this.batchSize = batchSize;
+		this.configuredBatchSize = batchSize;
+		this.rowLimit = rowLimit;
+		this.parameterLimit = parameterLimit;
+	}
+
+	@Override
+	public PreparedStatement getBatchStatement(String sql, boolean callable) {
+		if ( callable ) {
+			throw new HibernateException( "attempting to combine callable statements into a multi-row insert" );
+		}
+		currentRows = pendingRowsBySql.get( sql );
+		if ( currentRows == null ) {
+			currentRows = new PendingRows( sql, super.getBatchStatement( sql, false ) );
+			pendingRowsBySql.put( sql, currentRows );
+			this.batchSize = this.configuredBatchSize * pendingRowsBySql.size();
+		}
+		else {
+			// for the statement logging
+			super.getBatchStatement( sql, false );
+		}
+		return currentRows.recordingStatement;
+	}
+
+	@Override
+	public void addToBatch() {
+		currentRows.completeRow();
+		batchPosition++;
+		if ( batchPosition == batchSize ) {
+			notifyObserversImplicitExecution();
+			performExecution();
+			batchExecuted = true;
+		}
+	}
+
+	@Override
+	protected void doExecuteBatch() {
+		if ( batchPosition == 0 ) {
+			if ( ! batchExecuted ) {
+				LOG.debug( "No batched statements to execute" );
+			}
+		}
+		else {
+			performExecution();
+		}
+	}
+
+	private void performExecution() {
+		LOG.debugf( "Executing multi-row insert batch size: %s", batchPosition );
+		try {
+			for ( PendingRows pendingRows : pendingRowsBySql.values() ) {
+				try {
+					pendingRows.execute();
+				}
+				catch ( SQLException e ) {
+					abortBatch();
+					LOG.unableToExecuteBatch( e, pendingRows.sql );
+					throw sqlExceptionHelper().convert( e, "could not execute batch", pendingRows.sql );
+				}
+				catch ( RuntimeException re ) {
+					abortBatch();
+					LOG.unableToExecuteBatch( re, pendingRows.sql );
+					throw re;
+				}
+			}
+		}
+		finally {
+			batchPosition = 0;
+		}
+	}
+
+	@Override
+	protected void releaseStatements() {
+		super.releaseStatements();
+		pendingRowsBySql.clear();
+		currentRows = null;
+	}
+
+	/**
+	 * The rows added for one single-row insert statement.
+	 */
+	private class PendingRows implements InvocationHandler {
+		private final String sql;
+		private final PreparedStatement singleRowStatement;
+		private final PreparedStatement recordingStatement;
+
+		private final String valuesTuple;
+		private final int parametersPerRow;
+		private final int rowsPerStatement;
+		private final Map<Integer,String> multiRowSqlByRowCount = new HashMap<>();
+
+		private final List<List<Binding>> rows = new ArrayList<>();
+		private List<Binding> currentRow = new ArrayList<>();
+
+		private PendingRows(String sql, PreparedStatement singleRowStatement) {
+			this.sql = sql;
+			this.singleRowStatement = singleRowStatement;
+			this.recordingStatement = (PreparedStatement) Proxy.newProxyInstance(
+					PreparedStatement.class.getClassLoader(),
+					new Class[] { PreparedStatement.class },
+					this
+			);
+
+			final int valuesIndex = sql.lastIndexOf( VALUES + "(" );
+			if ( valuesIndex < 0 || !sql.endsWith( ")" ) ) {
+				valuesTuple = null;
+				parametersPerRow = 0;
+			}
+			else {
+				valuesTuple = sql.substring( valuesIndex + VALUES.length() );
+				parametersPerRow = countParameters( valuesTuple );
+			}
+
+			if ( parametersPerRow == 0 ) {
+				// not a statement we know how to combine, execute it row by row
+				rowsPerStatement = 1;
+			}
+			else if ( parameterLimit > 0 ) {
+				rowsPerStatement = Math.max( 1, Math.min( rowLimit, parameterLimit / parametersPerRow ) );
+			}
+			else {
+				rowsPerStatement = rowLimit;
+			}
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if ( args != null && args.length >= 2 && args[0] instanceof Integer && method.getName().startsWith( "set" ) ) {
+				currentRow.add( new Binding( method, args ) );
+				return null;
+			}
+			if ( "clearParameters".equals( method.getName() ) ) {
+				currentRow.clear();
+				return null;
+			}
+			try {
+				return method.invoke( singleRowStatement, args );
+			}
+			catch ( InvocationTargetException e ) {
+				throw e.getTargetException();
+			}
+		}
+
+		private void completeRow() {
+			rows.add( currentRow );
+			currentRow = new ArrayList<>();
+		}
+
+		private void execute() throws SQLException {
+			try {
+				for ( int offset = 0; offset < rows.size(); offset += rowsPerStatement ) {
+					execute( offset, Math.min( rowsPerStatement, rows.size() - offset ) );
+				}
+			}
+			finally {
+				rows.clear();
+			}
+		}
+
+		private void execute(int offset, int rowCount) throws SQLException {
+			if ( rowCount == 1 ) {
+				bind( singleRowStatement, rows.get( offset ), 0 );
+				final int affectedRowCount = getJdbcCoordinator().getResultSetReturn().executeUpdate( singleRowStatement );
+				getKey().getExpectation().verifyOutcome( affectedRowCount, singleRowStatement, -1 );
+				return;
+			}
+
+			final PreparedStatement statement = getJdbcCoordinator().getStatementPreparer()
+					.prepareStatement( multiRowSql( rowCount ), false );
+			try {
+				for ( int i = 0; i < rowCount; i++ ) {
+					bind( statement, rows.get( offset + i ), i * parametersPerRow );
+				}
+				final int affectedRowCount = getJdbcCoordinator().getResultSetReturn().executeUpdate( statement );
+				if ( affectedRowCount != rowCount && getKey().getExpectation() != Expectations.NONE ) {
+					final String message = "Multi-row insert of " + rowCount + " rows affected " + affectedRowCount + " rows";
+					if ( affectedRowCount < rowCount ) {
+						throw new StaleStateException( message );
+					}
+					throw new TooManyRowsAffectedException( message, rowCount, affectedRowCount );
+				}
+			}
+			finally {
+				getJdbcCoordinator().getResourceRegistry().release( statement );
+				getJdbcCoordinator().afterStatementExecution();
+			}
+		}
+
+		private String multiRowSql(int rowCount) {
+			String multiRowSql = multiRowSqlByRowCount.get( rowCount );
+			if ( multiRowSql == null ) {
+				final StringBuilder buffer = new StringBuilder( sql.length() + ( valuesTuple.length() + 2 ) * rowCount );
+				buffer.append( sql );
+				for ( int i = 1; i < rowCount; i++ ) {
+					buffer.append( ", " ).append( valuesTuple );
+				}
+				multiRowSql = buffer.toString();
+				multiRowSqlByRowCount.put( rowCount, multiRowSql );
+			}
+			return multiRowSql;
+		}
+
+		private void bind(PreparedStatement statement, List<Binding> row, int parameterOffset) throws SQLException {
+			for ( Binding binding : row ) {
+				binding.bind( statement, parameterOffset );
+			}
+		}
+	}
+
+	/**
+	 * A parameter value recorded for later binding, possibly at a different parameter index.
+	 */
+	private static class Binding {
+		private final Method setter;
+		private final Object[] arguments;
+
+		private Binding(Method setter, Object[] arguments) {
+			this.setter = setter;
+			this.arguments = arguments;
+		}
+
+		private void bind(PreparedStatement statement, int parameterOffset) throws SQLException {
+			final Object[] shiftedArguments = arguments.clone();
+			shiftedArguments[0] = (Integer) arguments[0] + parameterOffset;
+			try {
+				setter.invoke( statement, shiftedArguments );
+			}
+			catch ( InvocationTargetException e ) {
+				if ( e.getTargetException() instanceof SQLException ) {
+					throw (SQLException) e.getTargetException();
+				}
+				throw new HibernateException( "Unable to bind multi-row insert parameter", e.getTargetException() );
+			}
+			catch ( IllegalAccessException e ) {
+				throw new HibernateException( "Unable to bind multi-row insert parameter", e );
+			}
+		}
+	}
+
+	/**
+	 * Counts the JDBC parameters of the given SQL fragment, ignoring question marks within quoted literals.
+	 */
+	private static int countParameters(String sqlFragment) {
+		int count = 0;
+		boolean inQuote = false;
+		for ( int i = 0; i < sqlFragment.length(); i++ ) {
+			final char c = sqlFragment.charAt( i );
+			if ( c == '\'' ) {
+				inQuote = !inQuote;
+			}
+			else if ( c == '?' && !inQuote ) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
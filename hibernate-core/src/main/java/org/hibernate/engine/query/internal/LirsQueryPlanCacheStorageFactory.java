@@ -0,0 +1,83 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.internal;
+
+import java.util.Map;
+
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.query.spi.QueryPlanCacheStorage;
+import org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+
+/**
+ * {@link QueryPlanCacheStorageFactory} building storages which bound the number of plans using
+ * {@link BoundedConcurrentHashMap.Eviction#LIRS LIRS} eviction, disregarding the weight of the plans.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_MAX_SIZE
+ */
+public class LirsQueryPlanCacheStorageFactory implements QueryPlanCacheStorageFactory {
+	public static final String SHORT_NAME = "lirs";
+
+	/**
+	 * Singleton access
+	 */
+	public static final LirsQueryPlanCacheStorageFactory INSTANCE = new LirsQueryPlanCacheStorageFactory();
+
+	@Override
+	public QueryPlanCacheStorage buildQueryPlanCacheStorage(
+			Map configurationValues,
+			QueryPlanCacheStorage.EvictionListener evictionListener) {
+		return new LirsQueryPlanCacheStorage(
+				QueryPlanCache.determineMaxQueryPlanCount( configurationValues ),
+				evictionListener
+		);
+	}
+
+	private static class LirsQueryPlanCacheStorage implements QueryPlanCacheStorage {
+		private final BoundedConcurrentHashMap<Object,Object> plans;
+
+		private LirsQueryPlanCacheStorage(int maxCount, final EvictionListener evictionListener) {
+			this.plans = new BoundedConcurrentHashMap<>(
+					maxCount,
+					20,
+					BoundedConcurrentHashMap.Eviction.LIRS,
+					new BoundedConcurrentHashMap.EvictionListener<Object,Object>() {
+						@Override
+						public void onEntryEviction(Map<Object,Object> evicted) {
+							for ( Map.Entry<Object,Object> entry : evicted.entrySet() ) {
+								evictionListener.onEviction( entry.getKey(), entry.getValue() );
+							}
+						}
+
+						@Override
+						public void onEntryChosenForEviction(Object internalCacheEntry) {
+						}
+					}
+			);
+		}
+
+		@Override
+		public Object get(Object key) {
+			return plans.get( key );
+		}
+
+		@Override
+		public void putIfAbsent(Object key, Object plan, long weight) {
+			plans.putIfAbsent( key, plan );
+		}
+
+		@Override
+		public int size() {
+			return plans.size();
+		}
+
+		@Override
+		public void clear() {
+			plans.clear();
+		}
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.query.spi.QueryPlanCacheStorage;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+
+/**
+ * {@link QueryPlanCacheStorage} bounded by the overall weight of the stored plans as well as by their number.
+ * <p/>
+ * Lookups are lock-free.  Each entry records (with millisecond granularity, to avoid contended writes on
+ * popular plans) when it was last accessed; once a bound is exceeded, the least recently accessed entries are
+ * evicted until the storage is back to {@value #EVICTION_TARGET_PERCENT}% of its bounds, so that the cost of
+ * determining eviction candidates is amortized over several subsequent insertions.  A plan which on its own
+ * exceeds the weight bound is not stored at all.
+ */
+public class WeightedQueryPlanCacheStorage implements QueryPlanCacheStorage {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( WeightedQueryPlanCacheStorage.class );
+
+	static final int EVICTION_TARGET_PERCENT = 90;
+
+	private static final long ACCESS_GRANULARITY = TimeUnit.MILLISECONDS.toNanos( 1 );
+
+	private static class Entry {
+		private final Object plan;
+		private final long weight;
+		private long lastAccess;
+
+		private Entry(Object plan, long weight, long lastAccess) {
+			this.plan = plan;
+			this.weight = weight;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+	private static class Candidate {
+		private final Object key;
+		private final Entry entry;
+		// snapshot, as the entry's access time may change while sorting
+		private final long lastAccess;
+
+		private Candidate(Object key, Entry entry) {
+			this.key = key;
+			this.entry = entry;
+			this.lastAccess = entry.lastAccess;
+		}
+	}
+
+	private final int maxCount;
+	private final long maxWeight;
+	private final EvictionListener evictionListener;
+
+	private final ConcurrentHashMap<Object,Entry> entries = new ConcurrentHashMap<>();
+	private final AtomicLong totalWeight = new AtomicLong();
+
+	/**
+	 * Constructs a WeightedQueryPlanCacheStorage
+	 *
+	 * @param maxCount The maximum number of plans to store
+	 * @param maxWeight The maximum overall weight of the plans to store
+	 * @param evictionListener The listener to notify of evicted plans
+	 */
+	public WeightedQueryPlanCacheStorage(int maxCount, long maxWeight, EvictionListener evictionListener) {
+		if ( maxCount < 1 || maxWeight < 1 ) {
+			throw new IllegalArgumentException( "Query plan cache bounds must be positive" );
+		}
+		this.maxCount = maxCount;
+		this.maxWeight = maxWeight;
+		this.evictionListener = evictionListener;
+	}
+
+	@Override
+	public Object get(Object key) {
+		final Entry entry = entries.get( key );
+		if ( entry == null ) {
+			return null;
+		}
+		final long now = System.nanoTime();
+		if ( now - entry.lastAccess > ACCESS_GRANULARITY ) {
+			entry.lastAccess = now;
+		}
+		return entry.plan;
+	}
+
+	@Override
+	public void putIfAbsent(Object key, Object plan, long weight) {
+		if ( weight > maxWeight ) {
+			LOG.debugf( "Query plan weight [%s] exceeds the maximum cache weight [%s]; not caching plan", weight, maxWeight );
+			return;
+		}
+		if ( entries.putIfAbsent( key, new Entry( plan, weight, System.nanoTime() ) ) == null ) {
+			final long currentWeight = totalWeight.addAndGet( weight );
+			if ( currentWeight > maxWeight || entries.size() > maxCount ) {
+				evict();
+			}
+		}
+	}
+
+	private void evict() {
+		final List<Candidate> evicted = new ArrayList<>();
+		synchronized ( this ) {
+			if ( totalWeight.get() <= maxWeight && entries.size() <= maxCount ) {
+				// another thread got here first
+				return;
+			}
+
+			final List<Candidate> candidates = new ArrayList<>( entries.size() );
+			for ( Map.Entry<Object,Entry> entry : entries.entrySet() ) {
+				candidates.add( new Candidate( entry.getKey(), entry.getValue() ) );
+			}
+			candidates.sort( Comparator.comparingLong( candidate -> candidate.lastAccess ) );
+
+			final long targetWeight = maxWeight * EVICTION_TARGET_PERCENT / 100;
+			final int targetCount = maxCount * EVICTION_TARGET_PERCENT / 100;
+			for ( Candidate candidate : candidates ) {
+				if ( totalWeight.get() <= targetWeight && entries.size() <= targetCount ) {
+					break;
+				}
+				if ( remove( candidate.key, candidate.entry ) ) {
+					evicted.add( candidate );
+				}
+			}
+		}
+
+		// notify outside of the lock
+		for ( Candidate candidate : evicted ) {
+			evictionListener.onEviction( candidate.key, candidate.entry.plan );
+		}
+	}
+
+	private boolean remove(Object key, Entry entry) {
+		if ( entries.remove( key, entry ) ) {
+			totalWeight.addAndGet( -entry.weight );
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * The current overall weight of the stored plans.
+	 *
+	 * @return The overall weight
+	 */
+	public long getWeight() {
+		return totalWeight.get();
+	}
+
+	@Override
+	public void clear() {
+		for ( Map.Entry<Object,Entry> entry : entries.entrySet() ) {
+			remove( entry.getKey(), entry.getValue() );
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.internal;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.query.spi.QueryPlanCacheStorage;
+import org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+/**
+ * The default {@link QueryPlanCacheStorageFactory}, building {@link WeightedQueryPlanCacheStorage}s.
+ *
+ * @see AvailableSettings#QUERY_PLAN_CACHE_MAX_WEIGHT
+ * @see AvailableSettings#QUERY_PLAN_CACHE_MAX_SIZE
+ */
+public class WeightedQueryPlanCacheStorageFactory implements QueryPlanCacheStorageFactory {
+	public static final String SHORT_NAME = "weighted";
+
+	/**
+	 * Singleton access
+	 */
+	public static final WeightedQueryPlanCacheStorageFactory INSTANCE = new WeightedQueryPlanCacheStorageFactory();
+
+	/**
+	 * The default maximum overall weight of the stored plans.
+	 */
+	public static final int DEFAULT_QUERY_PLAN_MAX_WEIGHT = 2048 * 1024;
+
+	@Override
+	public QueryPlanCacheStorage buildQueryPlanCacheStorage(
+			Map configurationValues,
+			QueryPlanCacheStorage.EvictionListener evictionListener) {
+		return new WeightedQueryPlanCacheStorage(
+				QueryPlanCache.determineMaxQueryPlanCount( configurationValues ),
+				ConfigurationHelper.getLong(
+						AvailableSettings.QUERY_PLAN_CACHE_MAX_WEIGHT,
+						configurationValues,
+						DEFAULT_QUERY_PLAN_MAX_WEIGHT
+				),
+				evictionListener
+		);
+	}
+}
@@ -17,7 +17,9 @@ import java.util.Set;
 import org.hibernate.Filter;
 import org.hibernate.MappingException;
 import org.hibernate.QueryException;
+import org.hibernate.boot.registry.selector.spi.StrategySelector;
 import org.hibernate.cfg.Environment;
+import org.hibernate.engine.query.internal.WeightedQueryPlanCacheStorageFactory;
 import org.hibernate.engine.query.spi.sql.NativeSQLQuerySpecification;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreLogging;
@@ -28,12 +30,15 @@ import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.query.ParameterMetadata;
 import org.hibernate.query.internal.ParameterMetadataImpl;
+import org.hibernate.stat.spi.StatisticsImplementor;
 
 /**
  * Acts as a cache for compiled query plans, as well as query-parameter metadata.
  *
  * @see Environment#QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE
  * @see Environment#QUERY_PLAN_CACHE_MAX_SIZE
+ * @see Environment#QUERY_PLAN_CACHE_MAX_WEIGHT
+ * @see Environment#QUERY_PLAN_CACHE_STORAGE_FACTORY
  *
  * @author Steve Ebersole
  */
@@ -49,12 +54,17 @@ public class QueryPlanCache implements Serializable {
 	 */
 	public static final int DEFAULT_QUERY_PLAN_MAX_COUNT = 2048;
 
+	/**
+	 * The weight accounted for each plan on top of its query text, covering its fixed overhead.
+	 */
+	private static final long PLAN_BASE_WEIGHT = 128;
+
 	private final SessionFactoryImplementor factory;
 
 	/**
 	 * the cache of the actual plans...
 	 */
-	private final BoundedConcurrentHashMap queryPlanCache;
+	private final QueryPlanCacheStorage queryPlanCache;
 
 	/**
 	 * simple cache of param metadata based on query string.  Ideally, the original "user-supplied query"
@@ -89,19 +99,23 @@ public class QueryPlanCache implements Serializable {
 					DEFAULT_PARAMETER_METADATA_MAX_COUNT
 			);
 		}
-		Integer maxQueryPlanCount = ConfigurationHelper.getInteger(
-				Environment.QUERY_PLAN_CACHE_MAX_SIZE,
-				factory.getProperties()
-		);
-		if ( maxQueryPlanCount == null ) {
-			maxQueryPlanCount = ConfigurationHelper.getInt(
-					Environment.QUERY_PLAN_CACHE_MAX_SOFT_REFERENCES,
-					factory.getProperties(),
-					DEFAULT_QUERY_PLAN_MAX_COUNT
-			);
-		}
 
-		queryPlanCache = new BoundedConcurrentHashMap( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
+		final QueryPlanCacheStorageFactory storageFactory = factory.getServiceRegistry()
+				.getService( StrategySelector.class )
+				.resolveDefaultableStrategy(
+						QueryPlanCacheStorageFactory.class,
+						factory.getProperties().get( Environment.QUERY_PLAN_CACHE_STORAGE_FACTORY ),
+						WeightedQueryPlanCacheStorageFactory.INSTANCE
+				);
+		queryPlanCache = storageFactory.buildQueryPlanCacheStorage(
+				factory.getProperties(),
+				(key, plan) -> {
+					final StatisticsImplementor statistics = factory.getStatistics();
+					if ( statistics.isStatisticsEnabled() ) {
+						statistics.queryPlanCacheEviction();
+					}
+				}
+		);
 		parameterMetadataCache = new BoundedConcurrentHashMap<>(
 				maxParameterMetadataCount,
 				20,
@@ -111,6 +125,29 @@ public class QueryPlanCache implements Serializable {
 		nativeQueryInterpreter = factory.getServiceRegistry().getService( NativeQueryInterpreter.class );
 	}
 
+	/**
+	 * Determine the maximum number of query plans to cache, as per {@link Environment#QUERY_PLAN_CACHE_MAX_SIZE}.
+	 *
+	 * @param configurationValues The SessionFactory settings
+	 *
+	 * @return The maximum number of query plans
+	 */
+	@SuppressWarnings("deprecation")
+	public static int determineMaxQueryPlanCount(Map configurationValues) {
+		final Integer maxQueryPlanCount = ConfigurationHelper.getInteger(
+				Environment.QUERY_PLAN_CACHE_MAX_SIZE,
+				configurationValues
+		);
+		if ( maxQueryPlanCount != null ) {
+			return maxQueryPlanCount;
+		}
+		return ConfigurationHelper.getInt(
+				Environment.QUERY_PLAN_CACHE_MAX_SOFT_REFERENCES,
+				configurationValues,
+				DEFAULT_QUERY_PLAN_MAX_COUNT
+		);
+	}
+
 	/**
 	 * Obtain the parameter metadata for given native-sql query.
 	 * <p/>
@@ -147,14 +184,23 @@ public class QueryPlanCache implements Serializable {
 	public HQLQueryPlan getHQLQueryPlan(String queryString, boolean shallow, Map<String,Filter> enabledFilters)
 			throws QueryException, MappingException {
 		final HQLQueryPlanKey key = new HQLQueryPlanKey( queryString, shallow, enabledFilters );
+		final StatisticsImplementor statistics = factory.getStatistics();
+		final boolean stats = statistics.isStatisticsEnabled();
 		HQLQueryPlan value = (HQLQueryPlan) queryPlanCache.get( key );
 		if ( value == null ) {
 			LOG.tracev( "Unable to locate HQL query plan in cache; generating ({0})", queryString );
+			final long startTime = stats ? System.nanoTime() : 0;
 			value = new HQLQueryPlan( queryString, shallow, enabledFilters, factory );
-			queryPlanCache.putIfAbsent( key, value );
+			if ( stats ) {
+				statistics.queryPlanCacheMiss( System.nanoTime() - startTime );
+			}
+			queryPlanCache.putIfAbsent( key, value, estimateWeight( value ) );
 		}
 		else {
 			LOG.tracev( "Located HQL query plan in cache ({0})", queryString );
+			if ( stats ) {
+				statistics.queryPlanCacheHit();
+			}
 		}
 		return value;
 	}
@@ -179,6 +225,8 @@ public class QueryPlanCache implements Serializable {
 			boolean shallow,
 			Map<String,Filter> enabledFilters) throws QueryException, MappingException {
 		final FilterQueryPlanKey key =  new FilterQueryPlanKey( filterString, collectionRole, shallow, enabledFilters );
+		final StatisticsImplementor statistics = factory.getStatistics();
+		final boolean stats = statistics.isStatisticsEnabled();
 		FilterQueryPlan value = (FilterQueryPlan) queryPlanCache.get( key );
 		if ( value == null ) {
 			LOG.tracev(
@@ -186,11 +234,18 @@ public class QueryPlanCache implements Serializable {
 					collectionRole,
 					filterString
 			);
+			final long startTime = stats ? System.nanoTime() : 0;
 			value = new FilterQueryPlan( filterString, collectionRole, shallow, enabledFilters,factory );
-			queryPlanCache.putIfAbsent( key, value );
+			if ( stats ) {
+				statistics.queryPlanCacheMiss( System.nanoTime() - startTime );
+			}
+			queryPlanCache.putIfAbsent( key, value, estimateWeight( value ) );
 		}
 		else {
 			LOG.tracev( "Located collection-filter query plan in cache ({0} : {1})", collectionRole, filterString );
+			if ( stats ) {
+				statistics.queryPlanCacheHit();
+			}
 		}
 		return value;
 	}
@@ -207,18 +262,55 @@ public class QueryPlanCache implements Serializable {
 	 */
 	@SuppressWarnings("unchecked")
 	public NativeSQLQueryPlan getNativeSQLQueryPlan(final NativeSQLQuerySpecification spec) {
+		final StatisticsImplementor statistics = factory.getStatistics();
+		final boolean stats = statistics.isStatisticsEnabled();
 		NativeSQLQueryPlan value = (NativeSQLQueryPlan) queryPlanCache.get( spec );
 		if ( value == null ) {
 			LOG.tracev( "Unable to locate native-sql query plan in cache; generating ({0})", spec.getQueryString() );
+			final long startTime = stats ? System.nanoTime() : 0;
 			value = nativeQueryInterpreter.createQueryPlan( spec, factory );
-			queryPlanCache.putIfAbsent( spec, value );
+			if ( stats ) {
+				statistics.queryPlanCacheMiss( System.nanoTime() - startTime );
+			}
+			queryPlanCache.putIfAbsent( spec, value, estimateWeight( value ) );
 		}
 		else {
 			LOG.tracev( "Located native-sql query plan in cache ({0})", spec.getQueryString() );
+			if ( stats ) {
+				statistics.queryPlanCacheHit();
+			}
 		}
 		return value;
 	}
 
+	/**
+	 * Estimate the weight of an HQL or collection-filter plan: its source query plus the SQL it was translated to.
+	 * Both grow with the number of parameters a parameter list was expanded to.
+	 */
+	private static long estimateWeight(HQLQueryPlan plan) {
+		long weight = PLAN_BASE_WEIGHT + plan.getSourceQuery().length();
+		for ( String sqlString : plan.getSqlStrings() ) {
+			weight += sqlString.length();
+		}
+		return weight;
+	}
+
+	/**
+	 * Estimate the weight of a native-sql plan: its source query is retained both as-is and as the processed SQL.
+	 */
+	private static long estimateWeight(NativeSQLQueryPlan plan) {
+		return PLAN_BASE_WEIGHT + 2L * plan.getSourceQuery().length();
+	}
+
+	/**
+	 * The number of plans currently cached.
+	 *
+	 * @return The number of cached plans
+	 */
+	public int getQueryPlanCount() {
+		return queryPlanCache.size();
+	}
+
 	/**
 	 * clean up QueryPlanCache when SessionFactory is closed
 	 */
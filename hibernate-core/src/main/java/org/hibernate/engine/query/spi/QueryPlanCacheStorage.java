@@ -0,0 +1,61 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.spi;
+
+/**
+ * Contract for the storage backing a {@link QueryPlanCache}.
+ * <p/>
+ * Keys and plans are opaque to the storage.  Each plan is offered along with an estimate of its weight
+ * (roughly, the number of query-text characters it retains); implementations are free to bound their
+ * content by weight, by number of entries, or both.  Implementations must be thread-safe.
+ *
+ * @see QueryPlanCacheStorageFactory
+ */
+public interface QueryPlanCacheStorage {
+	/**
+	 * Contract for being notified of plans evicted from the storage.
+	 */
+	interface EvictionListener {
+		/**
+		 * Called after a plan has been evicted in order to make room for others.
+		 *
+		 * @param key The key of the evicted plan
+		 * @param plan The evicted plan
+		 */
+		void onEviction(Object key, Object plan);
+	}
+
+	/**
+	 * Get the plan stored under the given key.
+	 *
+	 * @param key The plan key
+	 *
+	 * @return The plan, or {@code null} if none is stored
+	 */
+	Object get(Object key);
+
+	/**
+	 * Store the given plan unless a plan is already stored under the given key.
+	 *
+	 * @param key The plan key
+	 * @param plan The plan
+	 * @param weight The estimated weight of the plan
+	 */
+	void putIfAbsent(Object key, Object plan, long weight);
+
+	/**
+	 * The number of plans currently stored.
+	 *
+	 * @return The number of stored plans
+	 */
+	int size();
+
+	/**
+	 * Remove all stored plans.
+	 */
+	void clear();
+}
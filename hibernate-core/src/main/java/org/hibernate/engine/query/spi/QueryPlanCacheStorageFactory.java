@@ -0,0 +1,26 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.spi;
+
+import java.util.Map;
+
+/**
+ * Contract for building the {@link QueryPlanCacheStorage} used by a {@link QueryPlanCache}.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_STORAGE_FACTORY
+ */
+public interface QueryPlanCacheStorageFactory {
+	/**
+	 * Build the storage for query plans.
+	 *
+	 * @param configurationValues The SessionFactory settings
+	 * @param evictionListener The listener to notify of evicted plans
+	 *
+	 * @return The storage
+	 */
+	QueryPlanCacheStorage buildQueryPlanCacheStorage(Map configurationValues, QueryPlanCacheStorage.EvictionListener evictionListener);
+}
@@ -7,10 +7,17 @@
 package org.hibernate.engine.spi;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Map.Entry;
 
 import org.hibernate.EntityMode;
@@ -59,6 +66,12 @@ public class BatchFetchQueue {
 	 */
 	private final Map<String, LinkedHashMap<CollectionEntry, PersistentCollection>> batchLoadableCollections = new HashMap<>( 8 );
 
+	/**
+	 * The second-level cache entries of entities read ahead of their loads by {@link #prefetchCacheEntries}.  A
+	 * null entry records a cache miss.
+	 */
+	private Map<EntityKey, Object> prefetchedCacheEntries;
+
 	/**
 	 * Constructs a queue for the given context.
 	 *
@@ -77,6 +90,7 @@ public class BatchFetchQueue {
 		batchLoadableEntityKeys.clear();
 		batchLoadableCollections.clear();
 		subselectsByEntityKey.clear();
+		clearPrefetchedCacheEntries();
 	}
 
 
@@ -189,23 +203,33 @@ public class BatchFetchQueue {
 
 		LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( persister.getEntityName() );
 		if ( set != null ) {
-			for ( EntityKey key : set ) {
-				if ( checkForEnd && i == end ) {
-					//the first id found after the given id
-					return ids;
+			// the keys are checked against the second-level cache a batch at a time
+			final List<EntityKey> keys = new ArrayList<>( batchSize );
+			final Iterator<EntityKey> iterator = set.iterator();
+			while ( iterator.hasNext() ) {
+				keys.clear();
+				while ( iterator.hasNext() && keys.size() < batchSize ) {
+					keys.add( iterator.next() );
 				}
-				if ( persister.getIdentifierType().isEqual( id, key.getIdentifier() ) ) {
-					end = i;
-				}
-				else {
-					if ( !isCached( key, persister ) ) {
-						ids[i++] = key.getIdentifier();
+				final Set<EntityKey> cachedKeys = getCachedKeys( keys, id, persister );
+				for ( EntityKey key : keys ) {
+					if ( checkForEnd && i == end ) {
+						//the first id found after the given id
+						return ids;
 					}
-				}
-				if ( i == batchSize ) {
-					i = 1; // end of array, start filling again from start
-					if ( end != -1 ) {
-						checkForEnd = true;
+					if ( persister.getIdentifierType().isEqual( id, key.getIdentifier() ) ) {
+						end = i;
+					}
+					else {
+						if ( !cachedKeys.contains( key ) ) {
+							ids[i++] = key.getIdentifier();
+						}
+					}
+					if ( i == batchSize ) {
+						i = 1; // end of array, start filling again from start
+						if ( end != -1 ) {
+							checkForEnd = true;
+						}
 					}
 				}
 			}
@@ -213,19 +237,110 @@ public class BatchFetchQueue {
 		return ids; //we ran out of ids to try
 	}
 
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
+	private Set<EntityKey> getCachedKeys(List<EntityKey> entityKeys, Serializable id, EntityPersister persister) {
 		final SharedSessionContractImplementor session = context.getSession();
-		if ( context.getSession().getCacheMode().isGetEnabled() && persister.canReadFromCache() ) {
-			final EntityRegionAccessStrategy cache = persister.getCacheAccessStrategy();
-			final Object key = cache.generateCacheKey(
-					entityKey.getIdentifier(),
-					persister,
-					session.getFactory(),
-					session.getTenantIdentifier()
-			);
-			return CacheHelper.fromSharedCache( session, key, cache ) != null;
+		if ( !session.getCacheMode().isGetEnabled() || !persister.canReadFromCache() ) {
+			return Collections.emptySet();
 		}
-		return false;
+		final EntityRegionAccessStrategy cache = persister.getCacheAccessStrategy();
+		final Map<Object, EntityKey> entityKeysByCacheKey = new HashMap<>();
+		for ( EntityKey entityKey : entityKeys ) {
+			// the entity being loaded was not found in the cache
+			if ( !persister.getIdentifierType().isEqual( id, entityKey.getIdentifier() ) ) {
+				entityKeysByCacheKey.put( generateCacheKey( entityKey.getIdentifier(), persister, cache ), entityKey );
+			}
+		}
+		final Map<Object, Object> cacheEntries = CacheHelper.fromSharedCache( session, entityKeysByCacheKey.keySet(), cache );
+		final Set<EntityKey> cachedKeys = new HashSet<>();
+		for ( Object cacheKey : cacheEntries.keySet() ) {
+			cachedKeys.add( entityKeysByCacheKey.get( cacheKey ) );
+		}
+		return cachedKeys;
+	}
+
+	private Object generateCacheKey(Serializable id, EntityPersister persister, EntityRegionAccessStrategy cache) {
+		final SharedSessionContractImplementor session = context.getSession();
+		return cache.generateCacheKey( id, persister, session.getFactory(), session.getTenantIdentifier() );
+	}
+
+	/**
+	 * Reads the second-level cache entries of the given entities with a single region call, so that their
+	 * following loads do not each access the region.  Does nothing for entities which cannot be read from the
+	 * cache.  The prefetched entries are consumed by the loads, and should be discarded by
+	 * {@link #clearPrefetchedCacheEntries} once these loads are done.
+	 *
+	 * @param persister The persister for the entities about to be loaded
+	 * @param ids The identifiers of the entities about to be loaded
+	 * @return The keys of the entities found in the cache
+	 */
+	public Set<EntityKey> prefetchCacheEntries(EntityPersister persister, Collection<? extends Serializable> ids) {
+		final SharedSessionContractImplementor session = context.getSession();
+		if ( ids.isEmpty() || !session.getCacheMode().isGetEnabled() || !persister.canReadFromCache() ) {
+			return Collections.emptySet();
+		}
+		final EntityRegionAccessStrategy cache = persister.getCacheAccessStrategy();
+		final Map<Object, EntityKey> entityKeysByCacheKey = new HashMap<>();
+		for ( Serializable id : ids ) {
+			final EntityKey entityKey = session.generateEntityKey( id, persister );
+			if ( !context.containsEntity( entityKey ) ) {
+				entityKeysByCacheKey.put( generateCacheKey( id, persister, cache ), entityKey );
+			}
+		}
+		final Map<Object, Object> cacheEntries = CacheHelper.fromSharedCache( session, entityKeysByCacheKey.keySet(), cache );
+		if ( prefetchedCacheEntries == null ) {
+			prefetchedCacheEntries = new HashMap<>();
+		}
+		final Set<EntityKey> cachedKeys = new HashSet<>();
+		for ( Map.Entry<Object, EntityKey> entry : entityKeysByCacheKey.entrySet() ) {
+			final Object cacheEntry = cacheEntries.get( entry.getKey() );
+			prefetchedCacheEntries.put( entry.getValue(), cacheEntry );
+			if ( cacheEntry != null ) {
+				cachedKeys.add( entry.getValue() );
+			}
+		}
+		return cachedKeys;
+	}
+
+	/**
+	 * Registers a second-level cache entry of the given entity obtained elsewhere than from its region (e.g. from
+	 * the query cache), to be consumed by its following load like a {@link #prefetchCacheEntries prefetched}
+	 * entry.
+	 *
+	 * @param key The key of the entity
+	 * @param cacheEntry The structured cache entry of the entity
+	 */
+	public void addPrefetchedCacheEntry(EntityKey key, Object cacheEntry) {
+		if ( prefetchedCacheEntries == null ) {
+			prefetchedCacheEntries = new HashMap<>();
+		}
+		prefetchedCacheEntries.put( key, cacheEntry );
+	}
+
+	/**
+	 * Was the second-level cache entry of the given entity {@link #prefetchCacheEntries prefetched}?
+	 *
+	 * @param key The key of the entity
+	 * @return true if the entry was prefetched, even if it was not found in the cache
+	 */
+	public boolean isCacheEntryPrefetched(EntityKey key) {
+		return prefetchedCacheEntries != null && prefetchedCacheEntries.containsKey( key );
+	}
+
+	/**
+	 * Take the {@link #prefetchCacheEntries prefetched} second-level cache entry of the given entity.
+	 *
+	 * @param key The key of the entity
+	 * @return The cache entry, or null if it was not found in the cache
+	 */
+	public Object removePrefetchedCacheEntry(EntityKey key) {
+		return prefetchedCacheEntries == null ? null : prefetchedCacheEntries.remove( key );
+	}
+
+	/**
+	 * Discard the {@link #prefetchCacheEntries prefetched} second-level cache entries not consumed by loads.
+	 */
+	public void clearPrefetchedCacheEntries() {
+		prefetchedCacheEntries = null;
 	}
 	
 
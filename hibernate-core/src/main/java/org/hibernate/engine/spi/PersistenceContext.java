@@ -163,6 +163,21 @@ public interface PersistenceContext {
 	 */
 	public Object getEntity(EntityKey key);
 
+	/**
+	 * Get the entity instance associated with the given identifier of the given persister's hierarchy.
+	 * <p/>
+	 * Equivalent to looking up the {@link EntityKey} for the identifier and persister, but implementations
+	 * may avoid creating that key.
+	 *
+	 * @param persister The persister of the entity
+	 * @param id The identifier of the entity
+	 *
+	 * @return The matching entity, or {@code null}
+	 */
+	default Object getEntity(EntityPersister persister, Serializable id) {
+		return getEntity( getSession().generateEntityKey( id, persister ) );
+	}
+
 	/**
 	 * Is there an entity with the given key in the persistence context
 	 *
@@ -535,6 +550,43 @@ public interface PersistenceContext {
 	 */
 	public void setFlushing(boolean flushing);
 
+	/**
+	 * Records that an entity, or one of its collections, was written to, so that the next incremental flush
+	 * visits it.
+	 *
+	 * @param entity The entity
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#INCREMENTAL_FLUSH
+	 */
+	default void markEntityDirty(Object entity) {
+		// flushes are not incremental by default
+	}
+
+	/**
+	 * Get the entities the flush about to start has to visit, including those visited by a flush whose changes
+	 * were not executed.
+	 *
+	 * @return The entities, or {@code null} if flushes are not incremental, in which case every entity is visited
+	 */
+	default Object[] getEntitiesToFlush() {
+		return null;
+	}
+
+	/**
+	 * Records that the flush in progress visited an entity whose writes are tracked, which the following flushes
+	 * may skip until it is written to again, once the changes of this flush are executed.
+	 *
+	 * @param entity The entity
+	 */
+	default void entityFlushed(Object entity) {
+	}
+
+	/**
+	 * Called once the changes found by a flush were executed.
+	 */
+	default void flushExecuted() {
+	}
+
 	/**
 	 * Call this before begining a two-phase load
 	 */
@@ -7,13 +7,19 @@
 package org.hibernate.event.internal;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.hibernate.EmptyInterceptor;
 import org.hibernate.HibernateException;
 import org.hibernate.action.internal.CollectionRecreateAction;
 import org.hibernate.action.internal.CollectionRemoveAction;
 import org.hibernate.action.internal.CollectionUpdateAction;
 import org.hibernate.action.internal.QueuedOperationCollectionAction;
+import org.hibernate.bytecode.enhance.spi.interceptor.LazyAttributeLoadingInterceptor;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.engine.internal.Cascade;
 import org.hibernate.engine.internal.CascadePoint;
@@ -25,6 +31,9 @@ import org.hibernate.engine.spi.CollectionEntry;
 import org.hibernate.engine.spi.CollectionKey;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.PersistentAttributeInterceptor;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.event.service.spi.EventListenerRegistry;
@@ -37,7 +46,11 @@ import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.EntityPrinter;
 import org.hibernate.internal.util.collections.IdentityMap;
 import org.hibernate.internal.util.collections.LazyIterator;
+import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
 
 import org.jboss.logging.Logger;
 
@@ -63,6 +76,27 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 	 * @throws HibernateException Error flushing caches to execution queues.
 	 */
 	protected void flushEverythingToExecutions(FlushEvent event) throws HibernateException {
+		flushToExecutions( event, null );
+	}
+
+	/**
+	 * Like {@link #flushEverythingToExecutions}, but only dirty checks the entities which may write to the given
+	 * query spaces: those whose own tables or collection tables are among them, and those not managed anymore.
+	 * The flush-time cascades and the collections are still processed for the whole session, so that the changes
+	 * they imply to the query spaces are scheduled too.
+	 *
+	 * @param event The flush event.
+	 * @param querySpaces The query spaces whose changes are to be scheduled.
+	 * @throws HibernateException Error flushing caches to execution queues.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PARTIAL_AUTO_FLUSH
+	 */
+	protected void flushQuerySpacesToExecutions(FlushEvent event, Set<? extends Serializable> querySpaces)
+			throws HibernateException {
+		flushToExecutions( event, querySpaces );
+	}
+
+	private void flushToExecutions(FlushEvent event, Set<? extends Serializable> querySpaces) throws HibernateException {
 
 		LOG.trace( "Flushing session" );
 
@@ -80,10 +114,17 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		// inside this block do not get updated - they
 		// are ignored until the next flush
 
+		// the cascades may have added entities, and the collection dirty checks dirtied owners, since the
+		// cascaded entities were listed
+		Object[] entitiesToFlush = getEntitiesToFlush( session, persistenceContext );
+		if ( querySpaces != null ) {
+			entitiesToFlush = getEntitiesWritingTo( session, persistenceContext, entitiesToFlush, querySpaces );
+		}
+
 		persistenceContext.setFlushing( true );
 		try {
-			int entityCount = flushEntities( event, persistenceContext );
-			int collectionCount = flushCollections( session, persistenceContext );
+			int entityCount = flushEntities( event, persistenceContext, entitiesToFlush );
+			int collectionCount = flushCollections( session, persistenceContext, entitiesToFlush );
 
 			event.setNumberOfEntitiesProcessed( entityCount );
 			event.setNumberOfCollectionsProcessed( collectionCount );
@@ -132,6 +173,20 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		LOG.debug( "Processing flush-time cascades" );
 
 		final Object anything = getAnything();
+		final Object[] entitiesToFlush = getEntitiesToFlush( session, persistenceContext );
+		if ( entitiesToFlush != null ) {
+			for ( Object entity : entitiesToFlush ) {
+				final EntityEntry entry = persistenceContext.getEntry( entity );
+				if ( entry != null ) {
+					Status status = entry.getStatus();
+					if ( status == Status.MANAGED || status == Status.SAVING || status == Status.READ_ONLY ) {
+						cascadeOnFlush( session, entry.getPersister(), entity, anything );
+					}
+				}
+			}
+			return;
+		}
+
 		//safe from concurrent modification because of how concurrentEntries() is implemented on IdentityMap
 		for ( Map.Entry<Object,EntityEntry> me : persistenceContext.reentrantSafeEntityEntries() ) {
 //		for ( Map.Entry me : IdentityMap.concurrentEntries( persistenceContext.getEntityEntries() ) ) {
@@ -162,6 +217,127 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		return CascadingActions.SAVE_UPDATE;
 	}
 
+	/**
+	 * The entities an incremental flush has to visit: those written to since the last executed flush, those not
+	 * tracking their writes, and those added to the session since.  Every entity is visited when flushes are not
+	 * incremental, or when an {@link org.hibernate.Interceptor} may report entities as dirty.
+	 *
+	 * @return The entities to visit, or {@code null} if every entity has to be visited
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#INCREMENTAL_FLUSH
+	 */
+	private Object[] getEntitiesToFlush(EventSource session, PersistenceContext persistenceContext) {
+		if ( session.getInterceptor() != EmptyInterceptor.INSTANCE ) {
+			return null;
+		}
+		return persistenceContext.getEntitiesToFlush();
+	}
+
+	/**
+	 * Whether the writes to the given entity are reported to the persistence context, so that an incremental
+	 * flush may skip it until it is written to again: its enhanced attribute interceptor is bound to the
+	 * session, and it has no embedded attributes, whose writes are only reported to its dirtiness tracker.
+	 */
+	private boolean isWriteTracked(EventSource session, Object entity, EntityEntry entry) {
+		if ( entry.getStatus() != Status.MANAGED && entry.getStatus() != Status.READ_ONLY ) {
+			return false;
+		}
+		if ( !( entity instanceof SelfDirtinessTracker ) || !( entity instanceof PersistentAttributeInterceptable ) ) {
+			return false;
+		}
+		final PersistentAttributeInterceptor interceptor =
+				( (PersistentAttributeInterceptable) entity ).$$_hibernate_getInterceptor();
+		if ( !( interceptor instanceof LazyAttributeLoadingInterceptor )
+				|| ( (LazyAttributeLoadingInterceptor) interceptor ).getLinkedSession() != session ) {
+			return false;
+		}
+		for ( Type type : entry.getPersister().getPropertyTypes() ) {
+			if ( type.isComponentType() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The entities, among those to visit, which may write to the given query spaces.
+	 *
+	 * @param entitiesToFlush The entities to visit, or {@code null} if every entity has to be visited
+	 */
+	private Object[] getEntitiesWritingTo(
+			EventSource session,
+			PersistenceContext persistenceContext,
+			Object[] entitiesToFlush,
+			Set<? extends Serializable> querySpaces) {
+		final Map<EntityPersister,Boolean> writingPersisters = new IdentityHashMap<>();
+		final List<Object> entities = new ArrayList<>();
+		if ( entitiesToFlush != null ) {
+			for ( Object entity : entitiesToFlush ) {
+				final EntityEntry entry = persistenceContext.getEntry( entity );
+				if ( entry != null && isWritingTo( session, entry, querySpaces, writingPersisters ) ) {
+					entities.add( entity );
+				}
+			}
+		}
+		else {
+			for ( Map.Entry<Object,EntityEntry> me : persistenceContext.reentrantSafeEntityEntries() ) {
+				if ( isWritingTo( session, me.getValue(), querySpaces, writingPersisters ) ) {
+					entities.add( me.getKey() );
+				}
+			}
+		}
+		return entities.toArray();
+	}
+
+	private boolean isWritingTo(
+			EventSource session,
+			EntityEntry entry,
+			Set<? extends Serializable> querySpaces,
+			Map<EntityPersister,Boolean> writingPersisters) {
+		if ( entry.getStatus() != Status.MANAGED && entry.getStatus() != Status.READ_ONLY ) {
+			return true;
+		}
+		final EntityPersister persister = entry.getPersister();
+		Boolean writing = writingPersisters.get( persister );
+		if ( writing == null ) {
+			writing = containsAny( querySpaces, persister.getPropertySpaces() )
+					|| isWritingTo( session, persister.getPropertyTypes(), querySpaces );
+			writingPersisters.put( persister, writing );
+		}
+		return writing;
+	}
+
+	/**
+	 * Whether the collections among the given property types, embedded ones included, write to the given query
+	 * spaces: the entity then has to be visited, to wrap or dereference its collections.
+	 */
+	private boolean isWritingTo(EventSource session, Type[] types, Set<? extends Serializable> querySpaces) {
+		for ( Type type : types ) {
+			if ( type.isCollectionType() ) {
+				final CollectionPersister collectionPersister = session.getFactory().getMetamodel()
+						.collectionPersister( ( (CollectionType) type ).getRole() );
+				if ( containsAny( querySpaces, collectionPersister.getCollectionSpaces() ) ) {
+					return true;
+				}
+			}
+			else if ( type.isComponentType() ) {
+				if ( isWritingTo( session, ( (CompositeType) type ).getSubtypes(), querySpaces ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean containsAny(Set<? extends Serializable> querySpaces, Serializable[] spaces) {
+		for ( Serializable space : spaces ) {
+			if ( querySpaces.contains( space ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Initialize the flags of the CollectionEntry, including the
 	 * dirty check.
@@ -184,7 +360,8 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 	 * 2. schedule any entity updates
 	 * 3. search out any reachable collections
 	 */
-	private int flushEntities(final FlushEvent event, final PersistenceContext persistenceContext) throws HibernateException {
+	private int flushEntities(final FlushEvent event, final PersistenceContext persistenceContext, final Object[] entitiesToFlush)
+			throws HibernateException {
 
 		LOG.trace( "Flushing entities and processing referenced collections" );
 
@@ -200,20 +377,73 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
 		// So this needs to be safe from concurrent modification problems.
 
-		final Map.Entry<Object,EntityEntry>[] entityEntries = persistenceContext.reentrantSafeEntityEntries();
-		final int count = entityEntries.length;
+		final int count;
+		if ( entitiesToFlush != null ) {
+			count = entitiesToFlush.length;
+
+			ParallelDirtyCheck dirtyCheck = null;
+			if ( ParallelDirtyCheck.isApplicable( source, flushListeners, count ) ) {
+				final EntityEntry[] entries = new EntityEntry[count];
+				for ( int i = 0; i < count; i++ ) {
+					entries[i] = persistenceContext.getEntry( entitiesToFlush[i] );
+				}
+				dirtyCheck = ParallelDirtyCheck.perform( source, entitiesToFlush, entries );
+			}
+
+			for ( int i = 0; i < count; i++ ) {
+				final Object entity = entitiesToFlush[i];
+				final EntityEntry entry = persistenceContext.getEntry( entity );
+				if ( entry == null ) {
+					continue;
+				}
+				Status status = entry.getStatus();
+
+				if ( status != Status.LOADING && status != Status.GONE ) {
+					if ( isWriteTracked( source, entity, entry ) ) {
+						// skipped by the next flushes until written to again
+						persistenceContext.entityFlushed( entity );
+					}
+					final FlushEntityEvent entityEvent = new FlushEntityEvent( source, entity, entry );
+					if ( dirtyCheck != null ) {
+						dirtyCheck.apply( i, entityEvent );
+					}
+					for ( FlushEntityEventListener listener : flushListeners ) {
+						listener.onFlushEntity( entityEvent );
+					}
+				}
+			}
+		}
+		else {
+			final Map.Entry<Object,EntityEntry>[] entityEntries = persistenceContext.reentrantSafeEntityEntries();
+			count = entityEntries.length;
+
+			ParallelDirtyCheck dirtyCheck = null;
+			if ( ParallelDirtyCheck.isApplicable( source, flushListeners, count ) ) {
+				final Object[] entities = new Object[count];
+				final EntityEntry[] entries = new EntityEntry[count];
+				for ( int i = 0; i < count; i++ ) {
+					entities[i] = entityEntries[i].getKey();
+					entries[i] = entityEntries[i].getValue();
+				}
+				dirtyCheck = ParallelDirtyCheck.perform( source, entities, entries );
+			}
 
-		for ( Map.Entry<Object,EntityEntry> me : entityEntries ) {
+			for ( int i = 0; i < count; i++ ) {
+				final Map.Entry<Object,EntityEntry> me = entityEntries[i];
 
-			// Update the status of the object and if necessary, schedule an update
+				// Update the status of the object and if necessary, schedule an update
 
-			EntityEntry entry = me.getValue();
-			Status status = entry.getStatus();
+				EntityEntry entry = me.getValue();
+				Status status = entry.getStatus();
 
-			if ( status != Status.LOADING && status != Status.GONE ) {
-				final FlushEntityEvent entityEvent = new FlushEntityEvent( source, me.getKey(), entry );
-				for ( FlushEntityEventListener listener : flushListeners ) {
-					listener.onFlushEntity( entityEvent );
+				if ( status != Status.LOADING && status != Status.GONE ) {
+					final FlushEntityEvent entityEvent = new FlushEntityEvent( source, me.getKey(), entry );
+					if ( dirtyCheck != null ) {
+						dirtyCheck.apply( i, entityEvent );
+					}
+					for ( FlushEntityEventListener listener : flushListeners ) {
+						listener.onFlushEntity( entityEvent );
+					}
 				}
 			}
 		}
@@ -228,7 +458,8 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 	 * scheduling creates/removes/updates
 	 */
 	@SuppressWarnings("unchecked")
-	private int flushCollections(final EventSource session, final PersistenceContext persistenceContext) throws HibernateException {
+	private int flushCollections(final EventSource session, final PersistenceContext persistenceContext, final Object[] entitiesToFlush)
+			throws HibernateException {
 		LOG.trace( "Processing unreferenced collections" );
 
 		final Map.Entry<PersistentCollection,CollectionEntry>[] entries = IdentityMap.concurrentEntries(
@@ -237,10 +468,31 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
 		final int count = entries.length;
 
+		Set<Object> visitedEntities = null;
 		for ( Map.Entry<PersistentCollection,CollectionEntry> me : entries ) {
 			CollectionEntry ce = me.getValue();
 			if ( !ce.isReached() && !ce.isIgnore() ) {
-				Collections.processUnreachableCollection( me.getKey(), session );
+				final PersistentCollection coll = me.getKey();
+				if ( entitiesToFlush != null && ce.getLoadedPersister() != null && coll.getOwner() != null ) {
+					// the collections of the entities skipped by an incremental flush are still referenced by them
+					if ( visitedEntities == null ) {
+						visitedEntities = java.util.Collections.newSetFromMap( new IdentityHashMap<>( entitiesToFlush.length ) );
+						java.util.Collections.addAll( visitedEntities, entitiesToFlush );
+					}
+					final EntityEntry ownerEntry = persistenceContext.getEntry( coll.getOwner() );
+					if ( ownerEntry != null
+							&& ( ownerEntry.getStatus() == Status.MANAGED || ownerEntry.getStatus() == Status.READ_ONLY )
+							&& !visitedEntities.contains( coll.getOwner() ) ) {
+						Collections.processReachableCollection(
+								coll,
+								ce.getLoadedPersister().getCollectionType(),
+								coll.getOwner(),
+								session
+						);
+						continue;
+					}
+				}
+				Collections.processUnreachableCollection( coll, session );
 			}
 		}
 
@@ -358,6 +610,7 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
 		final PersistenceContext persistenceContext = session.getPersistenceContext();
 		persistenceContext.getCollectionsByKey().clear();
+		persistenceContext.flushExecuted();
 		
 		// the database has changed now, so the subselect results need to be invalidated
 		// the batch fetching queues should also be cleared - especially the collection batch fetching one
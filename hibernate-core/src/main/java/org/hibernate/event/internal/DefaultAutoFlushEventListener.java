@@ -6,6 +6,9 @@
  */
 package org.hibernate.event.internal;
 
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.EmptyInterceptor;
 import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
 import org.hibernate.event.spi.AutoFlushEvent;
@@ -38,9 +41,23 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 			source.getEventListenerManager().partialFlushStart();
 
 			if ( flushMightBeNeeded(source) ) {
+				final boolean stats = source.getFactory().getStatistics().isStatisticsEnabled();
+				final long startTime = stats ? System.nanoTime() : 0;
 				// Need to get the number of collection removals before flushing to executions
 				// (because flushing to executions can add collection removal actions to the action queue).
 				final int oldSize = source.getActionQueue().numberOfCollectionRemovals();
+				if ( flushMightBeLimitedToQuerySpaces( event, source ) ) {
+					flushQuerySpacesToExecutions( event, event.getQuerySpaces() );
+					if ( !flushIsReallyNeeded( event, source ) ) {
+						LOG.trace( "Don't need to execute flush" );
+						source.getActionQueue().clearFromFlushNeededCheck( oldSize );
+						event.setFlushRequired( false );
+						return;
+					}
+					// the changes to the query spaces may depend on those to other tables, which are all flushed
+					LOG.trace( "Need to flush the whole session" );
+					source.getActionQueue().clearFromFlushNeededCheck( oldSize );
+				}
 				flushEverythingToExecutions(event);
 				if ( flushIsReallyNeeded(event, source) ) {
 					LOG.trace( "Need to execute flush" );
@@ -52,8 +69,8 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 
 					postPostFlush( source );
 
-					if ( source.getFactory().getStatistics().isStatisticsEnabled() ) {
-						source.getFactory().getStatistics().flush();
+					if ( stats ) {
+						source.getFactory().getStatistics().flush( System.nanoTime() - startTime, TimeUnit.NANOSECONDS );
 					}
 				}
 				else {
@@ -77,6 +94,13 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 				|| source.getActionQueue().areTablesToBeUpdated( event.getQuerySpaces() );
 	}
 
+	private boolean flushMightBeLimitedToQuerySpaces(AutoFlushEvent event, final EventSource source) {
+		return source.getFactory().getSessionFactoryOptions().isPartialAutoFlushEnabled()
+				&& source.getHibernateFlushMode() == FlushMode.AUTO
+				&& !event.getQuerySpaces().isEmpty()
+				&& source.getInterceptor() == EmptyInterceptor.INSTANCE;
+	}
+
 	private boolean flushMightBeNeeded(final EventSource source) {
 		return !source.getHibernateFlushMode().lessThan( FlushMode.AUTO )
 				&& source.getDontFlushFromFind() == 0
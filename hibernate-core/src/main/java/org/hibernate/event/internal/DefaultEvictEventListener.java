@@ -9,6 +9,7 @@ package org.hibernate.event.internal;
 import java.io.Serializable;
 
 import org.hibernate.HibernateException;
+import org.hibernate.bytecode.enhance.spi.interceptor.LazyAttributeLoadingInterceptor;
 import org.hibernate.engine.internal.Cascade;
 import org.hibernate.engine.internal.CascadePoint;
 import org.hibernate.engine.spi.CascadingActions;
@@ -44,12 +45,27 @@ public class DefaultEvictEventListener implements EvictEventListener {
 	 * @throws HibernateException
 	 */
 	public void onEvict(EvictEvent event) throws HibernateException {
-		final Object object = event.getObject();
+		evict( event.getObject(), event.getSession(), true );
+	}
+
+	/**
+	 * Evicts the given entity, or proxy, without cascading the eviction to its associations: the entities they
+	 * reference are left managed.  Its collections are evicted along with it.
+	 *
+	 * @param object The entity, or proxy, to evict
+	 * @param source The session managing it
+	 *
+	 * @throws HibernateException
+	 */
+	public void evictWithoutCascade(Object object, EventSource source) throws HibernateException {
+		evict( object, source, false );
+	}
+
+	private void evict(Object object, EventSource source, boolean cascade) throws HibernateException {
 		if ( object == null ) {
 			throw new NullPointerException( "null passed to Session.evict()" );
 		}
 
-		final EventSource source = event.getSession();
 		final PersistenceContext persistenceContext = source.getPersistenceContext();
 
 		if ( object instanceof HibernateProxy ) {
@@ -67,7 +83,7 @@ public class DefaultEvictEventListener implements EvictEventListener {
 				final Object entity = persistenceContext.removeEntity( key );
 				if ( entity != null ) {
 					EntityEntry e = persistenceContext.removeEntry( entity );
-					doEvict( entity, key, e.getPersister(), event.getSession() );
+					evict( entity, key, e.getPersister(), source, cascade );
 				}
 			}
 			li.unsetSession();
@@ -76,7 +92,7 @@ public class DefaultEvictEventListener implements EvictEventListener {
 			EntityEntry e = persistenceContext.removeEntry( object );
 			if ( e != null ) {
 				persistenceContext.removeEntity( e.getEntityKey() );
-				doEvict( object, e.getEntityKey(), e.getPersister(), source );
+				evict( object, e.getEntityKey(), e.getPersister(), source, cascade );
 			}
 			else {
 				// see if the passed object is even an entity, and if not throw an exception
@@ -98,17 +114,43 @@ public class DefaultEvictEventListener implements EvictEventListener {
 		}
 	}
 
+	private void evict(
+			Object object,
+			EntityKey key,
+			EntityPersister persister,
+			EventSource session,
+			boolean cascade) throws HibernateException {
+		if ( cascade ) {
+			doEvict( object, key, persister, session );
+		}
+		else {
+			detach( object, key, persister, session );
+		}
+	}
+
 	protected void doEvict(
 			final Object object,
 			final EntityKey key,
 			final EntityPersister persister,
 			final EventSource session)
 			throws HibernateException {
+		detach( object, key, persister, session );
+		Cascade.cascade( CascadingActions.EVICT, CascadePoint.AFTER_EVICT, session, persister, object );
+	}
 
+	private void detach(Object object, EntityKey key, EntityPersister persister, EventSource session) {
 		if ( LOG.isTraceEnabled() ) {
 			LOG.tracev( "Evicting {0}", MessageHelper.infoString( persister ) );
 		}
 
+		if ( persister.getEntityMetamodel().isReadOnlyLazyHydrationEnabled() ) {
+			// the lazy associations which were not resolved yet can no longer be once detached
+			final LazyAttributeLoadingInterceptor interceptor = persister.getInstrumentationMetadata().extractInterceptor( object );
+			if ( interceptor != null ) {
+				interceptor.proxyDeferredAttributes( object, session.getPersistenceContext() );
+			}
+		}
+
 		if ( persister.hasNaturalIdentifier() ) {
 			session.getPersistenceContext().getNaturalIdHelper().handleEviction(
 					object,
@@ -127,7 +169,5 @@ public class DefaultEvictEventListener implements EvictEventListener {
 		// EntityEntry to take precedence
 		// This is now handled by removeEntity()
 		//session.getPersistenceContext().removeDatabaseSnapshot(key);
-
-		Cascade.cascade( CascadingActions.EVICT, CascadePoint.AFTER_EVICT, session, persister, object );
 	}
 }
@@ -16,6 +16,8 @@ import org.hibernate.Session;
 import org.hibernate.StaleObjectStateException;
 import org.hibernate.action.internal.DelayedPostInsertIdentifier;
 import org.hibernate.action.internal.EntityUpdateAction;
+import org.hibernate.bytecode.enhance.spi.interceptor.LazyAttributeLoadingInterceptor;
+import org.hibernate.engine.internal.LoadedStateFingerprint;
 import org.hibernate.engine.internal.Nullability;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.spi.EntityEntry;
@@ -29,6 +31,7 @@ import org.hibernate.event.spi.FlushEntityEventListener;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.type.Type;
@@ -130,9 +133,14 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		final Status status = entry.getStatus();
 		final Type[] types = persister.getPropertyTypes();
 
+		if ( status == Status.READ_ONLY && !persister.hasCollections() && hasDeferredAttributes( entity, persister ) ) {
+			// there is nothing to flush, and reading the state would resolve the lazy associations
+			return;
+		}
+
 		final boolean mightBeDirty = entry.requiresDirtyCheck( entity );
 
-		final Object[] values = getValues( entity, entry, mightBeDirty, session );
+		final Object[] values = getValues( event, entity, entry, mightBeDirty, session );
 
 		event.setPropertyValues( values );
 
@@ -158,7 +166,20 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 	}
 
-	private Object[] getValues(Object entity, EntityEntry entry, boolean mightBeDirty, SessionImplementor session) {
+	private boolean hasDeferredAttributes(Object entity, EntityPersister persister) {
+		if ( !persister.getEntityMetamodel().isReadOnlyLazyHydrationEnabled() ) {
+			return false;
+		}
+		final LazyAttributeLoadingInterceptor interceptor = persister.getInstrumentationMetadata().extractInterceptor( entity );
+		return interceptor != null && interceptor.hasDeferredAttributes();
+	}
+
+	private Object[] getValues(
+			FlushEntityEvent event,
+			Object entity,
+			EntityEntry entry,
+			boolean mightBeDirty,
+			SessionImplementor session) {
 		final Object[] loadedState = entry.getLoadedState();
 		final Status status = entry.getStatus();
 		final EntityPersister persister = entry.getPersister();
@@ -174,8 +195,10 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		else {
 			checkId( entity, persister, entry.getId(), session );
 
-			// grab its current state
-			values = persister.getPropertyValues( entity );
+			// grab its current state, unless read by a parallel dirty check
+			values = event.getPrecomputedPropertyValues() != null
+					? event.getPrecomputedPropertyValues()
+					: persister.getPropertyValues( entity );
 
 			checkNaturalId( persister, entry, values, loadedState, session );
 		}
@@ -326,6 +349,10 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 			if ( event.hasDatabaseSnapshot() ) {
 				dirtyProperties = persister.findModified( event.getDatabaseSnapshot(), values, entity, session );
 			}
+			else if ( entry.getLoadedState() == null ) {
+				// see LoadedStateFingerprint#isApplicable
+				throw new AssertionFailure( "loaded state of an entity changed by a flush listener was fingerprinted" );
+			}
 			else {
 				dirtyProperties = persister.findDirty( values, entry.getLoadedState(), entity, session );
 			}
@@ -335,6 +362,37 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		return intercepted;
 	}
 
+	/**
+	 * Whether this listener may change the state of an entity of the given persister ahead of its dirty check,
+	 * besides the {@link org.hibernate.Interceptor} of the session.  Assumed of the listeners extending this one,
+	 * whose {@link #invokeInterceptor} may be overridden, unless they tell otherwise.
+	 *
+	 * @param persister The persister of the entity
+	 *
+	 * @return {@code true} if the state of the entity may be changed
+	 */
+	public boolean mayChangeStateBeforeDirtyCheck(EntityPersister persister) {
+		return getClass() != DefaultFlushEntityEventListener.class;
+	}
+
+	/**
+	 * Whether any of the given flush-entity listeners may change the state of an entity of the given persister
+	 * ahead of its dirty check: those not extending this listener are assumed to.
+	 *
+	 * @see #mayChangeStateBeforeDirtyCheck(EntityPersister)
+	 */
+	public static boolean anyMayChangeStateBeforeDirtyCheck(
+			Iterable<FlushEntityEventListener> listeners,
+			EntityPersister persister) {
+		for ( FlushEntityEventListener listener : listeners ) {
+			if ( !( listener instanceof DefaultFlushEntityEventListener )
+					|| ( (DefaultFlushEntityEventListener) listener ).mayChangeStateBeforeDirtyCheck( persister ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	protected boolean invokeInterceptor(
 			SessionImplementor session,
 			Object entity,
@@ -531,11 +589,32 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 				session.getEventListenerManager().dirtyCalculationStart();
 
 				interceptorHandledDirtyCheck = false;
+				final LoadedStateFingerprint fingerprint = loadedState == null ? LoadedStateFingerprint.of( entry ) : null;
 				// object loaded by update()
-				cannotDirtyCheck = loadedState == null;
-				if ( !cannotDirtyCheck ) {
+				cannotDirtyCheck = loadedState == null && fingerprint == null;
+				if ( loadedState != null ) {
 					// dirty check against the usual snapshot of the entity
-					dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+					if ( event.getPrecomputedDirtiness() != null && values == event.getPrecomputedPropertyValues() ) {
+						// completes the comparison of a parallel dirty check
+						dirtyProperties = ( (AbstractEntityPersister) persister ).findDirty(
+								values,
+								loadedState,
+								event.getPrecomputedDirtiness(),
+								entity,
+								session
+						);
+					}
+					else {
+						dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+					}
+				}
+				else if ( fingerprint != null ) {
+					// dirty check against the fingerprint of the loaded state, confirmed against the database
+					if ( !fingerprint.matches( values, persister, session ) ) {
+						final Object[] databaseSnapshot = getFreshDatabaseSnapshot( session, persister, id );
+						dirtyProperties = persister.findModified( databaseSnapshot, values, entity, session );
+						event.setDatabaseSnapshot( databaseSnapshot );
+					}
 				}
 				else if ( entry.getStatus() == Status.DELETED && !event.getEntityEntry().isModifiableEntity() ) {
 					// A non-modifiable (e.g., read-only or immutable) entity needs to be have
@@ -662,6 +741,19 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		}
 	}
 
+	private Object[] getFreshDatabaseSnapshot(SessionImplementor session, EntityPersister persister, Serializable id) {
+		// not cached by the persistence context, whose snapshots are not updated by the flushes
+		final Object[] snapshot = persister.getDatabaseSnapshot( id, session );
+		if ( snapshot == null ) {
+			if ( session.getFactory().getStatistics().isStatisticsEnabled() ) {
+				session.getFactory().getStatisticsImplementor()
+						.optimisticFailure( persister.getEntityName() );
+			}
+			throw new StaleObjectStateException( persister.getEntityName(), id );
+		}
+		return snapshot;
+	}
+
 	private Object[] getDatabaseSnapshot(SessionImplementor session, EntityPersister persister, Serializable id) {
 		if ( persister.isSelectBeforeUpdateRequired() ) {
 			Object[] snapshot = session.getPersistenceContext()
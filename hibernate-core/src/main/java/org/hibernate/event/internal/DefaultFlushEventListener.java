@@ -6,6 +6,8 @@
  */
 package org.hibernate.event.internal;
 
+import java.util.concurrent.TimeUnit;
+
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.event.spi.EventSource;
@@ -32,6 +34,9 @@ public class DefaultFlushEventListener extends AbstractFlushingEventListener imp
 		if ( persistenceContext.getNumberOfManagedEntities() > 0 ||
 				persistenceContext.getCollectionEntries().size() > 0 ) {
 
+			final boolean stats = source.getFactory().getStatistics().isStatisticsEnabled();
+			final long startTime = stats ? System.nanoTime() : 0;
+
 			try {
 				source.getEventListenerManager().flushStart();
 
@@ -48,8 +53,8 @@ public class DefaultFlushEventListener extends AbstractFlushingEventListener imp
 
 			postPostFlush( source );
 
-			if ( source.getFactory().getStatistics().isStatisticsEnabled() ) {
-				source.getFactory().getStatistics().flush();
+			if ( stats ) {
+				source.getFactory().getStatistics().flush( System.nanoTime() - startTime, TimeUnit.NANOSECONDS );
 			}
 		}
 	}
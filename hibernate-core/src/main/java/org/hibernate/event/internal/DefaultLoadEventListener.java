@@ -7,6 +7,7 @@
 package org.hibernate.event.internal;
 
 import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
 
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
@@ -23,6 +24,7 @@ import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.engine.internal.StatefulPersistenceContext;
 import org.hibernate.engine.internal.TwoPhaseLoad;
 import org.hibernate.engine.internal.Versioning;
+import org.hibernate.engine.spi.BatchFetchQueue;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.ManagedEntity;
@@ -44,6 +46,7 @@ import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.stat.spi.StatisticsImplementor;
 import org.hibernate.type.EmbeddedComponentType;
 import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
@@ -505,6 +508,10 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 	private Object loadFromDatasource(
 			final LoadEvent event,
 			final EntityPersister persister) {
+		final StatisticsImplementor statistics = event.getSession().getFactory().getStatistics();
+		final boolean stats = statistics.isStatisticsEnabled();
+		final long startTime = stats ? System.nanoTime() : 0;
+
 		Object entity = persister.load(
 				event.getEntityId(),
 				event.getInstanceToLoad(),
@@ -512,8 +519,15 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 				event.getSession()
 		);
 
-		if ( event.isAssociationFetch() && event.getSession().getFactory().getStatistics().isStatisticsEnabled() ) {
-			event.getSession().getFactory().getStatistics().fetchEntity( event.getEntityClassName() );
+		if ( stats ) {
+			statistics.entityLoadExecuted(
+					persister.getEntityName(),
+					System.nanoTime() - startTime,
+					TimeUnit.NANOSECONDS
+			);
+			if ( event.isAssociationFetch() ) {
+				statistics.fetchEntity( event.getEntityClassName() );
+			}
 		}
 
 		return entity;
@@ -592,7 +606,7 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 			return null;
 		}
 
-		final Object ce = getFromSharedCache( event, persister, source );
+		final Object ce = getFromSharedCache( event, persister, source, entityKey );
 
 		if ( ce == null ) {
 			// nothing was found in cache
@@ -639,16 +653,24 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 	private Object getFromSharedCache(
 		final LoadEvent event,
 		final EntityPersister persister,
-		SessionImplementor source ) {
+		SessionImplementor source,
+		final EntityKey entityKey) {
 		final EntityRegionAccessStrategy cache = persister.getCacheAccessStrategy();
-		final Object ck = cache.generateCacheKey(
-				event.getEntityId(),
-				persister,
-				source.getFactory(),
-				source.getTenantIdentifier()
-		);
+		final BatchFetchQueue batchFetchQueue = source.getPersistenceContext().getBatchFetchQueue();
 
-		final Object ce = CacheHelper.fromSharedCache( source, ck, persister.getCacheAccessStrategy() );
+		final Object ce;
+		if ( batchFetchQueue.isCacheEntryPrefetched( entityKey ) ) {
+			ce = batchFetchQueue.removePrefetchedCacheEntry( entityKey );
+		}
+		else {
+			final Object ck = cache.generateCacheKey(
+					event.getEntityId(),
+					persister,
+					source.getFactory(),
+					source.getTenantIdentifier()
+			);
+			ce = CacheHelper.fromSharedCache( source, ck, persister.getCacheAccessStrategy() );
+		}
 		if ( source.getFactory().getStatistics().isStatisticsEnabled() ) {
 			if ( ce == null ) {
 				source.getFactory().getStatisticsImplementor().secondLevelCacheMiss(
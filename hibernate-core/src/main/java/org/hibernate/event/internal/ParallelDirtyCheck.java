@@ -0,0 +1,185 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.event.internal;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.boot.internal.DefaultCustomEntityDirtinessStrategy;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.FlushEntityEvent;
+import org.hibernate.event.spi.FlushEntityEventListener;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.property.access.spi.Getter;
+import org.hibernate.property.access.spi.GetterFieldImpl;
+import org.hibernate.tuple.Tuplizer;
+import org.hibernate.type.ComponentType;
+import org.hibernate.type.Type;
+
+/**
+ * Reads the state of the entities a flush visits and compares it to their snapshot in parallel, on the common
+ * {@link ForkJoinPool}, ahead of their {@link FlushEntityEvent}s.  The events, fired in order on the thread of the
+ * session, then only compare the associations, which resolve the identifiers of the associated entities through
+ * the persistence context, and schedule the updates as usual.
+ * <p/>
+ * A comparison which fails is left to the event, so that the failure is reported from the thread of the session.
+ * <p/>
+ * Since the state of all the entities is read ahead of their events, the flushes whose listeners may change it,
+ * such as JPA {@code @PreUpdate} callbacks, are not compared in parallel; nor are those of the session factories
+ * with entities read through their getters, which may run any code and are not to be called off the session thread.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#PARALLEL_DIRTY_CHECKING_THRESHOLD
+ */
+final class ParallelDirtyCheck {
+	// the number of entities compared by each task
+	private static final int BATCH_SIZE = 256;
+
+	private final EventSource session;
+	private final Object[] entities;
+	private final EntityEntry[] entries;
+	private final Object[][] propertyValues;
+	private final Boolean[][] dirtiness;
+
+	private ParallelDirtyCheck(EventSource session, Object[] entities) {
+		this.session = session;
+		this.entities = entities;
+		this.entries = new EntityEntry[entities.length];
+		this.propertyValues = new Object[entities.length][];
+		this.dirtiness = new Boolean[entities.length][];
+	}
+
+	/**
+	 * Should a flush visiting the given number of entities compare their state in parallel?
+	 *
+	 * @param session The session being flushed
+	 * @param listeners The flush-entity listeners
+	 * @param count The number of entities to visit
+	 */
+	static boolean isApplicable(EventSource session, Iterable<FlushEntityEventListener> listeners, int count) {
+		final int threshold = session.getFactory().getSessionFactoryOptions().getParallelDirtyCheckingThreshold();
+		if ( threshold <= 0
+				|| count < threshold
+				|| session.getInterceptor() != EmptyInterceptor.INSTANCE
+				|| session.getFactory().getCustomEntityDirtinessStrategy() != DefaultCustomEntityDirtinessStrategy.INSTANCE ) {
+			return false;
+		}
+		for ( EntityPersister persister : session.getFactory().getMetamodel().entityPersisters().values() ) {
+			// the event of any entity may change the state of the following ones
+			if ( DefaultFlushEntityEventListener.anyMayChangeStateBeforeDirtyCheck( listeners, persister )
+					|| isReadThroughMethods( persister.getEntityTuplizer(), persister.getPropertyTypes() ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isReadThroughMethods(Tuplizer tuplizer, Type[] types) {
+		for ( int i = 0; i < types.length; i++ ) {
+			final Getter getter = tuplizer.getGetter( i );
+			if ( !( getter instanceof GetterFieldImpl ) && getter.getMethod() != null ) {
+				return true;
+			}
+			if ( types[i].isComponentType() ) {
+				final ComponentType componentType = (ComponentType) types[i];
+				if ( isReadThroughMethods( componentType.getComponentTuplizer(), componentType.getSubtypes() ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Compares the state of the given entities to their snapshot, returning once all of them are compared.
+	 *
+	 * @param session The session being flushed
+	 * @param entities The entities to visit
+	 * @param entries Their entries, or {@code null} for those no longer in the persistence context
+	 *
+	 * @return The comparisons, to {@link #apply} to the events
+	 */
+	static ParallelDirtyCheck perform(EventSource session, Object[] entities, EntityEntry[] entries) {
+		final ParallelDirtyCheck dirtyCheck = new ParallelDirtyCheck( session, entities );
+		// the entries are selected on the thread of the session, which owns them
+		for ( int i = 0; i < entities.length; i++ ) {
+			if ( entries[i] != null && isComparable( entities[i], entries[i] ) ) {
+				dirtyCheck.entries[i] = entries[i];
+			}
+		}
+		ForkJoinPool.commonPool().invoke( dirtyCheck.new Partition( 0, entities.length ) );
+		return dirtyCheck;
+	}
+
+	private static boolean isComparable(Object entity, EntityEntry entry) {
+		// the enhanced entities track their own dirtiness, and may load their lazy state when read
+		return entry.getStatus() == Status.MANAGED
+				&& entry.getLoadedState() != null
+				&& entry.getPersister() instanceof AbstractEntityPersister
+				&& !( entity instanceof SelfDirtinessTracker )
+				&& !( entity instanceof PersistentAttributeInterceptable )
+				&& entry.requiresDirtyCheck( entity );
+	}
+
+	/**
+	 * Hands the comparison of an entity over to its event.
+	 *
+	 * @param index The index of the entity among those compared
+	 * @param event The flush event of the entity
+	 */
+	void apply(int index, FlushEntityEvent event) {
+		if ( propertyValues[index] != null && event.getEntityEntry() == entries[index] ) {
+			event.setPrecomputedDirtyCheck( propertyValues[index], dirtiness[index] );
+		}
+	}
+
+	private void compare(int index) {
+		final EntityEntry entry = entries[index];
+		if ( entry == null ) {
+			return;
+		}
+		final AbstractEntityPersister persister = (AbstractEntityPersister) entry.getPersister();
+		try {
+			final Object[] values = persister.getPropertyValues( entities[index] );
+			dirtiness[index] = persister.findDirtyConcurrently( values, entry.getLoadedState(), session );
+			propertyValues[index] = values;
+		}
+		catch (RuntimeException e) {
+			// left to the event
+			dirtiness[index] = null;
+			propertyValues[index] = null;
+		}
+	}
+
+	private class Partition extends RecursiveAction {
+		private final int from;
+		private final int to;
+
+		private Partition(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if ( to - from <= BATCH_SIZE ) {
+				for ( int i = from; i < to; i++ ) {
+					compare( i );
+				}
+			}
+			else {
+				final int middle = ( from + to ) >>> 1;
+				invokeAll( new Partition( from, middle ), new Partition( middle, to ) );
+			}
+		}
+	}
+}
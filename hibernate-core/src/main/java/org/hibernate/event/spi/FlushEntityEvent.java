@@ -20,6 +20,9 @@ public class FlushEntityEvent extends AbstractEvent {
 	private boolean dirtyCheckPossible;
 	private boolean dirtyCheckHandledByInterceptor;
 	private EntityEntry entityEntry;
+	// the current state and the dirtiness of the properties compared ahead of the event, by a parallel dirty check
+	private Object[] precomputedPropertyValues;
+	private Boolean[] precomputedDirtiness;
 	
 	public FlushEntityEvent(EventSource source, Object entity, EntityEntry entry) {
 		super(source);
@@ -72,4 +75,14 @@ public class FlushEntityEvent extends AbstractEvent {
 	public Object getEntity() {
 		return entity;
 	}
+	public Object[] getPrecomputedPropertyValues() {
+		return precomputedPropertyValues;
+	}
+	public Boolean[] getPrecomputedDirtiness() {
+		return precomputedDirtiness;
+	}
+	public void setPrecomputedDirtyCheck(Object[] propertyValues, Boolean[] dirtiness) {
+		this.precomputedPropertyValues = propertyValues;
+		this.precomputedDirtiness = dirtiness;
+	}
 }
@@ -1071,11 +1071,11 @@ public class QueryTranslatorImpl extends BasicLoader implements FilterTranslator
 
 			if ( stats ) {
 				final long endTime = System.nanoTime();
-				final long milliseconds = TimeUnit.MILLISECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS );
 				session.getFactory().getStatistics().queryExecuted(
 						"HQL: " + queryString,
 						0,
-						milliseconds
+						endTime - startTime,
+						TimeUnit.NANOSECONDS
 				);
 			}
 
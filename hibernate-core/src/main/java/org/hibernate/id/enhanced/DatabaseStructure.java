@@ -8,6 +8,7 @@ package org.hibernate.id.enhanced;
 
 import org.hibernate.boot.model.relational.ExportableProducer;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 
 /**
@@ -50,6 +51,19 @@ public interface DatabaseStructure extends ExportableProducer {
 	 */
 	AccessCallback buildCallback(SharedSessionContractImplementor session);
 
+	/**
+	 * A callback to be able to get the next value from the underlying structure
+	 * outside of any session, through its own isolated connection.  Used to fetch
+	 * the next block of values in the background.
+	 *
+	 * @param jdbcServices The JDBC services providing the connection access.
+	 * @return The callback, or {@code null} if this structure does not support
+	 * access outside of a session.
+	 */
+	default AccessCallback buildIsolatedCallback(JdbcServices jdbcServices) {
+		return null;
+	}
+
 	/**
 	 * Prepare this structure for use.  Called sometime after instantiation,
 	 * but before first use.
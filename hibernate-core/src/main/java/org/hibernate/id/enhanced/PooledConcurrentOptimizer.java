@@ -0,0 +1,209 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.id.enhanced;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.HibernateException;
+import org.hibernate.id.IdentifierGenerationException;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Variation of {@link PooledOptimizer} tailored for highly concurrent id generation.
+ * <p/>
+ * The database value is interpreted exactly as {@link PooledOptimizer} does (as the hi value of the
+ * current range), so both optimizers can be used interchangeably against the same table or sequence.
+ * However, rather than serializing every call through a monitor, values of the current range are handed
+ * out through an atomic cursor; a lock is only taken when the range is exhausted and the next one needs
+ * to be obtained from the database.  Unlike {@link PooledLoThreadLocalOptimizer}, all threads share the
+ * same range, so no values are left unused when threads come and go.
+ * <p/>
+ * Values are tracked as {@code long}, so identifiers of type {@link BigInteger} and {@link BigDecimal}
+ * are limited to that range.
+ *
+ * @see PooledOptimizer
+ */
+public class PooledConcurrentOptimizer extends AbstractOptimizer implements InitialValueAwareOptimizer {
+	private static final CoreMessageLogger log = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			PooledConcurrentOptimizer.class.getName()
+	);
+
+	/**
+	 * An immutable [lo, hi] range of values.  Threads racing past the hi value simply move the cursor
+	 * further out of range, which is harmless since those values are never handed out.
+	 */
+	private static class Range {
+		private final long hiValue;
+		private final AtomicLong cursor;
+
+		private Range(long loValue, long hiValue) {
+			this.hiValue = hiValue;
+			this.cursor = new AtomicLong( loValue );
+		}
+	}
+
+	private static class GenerationState {
+		private volatile Range range;
+	}
+
+	private long initialValue = -1;
+
+	private final GenerationState noTenantState = new GenerationState();
+	private final ConcurrentMap<String,GenerationState> tenantSpecificState = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs a PooledConcurrentOptimizer
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 */
+	public PooledConcurrentOptimizer(Class returnClass, int incrementSize) {
+		super( returnClass, incrementSize );
+		if ( incrementSize < 1 ) {
+			throw new HibernateException( "increment size cannot be less than 1" );
+		}
+		// validates the return class
+		IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass );
+		if ( log.isTraceEnabled() ) {
+			log.tracev(
+					"Creating pooled-concurrent optimizer with [incrementSize={0}; returnClass={1}]",
+					incrementSize,
+					returnClass.getName()
+			);
+		}
+	}
+
+	@Override
+	public Serializable generate(AccessCallback callback) {
+		final GenerationState generationState = locateGenerationState( callback.getTenantIdentifier() );
+
+		Range range = generationState.range;
+		if ( range != null ) {
+			final long value = range.cursor.getAndIncrement();
+			if ( value <= range.hiValue ) {
+				return makeValue( value );
+			}
+		}
+
+		synchronized ( generationState ) {
+			// another thread may have obtained the next range in the meantime
+			range = generationState.range;
+			if ( range != null ) {
+				final long value = range.cursor.getAndIncrement();
+				if ( value <= range.hiValue ) {
+					return makeValue( value );
+				}
+			}
+
+			range = range == null ? initialRange( callback ) : nextRange( callback );
+			final long value = range.cursor.getAndIncrement();
+			generationState.range = range;
+			return makeValue( value );
+		}
+	}
+
+	private Range initialRange(AccessCallback callback) {
+		final IntegralDataTypeHolder sourceValue = callback.getNextValue();
+		final long value = extractLong( sourceValue );
+		// see PooledOptimizer: not safe to normalize this to 1
+		if ( value < 1 ) {
+			log.pooledOptimizerReportedInitialValue( sourceValue );
+		}
+		// the call to obtain next-value just gave us the initialValue
+		if ( ( initialValue == -1 && value < incrementSize ) || value == initialValue ) {
+			return new Range( value, extractLong( callback.getNextValue() ) );
+		}
+		else {
+			return new Range( value - ( incrementSize - 1 ), value );
+		}
+	}
+
+	private Range nextRange(AccessCallback callback) {
+		final long hiValue = extractLong( callback.getNextValue() );
+		return new Range( hiValue - ( incrementSize - 1 ), hiValue );
+	}
+
+	private static long extractLong(IntegralDataTypeHolder holder) {
+		return holder.makeValue().longValue();
+	}
+
+	private Number makeValue(long value) {
+		if ( returnClass == Long.class ) {
+			return value;
+		}
+		else if ( returnClass == Integer.class ) {
+			return (int) value;
+		}
+		else if ( returnClass == Short.class ) {
+			return (short) value;
+		}
+		else if ( returnClass == BigInteger.class ) {
+			return BigInteger.valueOf( value );
+		}
+		else if ( returnClass == BigDecimal.class ) {
+			return BigDecimal.valueOf( value );
+		}
+		else {
+			throw new IdentifierGenerationException( "Unknown integral data type for ids : " + returnClass.getName() );
+		}
+	}
+
+	private GenerationState locateGenerationState(String tenantIdentifier) {
+		if ( tenantIdentifier == null ) {
+			return noTenantState;
+		}
+		else {
+			return tenantSpecificState.computeIfAbsent( tenantIdentifier, k -> new GenerationState() );
+		}
+	}
+
+	private Range noTenantRange() {
+		final Range range = noTenantState.range;
+		if ( range == null ) {
+			throw new IllegalStateException( "Could not locate previous generation state for no-tenant" );
+		}
+		return range;
+	}
+
+	@Override
+	public IntegralDataTypeHolder getLastSourceValue() {
+		return IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass ).initialize( noTenantRange().hiValue );
+	}
+
+	@Override
+	public boolean applyIncrementSizeToSourceValues() {
+		return true;
+	}
+
+	/**
+	 * Getter for property 'lastValue'.
+	 * <p/>
+	 * Exposure intended for testing purposes.
+	 *
+	 * @return Value for property 'lastValue'.
+	 */
+	public IntegralDataTypeHolder getLastValue() {
+		final Range range = noTenantRange();
+		final long lastValue = Math.min( range.cursor.get() - 1, range.hiValue );
+		return IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass ).initialize( lastValue );
+	}
+
+	@Override
+	public void injectInitialValue(long initialValue) {
+		this.initialValue = initialValue;
+	}
+}
@@ -6,9 +6,11 @@
  */
 package org.hibernate.id.enhanced;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
@@ -18,10 +20,15 @@ import org.hibernate.boot.model.relational.QualifiedName;
 import org.hibernate.boot.model.relational.Sequence;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.engine.jdbc.internal.FormatStyle;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.transaction.spi.IsolationDelegate;
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.jdbc.AbstractReturningWork;
+import org.hibernate.resource.transaction.backend.jdbc.internal.JdbcIsolationDelegate;
 
 import org.jboss.logging.Logger;
 
@@ -43,7 +50,8 @@ public class SequenceStructure implements DatabaseStructure {
 
 	private String sql;
 	private boolean applyIncrementSizeToSourceValues;
-	private int accessCounter;
+	// also incremented by the prefetching thread
+	private final AtomicInteger accessCounter = new AtomicInteger();
 	protected String sequenceName;
 
 	public SequenceStructure(
@@ -71,7 +79,7 @@ public class SequenceStructure implements DatabaseStructure {
 
 	@Override
 	public int getTimesAccessed() {
-		return accessCounter;
+		return accessCounter.get();
 	}
 
 	@Override
@@ -88,7 +96,7 @@ public class SequenceStructure implements DatabaseStructure {
 		return new AccessCallback() {
 			@Override
 			public IntegralDataTypeHolder getNextValue() {
-				accessCounter++;
+				accessCounter.incrementAndGet();
 				try {
 					final PreparedStatement st = session.getJdbcCoordinator().getStatementPreparer().prepareStatement( sql );
 					try {
@@ -133,6 +141,47 @@ public class SequenceStructure implements DatabaseStructure {
 		};
 	}
 
+	@Override
+	public AccessCallback buildIsolatedCallback(final JdbcServices jdbcServices) {
+		if ( sql == null ) {
+			throw new AssertionFailure( "SequenceStyleGenerator's SequenceStructure was not properly initialized" );
+		}
+
+		final IsolationDelegate isolationDelegate = new JdbcIsolationDelegate(
+				jdbcServices.getBootstrapJdbcConnectionAccess(),
+				jdbcServices.getSqlExceptionHelper()
+		);
+		final AbstractReturningWork<IntegralDataTypeHolder> work = new AbstractReturningWork<IntegralDataTypeHolder>() {
+			@Override
+			public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
+				jdbcServices.getSqlStatementLogger().logStatement( sql, FormatStyle.BASIC.getFormatter() );
+				try ( PreparedStatement st = connection.prepareStatement( sql );
+						ResultSet rs = st.executeQuery() ) {
+					rs.next();
+					final IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( numberType );
+					value.initialize( rs, 1 );
+					if ( LOG.isDebugEnabled() ) {
+						LOG.debugf( "Sequence value obtained through isolated connection: %s", value.makeValue() );
+					}
+					return value;
+				}
+			}
+		};
+
+		return new AccessCallback() {
+			@Override
+			public IntegralDataTypeHolder getNextValue() {
+				accessCounter.incrementAndGet();
+				return isolationDelegate.delegateWork( work, true );
+			}
+
+			@Override
+			public String getTenantIdentifier() {
+				return null;
+			}
+		};
+	}
+
 	@Override
 	public void prepare(Optimizer optimizer) {
 		applyIncrementSizeToSourceValues = optimizer.applyIncrementSizeToSourceValues();
@@ -20,6 +20,7 @@ import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.config.spi.ConfigurationService;
 import org.hibernate.engine.config.spi.StandardConverters;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.id.BulkInsertionCapableIdentifierGenerator;
 import org.hibernate.id.Configurable;
@@ -77,6 +78,11 @@ import org.jboss.logging.Logger;
  *     <td><b><i>false</i></b></td>
  *     <td>Allows explicit definition of which optimization strategy to use</td>
  *   </tr>
+ *   <tr>
+ *     <td>{@link #PREFETCH_PARAM}</td>
+ *     <td>{@link AvailableSettings#ID_OPTIMIZER_PREFETCH_LOW_WATER_MARK}, if set; otherwise <b><i>0</i></b></td>
+ *     <td>Number of values left in the current block at which the next block is fetched in the background (0 disables prefetching)</td>
+ *   </tr>
  * </table>
  * <p/>
  * Configuration parameters used specifically when the underlying structure is a table:
@@ -139,6 +145,13 @@ public class SequenceStyleGenerator
 	 */
 	public static final int DEFAULT_INCREMENT_SIZE = 1;
 
+	/**
+	 * Indicates the number of values left in the optimizer's current block at which the next block should be
+	 * obtained in the background, through an isolated connection.  Defaults to the value of
+	 * {@link AvailableSettings#ID_OPTIMIZER_PREFETCH_LOW_WATER_MARK}; {@code 0} disables prefetching.
+	 */
+	public static final String PREFETCH_PARAM = "prefetch_low_water_mark";
+
 	/**
 	 * Used to create dedicated sequence for each entity based on the entity name.  Sequence suffix can be
 	 * controlled with {@link #CONFIG_SEQUENCE_PER_ENTITY_SUFFIX} option.
@@ -190,6 +203,10 @@ public class SequenceStyleGenerator
 	private Optimizer optimizer;
 	private Type identifierType;
 
+	private int prefetchLowWaterMark;
+	private JdbcServices jdbcServices;
+	private volatile ValuePrefetcher valuePrefetcher;
+
 	/**
 	 * Getter for property 'databaseStructure'.
 	 *
@@ -260,6 +277,39 @@ public class SequenceStyleGenerator
 				ConfigurationHelper.getInt( INITIAL_PARAM, params, -1 )
 		);
 		this.databaseStructure.prepare( optimizer );
+
+		this.prefetchLowWaterMark = determinePrefetchLowWaterMark( params, serviceRegistry, incrementSize );
+		if ( prefetchLowWaterMark > 0 ) {
+			this.jdbcServices = serviceRegistry.getService( JdbcServices.class );
+		}
+	}
+
+	/**
+	 * Determine the low-water mark at which to prefetch the next block of values.
+	 * <p/>
+	 * Called during {@link #configure configuration}.
+	 *
+	 * @param params The params supplied in the generator config (plus some standard useful extras).
+	 * @param serviceRegistry The service registry
+	 * @param incrementSize The increment size
+	 * @return The low-water mark; {@code 0} indicates no prefetching
+	 */
+	@SuppressWarnings("WeakerAccess")
+	protected int determinePrefetchLowWaterMark(Properties params, ServiceRegistry serviceRegistry, int incrementSize) {
+		final int defaultLowWaterMark = ConfigurationHelper.getInt(
+				AvailableSettings.ID_OPTIMIZER_PREFETCH_LOW_WATER_MARK,
+				serviceRegistry.getService( ConfigurationService.class ).getSettings(),
+				0
+		);
+		final int lowWaterMark = ConfigurationHelper.getInt( PREFETCH_PARAM, params, defaultLowWaterMark );
+		if ( lowWaterMark <= 0 ) {
+			return 0;
+		}
+		if ( incrementSize <= 1 || optimizer instanceof NoopOptimizer ) {
+			LOG.debugf( "Ignoring id prefetch low-water mark [%s]; no optimizer in effect", lowWaterMark );
+			return 0;
+		}
+		return Math.min( lowWaterMark, incrementSize - 1 );
 	}
 
 	/**
@@ -479,7 +529,39 @@ public class SequenceStyleGenerator
 
 	@Override
 	public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
-		return optimizer.generate( databaseStructure.buildCallback( session ) );
+		final ValuePrefetcher prefetcher = locateValuePrefetcher();
+		if ( prefetcher == null ) {
+			return optimizer.generate( databaseStructure.buildCallback( session ) );
+		}
+		return prefetcher.generate( optimizer, databaseStructure.buildCallback( session ) );
+	}
+
+	private ValuePrefetcher locateValuePrefetcher() {
+		if ( prefetchLowWaterMark <= 0 ) {
+			return null;
+		}
+		if ( valuePrefetcher == null ) {
+			synchronized ( this ) {
+				if ( valuePrefetcher == null ) {
+					final AccessCallback isolatedCallback = databaseStructure.buildIsolatedCallback( jdbcServices );
+					if ( isolatedCallback == null ) {
+						LOG.debugf(
+								"Database structure [%s] does not support isolated access; id prefetching disabled",
+								databaseStructure.getName()
+						);
+						prefetchLowWaterMark = 0;
+						return null;
+					}
+					valuePrefetcher = new ValuePrefetcher(
+							databaseStructure.getName(),
+							isolatedCallback,
+							databaseStructure.getIncrementSize(),
+							prefetchLowWaterMark
+					);
+				}
+			}
+		}
+		return valuePrefetcher;
 	}
 
 
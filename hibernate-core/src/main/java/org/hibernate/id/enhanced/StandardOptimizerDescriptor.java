@@ -43,7 +43,12 @@ public enum StandardOptimizerDescriptor {
 	 * Describes the optimizer for use with tables/sequences that store the chunk information.  Here, specifically the
 	 * lo value is stored in the database and ThreadLocal used to cache the generation state.
 	 */
-	POOLED_LOTL( "pooled-lotl", PooledLoThreadLocalOptimizer.class, true );
+	POOLED_LOTL( "pooled-lotl", PooledLoThreadLocalOptimizer.class, true ),
+	/**
+	 * Describes the optimizer for use with tables/sequences that store the chunk information.  Here, specifically the
+	 * hi value is stored in the database and values of the current chunk are handed out without locking.
+	 */
+	POOLED_CONCURRENT( "pooled-concurrent", PooledConcurrentOptimizer.class, true );
 
 	private static final Logger log = Logger.getLogger( StandardOptimizerDescriptor.class );
 
@@ -104,6 +109,9 @@ public enum StandardOptimizerDescriptor {
 		else if ( POOLED_LOTL.externalName.equals( externalName ) ) {
 			return POOLED_LOTL;
 		}
+		else if ( POOLED_CONCURRENT.externalName.equals( externalName ) ) {
+			return POOLED_CONCURRENT;
+		}
 		else {
 			log.debugf( "Unknown optimizer key [%s]; returning null assuming Optimizer impl class name", externalName );
 			return null;
@@ -15,6 +15,7 @@ import java.sql.Types;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
@@ -30,12 +31,14 @@ import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.config.spi.ConfigurationService;
 import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.internal.SessionEventListenerManagerImpl;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
 import org.hibernate.engine.jdbc.internal.FormatStyle;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
 import org.hibernate.engine.spi.SessionEventListenerManager;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.transaction.spi.IsolationDelegate;
 import org.hibernate.id.Configurable;
 import org.hibernate.id.ExportableColumn;
 import org.hibernate.id.IdentifierGenerator;
@@ -49,6 +52,7 @@ import org.hibernate.jdbc.AbstractReturningWork;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.PrimaryKey;
 import org.hibernate.mapping.Table;
+import org.hibernate.resource.transaction.backend.jdbc.internal.JdbcIsolationDelegate;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.type.LongType;
 import org.hibernate.type.StringType;
@@ -125,6 +129,11 @@ import org.jboss.logging.Logger;
  *     <td><i>depends on defined increment size</i></td>
  *     <td>Allows explicit definition of which optimization strategy to use</td>
  *   </tr>
+ *   <tr>
+ *     <td>{@link #PREFETCH_PARAM}</td>
+ *     <td>{@link AvailableSettings#ID_OPTIMIZER_PREFETCH_LOW_WATER_MARK}, if set; otherwise <b><i>0</i></b></td>
+ *     <td>Number of values left in the current block at which the next block is fetched in the background (0 disables prefetching)</td>
+ *   </tr>
  * </table>
  *
  * @author Steve Ebersole
@@ -227,6 +236,13 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	 */
 	public static final String OPT_PARAM = "optimizer";
 
+	/**
+	 * Indicates the number of values left in the optimizer's current block at which the next block should be
+	 * obtained in the background, through an isolated connection.  Defaults to the value of
+	 * {@link AvailableSettings#ID_OPTIMIZER_PREFETCH_LOW_WATER_MARK}; {@code 0} disables prefetching.
+	 */
+	public static final String PREFETCH_PARAM = "prefetch_low_water_mark";
+
 	private boolean storeLastUsedValue;
 
 
@@ -248,7 +264,12 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	private String updateQuery;
 
 	private Optimizer optimizer;
-	private long accessCount;
+	// also incremented by the prefetching thread
+	private final AtomicLong accessCount = new AtomicLong();
+
+	private int prefetchLowWaterMark;
+	private JdbcServices jdbcServices;
+	private volatile ValuePrefetcher valuePrefetcher;
 
 	@Override
 	public Object generatorKey() {
@@ -353,7 +374,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	 * @return Value for property 'tableAccessCount'.
 	 */
 	public final long getTableAccessCount() {
-		return accessCount;
+		return accessCount.get();
 	}
 
 	@Override
@@ -386,6 +407,11 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 				incrementSize,
 				optimizerInitialValue
 		);
+
+		prefetchLowWaterMark = determinePrefetchLowWaterMark( params, serviceRegistry );
+		if ( prefetchLowWaterMark > 0 ) {
+			jdbcServices = serviceRegistry.getService( JdbcServices.class );
+		}
 	}
 
 	/**
@@ -524,6 +550,33 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 		return ConfigurationHelper.getInt( INCREMENT_PARAM, params, DEFAULT_INCREMENT_SIZE );
 	}
 
+	/**
+	 * Determine the low-water mark at which to prefetch the next block of values.
+	 * <p/>
+	 * Called during {@link #configure configuration}.
+	 *
+	 * @param params The params supplied in the generator config (plus some standard useful extras).
+	 * @param serviceRegistry The service registry
+	 * @return The low-water mark; {@code 0} indicates no prefetching
+	 */
+	@SuppressWarnings("WeakerAccess")
+	protected int determinePrefetchLowWaterMark(Properties params, ServiceRegistry serviceRegistry) {
+		final int defaultLowWaterMark = ConfigurationHelper.getInt(
+				AvailableSettings.ID_OPTIMIZER_PREFETCH_LOW_WATER_MARK,
+				serviceRegistry.getService( ConfigurationService.class ).getSettings(),
+				0
+		);
+		final int lowWaterMark = ConfigurationHelper.getInt( PREFETCH_PARAM, params, defaultLowWaterMark );
+		if ( lowWaterMark <= 0 ) {
+			return 0;
+		}
+		if ( incrementSize <= 1 || optimizer instanceof NoopOptimizer ) {
+			LOG.debugf( "Ignoring id prefetch low-water mark [%s]; no optimizer in effect", lowWaterMark );
+			return 0;
+		}
+		return Math.min( lowWaterMark, incrementSize - 1 );
+	}
+
 	@SuppressWarnings({"unchecked", "WeakerAccess"})
 	protected String buildSelectQuery(Dialect dialect) {
 		final String alias = "tbl";
@@ -565,112 +618,159 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 		final SqlStatementLogger statementLogger = session.getFactory().getServiceRegistry()
 				.getService( JdbcServices.class )
 				.getSqlStatementLogger();
-		final SessionEventListenerManager statsCollector = session.getEventListenerManager();
-
-		return optimizer.generate(
-				new AccessCallback() {
-					@Override
-					public IntegralDataTypeHolder getNextValue() {
-						return session.getTransactionCoordinator().createIsolationDelegate().delegateWork(
-								new AbstractReturningWork<IntegralDataTypeHolder>() {
-									@Override
-									public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
-										final IntegralDataTypeHolder value = makeValue();
-										int rows;
-										do {
-
-											try (PreparedStatement selectPS = prepareStatement(
-													connection,
-													selectQuery,
-													statementLogger,
-													statsCollector
-											)) {
-												selectPS.setString( 1, segmentValue );
-												final ResultSet selectRS = executeQuery( selectPS, statsCollector );
-												if ( !selectRS.next() ) {
-													long initializationValue;
-													if ( storeLastUsedValue ) {
-														initializationValue = initialValue - 1;
-													}
-													else {
-														initializationValue = initialValue;
-													}
-													value.initialize( initializationValue );
-
-													try (PreparedStatement insertPS = prepareStatement(
-															connection,
-															insertQuery,
-															statementLogger,
-															statsCollector
-													)) {
-														LOG.tracef( "binding parameter [%s] - [%s]", 1, segmentValue );
-														insertPS.setString( 1, segmentValue );
-														value.bind( insertPS, 2 );
-														executeUpdate( insertPS, statsCollector );
-													}
-												}
-												else {
-													int defaultValue;
-													if ( storeLastUsedValue ) {
-														defaultValue = 0;
-													}
-													else {
-														defaultValue = 1;
-													}
-													value.initialize( selectRS, defaultValue );
-												}
-												selectRS.close();
-											}
-											catch (SQLException e) {
-												LOG.unableToReadOrInitHiValue( e );
-												throw e;
-											}
-
-
-											try (PreparedStatement updatePS = prepareStatement(
-													connection,
-													updateQuery,
-													statementLogger,
-													statsCollector
-											)) {
-												final IntegralDataTypeHolder updateValue = value.copy();
-												if ( optimizer.applyIncrementSizeToSourceValues() ) {
-													updateValue.add( incrementSize );
-												}
-												else {
-													updateValue.increment();
-												}
-												updateValue.bind( updatePS, 1 );
-												value.bind( updatePS, 2 );
-												updatePS.setString( 3, segmentValue );
-												rows = executeUpdate( updatePS, statsCollector );
-											}
-											catch (SQLException e) {
-												LOG.unableToUpdateQueryHiValue( renderedTableName, e );
-												throw e;
-											}
-										}
-										while ( rows == 0 );
-
-										accessCount++;
-										if ( storeLastUsedValue ) {
-											return value.increment();
-										}
-										else {
-											return value;
-										}
-									}
-								},
-								true
-						);
+		final AbstractReturningWork<IntegralDataTypeHolder> work = buildValueReadingWork(
+				statementLogger,
+				session.getEventListenerManager()
+		);
+
+		final AccessCallback callback = new AccessCallback() {
+			@Override
+			public IntegralDataTypeHolder getNextValue() {
+				return session.getTransactionCoordinator().createIsolationDelegate().delegateWork( work, true );
+			}
+
+			@Override
+			public String getTenantIdentifier() {
+				return session.getTenantIdentifier();
+			}
+		};
+
+		final ValuePrefetcher prefetcher = locateValuePrefetcher();
+		if ( prefetcher == null ) {
+			return optimizer.generate( callback );
+		}
+		return prefetcher.generate( optimizer, callback );
+	}
+
+	private ValuePrefetcher locateValuePrefetcher() {
+		if ( prefetchLowWaterMark <= 0 ) {
+			return null;
+		}
+		if ( valuePrefetcher == null ) {
+			synchronized ( this ) {
+				if ( valuePrefetcher == null ) {
+					final IsolationDelegate isolationDelegate = new JdbcIsolationDelegate(
+							jdbcServices.getBootstrapJdbcConnectionAccess(),
+							jdbcServices.getSqlExceptionHelper()
+					);
+					final AbstractReturningWork<IntegralDataTypeHolder> work = buildValueReadingWork(
+							jdbcServices.getSqlStatementLogger(),
+							new SessionEventListenerManagerImpl()
+					);
+					valuePrefetcher = new ValuePrefetcher(
+							renderedTableName + "." + segmentValue,
+							new AccessCallback() {
+								@Override
+								public IntegralDataTypeHolder getNextValue() {
+									return isolationDelegate.delegateWork( work, true );
+								}
+
+								@Override
+								public String getTenantIdentifier() {
+									return null;
+								}
+							},
+							incrementSize,
+							prefetchLowWaterMark
+					);
+				}
+			}
+		}
+		return valuePrefetcher;
+	}
+
+	private AbstractReturningWork<IntegralDataTypeHolder> buildValueReadingWork(
+			final SqlStatementLogger statementLogger,
+			final SessionEventListenerManager statsCollector) {
+		return new AbstractReturningWork<IntegralDataTypeHolder>() {
+			@Override
+			public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
+				final IntegralDataTypeHolder value = makeValue();
+				int rows;
+				do {
+
+					try (PreparedStatement selectPS = prepareStatement(
+							connection,
+							selectQuery,
+							statementLogger,
+							statsCollector
+					)) {
+						selectPS.setString( 1, segmentValue );
+						final ResultSet selectRS = executeQuery( selectPS, statsCollector );
+						if ( !selectRS.next() ) {
+							long initializationValue;
+							if ( storeLastUsedValue ) {
+								initializationValue = initialValue - 1;
+							}
+							else {
+								initializationValue = initialValue;
+							}
+							value.initialize( initializationValue );
+
+							try (PreparedStatement insertPS = prepareStatement(
+									connection,
+									insertQuery,
+									statementLogger,
+									statsCollector
+							)) {
+								LOG.tracef( "binding parameter [%s] - [%s]", 1, segmentValue );
+								insertPS.setString( 1, segmentValue );
+								value.bind( insertPS, 2 );
+								executeUpdate( insertPS, statsCollector );
+							}
+						}
+						else {
+							int defaultValue;
+							if ( storeLastUsedValue ) {
+								defaultValue = 0;
+							}
+							else {
+								defaultValue = 1;
+							}
+							value.initialize( selectRS, defaultValue );
+						}
+						selectRS.close();
+					}
+					catch (SQLException e) {
+						LOG.unableToReadOrInitHiValue( e );
+						throw e;
 					}
 
-					@Override
-					public String getTenantIdentifier() {
-						return session.getTenantIdentifier();
+
+					try (PreparedStatement updatePS = prepareStatement(
+							connection,
+							updateQuery,
+							statementLogger,
+							statsCollector
+					)) {
+						final IntegralDataTypeHolder updateValue = value.copy();
+						if ( optimizer.applyIncrementSizeToSourceValues() ) {
+							updateValue.add( incrementSize );
+						}
+						else {
+							updateValue.increment();
+						}
+						updateValue.bind( updatePS, 1 );
+						value.bind( updatePS, 2 );
+						updatePS.setString( 3, segmentValue );
+						rows = executeUpdate( updatePS, statsCollector );
+					}
+					catch (SQLException e) {
+						LOG.unableToUpdateQueryHiValue( renderedTableName, e );
+						throw e;
 					}
 				}
-		);
+				while ( rows == 0 );
+
+				accessCount.incrementAndGet();
+				if ( storeLastUsedValue ) {
+					return value.increment();
+				}
+				else {
+					return value;
+				}
+			}
+		};
 	}
 
 	private PreparedStatement prepareStatement(
@@ -0,0 +1,143 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.id.enhanced;
+
+import java.io.Serializable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+
+/**
+ * Obtains the next value of a generator's database structure ahead of time.
+ * <p/>
+ * Once an {@link Optimizer} has handed out all but {@code lowWaterMark} values of its current block,
+ * the next source value is fetched on a background thread, through an isolated connection.  The thread
+ * which then exhausts the block picks up that value instead of doing the database round trip itself
+ * (waiting for the background fetch if it is still in flight).  Should the background fetch fail, the
+ * value is obtained synchronously as usual.
+ * <p/>
+ * Only the no-tenant generation state is prefetched; tenant-specific values are always obtained
+ * synchronously.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#ID_OPTIMIZER_PREFETCH_LOW_WATER_MARK
+ */
+class ValuePrefetcher {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( ValuePrefetcher.class );
+
+	private final AccessCallback isolatedCallback;
+	private final int triggerCount;
+	private final ExecutorService executor;
+
+	private final AtomicInteger generatedSinceFetch = new AtomicInteger();
+	private Future<IntegralDataTypeHolder> pending;
+
+	/**
+	 * Constructs a ValuePrefetcher
+	 *
+	 * @param name The name of the structure, used to name the background thread
+	 * @param isolatedCallback The callback used for background fetches; must not depend on any session
+	 * @param incrementSize The number of values an optimizer hands out per source value
+	 * @param lowWaterMark The number of values left in the current block at which to fetch the next value
+	 */
+	ValuePrefetcher(String name, AccessCallback isolatedCallback, int incrementSize, int lowWaterMark) {
+		this.isolatedCallback = isolatedCallback;
+		this.triggerCount = Math.max( 1, incrementSize - lowWaterMark );
+		// the single thread is discarded when idle, so no lifecycle management is needed
+		final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+				1,
+				1,
+				30,
+				TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(),
+				runnable -> {
+					final Thread thread = new Thread( runnable, "Hibernate id prefetch [" + name + "]" );
+					thread.setDaemon( true );
+					return thread;
+				}
+		);
+		threadPool.allowCoreThreadTimeOut( true );
+		this.executor = threadPool;
+	}
+
+	/**
+	 * Generate a value using the given optimizer, consuming and triggering prefetched source values as needed.
+	 *
+	 * @param optimizer The generator's optimizer
+	 * @param callback The session-bound callback, used whenever no prefetched value is available
+	 *
+	 * @return The generated value
+	 */
+	Serializable generate(Optimizer optimizer, final AccessCallback callback) {
+		if ( callback.getTenantIdentifier() != null ) {
+			return optimizer.generate( callback );
+		}
+
+		final Serializable value = optimizer.generate(
+				new AccessCallback() {
+					@Override
+					public IntegralDataTypeHolder getNextValue() {
+						return takeNextValue( callback );
+					}
+
+					@Override
+					public String getTenantIdentifier() {
+						return null;
+					}
+				}
+		);
+
+		if ( generatedSinceFetch.incrementAndGet() == triggerCount ) {
+			schedulePrefetch();
+		}
+		return value;
+	}
+
+	private IntegralDataTypeHolder takeNextValue(AccessCallback callback) {
+		final Future<IntegralDataTypeHolder> prefetched;
+		synchronized ( this ) {
+			prefetched = pending;
+			pending = null;
+			generatedSinceFetch.set( 0 );
+		}
+
+		if ( prefetched != null ) {
+			try {
+				return prefetched.get();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				LOG.debug( "Interrupted while waiting for prefetched identifier value; obtaining value directly" );
+			}
+			catch (ExecutionException e) {
+				LOG.debug( "Unable to prefetch identifier value; obtaining value directly", e.getCause() );
+			}
+		}
+
+		return callback.getNextValue();
+	}
+
+	private synchronized void schedulePrefetch() {
+		if ( pending != null ) {
+			return;
+		}
+		try {
+			pending = executor.submit( isolatedCallback::getNextValue );
+		}
+		catch (RejectedExecutionException e) {
+			LOG.debug( "Unable to schedule identifier value prefetch", e );
+		}
+	}
+}
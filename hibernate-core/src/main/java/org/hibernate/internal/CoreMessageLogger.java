@@ -1800,5 +1800,28 @@ public interface CoreMessageLogger extends BasicLogger {
 			id = 486)
 	void agroalProviderClassNotFound();
 
+	@LogMessage(level = INFO)
+	@Message(value = "Query plan cache hits: %s", id = 487)
+	void queryPlanCacheHits(long queryPlanCacheHitCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Query plan cache misses: %s", id = 488)
+	void queryPlanCacheMisses(long queryPlanCacheMissCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Query plan cache evictions: %s", id = 489)
+	void queryPlanCacheEvictions(long queryPlanCacheEvictionCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Query plan compile time: %sms", id = 490)
+	void queryPlanCompileTime(long queryPlanCompileTime);
+
+	@LogMessage(level = ERROR)
+	@Message(
+			value = "Cache: %s Key: %s Lockable: %s. A soft-locked cache entry was missing. This is either"
+					+ " out of balance lock/unlock sequences, or an eagerly evicting cache.",
+			id = 491
+	)
+	void missingLock(String regionName, Object key, Object value);
 
 }
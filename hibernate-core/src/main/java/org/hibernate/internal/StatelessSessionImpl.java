@@ -8,9 +8,12 @@ package org.hibernate.internal;
 
 import java.io.Serializable;
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.transaction.SystemException;
 
 import org.hibernate.CacheMode;
@@ -69,6 +72,10 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 
 	private boolean connectionProvided;
 
+	// insert, update and delete statements grouped per entity and operation, in the order each group
+	// was first used; see AvailableSettings#ORDER_STATELESS_STATEMENTS
+	private final Map<String,List<Runnable>> pendingStatements = new LinkedHashMap<>();
+
 	StatelessSessionImpl(SessionFactoryImpl factory, SessionCreationOptions options) {
 		super( factory, options );
 		connectionProvided = options.getConnection() != null;
@@ -105,10 +112,16 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 			}
 		}
 		if ( id == IdentifierGeneratorHelper.POST_INSERT_INDICATOR ) {
+			// the insert has to be executed right away to obtain the id
+			executePendingStatements();
 			id = persister.insert( state, entity, this );
 		}
 		else {
-			persister.insert( id, state, entity, this );
+			final Serializable generatedId = id;
+			executeStatement(
+					persister.getEntityName() + "#INSERT",
+					() -> persister.insert( generatedId, state, entity, this )
+			);
 		}
 		persister.setIdentifier( entity, id, this );
 		return id;
@@ -129,7 +142,10 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 		EntityPersister persister = getEntityPersister( entityName, entity );
 		Serializable id = persister.getIdentifier( entity, this );
 		Object version = persister.getVersion( entity );
-		persister.delete( id, version, entity, this );
+		executeStatement(
+				persister.getEntityName() + "#DELETE",
+				() -> persister.delete( id, version, entity, this )
+		);
 	}
 
 
@@ -157,7 +173,65 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 		else {
 			oldVersion = null;
 		}
-		persister.update( id, state, null, false, null, oldVersion, entity, null, this );
+		final Object previousVersion = oldVersion;
+		executeStatement(
+				persister.getEntityName() + "#UPDATE",
+				() -> persister.update( id, state, null, false, null, previousVersion, entity, null, this )
+		);
+	}
+
+	/**
+	 * Executes the given insert, update or delete statement, possibly grouping it with other statements
+	 * of the same entity and operation for JDBC batching.
+	 *
+	 * @param group The entity name and operation of the statement
+	 * @param statement Executes the statement through the entity persister
+	 */
+	private void executeStatement(String group, Runnable statement) {
+		if ( !isTransactionInProgress() ) {
+			// no transaction completion would execute a pending JDBC batch
+			executePendingStatements();
+			statement.run();
+			getJdbcCoordinator().executeBatch();
+			return;
+		}
+
+		final int batchSize = getConfiguredJdbcBatchSize();
+		if ( batchSize <= 1 || !getFactory().getSessionFactoryOptions().isOrderStatelessStatementsEnabled() ) {
+			// statements of the same entity and operation are still batched by the JdbcCoordinator as long
+			// as they are consecutive
+			statement.run();
+			return;
+		}
+
+		final List<Runnable> statements = pendingStatements.computeIfAbsent(
+				group,
+				k -> new ArrayList<>( batchSize )
+		);
+		statements.add( statement );
+		if ( statements.size() >= batchSize ) {
+			executePendingStatements();
+		}
+	}
+
+	/**
+	 * Executes all grouped statements, group after group, as well as any pending JDBC batch.  Needed
+	 * before anything reads from the database or relies on the statements having been executed.
+	 */
+	private void executePendingStatements() {
+		if ( !pendingStatements.isEmpty() ) {
+			try {
+				for ( List<Runnable> statements : pendingStatements.values() ) {
+					for ( Runnable statement : statements ) {
+						statement.run();
+					}
+				}
+			}
+			finally {
+				pendingStatements.clear();
+			}
+		}
+		getJdbcCoordinator().executeBatch();
 	}
 
 
@@ -181,6 +255,7 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 	@Override
 	public Object get(String entityName, Serializable id, LockMode lockMode) {
 		checkOpen();
+		executePendingStatements();
 
 		Object result = getFactory().getMetamodel().entityPersister( entityName )
 				.load( id, null, getNullSafeLockMode( lockMode ), this );
@@ -207,6 +282,7 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 
 	@Override
 	public void refresh(String entityName, Object entity, LockMode lockMode) {
+		executePendingStatements();
 		final EntityPersister persister = this.getEntityPersister( entityName, entity );
 		final Serializable id = persister.getIdentifier( entity, this );
 		if ( LOG.isTraceEnabled() ) {
@@ -269,7 +345,7 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 		checkOpen();
 		EntityPersister persister = getFactory().getMetamodel().entityPersister( entityName );
 		// first, try to load it from the temp PC associated to this SS
-		Object loaded = temporaryPersistenceContext.getEntity( generateEntityKey( id, persister ) );
+		Object loaded = temporaryPersistenceContext.getEntity( persister, id );
 		if ( loaded != null ) {
 			// we found it in the temp PC.  Should indicate we are in the midst of processing a result set
 			// containing eager fetches via join fetch
@@ -325,7 +401,7 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 
 	private void managedFlush() {
 		checkOpen();
-		getJdbcCoordinator().executeBatch();
+		executePendingStatements();
 	}
 
 	@Override
@@ -339,12 +415,14 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 	@Override
 	public Connection connection() {
 		checkOpen();
+		executePendingStatements();
 		return getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
 	}
 
 	@Override
 	public int executeUpdate(String query, QueryParameters queryParameters) throws HibernateException {
 		checkOpen();
+		executePendingStatements();
 		queryParameters.validateParameters();
 		HQLQueryPlan plan = getQueryPlan( query, false );
 		boolean success = false;
@@ -456,6 +534,7 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 	@Override
 	public List list(String query, QueryParameters queryParameters) throws HibernateException {
 		checkOpen();
+		executePendingStatements();
 		queryParameters.validateParameters();
 		HQLQueryPlan plan = getQueryPlan( query, false );
 		boolean success = false;
@@ -507,6 +586,7 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 		CriteriaImpl criteriaImpl = (CriteriaImpl) criteria;
 
 		checkOpen();
+		executePendingStatements();
 		String entityName = criteriaImpl.getEntityOrClassName();
 		CriteriaLoader loader = new CriteriaLoader(
 				getOuterJoinLoadable( entityName ),
@@ -525,6 +605,7 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 		CriteriaImpl criteriaImpl = (CriteriaImpl) criteria;
 
 		checkOpen();
+		executePendingStatements();
 		String[] implementors = getFactory().getMetamodel().getImplementors( criteriaImpl.getEntityOrClassName() );
 		int size = implementors.length;
 
@@ -569,6 +650,7 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 	public List listCustomQuery(CustomQuery customQuery, QueryParameters queryParameters)
 			throws HibernateException {
 		checkOpen();
+		executePendingStatements();
 		CustomLoader loader = new CustomLoader( customQuery, getFactory() );
 
 		boolean success = false;
@@ -588,6 +670,7 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 	public ScrollableResultsImplementor scrollCustomQuery(CustomQuery customQuery, QueryParameters queryParameters)
 			throws HibernateException {
 		checkOpen();
+		executePendingStatements();
 		CustomLoader loader = new CustomLoader( customQuery, getFactory() );
 		return loader.scroll( queryParameters, this );
 	}
@@ -595,6 +678,7 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 	@Override
 	public ScrollableResultsImplementor scroll(String query, QueryParameters queryParameters) throws HibernateException {
 		checkOpen();
+		executePendingStatements();
 		HQLQueryPlan plan = getQueryPlan( query, false );
 		return plan.performScroll( queryParameters, this );
 	}
@@ -618,6 +702,7 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 			NativeSQLQuerySpecification nativeSQLQuerySpecification,
 			QueryParameters queryParameters) throws HibernateException {
 		checkOpen();
+		executePendingStatements();
 		queryParameters.validateParameters();
 		NativeSQLQueryPlan plan = getNativeQueryPlan( nativeSQLQuerySpecification );
 
@@ -646,6 +731,8 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 
 	@Override
 	public void afterTransactionCompletion(boolean successful, boolean delayed) {
+		// statements still pending were rolled back along with the transaction
+		pendingStatements.clear();
 		if ( shouldAutoClose() && !isClosed() ) {
 			managedClose();
 		}
@@ -0,0 +1,44 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util;
+
+/**
+ * Helper for arithmetic used by the core.
+ */
+public final class MathHelper {
+
+	private MathHelper() { /* static methods only - hide constructor */
+	}
+
+	/**
+	 * Returns the smallest power of two which is greater than or equal to the given value.
+	 *
+	 * @param value The value; must be positive
+	 *
+	 * @return The smallest power of two greater than or equal to {@code value}
+	 */
+	public static int ceilingPowerOfTwo(int value) {
+		if ( value < 1 ) {
+			throw new IllegalArgumentException( "Value must be positive : " + value );
+		}
+		return value == 1 ? 1 : Integer.highestOneBit( value - 1 ) << 1;
+	}
+
+	/**
+	 * Returns the smallest power of two which is greater than or equal to the given value, unless that
+	 * exceeds the given limit, in which case the limit is returned.
+	 *
+	 * @param value The value; must be positive
+	 * @param limit The limit; zero or less meaning no limit
+	 *
+	 * @return The smallest power of two greater than or equal to {@code value}, capped at {@code limit}
+	 */
+	public static int ceilingPowerOfTwo(int value, int limit) {
+		final int ceiling = ceilingPowerOfTwo( value );
+		return limit > 0 && ceiling > limit ? Math.max( value, limit ) : ceiling;
+	}
+}
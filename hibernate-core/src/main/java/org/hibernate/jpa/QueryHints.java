@@ -21,6 +21,7 @@ import static org.hibernate.annotations.QueryHints.LOADGRAPH;
 import static org.hibernate.annotations.QueryHints.NATIVE_LOCKMODE;
 import static org.hibernate.annotations.QueryHints.PASS_DISTINCT_THROUGH;
 import static org.hibernate.annotations.QueryHints.READ_ONLY;
+import static org.hibernate.annotations.QueryHints.STREAM_EVICTION;
 import static org.hibernate.annotations.QueryHints.TIMEOUT_HIBERNATE;
 import static org.hibernate.annotations.QueryHints.TIMEOUT_JPA;
 
@@ -105,6 +106,12 @@ public class QueryHints {
 
 	public static final String HINT_PASS_DISTINCT_THROUGH = PASS_DISTINCT_THROUGH;
 
+	/**
+	 * The hint key for specifying that the entities returned by {@link org.hibernate.query.Query#stream()} should
+	 * be evicted from the persistence context once the stream advances past them.
+	 */
+	public static final String HINT_STREAM_EVICTION = STREAM_EVICTION;
+
 	private static final Set<String> HINTS = buildHintsSet();
 
 	private static Set<String> buildHintsSet() {
@@ -121,6 +128,7 @@ public class QueryHints {
 		hints.add( HINT_NATIVE_LOCKMODE );
 		hints.add( HINT_FETCHGRAPH );
 		hints.add( HINT_LOADGRAPH );
+		hints.add( HINT_STREAM_EVICTION );
 		return java.util.Collections.unmodifiableSet( hints );
 	}
 
@@ -14,6 +14,7 @@ import org.hibernate.engine.spi.Status;
 import org.hibernate.event.internal.DefaultFlushEntityEventListener;
 import org.hibernate.jpa.event.spi.CallbackRegistryConsumer;
 import org.hibernate.jpa.event.spi.CallbackRegistry;
+import org.hibernate.jpa.event.spi.CallbackType;
 import org.hibernate.metadata.ClassMetadata;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.type.Type;
@@ -39,6 +40,11 @@ public class JpaFlushEntityEventListener extends DefaultFlushEntityEventListener
 		this.callbackRegistry = callbackRegistry;
 	}
 
+	@Override
+	public boolean mayChangeStateBeforeDirtyCheck(EntityPersister persister) {
+		return callbackRegistry.hasRegisteredCallbacks( persister.getMappedClass(), CallbackType.PRE_UPDATE );
+	}
+
 	@Override
 	protected boolean invokeInterceptor(
 			SessionImplementor session,
@@ -0,0 +1,115 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.loader;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import org.hibernate.dialect.pagination.LimitHelper;
+import org.hibernate.engine.spi.RowSelection;
+
+/**
+ * Works out the JDBC fetch size of the statements of a {@link Loader} from the number of rows its previous
+ * executions read, the maximum number of rows of the query, and a memory budget per statement: reports then
+ * fetch as many rows per round trip as the budget allows, while the other queries keep a small fetch size.
+ * <p/>
+ * The fetch size never adapts below the global {@code hibernate.jdbc.fetch_size}, or below
+ * {@value #MINIMUM_FETCH_SIZE} when there is none: a query which once read no rows must not fetch its next
+ * large results one row per round trip.
+ * <p/>
+ * The loader is shared by the executions of its query, which update the observations here without
+ * synchronization: a lost update only delays the adaptation.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#ADAPTIVE_STATEMENT_FETCH_SIZE
+ */
+final class AdaptiveFetchSize {
+	private static final int UNKNOWN = -1;
+	// the width reported for large or unbounded columns, which most drivers do not fetch inline anyway
+	private static final int MAX_COLUMN_WIDTH = 1024;
+	// a rough allowance for the representation of each value by the driver
+	private static final int COLUMN_OVERHEAD = 16;
+	// the lowest fetch size without a global one, the default of the drivers which do not fetch all rows at once
+	private static final int MINIMUM_FETCH_SIZE = 10;
+
+	private final int memoryBudget;
+	private final int minimumFetchSize;
+
+	private volatile int expectedRows = UNKNOWN;
+	private volatile int rowWidth = UNKNOWN;
+
+	/**
+	 * @param memoryBudget The number of bytes the rows fetched at once should take at most
+	 * @param globalFetchSize The fetch size configured for all statements, if any
+	 */
+	AdaptiveFetchSize(int memoryBudget, Integer globalFetchSize) {
+		this.memoryBudget = memoryBudget;
+		this.minimumFetchSize = globalFetchSize != null && globalFetchSize > 0 ? globalFetchSize : MINIMUM_FETCH_SIZE;
+	}
+
+	/**
+	 * The fetch size of the next execution.
+	 *
+	 * @param selection The row selection of the execution, if any
+	 *
+	 * @return The fetch size, or {@code null} if nothing is known yet about the results
+	 */
+	Integer getFetchSize(RowSelection selection) {
+		final int width = rowWidth;
+		if ( width == UNKNOWN ) {
+			// without the width of the rows, not even the maximum number of rows is safe within the budget
+			return null;
+		}
+		int rows = expectedRows;
+		if ( rows != UNKNOWN ) {
+			// one more row, so that the driver learns that the results are exhausted within the same round trip
+			rows = rows == Integer.MAX_VALUE ? rows : rows + 1;
+		}
+		if ( LimitHelper.hasMaxRows( selection ) ) {
+			rows = rows == UNKNOWN ? selection.getMaxRows() : Math.min( rows, selection.getMaxRows() );
+		}
+		if ( rows == UNKNOWN ) {
+			return null;
+		}
+		return Math.max( Math.min( rows, memoryBudget / width ), minimumFetchSize );
+	}
+
+	/**
+	 * Records the number of rows an execution read.  The expected number of rows follows any increase
+	 * immediately, to avoid repeated round trips as the results grow, and decays slowly.
+	 *
+	 * @param rows The number of rows
+	 */
+	void rowsRead(int rows) {
+		final int expected = expectedRows;
+		if ( expected == UNKNOWN || rows >= expected ) {
+			expectedRows = rows;
+		}
+		else {
+			expectedRows = (int) ( ( 3L * expected + rows ) / 4 );
+		}
+	}
+
+	boolean isRowWidthKnown() {
+		return rowWidth != UNKNOWN;
+	}
+
+	/**
+	 * Estimates the width of the rows of the results, from the display size of their columns.
+	 *
+	 * @param metaData The metadata of the results
+	 *
+	 * @throws SQLException Indicates a problem reading the metadata
+	 */
+	void resultsDescribed(ResultSetMetaData metaData) throws SQLException {
+		long width = 0;
+		for ( int i = 1; i <= metaData.getColumnCount(); i++ ) {
+			final int displaySize = metaData.getColumnDisplaySize( i );
+			width += COLUMN_OVERHEAD + ( displaySize <= 0 ? MAX_COLUMN_WIDTH : Math.min( displaySize, MAX_COLUMN_WIDTH ) );
+		}
+		rowWidth = (int) Math.max( 1, Math.min( width, Integer.MAX_VALUE ) );
+	}
+}
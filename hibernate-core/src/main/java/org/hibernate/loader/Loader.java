@@ -108,12 +108,19 @@ public abstract class Loader {
 	private volatile ColumnNameCache columnNameCache;
 
 	private final boolean referenceCachingEnabled;
+	private final AdaptiveFetchSize adaptiveFetchSize;
 
 	private boolean isJdbc4 = true;
 
 	public Loader(SessionFactoryImplementor factory) {
 		this.factory = factory;
 		this.referenceCachingEnabled = factory.getSessionFactoryOptions().isDirectReferenceCacheEntriesEnabled();
+		this.adaptiveFetchSize = factory.getSessionFactoryOptions().isAdaptiveJdbcFetchSizeEnabled()
+				? new AdaptiveFetchSize(
+						factory.getSessionFactoryOptions().getJdbcFetchSizeMemoryBudget(),
+						factory.getSessionFactoryOptions().getJdbcFetchSize()
+				)
+				: null;
 	}
 
 	/**
@@ -1007,6 +1014,9 @@ public abstract class Loader {
 		}
 
 		LOG.tracev( "Done processing result set ({0} rows)", count );
+		if ( adaptiveFetchSize != null ) {
+			adaptiveFetchSize.rowsRead( count );
+		}
 
 		initializeEntitiesAndCollections(
 				hydratedObjects,
@@ -2012,6 +2022,12 @@ public abstract class Loader {
 					st.setFetchSize( selection.getFetchSize() );
 				}
 			}
+			if ( adaptiveFetchSize != null && ( selection == null || selection.getFetchSize() == null ) ) {
+				final Integer fetchSize = adaptiveFetchSize.getFetchSize( selection );
+				if ( fetchSize != null ) {
+					st.setFetchSize( fetchSize );
+				}
+			}
 
 			// handle lock timeout...
 			LockOptions lockOptions = queryParameters.getLockOptions();
@@ -2206,6 +2222,10 @@ public abstract class Loader {
 	) throws SQLException, HibernateException {
 		rs = wrapResultSetIfEnabled( rs, session );
 
+		if ( adaptiveFetchSize != null && !adaptiveFetchSize.isRowWidthKnown() ) {
+			adaptiveFetchSize.resultsDescribed( rs.getMetaData() );
+		}
+
 		if ( !limitHandler.supportsLimitOffset() || !LimitHelper.useLimit( limitHandler, selection ) ) {
 			advance( rs, selection );
 		}
@@ -2701,11 +2721,11 @@ public abstract class Loader {
 
 		if ( stats ) {
 			final long endTime = System.nanoTime();
-			final long milliseconds = TimeUnit.MILLISECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS );
 			getFactory().getStatistics().queryExecuted(
 					getQueryIdentifier(),
 					result.size(),
-					milliseconds
+					endTime - startTime,
+					TimeUnit.NANOSECONDS
 			);
 		}
 
@@ -2776,11 +2796,11 @@ public abstract class Loader {
 
 			if ( stats ) {
 				final long endTime = System.nanoTime();
-				final long milliseconds = TimeUnit.MILLISECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS );
 				getFactory().getStatistics().queryExecuted(
 						getQueryIdentifier(),
 						0,
-						milliseconds
+						endTime - startTime,
+						TimeUnit.NANOSECONDS
 				);
 			}
 
@@ -14,11 +14,13 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.dialect.pagination.LimitHelper;
 import org.hibernate.engine.internal.BatchFetchQueueHelper;
+import org.hibernate.engine.spi.BatchFetchQueue;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.LoadQueryInfluencers;
@@ -155,21 +157,29 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 			LockOptions lockOptions,
 			OuterJoinLoadable persister,
 			SharedSessionContractImplementor session) {
-		final int batchSize =  idsInBatch.size();
+		// the entities are read from the persistence context once loaded
+		final Serializable[] idsInBatchArray = loadFromSecondLevelCache(
+				persister,
+				idsInBatch.toArray( new Serializable[ idsInBatch.size() ] ),
+				lockOptions,
+				session,
+				null
+		);
+		idsInBatch.clear();
+		if ( idsInBatchArray.length == 0 ) {
+			return;
+		}
+
 		final DynamicEntityLoader batchingLoader = new DynamicEntityLoader(
 				persister,
-				batchSize,
+				idsInBatchArray.length,
 				lockOptions,
 				session.getFactory(),
 				session.getLoadQueryInfluencers()
 		);
 
-		final Serializable[] idsInBatchArray = idsInBatch.toArray( new Serializable[ idsInBatch.size() ] );
-
 		QueryParameters qp = buildMultiLoadQueryParameters( persister, idsInBatchArray, lockOptions );
 		batchingLoader.doEntityBatchFetch( session, qp, idsInBatchArray );
-
-		idsInBatch.clear();
 	}
 
 	@SuppressWarnings("unchecked")
@@ -245,19 +255,23 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 		int idPosition = 0;
 		while ( numberOfIdsLeft > 0 ) {
 			int batchSize =  Math.min( numberOfIdsLeft, maxBatchSize );
-			final DynamicEntityLoader batchingLoader = new DynamicEntityLoader(
-					persister,
-					batchSize,
-					lockOptions,
-					session.getFactory(),
-					session.getLoadQueryInfluencers()
-			);
 
 			Serializable[] idsInBatch = new Serializable[batchSize];
 			System.arraycopy( ids, idPosition, idsInBatch, 0, batchSize );
+			idsInBatch = loadFromSecondLevelCache( persister, idsInBatch, lockOptions, session, result );
+
+			if ( idsInBatch.length > 0 ) {
+				final DynamicEntityLoader batchingLoader = new DynamicEntityLoader(
+						persister,
+						idsInBatch.length,
+						lockOptions,
+						session.getFactory(),
+						session.getLoadQueryInfluencers()
+				);
 
-			QueryParameters qp = buildMultiLoadQueryParameters( persister, idsInBatch, lockOptions );
-			result.addAll( batchingLoader.doEntityBatchFetch( session, qp, idsInBatch ) );
+				QueryParameters qp = buildMultiLoadQueryParameters( persister, idsInBatch, lockOptions );
+				result.addAll( batchingLoader.doEntityBatchFetch( session, qp, idsInBatch ) );
+			}
 
 			numberOfIdsLeft = numberOfIdsLeft - batchSize;
 			idPosition += batchSize;
@@ -266,6 +280,52 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 		return result;
 	}
 
+	/**
+	 * Loads the entities of a batch which are found in the second-level cache, reading the cache with a single
+	 * region call.
+	 *
+	 * @param loadedEntities The list to add the entities loaded from the cache to, or null
+	 *
+	 * @return The identifiers of the entities which remain to be loaded from the database
+	 */
+	@SuppressWarnings("unchecked")
+	private static Serializable[] loadFromSecondLevelCache(
+			OuterJoinLoadable persister,
+			Serializable[] ids,
+			LockOptions lockOptions,
+			SharedSessionContractImplementor session,
+			List loadedEntities) {
+		if ( !lockOptions.getLockMode().lessThan( LockMode.READ ) ) {
+			return ids;
+		}
+
+		final BatchFetchQueue batchFetchQueue = session.getPersistenceContext().getBatchFetchQueue();
+		try {
+			final Set<EntityKey> cachedKeys = batchFetchQueue.prefetchCacheEntries( persister, Arrays.asList( ids ) );
+			if ( cachedKeys.isEmpty() ) {
+				return ids;
+			}
+
+			final Serializable[] idsToLoad = Arrays.copyOf( ids, ids.length );
+			int numberOfIdsToLoad = 0;
+			for ( Serializable id : ids ) {
+				if ( cachedKeys.contains( session.generateEntityKey( id, persister ) ) ) {
+					final Object entity = session.internalLoad( persister.getEntityName(), id, true, true );
+					if ( loadedEntities != null && entity != null ) {
+						loadedEntities.add( entity );
+					}
+				}
+				else {
+					idsToLoad[numberOfIdsToLoad++] = id;
+				}
+			}
+			return Arrays.copyOf( idsToLoad, numberOfIdsToLoad );
+		}
+		finally {
+			batchFetchQueue.clearPrefetchedCacheEntries();
+		}
+	}
+
 	public static QueryParameters buildMultiLoadQueryParameters(
 			OuterJoinLoadable persister,
 			Serializable[] ids,
@@ -544,12 +544,12 @@ public class QueryLoader extends BasicLoader {
 
 			if ( stats ) {
 				final long endTime = System.nanoTime();
-				final long milliseconds = TimeUnit.MILLISECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS );
 				session.getFactory().getStatistics().queryExecuted(
 //						"HQL: " + queryTranslator.getQueryString(),
 						getQueryIdentifier(),
 						0,
-						milliseconds
+						endTime - startTime,
+						TimeUnit.NANOSECONDS
 				);
 			}
 
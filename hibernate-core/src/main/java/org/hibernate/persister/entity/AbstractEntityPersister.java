@@ -42,6 +42,7 @@ import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
+import org.hibernate.cache.spi.entry.CompactCacheEntry;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StructuredCacheEntry;
@@ -56,6 +57,7 @@ import org.hibernate.engine.internal.MutableEntityEntryFactory;
 import org.hibernate.engine.internal.StatefulPersistenceContext;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.batch.internal.MultiRowInsertBatchKey;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.spi.CachedNaturalIdValueSource;
@@ -921,8 +923,12 @@ public abstract class AbstractEntityPersister
 			return new ReferenceCacheEntryHelper( this );
 		}
 
-		return factory.getSessionFactoryOptions().isStructuredCacheEntriesEnabled()
-				? new StructuredCacheEntryHelper( this )
+		if ( factory.getSessionFactoryOptions().isStructuredCacheEntriesEnabled() ) {
+			return new StructuredCacheEntryHelper( this );
+		}
+
+		return factory.getSessionFactoryOptions().isCompactCacheEntriesEnabled()
+				? new CompactCacheEntryHelper( this )
 				: new StandardCacheEntryHelper( this );
 	}
 
@@ -3017,6 +3023,18 @@ public abstract class AbstractEntityPersister
 
 	private BasicBatchKey inserBatchKey;
 
+	/**
+	 * Custom insert SQL cannot be combined into multi-row inserts.
+	 */
+	private boolean hasCustomSQLInsert() {
+		for ( int j = 0; j < customSQLInsert.length; j++ ) {
+			if ( customSQLInsert[j] != null || insertCallable[j] ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Perform an SQL INSERT.
 	 * <p/>
@@ -3054,10 +3072,9 @@ public abstract class AbstractEntityPersister
 		final int jdbcBatchSizeToUse = session.getConfiguredJdbcBatchSize();
 		final boolean useBatch = expectation.canBeBatched() && jdbcBatchSizeToUse > 1;
 		if ( useBatch && inserBatchKey == null) {
-			inserBatchKey = new BasicBatchKey(
-					getEntityName() + "#INSERT",
-					expectation
-			);
+			inserBatchKey = hasCustomSQLInsert()
+					? new BasicBatchKey( getEntityName() + "#INSERT", expectation )
+					: new MultiRowInsertBatchKey( getEntityName() + "#INSERT", expectation );
 		}
 		final boolean callable = isInsertCallable( j );
 
@@ -4313,6 +4330,66 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	/**
+	 * Locate the property-indices of all properties considered to be dirty, given the dirtiness of
+	 * some of them determined ahead by {@link #findDirtyConcurrently}.
+	 *
+	 * @param currentState The current state of the entity.
+	 * @param previousState The snapshot of the entity.
+	 * @param dirtiness The dirtiness already determined, per property.
+	 * @param entity The entity for which we are checking state dirtiness.
+	 * @param session The session in which the check is occurring.
+	 *
+	 * @return <tt>null</tt> or the indices of the dirty properties
+	 *
+	 * @throws HibernateException
+	 */
+	public int[] findDirty(
+			Object[] currentState,
+			Object[] previousState,
+			Boolean[] dirtiness,
+			Object entity,
+			SharedSessionContractImplementor session) throws HibernateException {
+		int[] props = TypeHelper.findDirty(
+				entityMetamodel.getProperties(),
+				currentState,
+				previousState,
+				propertyColumnUpdateable,
+				dirtiness,
+				session
+		);
+		if ( props == null ) {
+			return null;
+		}
+		else {
+			logDirtyProperties( props );
+			return props;
+		}
+	}
+
+	/**
+	 * Determine the dirtiness of the properties which may be compared to the snapshot without the
+	 * persistence context, typically on another thread than the one of the session.
+	 *
+	 * @param currentState The current state of the entity.
+	 * @param previousState The snapshot of the entity.
+	 * @param session The session in which the check is occurring.
+	 *
+	 * @return Whether each property is dirty, or null for the properties left to {@link #findDirty}
+	 */
+	public Boolean[] findDirtyConcurrently(
+			Object[] currentState,
+			Object[] previousState,
+			SharedSessionContractImplementor session) {
+		return TypeHelper.findDirtyConcurrently(
+				entityMetamodel.getProperties(),
+				currentState,
+				previousState,
+				propertyColumnUpdateable,
+				session
+		);
+	}
+
 	/**
 	 * Locate the property-indices of all properties considered to be dirty.
 	 *
@@ -5450,6 +5527,32 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	private static class CompactCacheEntryHelper implements CacheEntryHelper {
+		private final EntityPersister persister;
+		private final CompactCacheEntry structure;
+
+		private CompactCacheEntryHelper(EntityPersister persister) {
+			this.persister = persister;
+			this.structure = new CompactCacheEntry( persister );
+		}
+
+		@Override
+		public CacheEntryStructure getCacheEntryStructure() {
+			return structure;
+		}
+
+		@Override
+		public CacheEntry buildCacheEntry(Object entity, Object[] state, Object version, SharedSessionContractImplementor session) {
+			return new StandardCacheEntryImpl(
+					state,
+					persister,
+					version,
+					session,
+					entity
+			);
+		}
+	}
+
 	private static class NoopCacheEntryHelper implements CacheEntryHelper {
 		public static final NoopCacheEntryHelper INSTANCE = new NoopCacheEntryHelper();
 
@@ -99,12 +99,45 @@ public interface Query<R> extends TypedQuery<R>, org.hibernate.Query<R>, CommonQ
 	 * You should call {@link java.util.stream.Stream#close()} after processing the stream
 	 * so that the underlying resources are deallocated right away.
 	 *
+	 * <p>
+	 *
+	 * Setting the {@link org.hibernate.annotations.QueryHints#STREAM_EVICTION} hint evicts the
+	 * entities loaded for each result from the session once the stream advances to the next one.
+	 *
 	 * @return The results Stream
 	 *
 	 * @since 5.2
 	 */
 	Stream<R> stream();
 
+	/**
+	 * Retrieve a parallel Stream over the query results, read concurrently by ranges of the identifiers
+	 * of the root entity of the query.
+	 * <p/>
+	 * The range between the lowest and the highest identifier of the root entity is split into (at least)
+	 * the given number of partitions, split further on demand by the fork-join pool of the stream.  Each
+	 * partition executes the query restricted to its range through its own
+	 * {@link org.hibernate.StatelessSession}, and thus its own JDBC connection: the returned entities are
+	 * detached, and the changes not yet flushed by the session of this query are not seen.
+	 * <p/>
+	 * Only HQL queries over a single root entity with an integral identifier can be partitioned; this
+	 * method returns the sequential {@link #stream()} for any other query, as well as for queries which
+	 * group, aggregate or select distinct results, queries with a limit, a first result, a lock mode or an
+	 * entity graph hint, or when filters are enabled.
+	 *
+	 * <p>
+	 *
+	 * You should call {@link java.util.stream.Stream#close()} after processing the stream
+	 * so that the underlying sessions are closed right away.
+	 *
+	 * @param partitions The number of ranges to split the identifiers into
+	 *
+	 * @return The results Stream
+	 *
+	 * @since 5.3
+	 */
+	Stream<R> parallelStream(int partitions);
+
 	Query<R> setParameter(Parameter<Instant> param, Instant value, TemporalType temporalType);
 
 	Query<R> setParameter(Parameter<LocalDateTime> param, LocalDateTime value, TemporalType temporalType);
@@ -88,6 +88,11 @@ public class CriteriaQueryTypeQueryAdapter<X> implements QueryImplementor<X> {
 		return jpqlQuery.stream();
 	}
 
+	@Override
+	public Stream<X> parallelStream(int partitions) {
+		return jpqlQuery.parallelStream( partitions );
+	}
+
 	@Override
 	public List<X> list() {
 		return jpqlQuery.list();
@@ -178,9 +178,13 @@ public class InPredicate<T>
 		// render the parenthesis here if the values represent an explicit value list
 		boolean isInSubqueryPredicate = getValues().size() == 1
 				&& Subquery.class.isInstance( getValues().get( 0 ) );
+		final String parameterList;
 		if ( isInSubqueryPredicate ) {
 			buffer.append( ( (Renderable) getValues().get(0) ).render( renderingContext ) );
 		}
+		else if ( ( parameterList = renderAsParameterList( renderingContext ) ) != null ) {
+			buffer.append( '(' ).append( parameterList ).append( ')' );
+		}
 		else {
 			buffer.append( '(' );
 			String sep = "";
@@ -193,4 +197,52 @@ public class InPredicate<T>
 		}
 		return buffer.toString();
 	}
+
+	/**
+	 * With IN clause parameter padding enabled, literal values which would each be bound to a parameter of their
+	 * own are bound to a single collection-valued parameter instead, so that the parameter list gets padded when
+	 * expanded.
+	 *
+	 * @return The rendered parameter, or {@code null} if the values are not all bound literals of the same type
+	 */
+	private String renderAsParameterList(RenderingContext renderingContext) {
+		if ( getValues().size() < 2 ) {
+			return null;
+		}
+		final SessionFactoryImplementor sfi = criteriaBuilder().getEntityManagerFactory().unwrap( SessionFactoryImplementor.class );
+		if ( !sfi.getSessionFactoryOptions().isInClauseParameterPaddingEnabled() ) {
+			return null;
+		}
+
+		final List<Object> literals = new ArrayList<>( getValues().size() );
+		Class javaType = null;
+		for ( Expression value : getValues() ) {
+			if ( !LiteralExpression.class.equals( value.getClass() ) ) {
+				return null;
+			}
+			final Object literal = ( (LiteralExpression) value ).getLiteral();
+			if ( literal == null || !isBoundLiteral( literal, renderingContext ) ) {
+				return null;
+			}
+			if ( javaType == null ) {
+				javaType = value.getJavaType();
+			}
+			else if ( !javaType.equals( value.getJavaType() ) ) {
+				return null;
+			}
+			literals.add( literal );
+		}
+		return ':' + renderingContext.registerLiteralParameterBinding( literals, javaType );
+	}
+
+	private static boolean isBoundLiteral(Object literal, RenderingContext renderingContext) {
+		switch ( renderingContext.getCriteriaLiteralHandlingMode() ) {
+			case AUTO:
+				return !ValueHandlerFactory.isNumeric( literal );
+			case BIND:
+				return true;
+			default:
+				return false;
+		}
+	}
 }
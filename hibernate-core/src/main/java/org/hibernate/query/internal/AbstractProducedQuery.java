@@ -54,6 +54,7 @@ import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.RowSelection;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.spi.TypedValue;
+import org.hibernate.event.spi.EventSource;
 import org.hibernate.hql.internal.QueryExecutionRequestException;
 import org.hibernate.internal.EmptyScrollableResults;
 import org.hibernate.internal.EntityManagerMessageLogger;
@@ -98,6 +99,7 @@ import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
 import static org.hibernate.jpa.QueryHints.HINT_FOLLOW_ON_LOCKING;
 import static org.hibernate.jpa.QueryHints.HINT_LOADGRAPH;
 import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+import static org.hibernate.jpa.QueryHints.HINT_STREAM_EVICTION;
 import static org.hibernate.jpa.QueryHints.HINT_TIMEOUT;
 import static org.hibernate.jpa.QueryHints.SPEC_HINT_TIMEOUT;
 
@@ -133,6 +135,7 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 	private String optionalEntityName;
 
 	private Boolean passDistinctThrough;
+	private boolean streamEviction;
 
 	public AbstractProducedQuery(
 			SharedSessionContractImplementor producer,
@@ -992,6 +995,10 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 			hints.put( HINT_READONLY, true );
 		}
 
+		if ( streamEviction ) {
+			hints.put( HINT_STREAM_EVICTION, true );
+		}
+
 		if ( entityGraphQueryHint != null ) {
 			hints.put( entityGraphQueryHint.getHintName(), entityGraphQueryHint.getOriginEntityGraph() );
 		}
@@ -1094,6 +1101,9 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 			else if ( QueryHints.HINT_PASS_DISTINCT_THROUGH.equals( hintName ) ) {
 				applied = applyPassDistinctThrough( ConfigurationHelper.getBoolean( value ) );
 			}
+			else if ( HINT_STREAM_EVICTION.equals( hintName ) ) {
+				applied = applyStreamEvictionHint( ConfigurationHelper.getBoolean( value ) );
+			}
 			else {
 				MSG_LOGGER.ignoringUnrecognizedQueryHint( hintName );
 			}
@@ -1298,6 +1308,18 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 		return true;
 	}
 
+	/**
+	 * Apply the stream eviction (true/false) hint.
+	 *
+	 * @param streamEviction Whether {@link #stream()} evicts the entities it returns once it advances past them
+	 *
+	 * @return {@code true} if the hint was "applied"
+	 */
+	protected boolean applyStreamEvictionHint(boolean streamEviction) {
+		this.streamEviction = streamEviction;
+		return true;
+	}
+
 	/**
 	 * Is the query represented here a native (SQL) query?
 	 *
@@ -1480,8 +1502,16 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 			final Spliterator<R> spliterator = Spliterators.emptySpliterator();
 			return StreamSupport.stream( spliterator, false );
 		}
-		final ScrollableResultsImplementor scrollableResults = scroll( ScrollMode.FORWARD_ONLY );
-		final ScrollableResultsIterator<R> iterator = new ScrollableResultsIterator<>( scrollableResults );
+		final ScrollableResultsImplementor scrollableResults;
+		final ScrollableResultsIterator<R> iterator;
+		if ( streamEviction && getProducer() instanceof EventSource ) {
+			scrollableResults = scrollWithStreamFetchSize();
+			iterator = new EvictingScrollableResultsIterator<>( scrollableResults, (EventSource) getProducer() );
+		}
+		else {
+			scrollableResults = scroll( ScrollMode.FORWARD_ONLY );
+			iterator = new ScrollableResultsIterator<>( scrollableResults );
+		}
 		final Spliterator<R> spliterator = Spliterators.spliteratorUnknownSize( iterator, Spliterator.NONNULL );
 
 		final Stream<R> stream = StreamSupport.stream( spliterator, false );
@@ -1490,6 +1520,52 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 		return stream;
 	}
 
+	@Override
+	public Stream<R> parallelStream(int partitions) {
+		if ( partitions > 1
+				&& !isNativeQuery()
+				&& queryOptions.getMaxRows() == null
+				&& ( queryOptions.getFirstRow() == null || queryOptions.getFirstRow() == 0 )
+				&& getLockOptions().getLockMode() == LockMode.NONE
+				&& getLockOptions().getAliasLockCount() == 0
+				&& entityGraphQueryHint == null
+				&& !getProducer().getLoadQueryInfluencers().hasEnabledFilters() ) {
+			beforeQuery();
+			try {
+				final String query = getQueryParameterBindings().expandListValuedParameters( getQueryString(), getProducer() );
+				final Stream<R> stream = IdRangeSpliterator.stream(
+						getProducer(),
+						query,
+						makeQueryParametersForExecution( query ),
+						partitions
+				);
+				if ( stream != null ) {
+					return stream;
+				}
+			}
+			finally {
+				afterQuery();
+			}
+		}
+		return stream();
+	}
+
+	private ScrollableResultsImplementor scrollWithStreamFetchSize() {
+		final int streamFetchSize = getProducer().getJdbcServices().getDialect().getStreamFetchSize();
+		if ( queryOptions.getFetchSize() != null
+				|| getProducer().getFactory().getSessionFactoryOptions().getJdbcFetchSize() != null
+				|| streamFetchSize <= 0 ) {
+			return scroll( ScrollMode.FORWARD_ONLY );
+		}
+		queryOptions.setFetchSize( streamFetchSize );
+		try {
+			return scroll( ScrollMode.FORWARD_ONLY );
+		}
+		finally {
+			queryOptions.setFetchSize( null );
+		}
+	}
+
 	@Override
 	public Optional<R> uniqueResultOptional() {
 		return Optional.ofNullable( uniqueResult() );
@@ -0,0 +1,100 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.query.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.engine.internal.StatefulPersistenceContext;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.event.internal.DefaultEvictEventListener;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.internal.util.collections.IdentitySet;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.query.spi.ScrollableResultsImplementor;
+
+/**
+ * A {@link ScrollableResultsIterator} which evicts the entities and proxies added to the session by each row once
+ * it advances to the next row, along with their collections.  The keys they queued for batch and subselect fetching
+ * are removed from the batch fetch queue at the same time.
+ * <p/>
+ * The entities and proxies the session already managed when the stream was opened are kept, along with their
+ * pending changes: the eviction does not cascade to them.
+ *
+ * @see org.hibernate.annotations.QueryHints#STREAM_EVICTION
+ */
+class EvictingScrollableResultsIterator<T> extends ScrollableResultsIterator<T> {
+	private static final DefaultEvictEventListener EVICTION = new DefaultEvictEventListener();
+
+	private final EventSource session;
+	private final Set managedBefore;
+	private boolean advanced;
+
+	EvictingScrollableResultsIterator(ScrollableResultsImplementor scrollableResults, EventSource session) {
+		super( scrollableResults );
+		this.session = session;
+		this.managedBefore = managedEntitiesAndProxies( session.getPersistenceContext() );
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( advanced ) {
+			evictAddedSinceOpened();
+			advanced = false;
+		}
+		return super.hasNext();
+	}
+
+	@Override
+	public T next() {
+		final T next = super.next();
+		advanced = true;
+		return next;
+	}
+
+	private void evictAddedSinceOpened() {
+		if ( session.isClosed() ) {
+			return;
+		}
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		for ( Map.Entry<Object, EntityEntry> entry : persistenceContext.reentrantSafeEntityEntries() ) {
+			if ( !managedBefore.contains( entry.getKey() ) ) {
+				EVICTION.evictWithoutCascade( entry.getKey(), session );
+			}
+		}
+		for ( Object proxy : proxies( persistenceContext ) ) {
+			if ( !managedBefore.contains( proxy ) ) {
+				final LazyInitializer initializer = ( (HibernateProxy) proxy ).getHibernateLazyInitializer();
+				if ( initializer.isUninitialized() || !managedBefore.contains( initializer.getImplementation() ) ) {
+					EVICTION.evictWithoutCascade( proxy, session );
+				}
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Set managedEntitiesAndProxies(PersistenceContext persistenceContext) {
+		final Map.Entry<Object, EntityEntry>[] entries = persistenceContext.reentrantSafeEntityEntries();
+		final List<Object> proxies = proxies( persistenceContext );
+		final Set managed = new IdentitySet( entries.length + proxies.size() );
+		for ( Map.Entry<Object, EntityEntry> entry : entries ) {
+			managed.add( entry.getKey() );
+		}
+		managed.addAll( proxies );
+		return managed;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Object> proxies(PersistenceContext persistenceContext) {
+		// copied, as evicting a proxy removes it from the persistence context
+		return new ArrayList<>( ( (StatefulPersistenceContext) persistenceContext ).getProxiesByKey().values() );
+	}
+}
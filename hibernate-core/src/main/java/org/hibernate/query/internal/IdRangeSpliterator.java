@@ -0,0 +1,411 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.query.internal;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.spi.TypedValue;
+import org.hibernate.hql.internal.ast.QueryTranslatorImpl;
+import org.hibernate.hql.internal.ast.tree.AggregateNode;
+import org.hibernate.hql.internal.ast.tree.CountNode;
+import org.hibernate.hql.internal.ast.tree.FromElement;
+import org.hibernate.hql.internal.ast.tree.QueryNode;
+import org.hibernate.hql.spi.QueryTranslator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.spi.ScrollableResultsImplementor;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.ShortType;
+import org.hibernate.type.Type;
+
+import org.jboss.logging.Logger;
+
+import antlr.collections.AST;
+
+/**
+ * A {@link Spliterator} over the results of an HQL query restricted to a range of identifiers of its root entity,
+ * which splits by halving its range.  Each range is read through its own {@link org.hibernate.StatelessSession},
+ * and thus its own JDBC connection, opened when the range is first advanced: the ranges a parallel stream forks to
+ * the fork-join pool are read concurrently.
+ *
+ * @see org.hibernate.query.Query#parallelStream(int)
+ */
+final class IdRangeSpliterator<T> implements Spliterator<T> {
+	private static final Logger log = Logger.getLogger( IdRangeSpliterator.class );
+
+	static final String START_PARAMETER = "hibernatePartitionStart";
+	static final String END_PARAMETER = "hibernatePartitionEnd";
+
+	private final Partitioning partitioning;
+	// both inclusive
+	private long start;
+	private final long end;
+
+	private SharedSessionContractImplementor session;
+	private boolean transactionStarted;
+	private ScrollableResultsImplementor results;
+	private boolean exhausted;
+
+	private IdRangeSpliterator(Partitioning partitioning, long start, long end) {
+		this.partitioning = partitioning;
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * Builds a parallel stream over the results of a query, split into ranges of the identifiers of its root entity.
+	 *
+	 * @param producer The session executing the query, used to read the bounds of the identifiers
+	 * @param hql The query, with its list valued parameters expanded
+	 * @param parameters The parameters of the query
+	 * @param partitions The number of ranges to split the identifiers into, at least
+	 *
+	 * @return The stream, or {@code null} if the query cannot be split by the identifiers of its root entity
+	 */
+	static <T> Stream<T> stream(
+			SharedSessionContractImplementor producer,
+			String hql,
+			QueryParameters parameters,
+			int partitions) {
+		final SessionFactoryImplementor factory = producer.getFactory();
+		final HQLQueryPlan plan = factory.getQueryPlanCache().getHQLQueryPlan( hql, false, Collections.emptyMap() );
+		final QueryTranslator[] translators = plan.getTranslators();
+		if ( translators.length != 1
+				|| !( translators[0] instanceof QueryTranslatorImpl )
+				|| translators[0].isManipulationStatement()
+				|| !( ( (QueryTranslatorImpl) translators[0] ).getSqlAST() instanceof QueryNode ) ) {
+			return null;
+		}
+		final QueryNode query = (QueryNode) ( (QueryTranslatorImpl) translators[0] ).getSqlAST();
+		if ( query.getSelectClause().isDistinct() || containsAggregate( query.getSelectClause().getFirstChild() ) ) {
+			// each range would only see part of the rows combined into a result
+			return null;
+		}
+		final FromElement root = query.getFromClause().getFromElement();
+		final EntityPersister persister = root.getEntityPersister();
+		if ( persister == null || !isIntegral( persister.getIdentifierType() ) ) {
+			return null;
+		}
+
+		final String idName = persister.getIdentifierPropertyName() == null
+				? EntityPersister.ENTITY_ID
+				: persister.getIdentifierPropertyName();
+		final String restricted = restrictToRange(
+				hql,
+				root.getClassAlias() == null ? idName : root.getClassAlias() + '.' + idName
+		);
+		if ( restricted == null ) {
+			return null;
+		}
+
+		final Object[] bounds = (Object[]) producer.createQuery(
+				"select min(e." + idName + "), max(e." + idName + ") from " + persister.getEntityName() + " e"
+		).uniqueResult();
+		if ( bounds[0] == null ) {
+			return StreamSupport.stream( Spliterators.emptySpliterator(), true );
+		}
+		final long min = ( (Number) bounds[0] ).longValue();
+		final long max = ( (Number) bounds[1] ).longValue();
+
+		final Partitioning partitioning = new Partitioning(
+				producer,
+				restricted,
+				parameters,
+				persister.getIdentifierType(),
+				Long.divideUnsigned( max - min, partitions )
+		);
+		final Stream<T> stream = StreamSupport.stream( new IdRangeSpliterator<>( partitioning, min, max ), true );
+		stream.onClose( partitioning::close );
+		return stream;
+	}
+
+	private static boolean containsAggregate(AST node) {
+		for ( AST child = node; child != null; child = child.getNextSibling() ) {
+			if ( child instanceof AggregateNode
+					|| child instanceof CountNode
+					|| containsAggregate( child.getFirstChild() ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isIntegral(Type idType) {
+		return idType instanceof LongType || idType instanceof IntegerType || idType instanceof ShortType;
+	}
+
+	/**
+	 * Restricts a query to the rows of its root entity whose identifier falls within the range given by the
+	 * {@value #START_PARAMETER} and {@value #END_PARAMETER} parameters.
+	 *
+	 * @param hql The query
+	 * @param idPath The path to the identifier of the root entity
+	 *
+	 * @return The restricted query, or {@code null} if it could not be parsed or groups its rows
+	 */
+	static String restrictToRange(String hql, String idPath) {
+		final String restriction = idPath + " between :" + START_PARAMETER + " and :" + END_PARAMETER;
+		final int length = hql.length();
+		int where = -1;
+		int end = length;
+		int depth = 0;
+		for ( int i = 0; i < length; i++ ) {
+			final char c = hql.charAt( i );
+			if ( c == '\'' ) {
+				// a quote escaped as '' reads as two consecutive literals
+				i = hql.indexOf( '\'', i + 1 );
+				if ( i < 0 ) {
+					return null;
+				}
+			}
+			else if ( c == '(' ) {
+				depth++;
+			}
+			else if ( c == ')' ) {
+				depth--;
+			}
+			else if ( Character.isJavaIdentifierStart( c ) ) {
+				int wordEnd = i + 1;
+				while ( wordEnd < length && Character.isJavaIdentifierPart( hql.charAt( wordEnd ) ) ) {
+					wordEnd++;
+				}
+				if ( depth == 0 && ( i == 0 || hql.charAt( i - 1 ) != '.' ) ) {
+					if ( where < 0 && wordEnd - i == 5 && hql.regionMatches( true, i, "where", 0, 5 ) ) {
+						where = wordEnd;
+					}
+					else if ( isClauseStart( hql, i, wordEnd, "group" ) ) {
+						return null;
+					}
+					else if ( isClauseStart( hql, i, wordEnd, "order" ) ) {
+						end = i;
+						break;
+					}
+				}
+				i = wordEnd - 1;
+			}
+		}
+		if ( depth != 0 ) {
+			return null;
+		}
+
+		final String tail = end < length ? ' ' + hql.substring( end ) : "";
+		if ( where < 0 ) {
+			return hql.substring( 0, end ).trim() + " where " + restriction + tail;
+		}
+		return hql.substring( 0, where ) + " (" + hql.substring( where, end ).trim() + ") and " + restriction + tail;
+	}
+
+	private static boolean isClauseStart(String hql, int wordStart, int wordEnd, String keyword) {
+		if ( wordEnd - wordStart != keyword.length() || !hql.regionMatches( true, wordStart, keyword, 0, wordEnd - wordStart ) ) {
+			return false;
+		}
+		int next = wordEnd;
+		while ( next < hql.length() && Character.isWhitespace( hql.charAt( next ) ) ) {
+			next++;
+		}
+		return next > wordEnd
+				&& hql.regionMatches( true, next, "by", 0, 2 )
+				&& ( next + 2 == hql.length() || !Character.isJavaIdentifierPart( hql.charAt( next + 2 ) ) );
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		if ( results != null || exhausted || Long.compareUnsigned( end - start, partitioning.minimumSpan ) <= 0 ) {
+			return null;
+		}
+		final long middle = start + ( ( end - start ) >>> 1 );
+		final IdRangeSpliterator<T> prefix = new IdRangeSpliterator<>( partitioning, start, middle );
+		start = middle + 1;
+		return prefix;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if ( exhausted ) {
+			return false;
+		}
+		final Object[] row;
+		try {
+			if ( results == null ) {
+				open();
+			}
+			if ( !results.next() ) {
+				close();
+				return false;
+			}
+			row = results.get();
+		}
+		catch (RuntimeException e) {
+			close();
+			throw e;
+		}
+		action.accept( (T) ( row.length == 1 ? row[0] : row ) );
+		return true;
+	}
+
+	private void open() {
+		session = (SharedSessionContractImplementor) partitioning.factory.withStatelessOptions()
+				.tenantIdentifier( partitioning.tenantIdentifier )
+				.openStatelessSession();
+		partitioning.opened.add( this );
+		if ( !session.getTransactionCoordinator().getTransactionCoordinatorBuilder().isJta() ) {
+			session.beginTransaction();
+			transactionStarted = true;
+		}
+		results = session.scroll( partitioning.hql, partitioning.parameters( start, end ) );
+	}
+
+	synchronized void close() {
+		exhausted = true;
+		if ( session == null ) {
+			return;
+		}
+		try {
+			if ( results != null ) {
+				results.close();
+			}
+			if ( transactionStarted ) {
+				session.getTransaction().commit();
+			}
+		}
+		catch (Exception e) {
+			log.warn( "Unable to end the transaction of the session used to read a partition of a query", e );
+		}
+		finally {
+			try {
+				session.close();
+			}
+			catch (Exception e) {
+				log.warn( "Unable to close the session used to read a partition of a query", e );
+			}
+			session = null;
+			results = null;
+			partitioning.opened.remove( this );
+		}
+	}
+
+	@Override
+	public long estimateSize() {
+		final long size = end - start + 1;
+		return exhausted ? 0 : size > 0 ? size : Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		return NONNULL;
+	}
+
+	/**
+	 * The state shared by the spliterators of the ranges of a query.
+	 */
+	private static final class Partitioning {
+		private final SessionFactoryImplementor factory;
+		private final String tenantIdentifier;
+		private final String hql;
+		private final QueryParameters template;
+		private final Type idType;
+		private final Integer fetchSize;
+		private final long minimumSpan;
+		private final Set<IdRangeSpliterator<?>> opened = ConcurrentHashMap.newKeySet();
+
+		private Partitioning(
+				SharedSessionContractImplementor producer,
+				String hql,
+				QueryParameters template,
+				Type idType,
+				long minimumSpan) {
+			this.factory = producer.getFactory();
+			this.tenantIdentifier = producer.getTenantIdentifier();
+			this.hql = hql;
+			this.template = template;
+			this.idType = idType;
+			this.minimumSpan = minimumSpan;
+
+			final Integer queryFetchSize = template.getRowSelection() == null
+					? null
+					: template.getRowSelection().getFetchSize();
+			final int streamFetchSize = producer.getJdbcServices().getDialect().getStreamFetchSize();
+			if ( queryFetchSize == null
+					&& factory.getSessionFactoryOptions().getJdbcFetchSize() == null
+					&& streamFetchSize > 0 ) {
+				this.fetchSize = streamFetchSize;
+			}
+			else {
+				this.fetchSize = queryFetchSize;
+			}
+		}
+
+		private QueryParameters parameters(long start, long end) {
+			final Map<String, TypedValue> namedParameters = template.getNamedParameters() == null
+					? new HashMap<>()
+					: new HashMap<>( template.getNamedParameters() );
+			namedParameters.put( START_PARAMETER, new TypedValue( idType, toId( start ) ) );
+			namedParameters.put( END_PARAMETER, new TypedValue( idType, toId( end ) ) );
+
+			final RowSelection selection = new RowSelection();
+			selection.setFetchSize( fetchSize );
+			if ( template.getRowSelection() != null ) {
+				selection.setTimeout( template.getRowSelection().getTimeout() );
+			}
+
+			final QueryParameters parameters = new QueryParameters(
+					template.getPositionalParameterTypes(),
+					template.getPositionalParameterValues(),
+					namedParameters,
+					template.getLockOptions(),
+					selection,
+					false,
+					false,
+					false,
+					null,
+					template.getComment(),
+					template.getQueryHints(),
+					null,
+					null,
+					null,
+					null,
+					template.getResultTransformer()
+			);
+			parameters.setScrollMode( ScrollMode.FORWARD_ONLY );
+			parameters.setPassDistinctThrough( template.isPassDistinctThrough() );
+			return parameters;
+		}
+
+		private Serializable toId(long value) {
+			if ( idType instanceof IntegerType ) {
+				return (int) value;
+			}
+			if ( idType instanceof ShortType ) {
+				return (short) value;
+			}
+			return value;
+		}
+
+		private void close() {
+			for ( IdRangeSpliterator<?> spliterator : opened ) {
+				spliterator.close();
+			}
+		}
+	}
+}
@@ -6,10 +6,13 @@
  */
 package org.hibernate.query.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -29,6 +32,7 @@ import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.spi.TypedValue;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.MathHelper;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
@@ -512,18 +516,18 @@ public class QueryParameterBindingsImpl implements QueryParameterBindings {
 		// 		Fully expect the details of how this is handled in 6.0
 
 		// HHH-1123
-		// Some DBs limit number of IN expressions.  For now, warn...
+		// Some DBs limit number of IN expressions.  When padding, the IN predicate is split into groups
+		//		respecting that limit where possible; otherwise, warn...
 		final Dialect dialect = session.getFactory().getServiceRegistry().getService( JdbcServices.class ).getJdbcEnvironment().getDialect();
 		final int inExprLimit = dialect.getInExpressionCountLimit();
+		final boolean inClauseParameterPaddingEnabled = session.getFactory()
+				.getSessionFactoryOptions()
+				.isInClauseParameterPaddingEnabled();
 
 		for ( Map.Entry<QueryParameter, QueryParameterListBinding> entry : parameterListBindingMap.entrySet() ) {
 			final QueryParameter sourceParam = entry.getKey();
 			final Collection bindValues = entry.getValue().getBindValues();
 
-			if ( inExprLimit > 0 && bindValues.size() > inExprLimit ) {
-				log.tooManyInExpressions( dialect.getClass().getName(), inExprLimit, sourceParam.getName(), bindValues.size() );
-			}
-
 			final String sourceToken;
 			if ( sourceParam instanceof NamedParameterDescriptor ) {
 				sourceToken = ":" + NamedParameterDescriptor.class.cast( sourceParam ).getName();
@@ -556,45 +560,36 @@ public class QueryParameterBindingsImpl implements QueryParameterBindings {
 				continue;
 			}
 
-			StringBuilder expansionList = new StringBuilder();
-
-			int i = 0;
-			for ( Object bindValue : entry.getValue().getBindValues() ) {
-				if ( i > 0 ) {
-					expansionList.append( ", " );
-				}
-
-				// for each value in the bound list-of-values we:
-				//		1) create a synthetic named parameter
-				//		2) expand the queryString to include each synthetic named param in place of the original
-				//		3) create a new synthetic binding for just that single value under the synthetic name
-				final String syntheticName;
-				if ( sourceParam instanceof NamedParameterDescriptor ) {
-					syntheticName = NamedParameterDescriptor.class.cast( sourceParam ).getName() + '_' + i;
+			if ( inClauseParameterPaddingEnabled && !bindValues.isEmpty() ) {
+				// split into groups of at most inExprLimit values when we can locate the IN predicate...
+				final InListPredicate predicate = inExprLimit > 0 && bindValues.size() > inExprLimit && isEnclosedInParens
+						? InListPredicate.locate( beforePlaceholder, afterPlaceholder )
+						: null;
+				if ( predicate != null ) {
+					queryString = predicate.expand(
+							expandListValuedParameter( sourceParam, entry.getValue(), inExprLimit, inExprLimit )
+					);
+					continue;
 				}
-				else {
-					syntheticName = "x" + OrdinalParameterDescriptor.class.cast( sourceParam ).getPosition() + '_' + i;
-				}
-
-				expansionList.append( ":" ).append( syntheticName );
-
-				final QueryParameter syntheticParam = new NamedParameterDescriptor(
-						syntheticName,
-						sourceParam.getType(),
-						sourceParam.getSourceLocations()
-				);
+			}
 
-				final QueryParameterBinding syntheticBinding = makeBinding( entry.getValue().getBindType() );
-				syntheticBinding.setBindValue( bindValue );
-				parameterBindingMap.put( syntheticParam, syntheticBinding );
-				i++;
+			if ( inExprLimit > 0 && bindValues.size() > inExprLimit ) {
+				log.tooManyInExpressions( dialect.getClass().getName(), inExprLimit, sourceParam.getName(), bindValues.size() );
 			}
 
+			// ...otherwise (if padding at all) pad the expansion as a single group
+			final String expansionList = expandListValuedParameter(
+					sourceParam,
+					entry.getValue(),
+					Integer.MAX_VALUE,
+					inClauseParameterPaddingEnabled ? Math.max( inExprLimit, 0 ) : -1
+			).get( 0 );
+
 			queryString = StringHelper.replace(
 					beforePlaceholder,
 					afterPlaceholder,
 					sourceToken,
-					expansionList.toString(),
+					expansionList,
 					true,
 					true
 			);
@@ -606,4 +601,208 @@ public class QueryParameterBindingsImpl implements QueryParameterBindings {
 
 		return queryString;
 	}
+
+	/**
+	 * Expands the given list binding into synthetic single-valued parameters, split into groups of at most
+	 * {@code groupSize} parameters.
+	 *
+	 * @param paddingLimit When positive, the number of parameters of the last group is padded to the next power
+	 * of two (but no more than {@code paddingLimit}) by repeating the last value, so that lists of varying size
+	 * result in a limited number of distinct query strings.  Zero means padding without limit; a negative value
+	 * means no padding.
+	 *
+	 * @return The comma-separated synthetic parameter placeholders of each group
+	 */
+	@SuppressWarnings("unchecked")
+	private List<String> expandListValuedParameter(
+			QueryParameter sourceParam,
+			QueryParameterListBinding listBinding,
+			int groupSize,
+			int paddingLimit) {
+		final Collection bindValues = listBinding.getBindValues();
+		final int bindValueCount = bindValues.size();
+
+		int syntheticParameterCount = bindValueCount;
+		if ( paddingLimit >= 0 && bindValueCount > 0 ) {
+			final int lastGroupCount = bindValueCount - ( ( bindValueCount - 1 ) / groupSize ) * groupSize;
+			syntheticParameterCount += MathHelper.ceilingPowerOfTwo( lastGroupCount, paddingLimit ) - lastGroupCount;
+		}
+
+		final List<String> groups = new ArrayList<>();
+		StringBuilder expansionList = new StringBuilder();
+
+		final Iterator bindValueIterator = bindValues.iterator();
+		Object bindValue = null;
+		for ( int i = 0; i < syntheticParameterCount; i++ ) {
+			if ( i > 0 && i % groupSize == 0 ) {
+				groups.add( expansionList.toString() );
+				expansionList = new StringBuilder();
+			}
+			else if ( i > 0 ) {
+				expansionList.append( ", " );
+			}
+
+			// padding repeats the last value
+			if ( bindValueIterator.hasNext() ) {
+				bindValue = bindValueIterator.next();
+			}
+
+			// for each value in the bound list-of-values we:
+			//		1) create a synthetic named parameter
+			//		2) expand the queryString to include each synthetic named param in place of the original
+			//		3) create a new synthetic binding for just that single value under the synthetic name
+			final String syntheticName;
+			if ( sourceParam instanceof NamedParameterDescriptor ) {
+				syntheticName = NamedParameterDescriptor.class.cast( sourceParam ).getName() + '_' + i;
+			}
+			else {
+				syntheticName = "x" + OrdinalParameterDescriptor.class.cast( sourceParam ).getPosition() + '_' + i;
+			}
+
+			expansionList.append( ":" ).append( syntheticName );
+
+			final QueryParameter syntheticParam = new NamedParameterDescriptor(
+					syntheticName,
+					sourceParam.getType(),
+					sourceParam.getSourceLocations()
+			);
+
+			final QueryParameterBinding syntheticBinding = makeBinding( listBinding.getBindType() );
+			syntheticBinding.setBindValue( bindValue );
+			parameterBindingMap.put( syntheticParam, syntheticBinding );
+		}
+		groups.add( expansionList.toString() );
+
+		return groups;
+	}
+
+	/**
+	 * The textual {@code <expression> [not] in (<placeholder>)} predicate surrounding a list-valued parameter
+	 * placeholder, which can be rewritten into OR'ed (or, when negated, AND'ed) IN predicates over the same
+	 * expression.
+	 */
+	private static class InListPredicate {
+		private static final String[] BOOLEAN_CONTEXT_KEYWORDS = { "where", "having", "on", "when", "and", "or", "not" };
+
+		private final String beforePredicate;
+		private final String expression;
+		private final boolean negated;
+		private final String afterPredicate;
+
+		private InListPredicate(String beforePredicate, String expression, boolean negated, String afterPredicate) {
+			this.beforePredicate = beforePredicate;
+			this.expression = expression;
+			this.negated = negated;
+			this.afterPredicate = afterPredicate;
+		}
+
+		/**
+		 * Locate the IN predicate enclosing the placeholder, which must be enclosed in parentheses.
+		 *
+		 * @return The predicate, or {@code null} if the text before the placeholder is not recognized as a
+		 * simple expression followed by {@code [not] in (}, in a boolean context: the expression must be a
+		 * path or a parenthesized expression or function call, and follow {@code where}, {@code having},
+		 * {@code on}, {@code when}, {@code and}, {@code or}, {@code not} or an opening parenthesis.  Otherwise,
+		 * as in {@code e.a + 1 in (:list)}, the IN predicate may not be the whole operand of the enclosing
+		 * operator.
+		 */
+		private static InListPredicate locate(String beforePlaceholder, String afterPlaceholder) {
+			int position = beforePlaceholder.lastIndexOf( '(' );
+
+			position = skipWhitespaceBackwards( beforePlaceholder, position );
+			if ( !endsWithKeyword( beforePlaceholder, position, "in" ) ) {
+				return null;
+			}
+			position -= 2;
+
+			final int beforeNot = skipWhitespaceBackwards( beforePlaceholder, position );
+			final boolean negated = endsWithKeyword( beforePlaceholder, beforeNot, "not" );
+			if ( negated ) {
+				position = beforeNot - 3;
+			}
+
+			final int expressionEnd = skipWhitespaceBackwards( beforePlaceholder, position );
+			int expressionStart = expressionEnd;
+			if ( expressionStart > 0 && beforePlaceholder.charAt( expressionStart - 1 ) == ')' ) {
+				// a parenthesized expression or function call
+				int depth = 0;
+				do {
+					expressionStart--;
+					final char c = beforePlaceholder.charAt( expressionStart );
+					if ( c == ')' ) {
+						depth++;
+					}
+					else if ( c == '(' ) {
+						depth--;
+					}
+				} while ( depth > 0 && expressionStart > 0 );
+				if ( depth > 0 ) {
+					return null;
+				}
+			}
+			while ( expressionStart > 0 && isExpressionPart( beforePlaceholder.charAt( expressionStart - 1 ) ) ) {
+				expressionStart--;
+			}
+
+			final String expression = beforePlaceholder.substring( expressionStart, expressionEnd );
+			if ( expression.isEmpty() || expression.indexOf( ':' ) >= 0 || expression.indexOf( '?' ) >= 0 ) {
+				// parameters must not be repeated
+				return null;
+			}
+			if ( !isBooleanContext( beforePlaceholder, skipWhitespaceBackwards( beforePlaceholder, expressionStart ) ) ) {
+				return null;
+			}
+
+			return new InListPredicate(
+					beforePlaceholder.substring( 0, expressionStart ),
+					expression,
+					negated,
+					afterPlaceholder.substring( afterPlaceholder.indexOf( ')' ) + 1 )
+			);
+		}
+
+		private static int skipWhitespaceBackwards(String string, int end) {
+			while ( end > 0 && Character.isWhitespace( string.charAt( end - 1 ) ) ) {
+				end--;
+			}
+			return end;
+		}
+
+		private static boolean endsWithKeyword(String string, int end, String keyword) {
+			final int start = end - keyword.length();
+			return start > 0
+					&& string.regionMatches( true, start, keyword, 0, keyword.length() )
+					&& Character.isWhitespace( string.charAt( start - 1 ) );
+		}
+
+		private static boolean isBooleanContext(String string, int end) {
+			if ( end > 0 && string.charAt( end - 1 ) == '(' ) {
+				return true;
+			}
+			for ( String keyword : BOOLEAN_CONTEXT_KEYWORDS ) {
+				if ( endsWithKeyword( string, end, keyword ) ) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static boolean isExpressionPart(char c) {
+			return Character.isJavaIdentifierPart( c ) || c == '.';
+		}
+
+		private String expand(List<String> expansionGroups) {
+			final StringBuilder buffer = new StringBuilder( beforePredicate ).append( '(' );
+			for ( int i = 0; i < expansionGroups.size(); i++ ) {
+				if ( i > 0 ) {
+					buffer.append( negated ? " and " : " or " );
+				}
+				buffer.append( expression )
+						.append( negated ? " not in (" : " in (" )
+						.append( expansionGroups.get( i ) )
+						.append( ')' );
+			}
+			return buffer.append( ')' ).append( afterPredicate ).toString();
+		}
+	}
 }
@@ -123,6 +123,38 @@ public interface Statistics {
      */
 	long getQueryCachePutCount();
 
+	/**
+	 * Get the global number of query plans successfully retrieved from the
+	 * {@link org.hibernate.engine.query.spi.QueryPlanCache}, or zero if not recorded
+	 */
+	default long getQueryPlanCacheHitCount() {
+		return 0;
+	}
+
+	/**
+	 * Get the global number of query plans *not* found in the
+	 * {@link org.hibernate.engine.query.spi.QueryPlanCache}, and thus compiled, or zero if not recorded
+	 */
+	default long getQueryPlanCacheMissCount() {
+		return 0;
+	}
+
+	/**
+	 * Get the global number of query plans evicted from the
+	 * {@link org.hibernate.engine.query.spi.QueryPlanCache} to make room for others, or zero if not recorded
+	 */
+	default long getQueryPlanCacheEvictionCount() {
+		return 0;
+	}
+
+	/**
+	 * Get the overall time in milliseconds spent compiling query plans
+	 * which were not found in the {@link org.hibernate.engine.query.spi.QueryPlanCache}, or zero if not recorded
+	 */
+	default long getQueryPlanCompileTime() {
+		return 0;
+	}
+
 	/**
 	 * Get the global number of naturalId queries executed against the database
 	 */
@@ -296,4 +328,73 @@ public interface Statistics {
 	 * that occurred
 	 */
 	long getOptimisticFailureCount();
+
+	/**
+	 * Get the execution time of all queries, in milliseconds, below which the given percentage of executions
+	 * completed.  Only available from statistics recording latency histograms, such as those built by
+	 * {@link org.hibernate.stat.internal.HistogramStatisticsFactory}.
+	 *
+	 * @param percentile The percentage, between 0 and 100, such as 99.9
+	 *
+	 * @return The execution time, or a negative value if latency histograms are not recorded
+	 */
+	default double getQueryExecutionTimePercentile(double percentile) {
+		return -1;
+	}
+
+	/**
+	 * Get the execution time of a query, in milliseconds, below which the given percentage of its executions
+	 * completed.
+	 *
+	 * @param queryString query string (HQL or SQL)
+	 * @param percentile The percentage, between 0 and 100, such as 99.9
+	 *
+	 * @return The execution time, or a negative value if latency histograms are not recorded
+	 *
+	 * @see #getQueryExecutionTimePercentile(double)
+	 */
+	default double getQueryExecutionTimePercentile(String queryString, double percentile) {
+		return -1;
+	}
+
+	/**
+	 * Get the time, in milliseconds, below which the given percentage of entity loads by identifier completed.
+	 *
+	 * @param percentile The percentage, between 0 and 100, such as 99.9
+	 *
+	 * @return The load time, or a negative value if latency histograms are not recorded
+	 *
+	 * @see #getQueryExecutionTimePercentile(double)
+	 */
+	default double getEntityLoadTimePercentile(double percentile) {
+		return -1;
+	}
+
+	/**
+	 * Get the time, in milliseconds, below which the given percentage of loads by identifier of an entity
+	 * completed.
+	 *
+	 * @param entityName entity name
+	 * @param percentile The percentage, between 0 and 100, such as 99.9
+	 *
+	 * @return The load time, or a negative value if latency histograms are not recorded
+	 *
+	 * @see #getQueryExecutionTimePercentile(double)
+	 */
+	default double getEntityLoadTimePercentile(String entityName, double percentile) {
+		return -1;
+	}
+
+	/**
+	 * Get the time, in milliseconds, below which the given percentage of flushes completed.
+	 *
+	 * @param percentile The percentage, between 0 and 100, such as 99.9
+	 *
+	 * @return The flush time, or a negative value if latency histograms are not recorded
+	 *
+	 * @see #getQueryExecutionTimePercentile(double)
+	 */
+	default double getFlushTimePercentile(double percentile) {
+		return -1;
+	}
 }
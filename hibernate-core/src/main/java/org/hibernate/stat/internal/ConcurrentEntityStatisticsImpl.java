@@ -6,7 +6,7 @@
  */
 package org.hibernate.stat.internal;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.hibernate.stat.EntityStatistics;
 
@@ -21,35 +21,35 @@ public class ConcurrentEntityStatisticsImpl extends CategorizedStatistics implem
 		super(name);
 	}
 
-	private	AtomicLong loadCount			  =	new	AtomicLong();
-	private	AtomicLong updateCount			  =	new	AtomicLong();
-	private	AtomicLong insertCount			  =	new	AtomicLong();
-	private	AtomicLong deleteCount			  =	new	AtomicLong();
-	private	AtomicLong fetchCount			  =	new	AtomicLong();
-	private	AtomicLong optimisticFailureCount =	new	AtomicLong();
+	private	LongAdder loadCount			  =	new	LongAdder();
+	private	LongAdder updateCount			  =	new	LongAdder();
+	private	LongAdder insertCount			  =	new	LongAdder();
+	private	LongAdder deleteCount			  =	new	LongAdder();
+	private	LongAdder fetchCount			  =	new	LongAdder();
+	private	LongAdder optimisticFailureCount =	new	LongAdder();
 
 	public long getDeleteCount() {
-		return deleteCount.get();
+		return deleteCount.sum();
 	}
 
 	public long getInsertCount() {
-		return insertCount.get();
+		return insertCount.sum();
 	}
 
 	public long getLoadCount() {
-		return loadCount.get();
+		return loadCount.sum();
 	}
 
 	public long getUpdateCount() {
-		return updateCount.get();
+		return updateCount.sum();
 	}
 
 	public long getFetchCount() {
-		return fetchCount.get();
+		return fetchCount.sum();
 	}
 
 	public long getOptimisticFailureCount() {
-		return optimisticFailureCount.get();
+		return optimisticFailureCount.sum();
 	}
 
 	public String toString() {
@@ -66,26 +66,26 @@ public class ConcurrentEntityStatisticsImpl extends CategorizedStatistics implem
 	}
 
 	void incrementLoadCount() {
-		loadCount.getAndIncrement();
+		loadCount.increment();
 	}
 
 	void incrementFetchCount() {
-		fetchCount.getAndIncrement();
+		fetchCount.increment();
 	}
 
 	void incrementUpdateCount() {
-		updateCount.getAndIncrement();
+		updateCount.increment();
 	}
 
 	void incrementInsertCount() {
-		insertCount.getAndIncrement();
+		insertCount.increment();
 	}
 
 	void incrementDeleteCount() {
-		deleteCount.getAndIncrement();
+		deleteCount.increment();
 	}
 
 	void incrementOptimisticFailureCount() {
-		optimisticFailureCount.getAndIncrement();
+		optimisticFailureCount.increment();
 	}
 }
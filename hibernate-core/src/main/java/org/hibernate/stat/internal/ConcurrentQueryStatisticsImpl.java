@@ -7,9 +7,7 @@
 package org.hibernate.stat.internal;
 
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.hibernate.stat.QueryStatistics;
 
@@ -21,23 +19,14 @@ import org.hibernate.stat.QueryStatistics;
  * @author Alex Snaps
  */
 public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics implements QueryStatistics {
-	private final AtomicLong cacheHitCount = new AtomicLong();
-	private final AtomicLong cacheMissCount = new AtomicLong();
-	private final AtomicLong cachePutCount = new AtomicLong();
-	private final AtomicLong executionCount = new AtomicLong();
-	private final AtomicLong executionRowCount = new AtomicLong();
+	private final LongAdder cacheHitCount = new LongAdder();
+	private final LongAdder cacheMissCount = new LongAdder();
+	private final LongAdder cachePutCount = new LongAdder();
+	private final LongAdder executionCount = new LongAdder();
+	private final LongAdder executionRowCount = new LongAdder();
 	private final AtomicLong executionMaxTime = new AtomicLong();
 	private final AtomicLong executionMinTime = new AtomicLong(Long.MAX_VALUE);
-	private final AtomicLong totalExecutionTime = new AtomicLong();
-
-	private final Lock readLock;
-	private final Lock writeLock;
-
-	{
-		ReadWriteLock lock = new ReentrantReadWriteLock();
-		readLock = lock.readLock();
-		writeLock = lock.writeLock();
-	}
+	private final LongAdder totalExecutionTime = new LongAdder();
 
 	ConcurrentQueryStatisticsImpl(String query) {
 		super(query);
@@ -47,22 +36,22 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	 * queries executed to the DB
 	 */
 	public long getExecutionCount() {
-		return executionCount.get();
+		return executionCount.sum();
 	}
 
 	/**
 	 * Queries retrieved successfully from the cache
 	 */
 	public long getCacheHitCount() {
-		return cacheHitCount.get();
+		return cacheHitCount.sum();
 	}
 
 	public long getCachePutCount() {
-		return cachePutCount.get();
+		return cachePutCount.sum();
 	}
 
 	public long getCacheMissCount() {
-		return cacheMissCount.get();
+		return cacheMissCount.sum();
 	}
 
 	/**
@@ -75,7 +64,7 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	 *         is not known at execution time.
 	 */
 	public long getExecutionRowCount() {
-		return executionRowCount.get();
+		return executionRowCount.sum();
 	}
 
 	/**
@@ -89,21 +78,10 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	 * average time in ms as double taken by the execution of this query onto the DB
 	 */
 	public double getExecutionAvgTimeAsDouble() {
-		// We write lock here to be sure that we always calculate the average time
-		// with all updates from the executed applied: executionCount and totalExecutionTime
-		// both used in the calculation
-		writeLock.lock();
-		try {
-			double avgExecutionTime = 0;
-			if ( executionCount.get() > 0 ) {
-				avgExecutionTime = totalExecutionTime.get() / (double) executionCount
-						.get();
-			}
-			return avgExecutionTime;
-		}
-		finally {
-			writeLock.unlock();
-		}
+		// the total time and the count are not read atomically, so that executions never contend with each
+		// other; an execution completing concurrently may be accounted in one but not yet in the other
+		final long count = executionCount.sum();
+		return count > 0 ? totalExecutionTime.sum() / (double) count : 0;
 	}
 
 	/**
@@ -124,7 +102,7 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	 * total time in ms taken by the execution of this query onto the DB
 	 */
 	public long getExecutionTotalTime() {
-		return totalExecutionTime.get();
+		return totalExecutionTime.sum();
 	}
 
 	/**
@@ -134,20 +112,12 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	 * @param time time taken
 	 */
 	void executed(long rows, long time) {
-		// read lock is enough, concurrent updates are supported by the underlying type AtomicLong
-		// this only guards executed(long, long) to be called, when another thread is executing getExecutionAvgTime()
-		readLock.lock();
-		try {
-			// Less chances for a context switch
-			for (long old = executionMinTime.get(); (time < old) && !executionMinTime.compareAndSet(old, time); old = executionMinTime.get()) {}
-			for (long old = executionMaxTime.get(); (time > old) && !executionMaxTime.compareAndSet(old, time); old = executionMaxTime.get()) {}
-			executionCount.getAndIncrement();
-			executionRowCount.addAndGet(rows);
-			totalExecutionTime.addAndGet(time);
-		}
-		finally {
-			readLock.unlock();
-		}
+		// the min and max are only written when they change
+		for (long old = executionMinTime.get(); (time < old) && !executionMinTime.compareAndSet(old, time); old = executionMinTime.get()) {}
+		for (long old = executionMaxTime.get(); (time > old) && !executionMaxTime.compareAndSet(old, time); old = executionMaxTime.get()) {}
+		executionCount.increment();
+		executionRowCount.add(rows);
+		totalExecutionTime.add(time);
 	}
 
 	public String toString() {
@@ -164,14 +134,14 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	}
 
 	void incrementCacheHitCount() {
-		cacheHitCount.getAndIncrement();
+		cacheHitCount.increment();
 	}
 
 	void incrementCacheMissCount() {
-		cacheMissCount.getAndIncrement();
+		cacheMissCount.increment();
 	}
 
 	void incrementCachePutCount() {
-		cachePutCount.getAndIncrement();
+		cachePutCount.increment();
 	}
 }
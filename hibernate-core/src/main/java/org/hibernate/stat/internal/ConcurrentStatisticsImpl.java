@@ -8,7 +8,9 @@ package org.hibernate.stat.internal;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.hibernate.cache.spi.QueryCache;
 import org.hibernate.cache.spi.Region;
@@ -36,51 +38,56 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 
 	private volatile boolean isStatisticsEnabled;
 	private volatile long startTime;
-	private AtomicLong sessionOpenCount = new AtomicLong();
-	private AtomicLong sessionCloseCount = new AtomicLong();
-	private AtomicLong flushCount = new AtomicLong();
-	private AtomicLong connectCount = new AtomicLong();
-
-	private AtomicLong prepareStatementCount = new AtomicLong();
-	private AtomicLong closeStatementCount = new AtomicLong();
-
-	private AtomicLong entityLoadCount = new AtomicLong();
-	private AtomicLong entityUpdateCount = new AtomicLong();
-	private AtomicLong entityInsertCount = new AtomicLong();
-	private AtomicLong entityDeleteCount = new AtomicLong();
-	private AtomicLong entityFetchCount = new AtomicLong();
-	private AtomicLong collectionLoadCount = new AtomicLong();
-	private AtomicLong collectionUpdateCount = new AtomicLong();
-	private AtomicLong collectionRemoveCount = new AtomicLong();
-	private AtomicLong collectionRecreateCount = new AtomicLong();
-	private AtomicLong collectionFetchCount = new AtomicLong();
-
-	private AtomicLong secondLevelCacheHitCount = new AtomicLong();
-	private AtomicLong secondLevelCacheMissCount = new AtomicLong();
-	private AtomicLong secondLevelCachePutCount = new AtomicLong();
+	private LongAdder sessionOpenCount = new LongAdder();
+	private LongAdder sessionCloseCount = new LongAdder();
+	private LongAdder flushCount = new LongAdder();
+	private LongAdder connectCount = new LongAdder();
+
+	private LongAdder prepareStatementCount = new LongAdder();
+	private LongAdder closeStatementCount = new LongAdder();
+
+	private LongAdder entityLoadCount = new LongAdder();
+	private LongAdder entityUpdateCount = new LongAdder();
+	private LongAdder entityInsertCount = new LongAdder();
+	private LongAdder entityDeleteCount = new LongAdder();
+	private LongAdder entityFetchCount = new LongAdder();
+	private LongAdder collectionLoadCount = new LongAdder();
+	private LongAdder collectionUpdateCount = new LongAdder();
+	private LongAdder collectionRemoveCount = new LongAdder();
+	private LongAdder collectionRecreateCount = new LongAdder();
+	private LongAdder collectionFetchCount = new LongAdder();
+
+	private LongAdder secondLevelCacheHitCount = new LongAdder();
+	private LongAdder secondLevelCacheMissCount = new LongAdder();
+	private LongAdder secondLevelCachePutCount = new LongAdder();
 	
-	private AtomicLong naturalIdCacheHitCount = new AtomicLong();
-	private AtomicLong naturalIdCacheMissCount = new AtomicLong();
-	private AtomicLong naturalIdCachePutCount = new AtomicLong();
-	private AtomicLong naturalIdQueryExecutionCount = new AtomicLong();
+	private LongAdder naturalIdCacheHitCount = new LongAdder();
+	private LongAdder naturalIdCacheMissCount = new LongAdder();
+	private LongAdder naturalIdCachePutCount = new LongAdder();
+	private LongAdder naturalIdQueryExecutionCount = new LongAdder();
 	private AtomicLong naturalIdQueryExecutionMaxTime = new AtomicLong();
 	private volatile String naturalIdQueryExecutionMaxTimeRegion;
 	
-	private AtomicLong queryExecutionCount = new AtomicLong();
+	private LongAdder queryExecutionCount = new LongAdder();
 	private AtomicLong queryExecutionMaxTime = new AtomicLong();
 	private volatile String queryExecutionMaxTimeQueryString;
-	private AtomicLong queryCacheHitCount = new AtomicLong();
-	private AtomicLong queryCacheMissCount = new AtomicLong();
-	private AtomicLong queryCachePutCount = new AtomicLong();
+	private LongAdder queryCacheHitCount = new LongAdder();
+	private LongAdder queryCacheMissCount = new LongAdder();
+	private LongAdder queryCachePutCount = new LongAdder();
 
-	private AtomicLong updateTimestampsCacheHitCount = new AtomicLong();
-	private AtomicLong updateTimestampsCacheMissCount = new AtomicLong();
-	private AtomicLong updateTimestampsCachePutCount = new AtomicLong();
+	private LongAdder queryPlanCacheHitCount = new LongAdder();
+	private LongAdder queryPlanCacheMissCount = new LongAdder();
+	private LongAdder queryPlanCacheEvictionCount = new LongAdder();
+	private LongAdder queryPlanCompileTime = new LongAdder();
 
-	private AtomicLong committedTransactionCount = new AtomicLong();
-	private AtomicLong transactionCount = new AtomicLong();
+	private LongAdder updateTimestampsCacheHitCount = new LongAdder();
+	private LongAdder updateTimestampsCacheMissCount = new LongAdder();
+	private LongAdder updateTimestampsCachePutCount = new LongAdder();
 
-	private AtomicLong optimisticFailureCount = new AtomicLong();
+	private LongAdder committedTransactionCount = new LongAdder();
+	private LongAdder transactionCount = new LongAdder();
+
+	private LongAdder optimisticFailureCount = new LongAdder();
 
 	private final ConcurrentMap<String,ConcurrentEntityStatisticsImpl> entityStatistics = new ConcurrentHashMap();
 	private final ConcurrentMap<String,ConcurrentNaturalIdCacheStatisticsImpl> naturalIdCacheStatistics = new ConcurrentHashMap();
@@ -102,52 +109,57 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 * reset all statistics
 	 */
 	public void clear() {
-		secondLevelCacheHitCount.set( 0 );
-		secondLevelCacheMissCount.set( 0 );
-		secondLevelCachePutCount.set( 0 );
+		secondLevelCacheHitCount.reset();
+		secondLevelCacheMissCount.reset();
+		secondLevelCachePutCount.reset();
 		
-		naturalIdCacheHitCount.set( 0 );
-		naturalIdCacheMissCount.set( 0 );
-		naturalIdCachePutCount.set( 0 );
-		naturalIdQueryExecutionCount.set( 0 );
+		naturalIdCacheHitCount.reset();
+		naturalIdCacheMissCount.reset();
+		naturalIdCachePutCount.reset();
+		naturalIdQueryExecutionCount.reset();
 		naturalIdQueryExecutionMaxTime.set( 0 );
 		naturalIdQueryExecutionMaxTimeRegion = null;
 
-		sessionCloseCount.set( 0 );
-		sessionOpenCount.set( 0 );
-		flushCount.set( 0 );
-		connectCount.set( 0 );
+		sessionCloseCount.reset();
+		sessionOpenCount.reset();
+		flushCount.reset();
+		connectCount.reset();
 
-		prepareStatementCount.set( 0 );
-		closeStatementCount.set( 0 );
+		prepareStatementCount.reset();
+		closeStatementCount.reset();
 
-		entityDeleteCount.set( 0 );
-		entityInsertCount.set( 0 );
-		entityUpdateCount.set( 0 );
-		entityLoadCount.set( 0 );
-		entityFetchCount.set( 0 );
+		entityDeleteCount.reset();
+		entityInsertCount.reset();
+		entityUpdateCount.reset();
+		entityLoadCount.reset();
+		entityFetchCount.reset();
 
-		collectionRemoveCount.set( 0 );
-		collectionUpdateCount.set( 0 );
-		collectionRecreateCount.set( 0 );
-		collectionLoadCount.set( 0 );
-		collectionFetchCount.set( 0 );
+		collectionRemoveCount.reset();
+		collectionUpdateCount.reset();
+		collectionRecreateCount.reset();
+		collectionLoadCount.reset();
+		collectionFetchCount.reset();
 
-		queryExecutionCount.set( 0 );
-		queryCacheHitCount.set( 0 );
+		queryExecutionCount.reset();
+		queryCacheHitCount.reset();
 		queryExecutionMaxTime.set( 0 );
 		queryExecutionMaxTimeQueryString = null;
-		queryCacheMissCount.set( 0 );
-		queryCachePutCount.set( 0 );
+		queryCacheMissCount.reset();
+		queryCachePutCount.reset();
+
+		queryPlanCacheHitCount.reset();
+		queryPlanCacheMissCount.reset();
+		queryPlanCacheEvictionCount.reset();
+		queryPlanCompileTime.reset();
 
-		updateTimestampsCacheMissCount.set( 0 );
-		updateTimestampsCacheHitCount.set( 0 );
-		updateTimestampsCachePutCount.set( 0 );
+		updateTimestampsCacheMissCount.reset();
+		updateTimestampsCacheHitCount.reset();
+		updateTimestampsCachePutCount.reset();
 
-		transactionCount.set( 0 );
-		committedTransactionCount.set( 0 );
+		transactionCount.reset();
+		committedTransactionCount.reset();
 
-		optimisticFailureCount.set( 0 );
+		optimisticFailureCount.reset();
 
 		secondLevelCacheStatistics.clear();
 		entityStatistics.clear();
@@ -159,28 +171,28 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void openSession() {
-		sessionOpenCount.getAndIncrement();
+		sessionOpenCount.increment();
 	}
 
 	public void closeSession() {
-		sessionCloseCount.getAndIncrement();
+		sessionCloseCount.increment();
 	}
 
 	public void flush() {
-		flushCount.getAndIncrement();
+		flushCount.increment();
 	}
 
 	public void connect() {
-		connectCount.getAndIncrement();
+		connectCount.increment();
 	}
 
 	public void loadEntity(String entityName) {
-		entityLoadCount.getAndIncrement();
+		entityLoadCount.increment();
 		getEntityStatistics( entityName ).incrementLoadCount();
 	}
 
 	public void fetchEntity(String entityName) {
-		entityFetchCount.getAndIncrement();
+		entityFetchCount.increment();
 		getEntityStatistics( entityName ).incrementFetchCount();
 	}
 
@@ -204,19 +216,19 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void updateEntity(String entityName) {
-		entityUpdateCount.getAndIncrement();
+		entityUpdateCount.increment();
 		ConcurrentEntityStatisticsImpl es = getEntityStatistics( entityName );
 		es.incrementUpdateCount();
 	}
 
 	public void insertEntity(String entityName) {
-		entityInsertCount.getAndIncrement();
+		entityInsertCount.increment();
 		ConcurrentEntityStatisticsImpl es = getEntityStatistics( entityName );
 		es.incrementInsertCount();
 	}
 
 	public void deleteEntity(String entityName) {
-		entityDeleteCount.getAndIncrement();
+		entityDeleteCount.increment();
 		ConcurrentEntityStatisticsImpl es = getEntityStatistics( entityName );
 		es.incrementDeleteCount();
 	}
@@ -241,27 +253,27 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void loadCollection(String role) {
-		collectionLoadCount.getAndIncrement();
+		collectionLoadCount.increment();
 		getCollectionStatistics( role ).incrementLoadCount();
 	}
 
 	public void fetchCollection(String role) {
-		collectionFetchCount.getAndIncrement();
+		collectionFetchCount.increment();
 		getCollectionStatistics( role ).incrementFetchCount();
 	}
 
 	public void updateCollection(String role) {
-		collectionUpdateCount.getAndIncrement();
+		collectionUpdateCount.increment();
 		getCollectionStatistics( role ).incrementUpdateCount();
 	}
 
 	public void recreateCollection(String role) {
-		collectionRecreateCount.getAndIncrement();
+		collectionRecreateCount.increment();
 		getCollectionStatistics( role ).incrementRecreateCount();
 	}
 
 	public void removeCollection(String role) {
-		collectionRemoveCount.getAndIncrement();
+		collectionRemoveCount.increment();
 		getCollectionStatistics( role ).incrementRemoveCount();
 	}
 	
@@ -339,41 +351,41 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void secondLevelCachePut(String regionName) {
-		secondLevelCachePutCount.getAndIncrement();
+		secondLevelCachePutCount.increment();
 		getSecondLevelCacheStatistics( regionName ).incrementPutCount();
 	}
 
 	public void secondLevelCacheHit(String regionName) {
-		secondLevelCacheHitCount.getAndIncrement();
+		secondLevelCacheHitCount.increment();
 		getSecondLevelCacheStatistics( regionName ).incrementHitCount();
 	}
 
 	public void secondLevelCacheMiss(String regionName) {
-		secondLevelCacheMissCount.getAndIncrement();
+		secondLevelCacheMissCount.increment();
 		getSecondLevelCacheStatistics( regionName ).incrementMissCount();
 	}
 	
 	@Override
 	public void naturalIdCachePut(String regionName) {
-		naturalIdCachePutCount.getAndIncrement();
+		naturalIdCachePutCount.increment();
 		getNaturalIdCacheStatistics( regionName ).incrementPutCount();
 	}
 
 	@Override
 	public void naturalIdCacheHit(String regionName) {
-		naturalIdCacheHitCount.getAndIncrement();
+		naturalIdCacheHitCount.increment();
 		getNaturalIdCacheStatistics( regionName ).incrementHitCount();
 	}
 
 	@Override
 	public void naturalIdCacheMiss(String regionName) {
-		naturalIdCacheMissCount.getAndIncrement();
+		naturalIdCacheMissCount.increment();
 		getNaturalIdCacheStatistics( regionName ).incrementMissCount();
 	}
 	
 	@Override
 	public void naturalIdQueryExecuted(String regionName, long time) {
-		naturalIdQueryExecutionCount.getAndIncrement();
+		naturalIdQueryExecutionCount.increment();
 		boolean isLongestQuery;
 		//noinspection StatementWithEmptyBody
 		for ( long old = naturalIdQueryExecutionMaxTime.get();
@@ -392,7 +404,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	@Override
 	public void queryExecuted(String hql, int rows, long time) {
 		LOG.hql(hql, time, (long) rows );
-		queryExecutionCount.getAndIncrement();
+		queryExecutionCount.increment();
 		boolean isLongestQuery;
 		//noinspection StatementWithEmptyBody
 		for ( long old = queryExecutionMaxTime.get();
@@ -410,7 +422,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 	@Override
 	public void queryCacheHit(String hql, String regionName) {
-		queryCacheHitCount.getAndIncrement();
+		queryCacheHitCount.increment();
 		if ( hql != null ) {
 			ConcurrentQueryStatisticsImpl qs = getQueryStatistics( hql );
 			qs.incrementCacheHitCount();
@@ -422,7 +434,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 	@Override
 	public void queryCacheMiss(String hql, String regionName) {
-		queryCacheMissCount.getAndIncrement();
+		queryCacheMissCount.increment();
 		if ( hql != null ) {
 			ConcurrentQueryStatisticsImpl qs = getQueryStatistics( hql );
 			qs.incrementCacheMissCount();
@@ -434,7 +446,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 	@Override
 	public void queryCachePut(String hql, String regionName) {
-		queryCachePutCount.getAndIncrement();
+		queryCachePutCount.increment();
 		if ( hql != null ) {
 			ConcurrentQueryStatisticsImpl qs = getQueryStatistics( hql );
 			qs.incrementCachePutCount();
@@ -443,19 +455,35 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		slcs.incrementPutCount();
 	}
 
+	@Override
+	public void queryPlanCacheHit() {
+		queryPlanCacheHitCount.increment();
+	}
+
+	@Override
+	public void queryPlanCacheMiss(long compileTime) {
+		queryPlanCacheMissCount.increment();
+		queryPlanCompileTime.add( compileTime );
+	}
+
+	@Override
+	public void queryPlanCacheEviction() {
+		queryPlanCacheEvictionCount.increment();
+	}
+
 	@Override
 	public void updateTimestampsCacheHit() {
-		updateTimestampsCacheHitCount.getAndIncrement();
+		updateTimestampsCacheHitCount.increment();
 	}
 
 	@Override
 	public void updateTimestampsCacheMiss() {
-		updateTimestampsCacheMissCount.getAndIncrement();
+		updateTimestampsCacheMissCount.increment();
 	}
 
 	@Override
 	public void updateTimestampsCachePut() {
-		updateTimestampsCachePutCount.getAndIncrement();
+		updateTimestampsCachePutCount.increment();
 	}
 
 	/**
@@ -483,7 +511,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getEntityDeleteCount() {
-		return entityDeleteCount.get();
+		return entityDeleteCount.sum();
 	}
 
 	/**
@@ -491,7 +519,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getEntityInsertCount() {
-		return entityInsertCount.get();
+		return entityInsertCount.sum();
 	}
 
 	/**
@@ -499,7 +527,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getEntityLoadCount() {
-		return entityLoadCount.get();
+		return entityLoadCount.sum();
 	}
 
 	/**
@@ -507,7 +535,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getEntityFetchCount() {
-		return entityFetchCount.get();
+		return entityFetchCount.sum();
 	}
 
 	/**
@@ -515,35 +543,51 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getEntityUpdateCount() {
-		return entityUpdateCount.get();
+		return entityUpdateCount.sum();
 	}
 	@Override
 	public long getQueryExecutionCount() {
-		return queryExecutionCount.get();
+		return queryExecutionCount.sum();
 	}
 	@Override
 	public long getQueryCacheHitCount() {
-		return queryCacheHitCount.get();
+		return queryCacheHitCount.sum();
 	}
 	@Override
 	public long getQueryCacheMissCount() {
-		return queryCacheMissCount.get();
+		return queryCacheMissCount.sum();
 	}
 	@Override
 	public long getQueryCachePutCount() {
-		return queryCachePutCount.get();
+		return queryCachePutCount.sum();
+	}
+	@Override
+	public long getQueryPlanCacheHitCount() {
+		return queryPlanCacheHitCount.sum();
+	}
+	@Override
+	public long getQueryPlanCacheMissCount() {
+		return queryPlanCacheMissCount.sum();
+	}
+	@Override
+	public long getQueryPlanCacheEvictionCount() {
+		return queryPlanCacheEvictionCount.sum();
+	}
+	@Override
+	public long getQueryPlanCompileTime() {
+		return TimeUnit.NANOSECONDS.toMillis( queryPlanCompileTime.sum() );
 	}
 	@Override
 	public long getUpdateTimestampsCacheHitCount() {
-		return updateTimestampsCacheHitCount.get();
+		return updateTimestampsCacheHitCount.sum();
 	}
 	@Override
 	public long getUpdateTimestampsCacheMissCount() {
-		return updateTimestampsCacheMissCount.get();
+		return updateTimestampsCacheMissCount.sum();
 	}
 	@Override
 	public long getUpdateTimestampsCachePutCount() {
-		return updateTimestampsCachePutCount.get();
+		return updateTimestampsCachePutCount.sum();
 	}
 
 	/**
@@ -551,7 +595,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getFlushCount() {
-		return flushCount.get();
+		return flushCount.sum();
 	}
 
 	/**
@@ -559,7 +603,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getConnectCount() {
-		return connectCount.get();
+		return connectCount.sum();
 	}
 
 	/**
@@ -567,7 +611,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getSecondLevelCacheHitCount() {
-		return secondLevelCacheHitCount.get();
+		return secondLevelCacheHitCount.sum();
 	}
 
 	/**
@@ -575,7 +619,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getSecondLevelCacheMissCount() {
-		return secondLevelCacheMissCount.get();
+		return secondLevelCacheMissCount.sum();
 	}
 
 	/**
@@ -583,12 +627,12 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getSecondLevelCachePutCount() {
-		return secondLevelCachePutCount.get();
+		return secondLevelCachePutCount.sum();
 	}
 
 	@Override
 	public long getNaturalIdQueryExecutionCount() {
-		return naturalIdQueryExecutionCount.get();
+		return naturalIdQueryExecutionCount.sum();
 	}
 
 	@Override
@@ -603,17 +647,17 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	
 	@Override
 	public long getNaturalIdCacheHitCount() {
-		return naturalIdCacheHitCount.get();
+		return naturalIdCacheHitCount.sum();
 	}
 
 	@Override
 	public long getNaturalIdCacheMissCount() {
-		return naturalIdCacheMissCount.get();
+		return naturalIdCacheMissCount.sum();
 	}
 
 	@Override
 	public long getNaturalIdCachePutCount() {
-		return naturalIdCachePutCount.get();
+		return naturalIdCachePutCount.sum();
 	}
 
 	/**
@@ -621,7 +665,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getSessionCloseCount() {
-		return sessionCloseCount.get();
+		return sessionCloseCount.sum();
 	}
 
 	/**
@@ -629,7 +673,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getSessionOpenCount() {
-		return sessionOpenCount.get();
+		return sessionOpenCount.sum();
 	}
 
 	/**
@@ -637,7 +681,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getCollectionLoadCount() {
-		return collectionLoadCount.get();
+		return collectionLoadCount.sum();
 	}
 
 	/**
@@ -645,7 +689,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getCollectionFetchCount() {
-		return collectionFetchCount.get();
+		return collectionFetchCount.sum();
 	}
 
 	/**
@@ -653,7 +697,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getCollectionUpdateCount() {
-		return collectionUpdateCount.get();
+		return collectionUpdateCount.sum();
 	}
 
 	/**
@@ -662,7 +706,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getCollectionRemoveCount() {
-		return collectionRemoveCount.get();
+		return collectionRemoveCount.sum();
 	}
 
 	/**
@@ -670,7 +714,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getCollectionRecreateCount() {
-		return collectionRecreateCount.get();
+		return collectionRecreateCount.sum();
 	}
 
 	/**
@@ -688,41 +732,45 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	public void logSummary() {
 		LOG.loggingStatistics();
 		LOG.startTime( startTime );
-		LOG.sessionsOpened( sessionOpenCount.get() );
-		LOG.sessionsClosed( sessionCloseCount.get() );
-		LOG.transactions( transactionCount.get() );
-		LOG.successfulTransactions( committedTransactionCount.get() );
-		LOG.optimisticLockFailures( optimisticFailureCount.get() );
-		LOG.flushes( flushCount.get() );
-		LOG.connectionsObtained( connectCount.get() );
-		LOG.statementsPrepared( prepareStatementCount.get() );
-		LOG.statementsClosed( closeStatementCount.get() );
-		LOG.secondLevelCachePuts( secondLevelCachePutCount.get() );
-		LOG.secondLevelCacheHits( secondLevelCacheHitCount.get() );
-		LOG.secondLevelCacheMisses( secondLevelCacheMissCount.get() );
-		LOG.entitiesLoaded( entityLoadCount.get() );
-		LOG.entitiesUpdated( entityUpdateCount.get() );
-		LOG.entitiesInserted( entityInsertCount.get() );
-		LOG.entitiesDeleted( entityDeleteCount.get() );
-		LOG.entitiesFetched( entityFetchCount.get() );
-		LOG.collectionsLoaded( collectionLoadCount.get() );
-		LOG.collectionsUpdated( collectionUpdateCount.get() );
-		LOG.collectionsRemoved( collectionRemoveCount.get() );
-		LOG.collectionsRecreated( collectionRecreateCount.get() );
-		LOG.collectionsFetched( collectionFetchCount.get() );
-		LOG.naturalIdCachePuts( naturalIdCachePutCount.get() );
-		LOG.naturalIdCacheHits( naturalIdCacheHitCount.get() );
-		LOG.naturalIdCacheMisses( naturalIdCacheMissCount.get() );
+		LOG.sessionsOpened( sessionOpenCount.sum() );
+		LOG.sessionsClosed( sessionCloseCount.sum() );
+		LOG.transactions( transactionCount.sum() );
+		LOG.successfulTransactions( committedTransactionCount.sum() );
+		LOG.optimisticLockFailures( optimisticFailureCount.sum() );
+		LOG.flushes( flushCount.sum() );
+		LOG.connectionsObtained( connectCount.sum() );
+		LOG.statementsPrepared( prepareStatementCount.sum() );
+		LOG.statementsClosed( closeStatementCount.sum() );
+		LOG.secondLevelCachePuts( secondLevelCachePutCount.sum() );
+		LOG.secondLevelCacheHits( secondLevelCacheHitCount.sum() );
+		LOG.secondLevelCacheMisses( secondLevelCacheMissCount.sum() );
+		LOG.entitiesLoaded( entityLoadCount.sum() );
+		LOG.entitiesUpdated( entityUpdateCount.sum() );
+		LOG.entitiesInserted( entityInsertCount.sum() );
+		LOG.entitiesDeleted( entityDeleteCount.sum() );
+		LOG.entitiesFetched( entityFetchCount.sum() );
+		LOG.collectionsLoaded( collectionLoadCount.sum() );
+		LOG.collectionsUpdated( collectionUpdateCount.sum() );
+		LOG.collectionsRemoved( collectionRemoveCount.sum() );
+		LOG.collectionsRecreated( collectionRecreateCount.sum() );
+		LOG.collectionsFetched( collectionFetchCount.sum() );
+		LOG.naturalIdCachePuts( naturalIdCachePutCount.sum() );
+		LOG.naturalIdCacheHits( naturalIdCacheHitCount.sum() );
+		LOG.naturalIdCacheMisses( naturalIdCacheMissCount.sum() );
 		LOG.naturalIdMaxQueryTime( naturalIdQueryExecutionMaxTime.get() );
-		LOG.naturalIdQueriesExecuted( naturalIdQueryExecutionCount.get() );
-		LOG.queriesExecuted( queryExecutionCount.get() );
-		LOG.queryCachePuts( queryCachePutCount.get() );
-		LOG.timestampCachePuts( updateTimestampsCachePutCount.get() );
-		LOG.timestampCacheHits( updateTimestampsCacheHitCount.get() );
-		LOG.timestampCacheMisses( updateTimestampsCacheMissCount.get() );
-		LOG.queryCacheHits( queryCacheHitCount.get() );
-		LOG.queryCacheMisses( queryCacheMissCount.get() );
+		LOG.naturalIdQueriesExecuted( naturalIdQueryExecutionCount.sum() );
+		LOG.queriesExecuted( queryExecutionCount.sum() );
+		LOG.queryCachePuts( queryCachePutCount.sum() );
+		LOG.timestampCachePuts( updateTimestampsCachePutCount.sum() );
+		LOG.timestampCacheHits( updateTimestampsCacheHitCount.sum() );
+		LOG.timestampCacheMisses( updateTimestampsCacheMissCount.sum() );
+		LOG.queryCacheHits( queryCacheHitCount.sum() );
+		LOG.queryCacheMisses( queryCacheMissCount.sum() );
 		LOG.maxQueryTime( queryExecutionMaxTime.get() );
+		LOG.queryPlanCacheHits( queryPlanCacheHitCount.sum() );
+		LOG.queryPlanCacheMisses( queryPlanCacheMissCount.sum() );
+		LOG.queryPlanCacheEvictions( queryPlanCacheEvictionCount.sum() );
+		LOG.queryPlanCompileTime( getQueryPlanCompileTime() );
 	}
 
 	/**
@@ -798,43 +846,43 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 	@Override
 	public void endTransaction(boolean success) {
-		transactionCount.getAndIncrement();
+		transactionCount.increment();
 		if ( success ) {
-			committedTransactionCount.getAndIncrement();
+			committedTransactionCount.increment();
 		}
 	}
 	@Override
 	public long getSuccessfulTransactionCount() {
-		return committedTransactionCount.get();
+		return committedTransactionCount.sum();
 	}
 	@Override
 	public long getTransactionCount() {
-		return transactionCount.get();
+		return transactionCount.sum();
 	}
 	@Override
 	public void closeStatement() {
-		closeStatementCount.getAndIncrement();
+		closeStatementCount.increment();
 	}
 	@Override
 	public void prepareStatement() {
-		prepareStatementCount.getAndIncrement();
+		prepareStatementCount.increment();
 	}
 	@Override
 	public long getCloseStatementCount() {
-		return closeStatementCount.get();
+		return closeStatementCount.sum();
 	}
 	@Override
 	public long getPrepareStatementCount() {
-		return prepareStatementCount.get();
+		return prepareStatementCount.sum();
 	}
 	@Override
 	public void optimisticFailure(String entityName) {
-		optimisticFailureCount.getAndIncrement();
+		optimisticFailureCount.increment();
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementOptimisticFailureCount();
 	}
 	@Override
 	public long getOptimisticFailureCount() {
-		return optimisticFailureCount.get();
+		return optimisticFailureCount.sum();
 	}
 
 	@Override
@@ -877,6 +925,10 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 				.append(",update timestamps cache hits=").append(updateTimestampsCacheHitCount)
 				.append(",update timestamps cache misses=").append(updateTimestampsCacheMissCount)
 				.append( ",max query time=" ).append( queryExecutionMaxTime )
+				.append( ",query plan cache hits=" ).append( queryPlanCacheHitCount )
+				.append( ",query plan cache misses=" ).append( queryPlanCacheMissCount )
+				.append( ",query plan cache evictions=" ).append( queryPlanCacheEvictionCount )
+				.append( ",query plan compile time=" ).append( getQueryPlanCompileTime() )
 				.append( ']' )
 				.toString();
 	}
@@ -0,0 +1,22 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Builds {@link HistogramStatisticsImpl} statistics, which record latency histograms of query executions,
+ * entity loads and flushes.  Select it by naming this class as {@value StatisticsInitiator#STATS_BUILDER}.
+ */
+public class HistogramStatisticsFactory implements StatisticsFactory {
+	@Override
+	public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+		return new HistogramStatisticsImpl( sessionFactory );
+	}
+}
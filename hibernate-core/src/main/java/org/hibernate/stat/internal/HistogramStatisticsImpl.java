@@ -0,0 +1,210 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.service.spi.Manageable;
+
+/**
+ * Extends {@link ConcurrentStatisticsImpl} with {@link LatencyHistogram latency histograms} of query executions
+ * (overall and per query), of entity loads by identifier (overall and per entity) and of flushes, from which
+ * percentiles are exposed through {@link org.hibernate.stat.Statistics} and JMX.
+ *
+ * @see HistogramStatisticsFactory
+ */
+public class HistogramStatisticsImpl extends ConcurrentStatisticsImpl implements Manageable, HistogramStatisticsMXBean {
+	private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos( 1 );
+
+	// the overall histograms are updated by all threads, the per query and per entity ones are not striped
+	// as there may be many of them
+	private final int stripes = Runtime.getRuntime().availableProcessors();
+
+	private final LatencyHistogram queryExecutionTimes = new LatencyHistogram( stripes );
+	private final LatencyHistogram entityLoadTimes = new LatencyHistogram( stripes );
+	private final LatencyHistogram flushTimes = new LatencyHistogram( stripes );
+
+	private final ConcurrentMap<String,LatencyHistogram> queryExecutionTimesByQuery = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String,LatencyHistogram> entityLoadTimesByEntity = new ConcurrentHashMap<>();
+
+	public HistogramStatisticsImpl(SessionFactoryImplementor sessionFactory) {
+		super( sessionFactory );
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		// also called from the super constructor, before the histograms are initialized
+		if ( queryExecutionTimes != null ) {
+			queryExecutionTimes.reset();
+			entityLoadTimes.reset();
+			flushTimes.reset();
+			queryExecutionTimesByQuery.clear();
+			entityLoadTimesByEntity.clear();
+		}
+	}
+
+	@Override
+	public void queryExecuted(String hql, int rows, long time, TimeUnit timeUnit) {
+		queryExecuted( hql, rows, TimeUnit.MILLISECONDS.convert( time, timeUnit ) );
+		final long nanoseconds = timeUnit.toNanos( time );
+		queryExecutionTimes.record( nanoseconds );
+		if ( hql != null ) {
+			histogram( queryExecutionTimesByQuery, hql ).record( nanoseconds );
+		}
+	}
+
+	@Override
+	public void entityLoadExecuted(String entityName, long time, TimeUnit timeUnit) {
+		final long nanoseconds = timeUnit.toNanos( time );
+		entityLoadTimes.record( nanoseconds );
+		histogram( entityLoadTimesByEntity, entityName ).record( nanoseconds );
+	}
+
+	private static LatencyHistogram histogram(ConcurrentMap<String,LatencyHistogram> histograms, String name) {
+		// look up first, as computeIfAbsent locks even when the histogram exists
+		final LatencyHistogram histogram = histograms.get( name );
+		return histogram != null ? histogram : histograms.computeIfAbsent( name, k -> new LatencyHistogram( 1 ) );
+	}
+
+	@Override
+	public void flush(long time, TimeUnit timeUnit) {
+		flush();
+		flushTimes.record( timeUnit.toNanos( time ) );
+	}
+
+	@Override
+	public double getQueryExecutionTimePercentile(double percentile) {
+		return toMillis( queryExecutionTimes.getValueAtPercentile( percentile ) );
+	}
+
+	@Override
+	public double getQueryExecutionTimePercentile(String queryString, double percentile) {
+		return percentile( queryExecutionTimesByQuery.get( queryString ), percentile );
+	}
+
+	@Override
+	public double getEntityLoadTimePercentile(double percentile) {
+		return toMillis( entityLoadTimes.getValueAtPercentile( percentile ) );
+	}
+
+	@Override
+	public double getEntityLoadTimePercentile(String entityName, double percentile) {
+		return percentile( entityLoadTimesByEntity.get( entityName ), percentile );
+	}
+
+	@Override
+	public double getFlushTimePercentile(double percentile) {
+		return toMillis( flushTimes.getValueAtPercentile( percentile ) );
+	}
+
+	private static double percentile(LatencyHistogram histogram, double percentile) {
+		return histogram == null ? 0 : toMillis( histogram.getValueAtPercentile( percentile ) );
+	}
+
+	private static double toMillis(long nanoseconds) {
+		return nanoseconds / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getQueryExecutionTimeP50() {
+		return getQueryExecutionTimePercentile( 50 );
+	}
+
+	@Override
+	public double getQueryExecutionTimeP95() {
+		return getQueryExecutionTimePercentile( 95 );
+	}
+
+	@Override
+	public double getQueryExecutionTimeP99() {
+		return getQueryExecutionTimePercentile( 99 );
+	}
+
+	@Override
+	public double getQueryExecutionTimeP999() {
+		return getQueryExecutionTimePercentile( 99.9 );
+	}
+
+	@Override
+	public long getEntityLoadExecutionCount() {
+		return entityLoadTimes.getCount();
+	}
+
+	@Override
+	public double getEntityLoadTimeP50() {
+		return getEntityLoadTimePercentile( 50 );
+	}
+
+	@Override
+	public double getEntityLoadTimeP95() {
+		return getEntityLoadTimePercentile( 95 );
+	}
+
+	@Override
+	public double getEntityLoadTimeP99() {
+		return getEntityLoadTimePercentile( 99 );
+	}
+
+	@Override
+	public double getEntityLoadTimeP999() {
+		return getEntityLoadTimePercentile( 99.9 );
+	}
+
+	@Override
+	public double getFlushTimeP50() {
+		return getFlushTimePercentile( 50 );
+	}
+
+	@Override
+	public double getFlushTimeP95() {
+		return getFlushTimePercentile( 95 );
+	}
+
+	@Override
+	public double getFlushTimeP99() {
+		return getFlushTimePercentile( 99 );
+	}
+
+	@Override
+	public double getFlushTimeP999() {
+		return getFlushTimePercentile( 99.9 );
+	}
+
+	@Override
+	public String getManagementDomain() {
+		// use Hibernate default domain
+		return null;
+	}
+
+	@Override
+	public String getManagementServiceType() {
+		// use Hibernate default scheme
+		return null;
+	}
+
+	@Override
+	public Object getManagementBean() {
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder( super.toString() )
+				.append( "[query execution time p50=" ).append( getQueryExecutionTimeP50() )
+				.append( ",query execution time p99=" ).append( getQueryExecutionTimeP99() )
+				.append( ",entity load time p50=" ).append( getEntityLoadTimeP50() )
+				.append( ",entity load time p99=" ).append( getEntityLoadTimeP99() )
+				.append( ",flush time p50=" ).append( getFlushTimeP50() )
+				.append( ",flush time p99=" ).append( getFlushTimeP99() )
+				.append( ']' )
+				.toString();
+	}
+}
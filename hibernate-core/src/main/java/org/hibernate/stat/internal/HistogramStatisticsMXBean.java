@@ -0,0 +1,39 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+/**
+ * The HistogramStatisticsImpl JMX management interface.  All times are in milliseconds.
+ */
+public interface HistogramStatisticsMXBean {
+	boolean isStatisticsEnabled();
+	void setStatisticsEnabled(boolean enabled);
+	void clear();
+
+	long getQueryExecutionCount();
+	double getQueryExecutionTimeP50();
+	double getQueryExecutionTimeP95();
+	double getQueryExecutionTimeP99();
+	double getQueryExecutionTimeP999();
+
+	long getEntityLoadExecutionCount();
+	double getEntityLoadTimeP50();
+	double getEntityLoadTimeP95();
+	double getEntityLoadTimeP99();
+	double getEntityLoadTimeP999();
+
+	long getFlushCount();
+	double getFlushTimeP50();
+	double getFlushTimeP95();
+	double getFlushTimeP99();
+	double getFlushTimeP999();
+
+	String[] getQueries();
+	String[] getEntityNames();
+	double getQueryExecutionTimePercentile(String queryString, double percentile);
+	double getEntityLoadTimePercentile(String entityName, double percentile);
+}
@@ -0,0 +1,147 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies, in nanoseconds, recorded concurrently by many threads.
+ * <p/>
+ * Latencies are counted in logarithmic buckets, each power of two being divided into 8 linear sub-buckets, so
+ * reported percentiles are within 12.5% of the recorded latencies.  Latencies beyond about 73 minutes are
+ * counted in the last bucket.  To avoid contention, the buckets are striped by thread; the count, total and
+ * maximum are kept in {@link LongAdder}-style cells.
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final long MAX_TRACKED_VALUE = ( 1L << 42 ) - 1;
+	private static final int BUCKET_COUNT = bucketIndex( MAX_TRACKED_VALUE ) + 1;
+
+	private final AtomicLongArray[] stripes;
+	private final int stripeMask;
+
+	private final LongAdder count = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator( Long::max, 0 );
+
+	/**
+	 * Constructs a LatencyHistogram
+	 *
+	 * @param stripes The number of bucket stripes, rounded up to a power of two; 1 for histograms which see
+	 * little concurrency.
+	 */
+	public LatencyHistogram(int stripes) {
+		int stripeCount = 1;
+		while ( stripeCount < stripes ) {
+			stripeCount <<= 1;
+		}
+		this.stripes = new AtomicLongArray[stripeCount];
+		for ( int i = 0; i < stripeCount; i++ ) {
+			this.stripes[i] = new AtomicLongArray( BUCKET_COUNT );
+		}
+		this.stripeMask = stripeCount - 1;
+	}
+
+	/**
+	 * Record a latency.
+	 *
+	 * @param nanoseconds The latency, in nanoseconds
+	 */
+	public void record(long nanoseconds) {
+		final long value = Math.max( 0, nanoseconds );
+		final int stripe = (int) Thread.currentThread().getId() & stripeMask;
+		stripes[stripe].incrementAndGet( bucketIndex( Math.min( value, MAX_TRACKED_VALUE ) ) );
+		count.increment();
+		total.add( value );
+		max.accumulate( value );
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return The sum of all recorded latencies, in nanoseconds
+	 */
+	public long getTotal() {
+		return total.sum();
+	}
+
+	/**
+	 * @return The largest recorded latency, in nanoseconds
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Get the latency below which the given percentage of the recorded latencies fall.
+	 *
+	 * @param percentile The percentage, between 0 and 100, such as 99.9
+	 *
+	 * @return The latency, in nanoseconds, or 0 if nothing was recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		final long[] counts = new long[BUCKET_COUNT];
+		long totalCount = 0;
+		for ( AtomicLongArray stripe : stripes ) {
+			for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+				final long bucketCount = stripe.get( i );
+				counts[i] += bucketCount;
+				totalCount += bucketCount;
+			}
+		}
+		if ( totalCount == 0 ) {
+			return 0;
+		}
+
+		final double fraction = Math.min( Math.max( percentile, 0d ), 100d ) / 100d;
+		final long rank = Math.max( 1, (long) Math.ceil( fraction * totalCount ) );
+		long cumulativeCount = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			cumulativeCount += counts[i];
+			if ( cumulativeCount >= rank ) {
+				return Math.min( bucketUpperBound( i ), getMax() );
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Discard all recorded latencies.  Latencies recorded concurrently may or may not be retained.
+	 */
+	public void reset() {
+		for ( AtomicLongArray stripe : stripes ) {
+			for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+				stripe.set( i, 0 );
+			}
+		}
+		count.reset();
+		total.reset();
+		max.reset();
+	}
+
+	static int bucketIndex(long value) {
+		if ( value < SUB_BUCKET_COUNT ) {
+			return (int) value;
+		}
+		final int shift = 63 - Long.numberOfLeadingZeros( value ) - SUB_BUCKET_BITS;
+		return ( ( shift + 1 ) << SUB_BUCKET_BITS ) + (int) ( value >>> shift ) - SUB_BUCKET_COUNT;
+	}
+
+	static long bucketUpperBound(int index) {
+		if ( index < SUB_BUCKET_COUNT ) {
+			return index;
+		}
+		final int shift = ( index >> SUB_BUCKET_BITS ) - 1;
+		final long subBucket = ( index & ( SUB_BUCKET_COUNT - 1 ) ) + SUB_BUCKET_COUNT;
+		return ( ( subBucket + 1 ) << shift ) - 1;
+	}
+}
@@ -6,6 +6,8 @@
  */
 package org.hibernate.stat.spi;
 
+import java.util.concurrent.TimeUnit;
+
 import org.hibernate.service.Service;
 import org.hibernate.stat.Statistics;
 
@@ -31,6 +33,17 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	void flush();
 
+	/**
+	 * Callback about a flush occurring, along with the time it took.  By default, simply delegates to
+	 * {@link #flush()}.
+	 *
+	 * @param time The time the flush took
+	 * @param timeUnit The unit of the time
+	 */
+	default void flush(long time, TimeUnit timeUnit) {
+		flush();
+	}
+
 	/**
 	 * Callback about a connection being obtained from {@link org.hibernate.engine.jdbc.connections.spi.ConnectionProvider}
 	 */
@@ -61,6 +74,18 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	void loadEntity(String entityName);
 
+	/**
+	 * Callback about an entity being loaded from the database by its identifier, along with the time it took.
+	 * Unlike {@link #loadEntity}, which counts every loaded entity instance, this times the load operation.
+	 * Does nothing by default.
+	 *
+	 * @param entityName The name of the entity loaded.
+	 * @param time The time the load took
+	 * @param timeUnit The unit of the time
+	 */
+	default void entityLoadExecuted(String entityName, long time, TimeUnit timeUnit) {
+	}
+
 	/**
 	 * Callback about an entity being fetched.  Unlike {@link #loadEntity} this indicates a separate query being
 	 * performed.
@@ -208,6 +233,27 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	void queryCacheMiss(String hql, String regionName);
 
+	/**
+	 * Callback indicating a query plan was found in the query plan cache.  Does nothing by default.
+	 */
+	default void queryPlanCacheHit() {
+	}
+
+	/**
+	 * Callback indicating a query plan was not found in the query plan cache, and had to be compiled.  Does
+	 * nothing by default.
+	 *
+	 * @param compileTime The time, in nanoseconds, spent compiling the plan
+	 */
+	default void queryPlanCacheMiss(long compileTime) {
+	}
+
+	/**
+	 * Callback indicating a query plan was evicted from the query plan cache.  Does nothing by default.
+	 */
+	default void queryPlanCacheEviction() {
+	}
+
 	/**
 	 * Callback indicating execution of a sql/hql query
 	 *
@@ -217,6 +263,19 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	void queryExecuted(String hql, int rows, long time);
 
+	/**
+	 * Callback indicating execution of a sql/hql query, with the execution time in the given unit.  By default,
+	 * delegates to {@link #queryExecuted(String, int, long)} with the time in milliseconds.
+	 *
+	 * @param hql The query
+	 * @param rows Number of rows returned
+	 * @param time execution time
+	 * @param timeUnit The unit of the execution time
+	 */
+	default void queryExecuted(String hql, int rows, long time, TimeUnit timeUnit) {
+		queryExecuted( hql, rows, TimeUnit.MILLISECONDS.convert( time, timeUnit ) );
+	}
+
 
 	/**
 	 * Callback indicating a hit to the timestamp cache
@@ -16,6 +16,7 @@ import org.hibernate.EntityNameResolver;
 import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
 import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.bytecode.enhance.spi.interceptor.LazyAttributeLoadingInterceptor;
 import org.hibernate.bytecode.spi.BytecodeEnhancementMetadata;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
@@ -537,6 +538,7 @@ public abstract class AbstractEntityTuplizer implements EntityTuplizer {
 		final BytecodeEnhancementMetadata enhancementMetadata = entityMetamodel.getBytecodeEnhancementMetadata();
 		final int span = entityMetamodel.getPropertySpan();
 		final Object[] result = new Object[span];
+		resolveDeferredAttributes( entity );
 
 		for ( int j = 0; j < span; j++ ) {
 			NonIdentifierAttribute property = entityMetamodel.getProperties()[j];
@@ -563,9 +565,20 @@ public abstract class AbstractEntityTuplizer implements EntityTuplizer {
 
 	@Override
 	public Object getPropertyValue(Object entity, int i) throws HibernateException {
+		resolveDeferredAttributes( entity );
 		return getters[i].get( entity );
 	}
 
+	private void resolveDeferredAttributes(Object entity) {
+		if ( entityMetamodel.isReadOnlyLazyHydrationEnabled() ) {
+			final LazyAttributeLoadingInterceptor interceptor = entityMetamodel.getBytecodeEnhancementMetadata()
+					.extractInterceptor( entity );
+			if ( interceptor != null && interceptor.hasDeferredAttributes() ) {
+				interceptor.resolveDeferredAttributes( entity );
+			}
+		}
+	}
+
 	@Override
 	public Object getPropertyValue(Object entity, String propertyPath) throws HibernateException {
 		int loc = propertyPath.indexOf( '.' );
@@ -101,6 +101,7 @@ public class EntityMetamodel implements Serializable {
 	private final int[] naturalIdPropertyNumbers;
 	private final boolean hasImmutableNaturalId;
 	private final boolean hasCacheableNaturalId;
+	private final boolean readOnlyLazyHydration;
 
 	private boolean lazy; //not final because proxy factory creation can fail
 	private final boolean hasCascades;
@@ -303,6 +304,10 @@ public class EntityMetamodel implements Serializable {
 			hasCacheableNaturalId = persistentClass.getNaturalIdCacheRegionName() != null;
 		}
 
+		this.readOnlyLazyHydration = bytecodeEnhancementMetadata.isEnhancedForLazyLoading()
+				&& naturalIdPropertyNumbers == null
+				&& sessionFactory.getSessionFactoryOptions().isReadOnlyLazyHydrationEnabled();
+
 		this.hasPreInsertGeneratedValues = foundPreInsertGeneratedValues;
 		this.hasPreUpdateGeneratedValues = foundPreUpdateGeneratedValues;
 		this.hasInsertGeneratedValues = foundPostInsertGeneratedValues;
@@ -853,6 +858,16 @@ public class EntityMetamodel implements Serializable {
 		return hasNaturalIdentifier() && hasCacheableNaturalId;
 	}
 
+	/**
+	 * Are the lazy associations of the read-only instances of this entity resolved on first access, rather than
+	 * when the instances are loaded?
+	 *
+	 * @see org.hibernate.boot.spi.SessionFactoryOptions#isReadOnlyLazyHydrationEnabled
+	 */
+	public boolean isReadOnlyLazyHydrationEnabled() {
+		return readOnlyLazyHydration;
+	}
+
 	public boolean hasImmutableNaturalId() {
 		return hasImmutableNaturalId;
 	}
@@ -645,6 +645,16 @@ public abstract class EntityType extends AbstractType implements AssociationType
 
 	protected abstract boolean isNullable();
 
+	/**
+	 * Can the resolution of an identifier be deferred until the association is accessed?  That is the case of the
+	 * lazy associations to the primary key of an entity which is not checked for existence.
+	 *
+	 * @return True if the identifier does not need to be resolved when the owner is loaded.
+	 */
+	public boolean isResolutionDeferrable() {
+		return !eager && isReferenceToPrimaryKey() && !isNullable();
+	}
+
 	/**
 	 * Resolve an identifier via a load.
 	 *
@@ -298,14 +298,46 @@ public class TypeHelper {
 			final Object[] previousState,
 			final boolean[][] includeColumns,
 			final SharedSessionContractImplementor session) {
+		return findDirty( properties, currentState, previousState, includeColumns, null, session );
+	}
+
+	/**
+	 * Determine if any of the given field values are dirty, returning an array containing
+	 * indices of the dirty fields, given the dirtiness of some of them determined ahead by
+	 * {@link #findDirtyConcurrently}.
+	 * <p/>
+	 * If it is determined that no fields are dirty, null is returned.
+	 *
+	 * @param properties The property definitions
+	 * @param currentState The current state of the entity
+	 * @param previousState The baseline state of the entity
+	 * @param includeColumns Columns to be included in the dirty checking, per property
+	 * @param dirtiness The dirtiness already determined, per property, or null
+	 * @param session The session from which the dirty check request originated.
+	 *
+	 * @return Array containing indices of the dirty properties, or null if no properties considered dirty.
+	 */
+	public static int[] findDirty(
+			final NonIdentifierAttribute[] properties,
+			final Object[] currentState,
+			final Object[] previousState,
+			final boolean[][] includeColumns,
+			final Boolean[] dirtiness,
+			final SharedSessionContractImplementor session) {
 		int[] results = null;
 		int count = 0;
 		int span = properties.length;
 
 		for ( int i = 0; i < span; i++ ) {
-			final boolean dirty = currentState[i] != LazyPropertyInitializer.UNFETCHED_PROPERTY
-					&& properties[i].isDirtyCheckable()
-					&& properties[i].getType().isDirty( previousState[i], currentState[i], includeColumns[i], session );
+			final boolean dirty;
+			if ( dirtiness != null && dirtiness[i] != null ) {
+				dirty = dirtiness[i];
+			}
+			else {
+				dirty = currentState[i] != LazyPropertyInitializer.UNFETCHED_PROPERTY
+						&& properties[i].isDirtyCheckable()
+						&& properties[i].getType().isDirty( previousState[i], currentState[i], includeColumns[i], session );
+			}
 			if ( dirty ) {
 				if ( results == null ) {
 					results = new int[span];
@@ -324,6 +356,53 @@ public class TypeHelper {
 		}
 	}
 
+	/**
+	 * Determine the dirtiness of the given field values whose types compare them without
+	 * resorting to the persistence context: the values which are not associations.  Those may
+	 * thus be compared on another thread than the one of the session, ahead of
+	 * {@link #findDirty(NonIdentifierAttribute[], Object[], Object[], boolean[][], Boolean[], SharedSessionContractImplementor)}.
+	 *
+	 * @param properties The property definitions
+	 * @param currentState The current state of the entity
+	 * @param previousState The baseline state of the entity
+	 * @param includeColumns Columns to be included in the dirty checking, per property
+	 * @param session The session from which the dirty check request originated.
+	 *
+	 * @return Whether each value is dirty, or null for the values to compare within the session
+	 */
+	public static Boolean[] findDirtyConcurrently(
+			final NonIdentifierAttribute[] properties,
+			final Object[] currentState,
+			final Object[] previousState,
+			final boolean[][] includeColumns,
+			final SharedSessionContractImplementor session) {
+		final Boolean[] dirtiness = new Boolean[properties.length];
+		for ( int i = 0; i < properties.length; i++ ) {
+			if ( currentState[i] == LazyPropertyInitializer.UNFETCHED_PROPERTY || !properties[i].isDirtyCheckable() ) {
+				dirtiness[i] = Boolean.FALSE;
+			}
+			else if ( isComparableConcurrently( properties[i].getType() ) ) {
+				dirtiness[i] = properties[i].getType().isDirty( previousState[i], currentState[i], includeColumns[i], session );
+			}
+		}
+		return dirtiness;
+	}
+
+	private static boolean isComparableConcurrently(Type type) {
+		if ( type.isAssociationType() ) {
+			// the identifiers of the associated entities are resolved through the persistence context
+			return false;
+		}
+		if ( type.isComponentType() ) {
+			for ( Type subtype : ( (CompositeType) type ).getSubtypes() ) {
+				if ( !isComparableConcurrently( subtype ) ) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Determine if any of the given field values are modified, returning an array containing
 	 * indices of the modified fields.
@@ -0,0 +1,149 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BoundedCacheTest {
+
+	@Test
+	public void testSizeIsBounded() {
+		final BoundedCache cache = new BoundedCache( 100, value -> 1 );
+		for ( int i = 0; i < 1_000; i++ ) {
+			cache.put( i, "value" + i );
+		}
+		assertEquals( 100, cache.size() );
+		assertEquals( 100, cache.weightedSize() );
+		assertEquals( 900, cache.getEvictionCount() );
+	}
+
+	@Test
+	public void testFrequentlyUsedEntriesSurviveScan() {
+		final BoundedCache cache = new BoundedCache( 100, value -> 1 );
+		for ( int i = 0; i < 50; i++ ) {
+			cache.put( "hot" + i, i );
+		}
+		for ( int round = 0; round < 10; round++ ) {
+			for ( int i = 0; i < 50; i++ ) {
+				assertNotNull( cache.get( "hot" + i ) );
+			}
+		}
+
+		// entries used once should not evict the entries used all the time
+		for ( int i = 0; i < 10_000; i++ ) {
+			cache.put( "scan" + i, i );
+			cache.get( "scan" + i );
+		}
+
+		int hits = 0;
+		for ( int i = 0; i < 50; i++ ) {
+			if ( cache.get( "hot" + i ) != null ) {
+				hits++;
+			}
+		}
+		assertTrue( "Only " + hits + " frequently used entries left", hits >= 45 );
+		assertEquals( 100, cache.size() );
+	}
+
+	@Test
+	public void testEntriesAreWeighed() {
+		final BoundedCache cache = new BoundedCache( 100, value -> ( (List) value ).size() );
+		for ( int i = 0; i < 100; i++ ) {
+			cache.put( i, Arrays.asList( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 ) );
+		}
+		assertTrue( cache.weightedSize() <= 100 );
+		assertTrue( cache.size() <= 10 );
+
+		cache.put( "empty", Arrays.asList() );
+		assertTrue( cache.weightedSize() <= 100 );
+	}
+
+	@Test
+	public void testUpdatesKeepWeightedSize() {
+		final BoundedCache cache = new BoundedCache( 100, value -> 1 );
+		for ( int i = 0; i < 50; i++ ) {
+			cache.put( i, "a" );
+		}
+		for ( int i = 0; i < 50; i++ ) {
+			cache.put( i, "b" );
+			assertTrue( cache.replace( i, "b", "c" ) );
+			assertFalse( cache.replace( i, "b", "d" ) );
+			assertFalse( cache.putIfAbsent( i, "e" ) );
+		}
+		assertEquals( 50, cache.size() );
+		assertEquals( 50, cache.weightedSize() );
+		assertEquals( 0, cache.getEvictionCount() );
+		assertEquals( "c", cache.get( 10 ) );
+
+		for ( int i = 0; i < 25; i++ ) {
+			cache.remove( i );
+		}
+		assertEquals( 25, cache.weightedSize() );
+		assertNull( cache.get( 10 ) );
+
+		cache.clear();
+		assertEquals( 0, cache.size() );
+		assertEquals( 0, cache.weightedSize() );
+	}
+
+	@Test
+	public void testGetAll() {
+		final BoundedCache cache = new BoundedCache( 100, value -> 1 );
+		cache.put( 1, "one" );
+		cache.put( 2, "two" );
+		final Map<Object, Object> values = cache.getAll( Arrays.asList( 1, 2, 3 ) );
+		assertEquals( 2, values.size() );
+		assertEquals( "one", values.get( 1 ) );
+		assertEquals( "two", values.get( 2 ) );
+	}
+
+	@Test
+	public void testUnbounded() {
+		final BoundedCache cache = new BoundedCache( 0, value -> 1 );
+		for ( int i = 0; i < 10_000; i++ ) {
+			cache.put( i, i );
+		}
+		assertEquals( 10_000, cache.size() );
+		assertEquals( 0, cache.getEvictionCount() );
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		final BoundedCache cache = new BoundedCache( 500, value -> 1 );
+		final Thread[] threads = new Thread[4];
+		for ( int t = 0; t < threads.length; t++ ) {
+			final int seed = t;
+			threads[t] = new Thread( () -> {
+				for ( int i = 0; i < 20_000; i++ ) {
+					final int key = ( i * 31 + seed ) % 2_000;
+					if ( cache.get( key ) == null ) {
+						cache.put( key, key );
+					}
+					if ( i % 7 == 0 ) {
+						cache.remove( key );
+					}
+				}
+			} );
+			threads[t].start();
+		}
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		assertTrue( cache.size() <= 500 );
+		assertEquals( cache.size(), cache.weightedSize() );
+	}
+}
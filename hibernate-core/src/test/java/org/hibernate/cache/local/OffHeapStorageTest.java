@@ -0,0 +1,109 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.local;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapStorageTest {
+
+	@Test
+	public void testValuesAreStoredOffHeap() {
+		final OffHeapStorage storage = new OffHeapStorage( 1_000_000 );
+		final String value = "value";
+		final Object stored = storage.store( value );
+		assertEquals( OffHeapStorage.PAGE_SIZE, storage.getAllocatedSize() );
+		assertEquals( 64, OffHeapStorage.weigh( stored ) );
+		assertEquals( value, storage.load( stored ) );
+		assertNotSame( value, storage.load( stored ) );
+
+		storage.release( stored );
+		assertNull( storage.load( stored ) );
+	}
+
+	@Test
+	public void testReleasedSlotsAreReused() {
+		final OffHeapStorage storage = new OffHeapStorage( 1_000_000 );
+		for ( int i = 0; i < 100_000; i++ ) {
+			final Object stored = storage.store( "value " + i );
+			assertEquals( "value " + i, storage.load( stored ) );
+			storage.release( stored );
+		}
+		assertEquals( OffHeapStorage.PAGE_SIZE, storage.getAllocatedSize() );
+	}
+
+	@Test
+	public void testLargeValuesAreKeptInHeap() {
+		final OffHeapStorage storage = new OffHeapStorage( 1_000_000 );
+		final byte[] value = new byte[OffHeapStorage.PAGE_SIZE];
+		value[42] = 42;
+		final Object stored = storage.store( value );
+		assertArrayEquals( value, (byte[]) storage.load( stored ) );
+		assertEquals( 0, storage.getAllocatedSize() );
+		storage.release( stored );
+	}
+
+	@Test
+	public void testBoundedCache() {
+		final OffHeapStorage storage = new OffHeapStorage( 100_000 );
+		final BoundedCache cache = new BoundedCache( 100_000, OffHeapStorage::weigh, storage );
+		for ( int i = 0; i < 10_000; i++ ) {
+			cache.put( i, "value " + i );
+		}
+		assertTrue( cache.weightedSize() <= 100_000 );
+		assertEquals( cache.weightedSize(), cache.size() * 64 );
+		assertEquals( OffHeapStorage.PAGE_SIZE, storage.getAllocatedSize() );
+		for ( int i = 0; i < 10_000; i++ ) {
+			final Object value = cache.get( i );
+			assertTrue( value == null || value.equals( "value " + i ) );
+		}
+
+		assertTrue( cache.replace( 9_999, "value 9999", "replaced" ) );
+		assertEquals( "replaced", cache.get( 9_999 ) );
+		cache.clear();
+		assertEquals( 0, cache.size() );
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		final OffHeapStorage storage = new OffHeapStorage( 50_000 );
+		final BoundedCache cache = new BoundedCache( 50_000, OffHeapStorage::weigh, storage );
+		final AtomicReference<Object> corrupted = new AtomicReference<>();
+		final Thread[] threads = new Thread[4];
+		for ( int t = 0; t < threads.length; t++ ) {
+			final int seed = t;
+			threads[t] = new Thread( () -> {
+				for ( int i = 0; i < 20_000; i++ ) {
+					final int key = ( i * 31 + seed ) % 2_000;
+					final Object value = cache.get( key );
+					if ( value == null ) {
+						cache.put( key, "value " + key );
+					}
+					else if ( !value.equals( "value " + key ) ) {
+						corrupted.set( value );
+					}
+					if ( i % 7 == 0 ) {
+						cache.remove( key );
+					}
+				}
+			} );
+			threads[t].start();
+		}
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		assertNull( corrupted.get() );
+		assertTrue( cache.weightedSize() <= 50_000 );
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the table of {@link EntityEntryContext} through the persistence context of a session.
+ * <p/>
+ * The tickets are loaded into the persistence context in the order of their seats.
+ */
+public class EntityEntryContextTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	// enough entries for the table to be resized a few times
+	private static final int TICKETS = 4000;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Ticket.class };
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, s -> {
+			for ( int seat = 0; seat < TICKETS; seat++ ) {
+				s.persist( new Ticket( seat ) );
+			}
+		} );
+	}
+
+	@After
+	public void cleanup() {
+		doInHibernate( this::sessionFactory, s -> {
+			s.createQuery( "delete from Ticket" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testEntitiesAreKeptInTheOrderTheyWereAdded() {
+		doInHibernate( this::sessionFactory, s -> {
+			final PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContext();
+			final List<Ticket> expected = new ArrayList<>( s.createQuery( "from Ticket where seat < :seat order by seat" )
+					.setParameter( "seat", TICKETS / 2 )
+					.list() );
+			final List<Ticket> evicted = new ArrayList<>();
+			for ( int i = 0; i < expected.size(); i += 3 ) {
+				s.evict( expected.get( i ) );
+				evicted.add( expected.get( i ) );
+			}
+			expected.removeAll( evicted );
+			expected.addAll( s.createQuery( "from Ticket where seat >= :seat order by seat" )
+					.setParameter( "seat", TICKETS / 2 )
+					.list() );
+
+			assertOrder( expected, persistenceContext );
+			for ( Ticket ticket : evicted ) {
+				assertNull( persistenceContext.getEntry( ticket ) );
+			}
+
+			// an entity added again comes last
+			final Ticket first = expected.remove( 0 );
+			s.evict( first );
+			assertNull( persistenceContext.getEntry( first ) );
+			expected.add( s.get( Ticket.class, first.seat ) );
+			assertOrder( expected, persistenceContext );
+		} );
+	}
+
+	@Test
+	public void testClear() {
+		doInHibernate( this::sessionFactory, s -> {
+			final PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContext();
+			final Ticket ticket = s.get( Ticket.class, 1 );
+			s.clear();
+			assertEquals( 0, persistenceContext.getNumberOfManagedEntities() );
+			assertEquals( 0, persistenceContext.reentrantSafeEntityEntries().length );
+			assertNull( persistenceContext.getEntry( ticket ) );
+
+			final Ticket loaded = s.get( Ticket.class, 1 );
+			assertEquals( 1, persistenceContext.getNumberOfManagedEntities() );
+			assertNotNull( persistenceContext.getEntry( loaded ) );
+		} );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testEntitiesAreSerializedWithTheSession() {
+		final Session session = openSession();
+		final List<Ticket> tickets = session.createQuery( "from Ticket where seat < 100 order by seat" ).list();
+		for ( int i = 0; i < tickets.size(); i += 2 ) {
+			session.evict( tickets.get( i ) );
+		}
+		final Session deserialized = (Session) SerializationHelper.deserialize( SerializationHelper.serialize( session ) );
+		session.close();
+
+		try {
+			final PersistenceContext persistenceContext = ( (SessionImplementor) deserialized ).getPersistenceContext();
+			final Map.Entry<Object,EntityEntry>[] entries = persistenceContext.reentrantSafeEntityEntries();
+			assertEquals( 50, entries.length );
+			for ( int i = 0; i < entries.length; i++ ) {
+				final Ticket ticket = (Ticket) entries[i].getKey();
+				assertEquals( i * 2 + 1, ticket.seat.intValue() );
+				assertSame( entries[i].getValue(), persistenceContext.getEntry( ticket ) );
+				assertSame( ticket, deserialized.get( Ticket.class, ticket.seat ) );
+			}
+		}
+		finally {
+			deserialized.close();
+		}
+	}
+
+	private static void assertOrder(List<Ticket> expected, PersistenceContext persistenceContext) {
+		assertEquals( expected.size(), persistenceContext.getNumberOfManagedEntities() );
+		final Map.Entry<Object,EntityEntry>[] entries = persistenceContext.reentrantSafeEntityEntries();
+		assertEquals( expected.size(), entries.length );
+		for ( int i = 0; i < entries.length; i++ ) {
+			assertSame( expected.get( i ), entries[i].getKey() );
+			assertSame( entries[i].getValue(), persistenceContext.getEntry( expected.get( i ) ) );
+		}
+	}
+
+	@Entity(name = "Ticket")
+	@Table(name = "TICKET")
+	public static class Ticket implements Serializable {
+		@Id
+		Integer seat;
+
+		Ticket() {
+		}
+
+		Ticket(Integer seat) {
+			this.seat = seat;
+		}
+	}
+}
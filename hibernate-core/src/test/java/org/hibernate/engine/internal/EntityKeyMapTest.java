@@ -0,0 +1,182 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link EntityKeyMap} against the behavior of a {@link HashMap} keyed by {@link EntityKey}.
+ */
+public class EntityKeyMapTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class, SpecialItem.class, Tag.class, Label.class };
+	}
+
+	private EntityPersister persister(Class entityClass) {
+		return sessionFactory().getMetamodel().entityPersister( entityClass );
+	}
+
+	@Test
+	public void testLongIdentifiers() {
+		final EntityPersister itemPersister = persister( Item.class );
+		final EntityKeyMap<Object> map = new EntityKeyMap<>();
+		final Map<EntityKey,Object> expected = new HashMap<>();
+		for ( long id = 0; id < 5000; id++ ) {
+			final Object value = "item-" + id;
+			assertNull( map.put( new EntityKey( id * 7, itemPersister ), value ) );
+			expected.put( new EntityKey( id * 7, itemPersister ), value );
+		}
+		assertEquals( expected.size(), map.size() );
+
+		for ( long id = 0; id < 5000; id++ ) {
+			final Object value = expected.get( new EntityKey( id * 7, itemPersister ) );
+			assertSame( value, map.get( new EntityKey( id * 7, itemPersister ) ) );
+			assertSame( value, map.get( itemPersister, (Long) ( id * 7 ) ) );
+			assertSame( value, map.get( itemPersister, id * 7 ) );
+			assertNull( map.get( itemPersister, id * 7 + 1 ) );
+		}
+		// EntityKey equality never matches identifiers of another class
+		assertNull( map.get( itemPersister, (Integer) 7 ) );
+
+		for ( long id = 0; id < 5000; id += 2 ) {
+			final EntityKey key = new EntityKey( id * 7, itemPersister );
+			assertSame( expected.remove( key ), map.remove( key ) );
+			assertNull( map.remove( key ) );
+		}
+		assertEquals( expected, map );
+		assertEquals( expected.keySet(), map.keySet() );
+		assertEquals( new HashSet<>( expected.values() ), new HashSet<>( map.values() ) );
+	}
+
+	@Test
+	public void testHierarchyIsSharedAcrossPersisters() {
+		final EntityPersister itemPersister = persister( Item.class );
+		final EntityPersister specialItemPersister = persister( SpecialItem.class );
+		final EntityKeyMap<Object> map = new EntityKeyMap<>();
+
+		map.put( new EntityKey( 1L, itemPersister ), "item" );
+		map.put( new EntityKey( 2L, specialItemPersister ), "special" );
+
+		assertEquals( "special", map.get( itemPersister, 2L ) );
+		assertEquals( "item", map.get( new EntityKey( 1L, specialItemPersister ) ) );
+		assertEquals( "special", map.put( new EntityKey( 2L, itemPersister ), "replaced" ) );
+		assertEquals( 2, map.size() );
+
+		// the re-created keys retain the persister they were added with
+		final Map<String,String> entityNames = new HashMap<>();
+		for ( EntityKey key : map.keySet() ) {
+			entityNames.put( key.getIdentifier().toString(), key.getEntityName() );
+		}
+		assertEquals( Item.class.getName(), entityNames.get( "1" ) );
+		assertEquals( SpecialItem.class.getName(), entityNames.get( "2" ) );
+	}
+
+	@Test
+	public void testIntegerAndStringIdentifiers() {
+		final EntityPersister tagPersister = persister( Tag.class );
+		final EntityPersister labelPersister = persister( Label.class );
+		final EntityKeyMap<Object> map = new EntityKeyMap<>();
+		for ( int id = 0; id < 100; id++ ) {
+			map.put( new EntityKey( id, tagPersister ), "tag-" + id );
+			map.put( new EntityKey( "label-" + id, labelPersister ), "label-" + id );
+		}
+		assertEquals( 200, map.size() );
+
+		for ( int id = 0; id < 100; id++ ) {
+			assertEquals( "tag-" + id, map.get( tagPersister, id ) );
+			assertEquals( "tag-" + id, map.get( tagPersister, (long) id ) );
+			assertEquals( "label-" + id, map.get( labelPersister, "label-" + id ) );
+			assertTrue( map.containsKey( new EntityKey( "label-" + id, labelPersister ) ) );
+		}
+		assertNull( map.get( labelPersister, "tag-1" ) );
+		assertNull( map.get( tagPersister, 100 ) );
+
+		map.clear();
+		assertTrue( map.isEmpty() );
+		assertNull( map.get( tagPersister, 1 ) );
+		assertFalse( map.keySet().iterator().hasNext() );
+	}
+
+	@Test
+	public void testIteratorRemoveAndSetValue() {
+		final EntityPersister itemPersister = persister( Item.class );
+		final EntityPersister labelPersister = persister( Label.class );
+		final EntityKeyMap<Object> map = new EntityKeyMap<>();
+		for ( long id = 0; id < 50; id++ ) {
+			map.put( new EntityKey( id, itemPersister ), id );
+			map.put( new EntityKey( "label-" + id, labelPersister ), id );
+		}
+
+		final Set<EntityKey> visited = new HashSet<>();
+		final Iterator<Map.Entry<EntityKey,Object>> entries = map.entrySet().iterator();
+		while ( entries.hasNext() ) {
+			final Map.Entry<EntityKey,Object> entry = entries.next();
+			assertTrue( visited.add( entry.getKey() ) );
+			if ( (Long) entry.getValue() % 2 == 0 ) {
+				entries.remove();
+			}
+			else {
+				entry.setValue( "odd" );
+			}
+		}
+		assertEquals( 100, visited.size() );
+		assertEquals( 50, map.size() );
+		for ( long id = 0; id < 50; id++ ) {
+			assertEquals( id % 2 == 0 ? null : "odd", map.get( itemPersister, id ) );
+			assertEquals( id % 2 == 0 ? null : "odd", map.get( labelPersister, "label-" + id ) );
+		}
+
+		// removed slots are reclaimed rather than growing the partition indefinitely
+		for ( long id = 1000; id < 20000; id++ ) {
+			map.put( new EntityKey( id, itemPersister ), "transient" );
+			map.remove( new EntityKey( id, itemPersister ) );
+		}
+		assertEquals( 50, map.size() );
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		private Long id;
+	}
+
+	@Entity(name = "SpecialItem")
+	public static class SpecialItem extends Item {
+	}
+
+	@Entity(name = "Tag")
+	public static class Tag {
+		@Id
+		private Integer id;
+	}
+
+	@Entity(name = "Label")
+	public static class Label {
+		@Id
+		private String id;
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.engine.query.spi.QueryPlanCacheStorage;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link WeightedQueryPlanCacheStorage}
+ */
+public class WeightedQueryPlanCacheStorageTest extends BaseUnitTestCase {
+	private final List<Object> evictedKeys = new ArrayList<>();
+	private final QueryPlanCacheStorage.EvictionListener listener = (key, plan) -> evictedKeys.add( key );
+
+	@Before
+	public void clearEvictedKeys() {
+		evictedKeys.clear();
+	}
+
+	@Test
+	public void testBoundedByWeight() {
+		final WeightedQueryPlanCacheStorage storage = new WeightedQueryPlanCacheStorage( 100, 1000, listener );
+		for ( int i = 0; i < 10; i++ ) {
+			storage.putIfAbsent( i, "plan" + i, 100 );
+		}
+		assertEquals( 10, storage.size() );
+		assertEquals( 1000, storage.getWeight() );
+		assertTrue( evictedKeys.isEmpty() );
+
+		// a heavy plan pushes out as many light ones as needed
+		storage.putIfAbsent( "heavy", "heavy plan", 500 );
+		assertTrue( storage.getWeight() <= 1000 * WeightedQueryPlanCacheStorage.EVICTION_TARGET_PERCENT / 100 );
+		assertNotNull( storage.get( "heavy" ) );
+		assertEquals( 6, evictedKeys.size() );
+		assertEquals( 5, storage.size() );
+	}
+
+	@Test
+	public void testBoundedByCount() {
+		final WeightedQueryPlanCacheStorage storage = new WeightedQueryPlanCacheStorage( 10, 1000000, listener );
+		for ( int i = 0; i < 11; i++ ) {
+			storage.putIfAbsent( i, "plan" + i, 1 );
+		}
+		assertEquals( 10 * WeightedQueryPlanCacheStorage.EVICTION_TARGET_PERCENT / 100, storage.size() );
+		assertEquals( storage.size(), storage.getWeight() );
+		assertEquals( 11 - storage.size(), evictedKeys.size() );
+	}
+
+	@Test
+	public void testLeastRecentlyAccessedEvictedFirst() throws Exception {
+		final WeightedQueryPlanCacheStorage storage = new WeightedQueryPlanCacheStorage( 100, 30, listener );
+		storage.putIfAbsent( "a", "plan a", 10 );
+		storage.putIfAbsent( "b", "plan b", 10 );
+		storage.putIfAbsent( "c", "plan c", 10 );
+
+		// access times are tracked with millisecond granularity
+		Thread.sleep( 5 );
+		assertNotNull( storage.get( "a" ) );
+		assertNotNull( storage.get( "c" ) );
+
+		storage.putIfAbsent( "d", "plan d", 3 );
+		assertEquals( 1, evictedKeys.size() );
+		assertEquals( "b", evictedKeys.get( 0 ) );
+		assertNull( storage.get( "b" ) );
+		assertNotNull( storage.get( "a" ) );
+		assertNotNull( storage.get( "c" ) );
+		assertNotNull( storage.get( "d" ) );
+	}
+
+	@Test
+	public void testPlanHeavierThanBoundNotStored() {
+		final WeightedQueryPlanCacheStorage storage = new WeightedQueryPlanCacheStorage( 10, 100, listener );
+		storage.putIfAbsent( "small", "small plan", 10 );
+		storage.putIfAbsent( "huge", "huge plan", 101 );
+		assertNull( storage.get( "huge" ) );
+		assertNotNull( storage.get( "small" ) );
+		assertEquals( 10, storage.getWeight() );
+		assertTrue( evictedKeys.isEmpty() );
+	}
+
+	@Test
+	public void testPutIfAbsentKeepsExistingPlan() {
+		final WeightedQueryPlanCacheStorage storage = new WeightedQueryPlanCacheStorage( 10, 100, listener );
+		storage.putIfAbsent( "key", "first", 10 );
+		storage.putIfAbsent( "key", "second", 20 );
+		assertEquals( "first", storage.get( "key" ) );
+		assertEquals( 10, storage.getWeight() );
+
+		storage.clear();
+		assertEquals( 0, storage.size() );
+		assertEquals( 0, storage.getWeight() );
+		assertTrue( evictedKeys.isEmpty() );
+	}
+}
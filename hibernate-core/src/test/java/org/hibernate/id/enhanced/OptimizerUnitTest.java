@@ -6,6 +6,15 @@
  */
 package org.hibernate.id.enhanced;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -14,6 +23,7 @@ import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.testing.junit4.BaseUnitTestCase;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * {@inheritDoc}
@@ -294,6 +304,82 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 
 	}
 
+	@Test
+	public void testBasicPooledConcurrentOptimizerUsage() {
+		Long next;
+		// same expectations as the pooled optimizer, which stores the same database values
+		SourceMock sequence = new SourceMock( 1, 10 );
+		Optimizer optimizer = buildPooledConcurrentOptimizer( -1, 10 );
+		for ( int i = 1; i <= 11; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 2, sequence.getTimesCalled() ); // twice to initialize state
+		assertEquals( 11, sequence.getCurrentValue() );
+		// force a "clock over"
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 12, next.intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+		assertEquals( 21, optimizer.getLastSourceValue().makeValue().intValue() );
+		assertEquals( 12, ( (PooledConcurrentOptimizer) optimizer ).getLastValue().makeValue().intValue() );
+	}
+
+	@Test
+	public void testSubsequentPooledConcurrentOptimizerUsage() {
+		final SourceMock sequence = new SourceMock( 1001, 3, 5 );
+		final Optimizer optimizer = buildPooledConcurrentOptimizer( 1, 3 );
+
+		Long next = (Long) optimizer.generate( sequence );
+		assertEquals( 1001 + 1, next.intValue() );
+		assertEquals( ( 5 + 1 ), sequence.getTimesCalled() );
+
+		next = (Long) optimizer.generate( sequence );
+		assertEquals( ( 1001 + 2 ), next.intValue() );
+		next = (Long) optimizer.generate( sequence );
+		assertEquals( ( 1001 + 3 ), next.intValue() );
+		assertEquals( ( 5 + 1 ), sequence.getTimesCalled() );
+
+		// force a "clock over"
+		next = (Long) optimizer.generate( sequence );
+		assertEquals( ( 1001 + 4 ), next.intValue() );
+		assertEquals( ( 5 + 2 ), sequence.getTimesCalled() );
+		assertEquals( ( 1001 + 6 ), sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testConcurrentPooledConcurrentOptimizerUsage() throws Exception {
+		final int threads = 8;
+		final int idsPerThread = 10_000;
+		final SourceMock sequence = new SourceMock( 1, 50 );
+		final Optimizer optimizer = buildPooledConcurrentOptimizer( -1, 50 );
+
+		final Set<Long> ids = ConcurrentHashMap.newKeySet();
+		final ExecutorService executor = Executors.newFixedThreadPool( threads );
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for ( int i = 0; i < threads; i++ ) {
+				futures.add( executor.submit( () -> {
+					for ( int j = 0; j < idsPerThread; j++ ) {
+						assertTrue( ids.add( (Long) optimizer.generate( sequence ) ) );
+					}
+				} ) );
+			}
+			for ( Future<?> future : futures ) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		final int total = threads * idsPerThread;
+		assertEquals( total, ids.size() );
+		// no value of any obtained range is lost
+		assertEquals( 1L, Collections.min( ids ).longValue() );
+		assertEquals( (long) total, Collections.max( ids ).longValue() );
+	}
+
 	private static Optimizer buildNoneOptimizer(long initial, int increment) {
 		return buildOptimizer( StandardOptimizerDescriptor.NONE, initial, increment );
 	}
@@ -314,6 +400,10 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		return buildOptimizer( StandardOptimizerDescriptor.POOLED_LOTL, initial, increment );
 	}
 
+	private static Optimizer buildPooledConcurrentOptimizer(long initial, int increment) {
+		return buildOptimizer( StandardOptimizerDescriptor.POOLED_CONCURRENT, initial, increment );
+	}
+
 	private static Optimizer buildOptimizer(
 			StandardOptimizerDescriptor descriptor,
 			long initial,
@@ -0,0 +1,109 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.jpa.test.callbacks;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.PreUpdate;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.test.BaseEntityManagerFunctionalTestCase;
+
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInJPA;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that the changes made by the {@code @PreUpdate} callbacks of a flush visiting enough entities to be dirty
+ * checked in parallel are not lost.
+ */
+public class PreUpdateParallelDirtyCheckTest extends BaseEntityManagerFunctionalTestCase {
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Author.class, Book.class };
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addConfigOptions(Map options) {
+		options.put( AvailableSettings.PARALLEL_DIRTY_CHECKING_THRESHOLD, 2 );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testEntitiesChangedByTheCallbacksAreUpdated() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			final Author author = new Author( 1L, "author" );
+			entityManager.persist( author );
+			entityManager.persist( new Book( 1L, "first", author ) );
+		} );
+
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			final List<Book> books = entityManager.createQuery( "from Book" ).getResultList();
+			// the author is flushed after the book
+			entityManager.createQuery( "from Author" ).getResultList();
+			books.get( 0 ).title = "second";
+		} );
+
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			assertEquals( "second", entityManager.find( Author.class, 1L ).lastTitle );
+		} );
+	}
+
+	@Entity(name = "Author")
+	public static class Author {
+		@Id
+		Long id;
+
+		String name;
+
+		String lastTitle;
+
+		Author() {
+		}
+
+		Author(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public void setLastTitle(String lastTitle) {
+			this.lastTitle = lastTitle;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		Long id;
+
+		String title;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		Author author;
+
+		Book() {
+		}
+
+		Book(Long id, String title, Author author) {
+			this.id = id;
+			this.title = title;
+			this.author = author;
+		}
+
+		@PreUpdate
+		void updateAuthor() {
+			author.setLastTitle( title );
+		}
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.jpa.test.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.jpa.test.BaseEntityManagerFunctionalTestCase;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.hibernate.testing.RequiresDialect;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInJPA;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AvailableSettings#IN_CLAUSE_PARAMETER_PADDING}
+ */
+@RequiresDialect(H2Dialect.class)
+public class InClauseParameterPaddingTest extends BaseEntityManagerFunctionalTestCase {
+	private static final int IN_EXPRESSION_COUNT_LIMIT = 8;
+
+	private static final LinkedList<String> sqlQueries = new LinkedList<>();
+
+	public static class LimitedInExpressionCountDialect extends H2Dialect {
+		@Override
+		public int getInExpressionCountLimit() {
+			return IN_EXPRESSION_COUNT_LIMIT;
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Person.class };
+	}
+
+	@Override
+	protected void addConfigOptions(Map options) {
+		options.put( AvailableSettings.IN_CLAUSE_PARAMETER_PADDING, Boolean.TRUE.toString() );
+		options.put( AvailableSettings.CRITERIA_LITERAL_HANDLING_MODE, "bind" );
+		options.put( AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+			sqlQueries.add( sql );
+			return sql;
+		} );
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected Map buildSettings() {
+		final Map settings = super.buildSettings();
+		settings.put( AvailableSettings.DIALECT, LimitedInExpressionCountDialect.class.getName() );
+		return settings;
+	}
+
+	@Override
+	protected void afterEntityManagerFactoryBuilt() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			for ( int i = 1; i <= 20; i++ ) {
+				Person person = new Person();
+				person.id = i;
+				person.name = "person" + i;
+				entityManager.persist( person );
+			}
+		} );
+	}
+
+	@Before
+	public void clearStatements() {
+		sqlQueries.clear();
+	}
+
+	@Test
+	public void testHqlListPaddedToPowerOfTwo() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			for ( int size = 1; size <= IN_EXPRESSION_COUNT_LIMIT; size++ ) {
+				final List<Integer> ids = ids( size );
+				final List<Integer> result = entityManager.createQuery(
+						"select p.id from Person p where p.id in :ids order by p.id", Integer.class )
+						.setParameter( "ids", ids )
+						.getResultList();
+				assertEquals( ids, result );
+			}
+		} );
+
+		assertEquals( IN_EXPRESSION_COUNT_LIMIT, sqlQueries.size() );
+		assertEquals( Arrays.asList( 1, 2, 4, 4, 8, 8, 8, 8 ), parameterCounts() );
+	}
+
+	@Test
+	public void testHqlListSplitWhenExceedingDialectLimit() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			final List<Integer> ids = ids( 11 );
+			final List<Integer> result = entityManager.createQuery(
+					"select p.id from Person p where p.id in (:ids) order by p.id", Integer.class )
+					.setParameter( "ids", ids )
+					.getResultList();
+			assertEquals( ids, result );
+
+			final List<Integer> excluded = entityManager.createQuery(
+					"select p.id from Person p where p.id not in (:ids) order by p.id", Integer.class )
+					.setParameter( "ids", ids )
+					.getResultList();
+			assertEquals( 20 - 11, excluded.size() );
+			assertTrue( excluded.stream().allMatch( id -> id > 11 ) );
+		} );
+
+		// 8 + 3 values, padded to 8 + 4
+		assertEquals( Arrays.asList( 12, 12 ), parameterCounts() );
+		assertTrue( sqlQueries.get( 0 ).contains( " or " ) );
+		assertTrue( sqlQueries.get( 1 ).contains( " and " ) );
+	}
+
+	@Test
+	public void testHqlListNotSplitWithinArithmeticExpression() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			final List<Integer> result = entityManager.createQuery(
+					"select p.id from Person p where p.id + 1 in (:ids) order by p.id", Integer.class )
+					.setParameter( "ids", ids( 11 ) )
+					.getResultList();
+			assertEquals( ids( 10 ), result );
+		} );
+
+		assertEquals( 1, sqlQueries.size() );
+		assertFalse( sqlQueries.get( 0 ).contains( " or " ) );
+	}
+
+	@Test
+	public void testHqlListSplitWithFunctionExpression() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			final List<Integer> ids = ids( 11 );
+			final List<Integer> result = entityManager.createQuery(
+					"select p.id from Person p where abs(p.id) in (:ids) order by p.id", Integer.class )
+					.setParameter( "ids", ids )
+					.getResultList();
+			assertEquals( ids, result );
+		} );
+
+		assertEquals( Arrays.asList( 12 ), parameterCounts() );
+		assertTrue( sqlQueries.get( 0 ).contains( " or " ) );
+	}
+
+	@Test
+	public void testCriteriaLiteralsPadded() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+			final CriteriaQuery<Person> criteria = cb.createQuery( Person.class );
+			final Root<Person> root = criteria.from( Person.class );
+			criteria.where( cb.in( root.get( "name" ) ).value( "person1" ).value( "person2" ).value( "person3" ) );
+			assertEquals( 3, entityManager.createQuery( criteria ).getResultList().size() );
+		} );
+
+		assertEquals( Arrays.asList( 4 ), parameterCounts() );
+	}
+
+	@Test
+	public void testNativeListPadded() {
+		doInJPA( this::entityManagerFactory, entityManager -> {
+			final List result = entityManager.createNativeQuery(
+					"select p.id from Person p where p.id in (:ids)" )
+					.setParameter( "ids", ids( 5 ) )
+					.getResultList();
+			assertEquals( 5, result.size() );
+		} );
+
+		assertEquals( Arrays.asList( 8 ), parameterCounts() );
+	}
+
+	private static List<Integer> ids(int size) {
+		return IntStream.rangeClosed( 1, size ).boxed().collect( Collectors.toList() );
+	}
+
+	private static List<Integer> parameterCounts() {
+		final List<Integer> counts = new ArrayList<>();
+		for ( String sql : sqlQueries ) {
+			counts.add( (int) sql.chars().filter( c -> c == '?' ).count() );
+		}
+		return counts;
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		private Integer id;
+
+		private String name;
+	}
+}
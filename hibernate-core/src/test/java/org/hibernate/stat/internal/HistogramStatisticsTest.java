@@ -0,0 +1,97 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the latency histograms recorded by {@link HistogramStatisticsImpl}.
+ */
+public class HistogramStatisticsTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( StatisticsInitiator.STATS_BUILDER, HistogramStatisticsFactory.class.getName() );
+	}
+
+	@Test
+	public void testPercentiles() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		assertTrue( statistics instanceof HistogramStatisticsImpl );
+		statistics.clear();
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long i = 0; i < 10; i++ ) {
+				session.persist( new Item( i, "Item " + i ) );
+			}
+		} );
+		for ( long i = 0; i < 10; i++ ) {
+			final long id = i;
+			doInHibernate( this::sessionFactory, session -> {
+				session.get( Item.class, id );
+				session.createQuery( "from Item" ).list();
+			} );
+		}
+
+		final HistogramStatisticsImpl histogramStatistics = (HistogramStatisticsImpl) statistics;
+		assertEquals( 10, histogramStatistics.getEntityLoadExecutionCount() );
+		assertTrue( statistics.getEntityLoadTimePercentile( 50 ) > 0 );
+		assertTrue( statistics.getEntityLoadTimePercentile( 99 ) >= statistics.getEntityLoadTimePercentile( 50 ) );
+		assertTrue( statistics.getEntityLoadTimePercentile( Item.class.getName(), 99 ) > 0 );
+		assertEquals( 0, statistics.getEntityLoadTimePercentile( "unknown", 99 ), 0 );
+
+		assertTrue( statistics.getQueryExecutionTimePercentile( 99.9 ) > 0 );
+		assertTrue( statistics.getQueryExecutionTimePercentile( "from Item", 50 ) > 0 );
+		assertTrue( statistics.getFlushTimePercentile( 50 ) > 0 );
+		assertTrue( histogramStatistics.getFlushTimeP999() >= histogramStatistics.getFlushTimeP50() );
+
+		statistics.clear();
+		assertEquals( 0, statistics.getQueryExecutionTimePercentile( 99 ), 0 );
+		assertEquals( 0, histogramStatistics.getEntityLoadExecutionCount() );
+	}
+
+	@Test
+	public void testDefaultStatisticsDoNotRecordPercentiles() {
+		final ConcurrentStatisticsImpl statistics = new ConcurrentStatisticsImpl( sessionFactory() );
+		assertTrue( statistics.getQueryExecutionTimePercentile( 99 ) < 0 );
+		assertTrue( statistics.getFlushTimePercentile( 99 ) < 0 );
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		private Long id;
+
+		private String name;
+
+		public Item() {
+		}
+
+		public Item(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest extends BaseUnitTestCase {
+
+	@Test
+	public void testBuckets() {
+		int previousIndex = -1;
+		for ( long value = 0; value < 100_000; value++ ) {
+			final int index = LatencyHistogram.bucketIndex( value );
+			assertTrue( index == previousIndex || index == previousIndex + 1 );
+			assertTrue( LatencyHistogram.bucketUpperBound( index ) >= value );
+			assertTrue( LatencyHistogram.bucketUpperBound( index ) <= value * 1.125 + 1 );
+			previousIndex = index;
+		}
+	}
+
+	@Test
+	public void testPercentiles() {
+		final LatencyHistogram histogram = new LatencyHistogram( 4 );
+		assertEquals( 0, histogram.getValueAtPercentile( 99 ) );
+
+		for ( long micros = 1; micros <= 1000; micros++ ) {
+			histogram.record( TimeUnit.MICROSECONDS.toNanos( micros ) );
+		}
+		assertEquals( 1000, histogram.getCount() );
+		assertEquals( TimeUnit.MICROSECONDS.toNanos( 1000 ), histogram.getMax() );
+		assertEquals( TimeUnit.MICROSECONDS.toNanos( 500 * 1001 ), histogram.getTotal() );
+		assertWithinError( TimeUnit.MICROSECONDS.toNanos( 500 ), histogram.getValueAtPercentile( 50 ) );
+		assertWithinError( TimeUnit.MICROSECONDS.toNanos( 990 ), histogram.getValueAtPercentile( 99 ) );
+		assertEquals( histogram.getMax(), histogram.getValueAtPercentile( 100 ) );
+
+		histogram.reset();
+		assertEquals( 0, histogram.getCount() );
+		assertEquals( 0, histogram.getValueAtPercentile( 50 ) );
+	}
+
+	@Test
+	public void testConcurrentRecording() throws Exception {
+		final LatencyHistogram histogram = new LatencyHistogram( 4 );
+		final ExecutorService executor = Executors.newFixedThreadPool( 8 );
+		for ( int thread = 0; thread < 8; thread++ ) {
+			executor.execute( () -> {
+				for ( int i = 0; i < 10_000; i++ ) {
+					histogram.record( i % 2 == 0 ? 1_000 : 1_000_000 );
+				}
+			} );
+		}
+		executor.shutdown();
+		assertTrue( executor.awaitTermination( 30, TimeUnit.SECONDS ) );
+
+		assertEquals( 80_000, histogram.getCount() );
+		assertWithinError( 1_000, histogram.getValueAtPercentile( 50 ) );
+		assertWithinError( 1_000_000, histogram.getValueAtPercentile( 50.1 ) );
+	}
+
+	private static void assertWithinError(long expected, long actual) {
+		assertTrue( "Expected about " + expected + " but was " + actual, actual >= expected && actual <= expected * 1.125 );
+	}
+}
@@ -0,0 +1,227 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.persistence.DiscriminatorValue;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+import javax.persistence.PersistenceException;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.exception.ConstraintViolationException;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.hibernate.test.util.jdbc.PreparedStatementSpyConnectionProvider;
+import org.junit.Test;
+
+import static org.hibernate.testing.junit4.ExtraAssertions.assertTyping;
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests combining batched inserts into multi-row inserts.
+ */
+@RequiresDialect(H2Dialect.class)
+public class MultiRowInsertTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private PreparedStatementSpyConnectionProvider connectionProvider = new PreparedStatementSpyConnectionProvider();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Book.class, Vehicle.class, Car.class, Shape.class, Circle.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.DIALECT, ParameterLimitedH2Dialect.class.getName() );
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, 10 );
+		settings.put( AvailableSettings.STATEMENT_BATCH_MULTI_ROW_INSERT, true );
+		settings.put( AvailableSettings.CONNECTION_PROVIDER, connectionProvider );
+	}
+
+	@Override
+	protected void releaseResources() {
+		super.releaseResources();
+		connectionProvider.stop();
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testInsertsAreCombined() {
+		connectionProvider.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long i = 0; i < 10; i++ ) {
+				session.persist( new Book( i, "Book " + i ) );
+			}
+		} );
+
+		// the dialect allows 6 parameters, 3 rows of 2 parameters each per statement
+		assertEquals( 3, countInserts( "Book", 3 ) );
+		assertEquals( 1, countInserts( "Book", 1 ) );
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long i = 0; i < 10; i++ ) {
+				assertEquals( "Book " + i, session.get( Book.class, i ).title );
+			}
+		} );
+	}
+
+	@Test
+	public void testJoinedInheritance() {
+		connectionProvider.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long i = 0; i < 3; i++ ) {
+				session.persist( new Car( i, "Car " + i, (int) i + 2 ) );
+			}
+		} );
+
+		assertEquals( 1, countInserts( "Vehicle", 3 ) );
+		assertEquals( 1, countInserts( "Car", 3 ) );
+		doInHibernate( this::sessionFactory, session -> {
+			final Car car = (Car) session.get( Vehicle.class, 2L );
+			assertEquals( "Car 2", car.name );
+			assertEquals( 4, car.doors );
+		} );
+	}
+
+	@Test
+	public void testDiscriminatorLiteral() {
+		connectionProvider.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Circle( 1L, 1 ) );
+			session.persist( new Circle( 2L, 2 ) );
+			session.persist( new Shape( 3L ) );
+		} );
+
+		assertEquals( 1, countInserts( "Shape", 2 ) );
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( 2, session.createQuery( "from Circle" ).list().size() );
+			assertEquals( 3, session.createQuery( "from Shape" ).list().size() );
+		} );
+	}
+
+	@Test
+	public void testConstraintViolation() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Book( 1L, "Book" ) );
+		} );
+		try {
+			doInHibernate( this::sessionFactory, session -> {
+				session.persist( new Book( 2L, "Other book" ) );
+				session.persist( new Book( 1L, "Duplicate" ) );
+			} );
+			fail( "Expecting a constraint violation" );
+		}
+		catch (PersistenceException e) {
+			assertTyping( ConstraintViolationException.class, e.getCause() );
+		}
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( 1L, session.createQuery( "select count(b) from Book b" ).uniqueResult() );
+		} );
+	}
+
+	private long countInserts(String table, int rows) {
+		final List<String> inserts = connectionProvider.getPreparedSQLStatements()
+				.stream()
+				.filter( sql -> sql.startsWith( "insert into " + table + " " ) )
+				.collect( Collectors.toList() );
+		return inserts.stream()
+				.filter( sql -> sql.split( "\\), \\(" ).length == rows )
+				.count();
+	}
+
+	public static class ParameterLimitedH2Dialect extends H2Dialect {
+		@Override
+		public int getParameterCountLimit() {
+			return 6;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Long id;
+
+		private String title;
+
+		public Book() {
+		}
+
+		public Book(Long id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+	@Entity(name = "Vehicle")
+	@Inheritance(strategy = InheritanceType.JOINED)
+	public static class Vehicle {
+		@Id
+		private Long id;
+
+		protected String name;
+
+		public Vehicle() {
+		}
+
+		public Vehicle(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Car")
+	public static class Car extends Vehicle {
+		private int doors;
+
+		public Car() {
+		}
+
+		public Car(Long id, String name, int doors) {
+			super( id, name );
+			this.doors = doors;
+		}
+	}
+
+	@Entity(name = "Shape")
+	public static class Shape {
+		@Id
+		private Long id;
+
+		public Shape() {
+		}
+
+		public Shape(Long id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "Circle")
+	@DiscriminatorValue("circle")
+	public static class Circle extends Shape {
+		private Integer radius;
+
+		public Circle() {
+		}
+
+		public Circle(Long id, Integer radius) {
+			super( id );
+			this.radius = radius;
+		}
+	}
+}
@@ -0,0 +1,243 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.bytecode.enhancement.dirty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.bytecode.enhance.spi.UnloadedClass;
+import org.hibernate.bytecode.enhance.spi.UnloadedField;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEntityEventListener;
+
+import org.hibernate.testing.bytecode.enhancement.BytecodeEnhancerRunner;
+import org.hibernate.testing.bytecode.enhancement.CustomEnhancementContext;
+import org.hibernate.testing.bytecode.enhancement.EnhancerTestContext;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the flushes which only visit the entities written to since the last flush.
+ */
+@RunWith( BytecodeEnhancerRunner.class )
+@CustomEnhancementContext( {
+		EnhancerTestContext.class,
+		IncrementalFlushTest.NoLazyLoadingContext.class,
+		IncrementalFlushTest.NoLazyLoadableAttributesContext.class
+} )
+public class IncrementalFlushTest extends BaseCoreFunctionalTestCase {
+
+	private static final int ARTICLES = 10;
+
+	private final AtomicInteger visits = new AtomicInteger();
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Article.class, Subscriber.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "false" );
+		configuration.setProperty( AvailableSettings.INCREMENTAL_FLUSH, "true" );
+	}
+
+	@Override
+	protected void afterSessionFactoryBuilt() {
+		sessionFactory().getServiceRegistry().getService( EventListenerRegistry.class ).appendListeners(
+				EventType.FLUSH_ENTITY,
+				(FlushEntityEventListener) event -> visits.incrementAndGet()
+		);
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, s -> {
+			for ( long i = 0; i < ARTICLES; i++ ) {
+				final Article article = new Article( i, "article " + i );
+				article.getTags().add( "draft" );
+				s.persist( article );
+			}
+		} );
+	}
+
+	@After
+	public void cleanup() {
+		doInHibernate( this::sessionFactory, s -> {
+			// along with their tags
+			for ( Object article : s.createQuery( "from Article" ).list() ) {
+				s.delete( article );
+			}
+			s.createQuery( "delete from Subscriber" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testOnlyWrittenEntitiesAreVisited() {
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Article> articles = s.createQuery( "from Article order by id" ).list();
+			visits.set( 0 );
+			s.flush();
+			assertEquals( expectedVisits( 0 ), visits.get() );
+
+			articles.get( 3 ).setTitle( "retitled" );
+			visits.set( 0 );
+			s.flush();
+			assertEquals( expectedVisits( 1 ), visits.get() );
+
+			visits.set( 0 );
+			s.flush();
+			assertEquals( expectedVisits( 0 ), visits.get() );
+		} );
+
+		doInHibernate( this::sessionFactory, s -> {
+			final Article article = s.get( Article.class, 3L );
+			assertEquals( "retitled", article.getTitle() );
+			assertEquals( 1, article.getTags().size() );
+		} );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCollectionWritesAreFlushed() {
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Article> articles = s.createQuery( "from Article order by id" ).list();
+			articles.get( 5 ).getTags().add( "published" );
+			// the collections of the other articles, initialized but not written to, are still referenced
+			articles.get( 6 ).getTags().size();
+			visits.set( 0 );
+			s.flush();
+			assertEquals( expectedVisits( 1 ), visits.get() );
+		} );
+
+		doInHibernate( this::sessionFactory, s -> {
+			assertEquals( 2, s.get( Article.class, 5L ).getTags().size() );
+			assertEquals( 1, s.get( Article.class, 6L ).getTags().size() );
+		} );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testWritesSurviveAnUnneededAutoFlush() {
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Article> articles = s.createQuery( "from Article order by id" ).list();
+			articles.get( 1 ).setTitle( "retitled" );
+			// the query does not involve articles: their update is left to the flush at commit
+			s.createQuery( "from Subscriber" ).list();
+		} );
+
+		doInHibernate( this::sessionFactory, s -> {
+			assertEquals( "retitled", s.get( Article.class, 1L ).getTitle() );
+		} );
+	}
+
+	@Test
+	public void testPersistedEntitiesAreFlushed() {
+		doInHibernate( this::sessionFactory, s -> {
+			s.persist( new Subscriber( 1L, "reader@example.org" ) );
+			s.get( Article.class, 2L ).setTitle( "retitled" );
+		} );
+
+		doInHibernate( this::sessionFactory, s -> {
+			assertEquals( "reader@example.org", s.get( Subscriber.class, 1L ).email );
+			assertEquals( "retitled", s.get( Article.class, 2L ).getTitle() );
+		} );
+	}
+
+	/**
+	 * The visits a flush makes given the number of articles written to: the writes to entities without an
+	 * attribute interceptor are not tracked, so that every entity is visited.
+	 */
+	private static int expectedVisits(int written) {
+		return PersistentAttributeInterceptable.class.isAssignableFrom( Article.class ) ? written : ARTICLES;
+	}
+
+	// --- //
+
+	public static class NoLazyLoadingContext extends EnhancerTestContext {
+		@Override
+		public boolean hasLazyLoadableAttributes(UnloadedClass classDescriptor) {
+			return false;
+		}
+	}
+
+	/**
+	 * Only the writes to the collections are intercepted: those to the other attributes are only reported to the
+	 * dirty tracker.
+	 */
+	public static class NoLazyLoadableAttributesContext extends EnhancerTestContext {
+		@Override
+		public boolean isLazyLoadable(UnloadedField field) {
+			return field.hasAnnotation( ElementCollection.class );
+		}
+	}
+
+	@Entity(name = "Article")
+	@Table(name = "ARTICLE")
+	public static class Article {
+		@Id
+		Long id;
+
+		String title;
+
+		@ElementCollection
+		List<String> tags = new ArrayList<>();
+
+		Article() {
+		}
+
+		Article(Long id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+
+		public String getTitle() {
+			return title;
+		}
+
+		public void setTitle(String title) {
+			this.title = title;
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+	}
+
+	@Entity(name = "Subscriber")
+	@Table(name = "SUBSCRIBER")
+	public static class Subscriber {
+		@Id
+		Long id;
+
+		String email;
+
+		Subscriber() {
+		}
+
+		Subscriber(Long id, String email) {
+			this.id = id;
+			this.email = email;
+		}
+	}
+}
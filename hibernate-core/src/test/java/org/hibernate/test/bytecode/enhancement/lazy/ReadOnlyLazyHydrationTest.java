@@ -0,0 +1,197 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.bytecode.enhancement.lazy;
+
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import org.hibernate.LazyInitializationException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.hibernate.testing.bytecode.enhancement.BytecodeEnhancerRunner;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.hibernate.testing.bytecode.enhancement.EnhancerTestUtils.getFieldByReflection;
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the resolution of the lazy associations of read-only entities on first access.
+ */
+@RunWith( BytecodeEnhancerRunner.class )
+public class ReadOnlyLazyHydrationTest extends BaseCoreFunctionalTestCase {
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Customer.class, Purchase.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "false" );
+		configuration.setProperty( AvailableSettings.READ_ONLY_LAZY_HYDRATION, "true" );
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Customer customer = new Customer( 1L, "customer" );
+			s.persist( customer );
+			s.persist( new Purchase( 1L, "first", customer ) );
+			s.persist( new Purchase( 2L, "second", customer ) );
+		} );
+	}
+
+	@After
+	public void cleanup() {
+		doInHibernate( this::sessionFactory, s -> {
+			s.createQuery( "delete from Purchase" ).executeUpdate();
+			s.createQuery( "delete from Customer" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testAssociationIsResolvedOnFirstAccess() {
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Purchase> purchases = s.createQuery( "from Purchase order by id" ).setReadOnly( true ).list();
+			assertNull( getFieldByReflection( purchases.get( 0 ), "customer" ) );
+			assertNull( getFieldByReflection( purchases.get( 1 ), "customer" ) );
+
+			final Customer customer = purchases.get( 0 ).getCustomer();
+			assertNotNull( customer );
+			assertSame( customer, getFieldByReflection( purchases.get( 0 ), "customer" ) );
+			assertNull( getFieldByReflection( purchases.get( 1 ), "customer" ) );
+			assertSame( customer, purchases.get( 1 ).getCustomer() );
+			assertEquals( "customer", customer.getName() );
+		} );
+	}
+
+	@Test
+	public void testAssociationIsResolvedWhenNotReadOnly() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Purchase purchase = s.get( Purchase.class, 1L );
+			assertNotNull( getFieldByReflection( purchase, "customer" ) );
+		} );
+	}
+
+	@Test
+	public void testAssociationRemainsLazyOnClose() {
+		final Purchase purchase = doInHibernate( this::sessionFactory, s -> {
+			return (Purchase) s.createQuery( "from Purchase where id = 1" ).setReadOnly( true ).uniqueResult();
+		} );
+		assertNull( getFieldByReflection( purchase, "customer" ) );
+		try {
+			purchase.getCustomer();
+			fail( "LazyInitializationException expected" );
+		}
+		catch (LazyInitializationException expected) {
+		}
+	}
+
+	@Test
+	public void testAssociationToSessionEntityIsSetOnClose() {
+		final Purchase purchase = doInHibernate( this::sessionFactory, s -> {
+			s.get( Customer.class, 1L );
+			return (Purchase) s.createQuery( "from Purchase where id = 1" ).setReadOnly( true ).uniqueResult();
+		} );
+		assertNotNull( getFieldByReflection( purchase, "customer" ) );
+		assertEquals( "customer", purchase.getCustomer().getName() );
+	}
+
+	@Test
+	public void testAssociationIsResolvedWhenMadeModifiable() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Purchase purchase = (Purchase) s.createQuery( "from Purchase where id = 1" )
+					.setReadOnly( true )
+					.uniqueResult();
+			s.flush();
+			assertNull( getFieldByReflection( purchase, "customer" ) );
+
+			s.setReadOnly( purchase, false );
+			assertNotNull( getFieldByReflection( purchase, "customer" ) );
+			purchase.setDescription( "updated" );
+		} );
+
+		doInHibernate( this::sessionFactory, s -> {
+			final Purchase purchase = s.get( Purchase.class, 1L );
+			assertEquals( "updated", purchase.getDescription() );
+			assertEquals( Long.valueOf( 1L ), purchase.getCustomer().getId() );
+		} );
+	}
+
+	@Entity(name = "Customer")
+	@Table(name = "CUSTOMER")
+	public static class Customer {
+		@Id
+		Long id;
+
+		String name;
+
+		Customer() {
+		}
+
+		Customer(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	@Entity(name = "Purchase")
+	@Table(name = "PURCHASE")
+	public static class Purchase {
+		@Id
+		Long id;
+
+		String description;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		Customer customer;
+
+		Purchase() {
+		}
+
+		Purchase(Long id, String description, Customer customer) {
+			this.id = id;
+			this.description = description;
+			this.customer = customer;
+		}
+
+		public String getDescription() {
+			return description;
+		}
+
+		public void setDescription(String description) {
+			this.description = description;
+		}
+
+		public Customer getCustomer() {
+			return customer;
+		}
+	}
+}
@@ -0,0 +1,286 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.UUID;
+import javax.persistence.Basic;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CompactCacheEntry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.hibernate.testing.cache.CachingRegionFactory;
+import org.hibernate.testing.cache.EntityRegionImpl;
+import org.hibernate.testing.cache.ReadWriteEntityRegionAccessStrategy;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the entities cached through the {@link CompactCacheEntry} format.
+ */
+public class CompactCacheEntryTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final UUID CODE = UUID.randomUUID();
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Owner.class, Product.class, Store.class };
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, CachingRegionFactory.class );
+		settings.put( AvailableSettings.USE_COMPACT_CACHE, "true" );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testCompactCacheEntryIsUsed() {
+		assertTrue( persister( Product.class ).getCacheEntryStructure() instanceof CompactCacheEntry );
+	}
+
+	@Test
+	public void testEntityIsAssembledFromCompactCacheEntry() {
+		final Timestamp created = new Timestamp( System.currentTimeMillis() );
+		created.setNanos( 123456789 );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final Owner owner = new Owner( 1L, "owner" );
+			session.persist( owner );
+			session.persist( product( owner, created ) );
+		} );
+
+		assertTrue( cachedValue( Product.class ) instanceof byte[] );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final Product product = session.get( Product.class, 1L );
+			assertEquals( "Crème brûlée ☕", product.name );
+			assertEquals( -42, product.quantity );
+			assertEquals( Long.MAX_VALUE, product.serialNumber );
+			assertEquals( new BigDecimal( "-1234567.0089" ), product.price );
+			assertEquals( 0.25d, product.weight, 0d );
+			assertTrue( product.available );
+			assertEquals( 'x', product.grade );
+			assertEquals( created, product.created );
+			assertEquals( CODE, product.code );
+			assertArrayEquals( new byte[] { 1, 2, 3 }, product.thumbnail );
+			assertEquals( Color.BLUE, product.color );
+			assertEquals( "Main St.", product.address.street );
+			assertNull( product.address.city );
+			assertEquals( "owner", product.owner.name );
+			assertEquals( 0, product.version );
+		} );
+	}
+
+	@Test
+	public void testCompactCacheEntryIsSmallerThanSerializedCacheEntry() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Owner owner = new Owner( 1L, "owner" );
+			session.persist( owner );
+			session.persist( product( owner, new Timestamp( System.currentTimeMillis() ) ) );
+		} );
+
+		final byte[] compact = (byte[]) cachedValue( Product.class );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final EntityPersister persister = persister( Product.class );
+			final Product product = session.get( Product.class, 1L );
+			final SessionImplementor sessionImplementor = (SessionImplementor) session;
+			final CacheEntry entry = persister.buildCacheEntry(
+					product,
+					sessionImplementor.getPersistenceContext().getEntry( product ).getLoadedState(),
+					product.version,
+					sessionImplementor
+			);
+			assertTrue( compact.length * 4 < SerializationHelper.serialize( entry ).length );
+		} );
+	}
+
+	@Test
+	public void testUpdatedEntityIsCached() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Owner owner = new Owner( 1L, "owner" );
+			session.persist( owner );
+			session.persist( product( owner, null ) );
+		} );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final Product product = session.get( Product.class, 1L );
+			product.name = null;
+			product.quantity = Integer.MIN_VALUE;
+		} );
+
+		final byte[] compact = (byte[]) cachedValue( Product.class );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final Product product = session.get( Product.class, 1L );
+			assertNull( product.name );
+			assertNull( product.created );
+			assertEquals( Integer.MIN_VALUE, product.quantity );
+			assertEquals( 1, product.version );
+			assertSame( compact, cachedValue( Product.class ) );
+		} );
+	}
+
+	@Test
+	public void testComponentIsWrittenValueByValue() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Store store = new Store();
+			store.id = 1L;
+			store.address = new Address();
+			store.address.street = "Main St.";
+			session.persist( store );
+		} );
+
+		// format, subclass, version and state length; then the component tag, its length,
+		// the tagged street with its length and the null city
+		assertEquals( 4 + 2 + 2 + "Main St.".length() + 1, ( (byte[]) cachedValue( Store.class ) ).length );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final Store store = session.get( Store.class, 1L );
+			assertEquals( "Main St.", store.address.street );
+			assertNull( store.address.city );
+		} );
+	}
+
+	private Product product(Owner owner, Timestamp created) {
+		final Product product = new Product();
+		product.id = 1L;
+		product.name = "Crème brûlée ☕";
+		product.quantity = -42;
+		product.serialNumber = Long.MAX_VALUE;
+		product.price = new BigDecimal( "-1234567.0089" );
+		product.weight = 0.25d;
+		product.available = true;
+		product.grade = 'x';
+		product.created = created;
+		product.code = CODE;
+		product.thumbnail = new byte[] { 1, 2, 3 };
+		product.color = Color.BLUE;
+		product.address = new Address();
+		product.address.street = "Main St.";
+		product.owner = owner;
+		return product;
+	}
+
+	private EntityPersister persister(Class<?> entityClass) {
+		return sessionFactory().getMetamodel().entityPersister( entityClass );
+	}
+
+	private Object cachedValue(Class<?> entityClass) {
+		final EntityRegionImpl region = (EntityRegionImpl) persister( entityClass ).getCacheAccessStrategy().getRegion();
+		assertEquals( 1, region.getDataMap().size() );
+		return ( (ReadWriteEntityRegionAccessStrategy.Item) region.getDataMap().values().iterator().next() ).getValue();
+	}
+
+	public enum Color {
+		RED,
+		BLUE
+	}
+
+	@Embeddable
+	public static class Address {
+		String street;
+		String city;
+	}
+
+	@Entity(name = "Owner")
+	public static class Owner {
+		@Id
+		Long id;
+
+		String name;
+
+		Owner() {
+		}
+
+		Owner(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Product")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Product {
+		@Id
+		Long id;
+
+		@Version
+		int version;
+
+		String name;
+
+		int quantity;
+
+		long serialNumber;
+
+		BigDecimal price;
+
+		double weight;
+
+		boolean available;
+
+		char grade;
+
+		Timestamp created;
+
+		UUID code;
+
+		@Basic(fetch = FetchType.LAZY)
+		byte[] thumbnail;
+
+		@Enumerated(EnumType.ORDINAL)
+		Color color;
+
+		@Embedded
+		Address address;
+
+		@ManyToOne
+		Owner owner;
+	}
+
+	@Entity(name = "Store")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Store {
+		@Id
+		Long id;
+
+		@Embedded
+		Address address;
+	}
+}
@@ -0,0 +1,254 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.MappedSuperclass;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.local.LocalRegion;
+import org.hibernate.cache.local.LocalRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the entity and query caching through the {@link LocalRegionFactory}, for each access type.
+ */
+public class LocalRegionFactoryTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] {
+				ReadOnlyItem.class,
+				NonStrictItem.class,
+				ReadWriteItem.class,
+				TransactionalItem.class,
+				OffHeapItem.class
+		};
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, LocalRegionFactory.SHORT_NAME );
+		settings.put( AvailableSettings.CACHE_REGION_PREFIX, "" );
+		settings.put( AvailableSettings.USE_QUERY_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( LocalRegionFactory.MAX_WEIGHT + ".read-only", "10" );
+		settings.put( LocalRegionFactory.OFF_HEAP_SIZE + ".off-heap", "100000" );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Before
+	public void clearCache() {
+		sessionFactory().getCache().evictAllRegions();
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Test
+	public void testRegionFactoryIsSelectedByShortName() {
+		assertTrue( sessionFactory().getCache().getRegionFactory() instanceof LocalRegionFactory );
+	}
+
+	@Test
+	public void testReadOnly() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long i = 1; i <= 50; i++ ) {
+				session.persist( new ReadOnlyItem( i, "item " + i ) );
+			}
+		} );
+
+		// the region only keeps 10 entries
+		final LocalRegion region = region( "read-only" );
+		assertEquals( 10, region.getElementCountInMemory() );
+		assertEquals( 40, region.getEvictionCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long i = 1; i <= 50; i++ ) {
+				assertEquals( "item " + i, session.get( ReadOnlyItem.class, i ).name );
+			}
+		} );
+		final SecondLevelCacheStatistics statistics = statistics( "read-only" );
+		assertEquals( 50, statistics.getHitCount() + statistics.getMissCount() );
+		assertTrue( statistics.getHitCount() > 0 );
+		assertTrue( region.getElementCountInMemory() <= 10 );
+	}
+
+	@Test
+	public void testNonStrictReadWrite() {
+		assertUpdatesAreCached( NonStrictItem.class, "non-strict" );
+	}
+
+	@Test
+	public void testReadWrite() {
+		assertUpdatesAreCached( ReadWriteItem.class, "read-write" );
+	}
+
+	@Test
+	public void testTransactionalBehavesAsNonStrictReadWrite() {
+		assertUpdatesAreCached( TransactionalItem.class, "transactional" );
+	}
+
+	@Test
+	public void testOffHeap() {
+		assertUpdatesAreCached( OffHeapItem.class, "off-heap" );
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long i = 2; i <= 1_000; i++ ) {
+				final OffHeapItem item = new OffHeapItem();
+				item.id = i;
+				item.name = "item " + i;
+				session.persist( item );
+			}
+		} );
+
+		// the region is bounded by the size of its serialized entries
+		final LocalRegion region = region( "off-heap" );
+		assertTrue( region.getElementCountInMemory() < 1_000 );
+		assertTrue( region.getEvictionCount() > 0 );
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long i = 1; i <= 1_000; i++ ) {
+				assertEquals( i == 1 ? "after" : "item " + i, session.get( OffHeapItem.class, i ).name );
+			}
+		} );
+	}
+
+	@Test
+	public void testQueryCache() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long i = 1; i <= 5; i++ ) {
+				session.persist( new ReadWriteItem( i, "item " + i ) );
+			}
+		} );
+		for ( int i = 0; i < 2; i++ ) {
+			doInHibernate( this::sessionFactory, session -> {
+				final List<ReadWriteItem> items = session.createQuery( "from ReadWriteItem", ReadWriteItem.class )
+						.setCacheable( true )
+						.list();
+				assertEquals( 5, items.size() );
+			} );
+		}
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCacheMissCount() );
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCacheHitCount() );
+
+		// an update of the table invalidates the cached results
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new ReadWriteItem( 6L, "item 6" ) );
+		} );
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals(
+					6,
+					session.createQuery( "from ReadWriteItem", ReadWriteItem.class ).setCacheable( true ).list().size()
+			);
+		} );
+		assertEquals( 2, sessionFactory().getStatistics().getQueryCacheMissCount() );
+	}
+
+	private <T extends Item> void assertUpdatesAreCached(Class<T> itemClass, String regionName) {
+		doInHibernate( this::sessionFactory, session -> {
+			final T item = newItem( itemClass );
+			item.id = 1L;
+			item.name = "before";
+			session.persist( item );
+		} );
+
+		final SecondLevelCacheStatistics statistics = statistics( regionName );
+		assertEquals( 1, statistics.getElementCountInMemory() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.get( itemClass, 1L ).name = "after";
+		} );
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( "after", session.get( itemClass, 1L ).name );
+		} );
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( "after", session.get( itemClass, 1L ).name );
+		} );
+		assertEquals( 1, statistics.getElementCountInMemory() );
+		assertTrue( statistics.getHitCount() >= 2 );
+	}
+
+	private <T extends Item> T newItem(Class<T> itemClass) {
+		try {
+			return itemClass.newInstance();
+		}
+		catch (ReflectiveOperationException e) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	private LocalRegion region(String regionName) {
+		return (LocalRegion) sessionFactory().getCache().getEntityRegionAccess( regionName ).getRegion();
+	}
+
+	private SecondLevelCacheStatistics statistics(String regionName) {
+		return sessionFactory().getStatistics().getSecondLevelCacheStatistics( regionName );
+	}
+
+	@MappedSuperclass
+	public abstract static class Item {
+		@Id
+		Long id;
+
+		String name;
+	}
+
+	@Entity(name = "ReadOnlyItem")
+	@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "read-only")
+	public static class ReadOnlyItem extends Item {
+		public ReadOnlyItem() {
+		}
+
+		public ReadOnlyItem(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "NonStrictItem")
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "non-strict")
+	public static class NonStrictItem extends Item {
+	}
+
+	@Entity(name = "ReadWriteItem")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "read-write")
+	public static class ReadWriteItem extends Item {
+		public ReadWriteItem() {
+		}
+
+		public ReadWriteItem(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "OffHeapItem")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "off-heap")
+	public static class OffHeapItem extends Item {
+	}
+
+	@Entity(name = "TransactionalItem")
+	@Cache(usage = CacheConcurrencyStrategy.TRANSACTIONAL, region = "transactional")
+	public static class TransactionalItem extends Item {
+	}
+}
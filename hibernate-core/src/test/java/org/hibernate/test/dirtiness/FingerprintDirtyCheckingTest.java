@@ -0,0 +1,270 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.dirtiness;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.Version;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.internal.DefaultFlushEntityEventListener;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the dirty checking of entities against a fingerprint of their loaded state.
+ */
+public class FingerprintDirtyCheckingTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Branch.class, Account.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.FINGERPRINT_DIRTY_CHECKING, true );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, true );
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Branch main = new Branch( 1L, "main" );
+			s.persist( main );
+			s.persist( new Branch( 2L, "other" ) );
+			s.persist( new Account( 1L, "Aa", 100L, new Date( 0 ), main ) );
+		} );
+	}
+
+	@After
+	public void cleanup() {
+		doInHibernate( this::sessionFactory, s -> {
+			s.createQuery( "delete from Account" ).executeUpdate();
+			s.createQuery( "delete from Branch" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testLoadedStateIsNotKept() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		doInHibernate( this::sessionFactory, s -> {
+			final Account account = s.get( Account.class, 1L );
+			assertNull( ( (SessionImplementor) s ).getPersistenceContext().getEntry( account ).getLoadedState() );
+		} );
+
+		assertEquals( 0, statistics.getEntityUpdateCount() );
+	}
+
+	@Test
+	public void testChangesAreDetected() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		statistics.clear();
+		doInHibernate( this::sessionFactory, s -> {
+			// same String#hashCode
+			s.get( Account.class, 1L ).name = "BB";
+		} );
+		assertEquals( 1, statistics.getEntityUpdateCount() );
+
+		statistics.clear();
+		doInHibernate( this::sessionFactory, s -> {
+			s.get( Account.class, 1L ).opened.setTime( 1000 );
+		} );
+		assertEquals( 1, statistics.getEntityUpdateCount() );
+
+		statistics.clear();
+		doInHibernate( this::sessionFactory, s -> {
+			s.get( Account.class, 1L ).branch = s.get( Branch.class, 2L );
+		} );
+		assertEquals( 1, statistics.getEntityUpdateCount() );
+
+		doInHibernate( this::sessionFactory, s -> {
+			final Account account = s.get( Account.class, 1L );
+			assertEquals( "BB", account.name );
+			assertEquals( 1000, account.opened.getTime() );
+			assertEquals( "other", account.branch.name );
+			assertEquals( 3, account.version );
+		} );
+	}
+
+	@Test
+	public void testRevertedChangesAreNotWritten() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		doInHibernate( this::sessionFactory, s -> {
+			final Account account = s.get( Account.class, 1L );
+			account.balance = 200L;
+			account.balance = 100L;
+		} );
+
+		assertEquals( 0, statistics.getEntityUpdateCount() );
+	}
+
+	@Test
+	public void testChangesAfterAnUpdateAreDetected() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Account account = s.get( Account.class, 1L );
+			account.balance = 200L;
+			s.flush();
+			account.balance = 100L;
+			s.flush();
+			account.name = "renamed";
+		} );
+
+		doInHibernate( this::sessionFactory, s -> {
+			final Account account = s.get( Account.class, 1L );
+			assertEquals( 100L, account.balance.longValue() );
+			assertEquals( "renamed", account.name );
+			assertEquals( 3, account.version );
+		} );
+	}
+
+	@Test
+	public void testFingerprintIsSerializedWithTheSession() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		final Session session = openSession();
+		session.beginTransaction();
+		session.get( Account.class, 1L );
+		session.getTransaction().commit();
+		final Session deserialized = (Session) SerializationHelper.deserialize( SerializationHelper.serialize( session ) );
+		session.close();
+
+		try {
+			statistics.clear();
+			deserialized.beginTransaction();
+			final Account account = deserialized.get( Account.class, 1L );
+			deserialized.flush();
+			assertEquals( 0, statistics.getEntityUpdateCount() );
+
+			account.name = "renamed";
+			deserialized.getTransaction().commit();
+			assertEquals( 1, statistics.getEntityUpdateCount() );
+		}
+		finally {
+			deserialized.close();
+		}
+	}
+
+	@Test
+	public void testLoadedStateIsKeptForListenersChangingTheState() {
+		final EventListenerRegistry listenerRegistry = sessionFactory().getServiceRegistry()
+				.getService( EventListenerRegistry.class );
+		listenerRegistry.setListeners( EventType.FLUSH_ENTITY, new AuditingFlushEntityEventListener() );
+		try {
+			doInHibernate( this::sessionFactory, s -> {
+				final Account account = s.get( Account.class, 1L );
+				assertNotNull( ( (SessionImplementor) s ).getPersistenceContext().getEntry( account ).getLoadedState() );
+				account.balance = 200L;
+			} );
+		}
+		finally {
+			listenerRegistry.setListeners( EventType.FLUSH_ENTITY, new DefaultFlushEntityEventListener() );
+		}
+
+		doInHibernate( this::sessionFactory, s -> {
+			final Account account = s.get( Account.class, 1L );
+			assertEquals( 200L, account.balance.longValue() );
+			assertEquals( "audited", account.name );
+		} );
+	}
+
+	/**
+	 * Renames the accounts whose balance changed as they are flushed.
+	 */
+	private static class AuditingFlushEntityEventListener extends DefaultFlushEntityEventListener {
+		@Override
+		protected boolean invokeInterceptor(
+				SessionImplementor session,
+				Object entity,
+				EntityEntry entry,
+				Object[] values,
+				EntityPersister persister) {
+			if ( entity instanceof Account && ( (Account) entity ).balance != 100L ) {
+				( (Account) entity ).name = "audited";
+				values[persister.getEntityMetamodel().getPropertyIndex( "name" )] = "audited";
+				return true;
+			}
+			return false;
+		}
+	}
+
+	@Entity(name = "Branch")
+	@Table(name = "BRANCH")
+	public static class Branch implements Serializable {
+		@Id
+		Long id;
+
+		String name;
+
+		Branch() {
+		}
+
+		Branch(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Account")
+	@Table(name = "ACCOUNT")
+	public static class Account implements Serializable {
+		@Id
+		Long id;
+
+		@Version
+		int version;
+
+		String name;
+
+		Long balance;
+
+		@Temporal(TemporalType.TIMESTAMP)
+		Date opened;
+
+		@ManyToOne
+		Branch branch;
+
+		Account() {
+		}
+
+		Account(Long id, String name, Long balance, Date opened, Branch branch) {
+			this.id = id;
+			this.name = name;
+			this.balance = balance;
+			this.opened = opened;
+			this.branch = branch;
+		}
+	}
+}
@@ -0,0 +1,333 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.flush;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.internal.DefaultFlushEntityEventListener;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEntityEvent;
+import org.hibernate.event.spi.FlushEntityEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the comparison of the state of the entities to their snapshot in parallel.
+ */
+public class ParallelDirtyCheckTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final int THRESHOLD = 100;
+
+	private static final int PRODUCTS = 1000;
+
+	private final AtomicInteger events = new AtomicInteger();
+	private final AtomicInteger precomputedEvents = new AtomicInteger();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Category.class, Product.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.PARALLEL_DIRTY_CHECKING_THRESHOLD, THRESHOLD );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, true );
+	}
+
+	@Override
+	protected void afterSessionFactoryBuilt(SessionFactoryImplementor sessionFactory) {
+		listenerRegistry( sessionFactory ).setListeners( EventType.FLUSH_ENTITY, new CountingFlushEntityEventListener() );
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Category tools = new Category( 1L, "tools" );
+			final Category garden = new Category( 2L, "garden" );
+			s.persist( tools );
+			s.persist( garden );
+			for ( long i = 0; i < PRODUCTS; i++ ) {
+				s.persist( new Product( i, "product " + i, new Price( 100, "EUR" ), i % 2 == 0 ? tools : garden ) );
+			}
+		} );
+		events.set( 0 );
+		precomputedEvents.set( 0 );
+		sessionFactory().getStatistics().clear();
+	}
+
+	@After
+	public void cleanup() {
+		doInHibernate( this::sessionFactory, s -> {
+			s.createQuery( "delete from Product" ).executeUpdate();
+			s.createQuery( "delete from Category" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testOnlyModifiedEntitiesAreUpdated() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Product> products = s.createQuery( "from Product where id < 100 or id >= 500 order by id" ).list();
+			final Category garden = s.get( Category.class, 2L );
+			products.get( 10 ).name = "renamed";
+			products.get( 20 ).price.amount = 150;
+			products.get( 30 ).category = garden;
+			products.get( 40 ).category = null;
+		} );
+
+		assertEquals( 4, statistics.getEntityUpdateCount() );
+		assertParallel();
+
+		doInHibernate( this::sessionFactory, s -> {
+			assertEquals( "renamed", s.get( Product.class, 10L ).name );
+			assertEquals( 150, s.get( Product.class, 20L ).price.amount );
+			assertEquals( "garden", s.get( Product.class, 30L ).category.name );
+			assertNull( s.get( Product.class, 40L ).category );
+			assertEquals( "tools", s.get( Product.class, 50L ).category.name );
+		} );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testUnmodifiedEntitiesAreNotUpdated() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		doInHibernate( this::sessionFactory, s -> {
+			s.createQuery( "from Product" ).list();
+			s.flush();
+		} );
+
+		assertEquals( 0, statistics.getEntityUpdateCount() );
+		assertParallel();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFlushesBelowTheThresholdAreNotParallel() {
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Product> products = s.createQuery( "from Product where id < :count" )
+					.setParameter( "count", (long) THRESHOLD / 2 )
+					.list();
+			products.get( 0 ).price.currency = "USD";
+		} );
+
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+		assertEquals( 0, precomputedEvents.get() );
+
+		doInHibernate( this::sessionFactory, s -> {
+			assertEquals( "USD", s.get( Product.class, 0L ).price.currency );
+		} );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testListenersWhichMayChangeTheStateAreNotParallel() {
+		final EventListenerRegistry listenerRegistry = listenerRegistry( sessionFactory() );
+		try {
+			doInHibernate( this::sessionFactory, s -> {
+				final List<Product> products = s.createQuery( "from Product order by id" ).list();
+				final Product last = products.get( products.size() - 1 );
+				// renames the last product while the first one is flushed
+				listenerRegistry.prependListeners(
+						EventType.FLUSH_ENTITY,
+						(FlushEntityEventListener) event -> {
+							if ( event.getEntity() == products.get( 0 ) ) {
+								last.name = "renamed";
+							}
+						}
+				);
+			} );
+		}
+		finally {
+			listenerRegistry.setListeners( EventType.FLUSH_ENTITY, new CountingFlushEntityEventListener() );
+		}
+
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+		assertEquals( 0, precomputedEvents.get() );
+
+		doInHibernate( this::sessionFactory, s -> {
+			assertEquals( "renamed", s.get( Product.class, PRODUCTS - 1L ).name );
+		} );
+	}
+
+	@Test
+	public void testEntitiesReadThroughTheirGettersAreNotParallel() {
+		try ( SessionFactory sessionFactory = new MetadataSources( serviceRegistry() )
+				.addAnnotatedClass( Gadget.class )
+				.buildMetadata()
+				.buildSessionFactory() ) {
+			doInHibernate( () -> sessionFactory, s -> {
+				for ( long i = 0; i < THRESHOLD; i++ ) {
+					s.persist( new Gadget( i, "gadget " + i ) );
+				}
+			} );
+			Gadget.readers.clear();
+
+			doInHibernate( () -> sessionFactory, s -> {
+				s.createQuery( "from Gadget" ).list();
+				s.get( Gadget.class, 0L ).setName( "renamed" );
+			} );
+
+			assertEquals( Collections.singleton( Thread.currentThread() ), Gadget.readers );
+			doInHibernate( () -> sessionFactory, s -> {
+				assertEquals( "renamed", s.get( Gadget.class, 0L ).getName() );
+			} );
+		}
+	}
+
+	private static EventListenerRegistry listenerRegistry(SessionFactoryImplementor sessionFactory) {
+		return sessionFactory.getServiceRegistry().getService( EventListenerRegistry.class );
+	}
+
+	/**
+	 * Every entity visited by the flushes was compared in parallel, ahead of its event.
+	 */
+	private void assertParallel() {
+		assertEquals( events.get(), precomputedEvents.get() );
+		assertTrue( events.get() >= THRESHOLD );
+	}
+
+	/**
+	 * Counts the flush events, and those handed the comparison made in parallel.
+	 */
+	private class CountingFlushEntityEventListener extends DefaultFlushEntityEventListener {
+		@Override
+		public void onFlushEntity(FlushEntityEvent event) throws HibernateException {
+			events.incrementAndGet();
+			if ( event.getPrecomputedDirtiness() != null ) {
+				precomputedEvents.incrementAndGet();
+			}
+			super.onFlushEntity( event );
+		}
+
+		@Override
+		public boolean mayChangeStateBeforeDirtyCheck(EntityPersister persister) {
+			return false;
+		}
+	}
+
+	@Entity(name = "Category")
+	@Table(name = "CATEGORY")
+	public static class Category {
+		@Id
+		Long id;
+
+		String name;
+
+		Category() {
+		}
+
+		Category(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Product")
+	@Table(name = "PRODUCT")
+	public static class Product {
+		@Id
+		Long id;
+
+		String name;
+
+		@Embedded
+		Price price;
+
+		@ManyToOne
+		Category category;
+
+		Product() {
+		}
+
+		Product(Long id, String name, Price price, Category category) {
+			this.id = id;
+			this.name = name;
+			this.price = price;
+			this.category = category;
+		}
+	}
+
+	@Embeddable
+	public static class Price {
+		int amount;
+		String currency;
+
+		Price() {
+		}
+
+		Price(int amount, String currency) {
+			this.amount = amount;
+			this.currency = currency;
+		}
+	}
+
+	@Entity(name = "Gadget")
+	@Table(name = "GADGET")
+	public static class Gadget {
+		// the threads the names were read from
+		static final Set<Thread> readers = ConcurrentHashMap.newKeySet();
+
+		private Long id;
+		private String name;
+
+		Gadget() {
+		}
+
+		Gadget(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		@Id
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			readers.add( Thread.currentThread() );
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.flush;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.persistence.CascadeType;
+import javax.persistence.CollectionTable;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.Table;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEntityEventListener;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the auto-flushes which first only dirty check the entities which may write to the tables of the query.
+ */
+public class PartialAutoFlushTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final int PLAYERS = 5;
+
+	private final AtomicInteger visits = new AtomicInteger();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Team.class, Player.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.PARTIAL_AUTO_FLUSH, true );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, true );
+	}
+
+	@Override
+	protected void afterSessionFactoryBuilt(SessionFactoryImplementor sessionFactory) {
+		sessionFactory.getServiceRegistry().getService( EventListenerRegistry.class ).appendListeners(
+				EventType.FLUSH_ENTITY,
+				(FlushEntityEventListener) event -> visits.incrementAndGet()
+		);
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Team team = new Team( 1L, "team" );
+			for ( long i = 0; i < PLAYERS; i++ ) {
+				final Player player = new Player( i, "player " + i, team );
+				player.nicknames.add( "nickname " + i );
+				team.players.add( player );
+			}
+			s.persist( team );
+		} );
+	}
+
+	@After
+	public void cleanup() {
+		doInHibernate( this::sessionFactory, s -> {
+			for ( Object team : s.createQuery( "from Team" ).list() ) {
+				s.delete( team );
+			}
+		} );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testEntitiesOfOtherTablesAreNotDirtyChecked() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Player> players = s.createQuery( "from Player order by id" ).list();
+			players.get( 2 ).name = "renamed";
+			statistics.clear();
+			visits.set( 0 );
+
+			assertEquals( 1, s.createQuery( "from Team" ).list().size() );
+			assertEquals( 1, visits.get() );
+			assertEquals( 0, statistics.getEntityUpdateCount() );
+		} );
+
+		assertEquals( 1, statistics.getEntityUpdateCount() );
+		doInHibernate( this::sessionFactory, s -> {
+			assertEquals( "renamed", s.get( Player.class, 2L ).name );
+		} );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testChangesToTheTablesOfTheQueryFlushTheSession() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Player> players = s.createQuery( "from Player order by id" ).list();
+			players.get( 2 ).name = "renamed";
+			players.get( 0 ).team.name = "renamed";
+			statistics.clear();
+
+			assertEquals( 1, s.createQuery( "from Team where name = 'renamed'" ).list().size() );
+			assertEquals( 2, statistics.getEntityUpdateCount() );
+		} );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testChangesToCollectionTablesAreFlushed() {
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Player> players = s.createQuery( "from Player order by id" ).list();
+			players.get( 1 ).nicknames.add( "another" );
+			players.get( 2 ).nicknames = new HashSet<>( Arrays.asList( "replaced", "and another" ) );
+
+			final Number nicknames = (Number) s.createNativeQuery( "select count(*) from PLAYER_NICKNAMES" )
+					.addSynchronizedQuerySpace( "PLAYER_NICKNAMES" )
+					.uniqueResult();
+			assertEquals( PLAYERS + 2, nicknames.intValue() );
+		} );
+	}
+
+	@Test
+	public void testCascadedEntitiesAreFlushed() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Team team = s.get( Team.class, 1L );
+			team.players.add( new Player( 100L, "new player", team ) );
+
+			assertEquals( PLAYERS + 1, s.createQuery( "from Player" ).list().size() );
+		} );
+	}
+
+	@Entity(name = "Team")
+	@Table(name = "TEAM")
+	public static class Team {
+		@Id
+		Long id;
+
+		String name;
+
+		@OneToMany(mappedBy = "team", cascade = CascadeType.ALL)
+		List<Player> players = new ArrayList<>();
+
+		Team() {
+		}
+
+		Team(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Player")
+	@Table(name = "PLAYER")
+	public static class Player {
+		@Id
+		Long id;
+
+		String name;
+
+		@ManyToOne
+		Team team;
+
+		@ElementCollection
+		@CollectionTable(name = "PLAYER_NICKNAMES")
+		Set<String> nicknames = new HashSet<>();
+
+		Player() {
+		}
+
+		Player(Long id, String name, Team team) {
+			this.id = id;
+			this.name = name;
+			this.team = team;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.idgen.enhanced.table;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.hibernate.id.IdentifierGeneratorHelper.BasicHolder;
+import static org.hibernate.testing.junit4.ExtraAssertions.assertClassAssignability;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests fetching the next block of table generator values in the background once the
+ * {@link AvailableSettings#ID_OPTIMIZER_PREFETCH_LOW_WATER_MARK} is reached.
+ */
+public class PrefetchingPooledTableTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "idgen/enhanced/table/Pooled.hbm.xml" };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.ID_OPTIMIZER_PREFETCH_LOW_WATER_MARK, "3" );
+	}
+
+	@Test
+	public void testPrefetchedBoundary() throws Exception {
+		EntityPersister persister = sessionFactory().getEntityPersister( Entity.class.getName() );
+		assertClassAssignability( TableGenerator.class, persister.getIdentifierGenerator().getClass() );
+		TableGenerator generator = ( TableGenerator ) persister.getIdentifierGenerator();
+		PooledOptimizer optimizer = (PooledOptimizer) generator.getOptimizer();
+
+		int increment = optimizer.getIncrementSize();
+		Entity[] entities = new Entity[ increment + 2 ];
+		Session s = openSession();
+		s.beginTransaction();
+		// the initial block holds increment + 1 values; the low-water mark is reached after increment - 3 of them
+		for ( int i = 0; i < increment - 3; i++ ) {
+			entities[i] = new Entity( "" + ( i + 1 ) );
+			s.save( entities[i] );
+		}
+		// the next block is obtained in the background
+		long timeout = System.currentTimeMillis() + 10_000;
+		while ( generator.getTableAccessCount() < 3 && System.currentTimeMillis() < timeout ) {
+			Thread.sleep( 10 );
+		}
+		assertEquals( 3, generator.getTableAccessCount() );
+		// ... but not handed over to the optimizer before its current block is exhausted
+		assertEquals( increment + 1, ( (BasicHolder) optimizer.getLastSourceValue() ).getActualLongValue() );
+
+		for ( int i = increment - 3; i < entities.length; i++ ) {
+			entities[i] = new Entity( "" + ( i + 1 ) );
+			s.save( entities[i] );
+		}
+		// the "clock over" used the prefetched value
+		assertEquals( 3, generator.getTableAccessCount() );
+		assertEquals( ( increment * 2 ) + 1, ( (BasicHolder) optimizer.getLastSourceValue() ).getActualLongValue() );
+		assertEquals( increment + 2, ( (BasicHolder) optimizer.getLastValue() ).getActualLongValue() );
+		s.getTransaction().commit();
+
+		s.beginTransaction();
+		for ( int i = 0; i < entities.length; i++ ) {
+			assertEquals( i + 1, entities[i].getId().intValue() );
+			s.delete( entities[i] );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+}
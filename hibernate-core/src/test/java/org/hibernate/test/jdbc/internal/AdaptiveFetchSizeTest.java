@@ -0,0 +1,165 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.jdbc.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.hibernate.testing.transaction.TransactionUtil.HibernateTransactionConsumer;
+import org.hibernate.test.util.jdbc.PreparedStatementSpyConnectionProvider;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the adaptation of the JDBC fetch size of queries to the rows they read.
+ */
+public class AdaptiveFetchSizeTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final int EVENTS = 50;
+	private static final int GLOBAL_FETCH_SIZE = 10;
+
+	private PreparedStatementSpyConnectionProvider connectionProvider = new PreparedStatementSpyConnectionProvider();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Event.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.STATEMENT_FETCH_SIZE, GLOBAL_FETCH_SIZE );
+		settings.put( AvailableSettings.ADAPTIVE_STATEMENT_FETCH_SIZE, true );
+		settings.put( AvailableSettings.STATEMENT_FETCH_SIZE_MEMORY_BUDGET, 2000 );
+		settings.put( AvailableSettings.CONNECTION_PROVIDER, connectionProvider );
+	}
+
+	@Override
+	protected void releaseResources() {
+		super.releaseResources();
+		connectionProvider.stop();
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long i = 0; i < EVENTS; i++ ) {
+				session.persist( new Event( i, "event " + i ) );
+			}
+		} );
+	}
+
+	@Test
+	public void testPointLookupKeepsTheGlobalFetchSize() throws SQLException {
+		final HibernateTransactionConsumer lookup = session -> session.createQuery( "from Event where id = :id" )
+				.setParameter( "id", 1L )
+				.list();
+
+		assertEquals( GLOBAL_FETCH_SIZE, lastFetchSize( lookup ) );
+		// not adapted below the global fetch size
+		assertEquals( GLOBAL_FETCH_SIZE, lastFetchSize( lookup ) );
+	}
+
+	@Test
+	public void testEmptyResultsDoNotLowerTheFetchSize() throws SQLException {
+		assertEquals( GLOBAL_FETCH_SIZE, lastFetchSize( eventsFrom( EVENTS ) ) );
+		assertEquals( GLOBAL_FETCH_SIZE, lastFetchSize( eventsFrom( EVENTS ) ) );
+
+		// the large results following the empty ones
+		assertEquals( GLOBAL_FETCH_SIZE, lastFetchSize( eventsFrom( 0 ) ) );
+		assertTrue( lastFetchSize( eventsFrom( 0 ) ) > GLOBAL_FETCH_SIZE );
+	}
+
+	@Test
+	public void testLargeResultsAreBoundedByTheMemoryBudget() throws SQLException {
+		final HibernateTransactionConsumer report = session -> session.createQuery( "from Event" ).list();
+
+		assertEquals( GLOBAL_FETCH_SIZE, lastFetchSize( report ) );
+		final int fetchSize = lastFetchSize( report );
+		assertTrue( fetchSize > GLOBAL_FETCH_SIZE );
+		assertTrue( fetchSize < EVENTS );
+	}
+
+	@Test
+	public void testMaxResultsBoundTheFetchSize() throws SQLException {
+		final HibernateTransactionConsumer firstEvents = session -> session.createQuery( "from Event order by id" )
+				.setMaxResults( 20 )
+				.list();
+
+		assertEquals( GLOBAL_FETCH_SIZE, lastFetchSize( firstEvents ) );
+		assertEquals( 20, lastFetchSize( firstEvents ) );
+	}
+
+	@Test
+	public void testLargeMaxResultsAreBoundedByTheMemoryBudget() throws SQLException {
+		final HibernateTransactionConsumer report = session -> session.createQuery( "from Event where id >= 0" )
+				.setMaxResults( 1_000_000 )
+				.list();
+
+		// the width of the rows is not known before the first execution
+		assertEquals( GLOBAL_FETCH_SIZE, lastFetchSize( report ) );
+		assertTrue( lastFetchSize( report ) < EVENTS );
+	}
+
+	@Test
+	public void testQueryFetchSizeTakesPrecedence() throws SQLException {
+		final HibernateTransactionConsumer report = session -> session.createQuery( "from Event" ).setFetchSize( 7 ).list();
+
+		lastFetchSize( report );
+		assertEquals( 7, lastFetchSize( report ) );
+	}
+
+	private static HibernateTransactionConsumer eventsFrom(long id) {
+		return session -> session.createQuery( "from Event where id >= :id" ).setParameter( "id", id ).list();
+	}
+
+	private int lastFetchSize(HibernateTransactionConsumer work) throws SQLException {
+		connectionProvider.clear();
+		doInHibernate( this::sessionFactory, work );
+		final List<PreparedStatement> statements = connectionProvider.getPreparedStatements();
+		assertEquals( 1, statements.size() );
+		final ArgumentCaptor<Integer> fetchSizes = ArgumentCaptor.forClass( Integer.class );
+		verify( statements.get( 0 ), atLeastOnce() ).setFetchSize( fetchSizes.capture() );
+		return fetchSizes.getValue();
+	}
+
+	@Entity(name = "Event")
+	public static class Event {
+		@Id
+		Long id;
+
+		@Column(length = 20)
+		String name;
+
+		Event() {
+		}
+
+		Event(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
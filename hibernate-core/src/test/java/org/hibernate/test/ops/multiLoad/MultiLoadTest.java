@@ -50,6 +50,7 @@ public class MultiLoadTest extends BaseNonConfigCoreFunctionalTestCase {
 	protected void configureStandardServiceRegistryBuilder(StandardServiceRegistryBuilder ssrb) {
 		super.configureStandardServiceRegistryBuilder( ssrb );
 		ssrb.applySetting( AvailableSettings.USE_SECOND_LEVEL_CACHE, true );
+		ssrb.applySetting( AvailableSettings.GENERATE_STATISTICS, true );
 	}
 
 	@Override
@@ -195,6 +196,42 @@ public class MultiLoadTest extends BaseNonConfigCoreFunctionalTestCase {
 		}
 	}
 
+	@Test
+	public void testMultiLoadFromSecondLevelCache() {
+		// load the first 56 entities, which puts them in the L2 cache
+		doInHibernate(
+				this::sessionFactory, session -> {
+					session.byMultipleIds( SimpleEntity.class ).multiLoad( ids(56) );
+				}
+		);
+
+		sessionFactory().getStatistics().clear();
+		doInHibernate(
+				this::sessionFactory, session -> {
+					// ordered multiLoad, with 2 entities which are not cached
+					List<SimpleEntity> list = session.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 57, 2, 58 );
+					assertEquals( 4, list.size() );
+					assertEquals( (Integer) 57, list.get( 1 ).getId() );
+					assertEquals( (Integer) 2, list.get( 2 ).getId() );
+					assertEquals( 2, sessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+					assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+				}
+		);
+
+		sessionFactory().getStatistics().clear();
+		doInHibernate(
+				this::sessionFactory, session -> {
+					// un-ordered multiLoad, all cached
+					List<SimpleEntity> list = session.byMultipleIds( SimpleEntity.class )
+							.enableOrderedReturn( false )
+							.multiLoad( ids(56) );
+					assertEquals( 56, list.size() );
+					assertEquals( 56, sessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+					assertEquals( 0, sessionFactory().getStatistics().getPrepareStatementCount() );
+				}
+		);
+	}
+
 	@Test
 	public void testMultiLoadClearsBatchFetchQueue() {
 		final EntityKey entityKey = new EntityKey(
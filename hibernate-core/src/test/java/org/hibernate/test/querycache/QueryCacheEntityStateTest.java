@@ -0,0 +1,139 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.querycache;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the query cache entries storing the state of the entities returned, enabled by
+ * {@value AvailableSettings#QUERY_CACHE_STORE_ENTITY_STATE}.
+ */
+public class QueryCacheEntityStateTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "querycache/Item.hbm.xml" };
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.USE_QUERY_CACHE, "true" );
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.QUERY_CACHE_STORE_ENTITY_STATE, "true" );
+	}
+
+	@Override
+	protected String getCacheConcurrencyStrategy() {
+		return "read-write";
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Before
+	public void createItems() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 5; i++ ) {
+				final Item item = new Item();
+				item.setName( "item" + i );
+				item.setDescription( "description" + i );
+				session.persist( item );
+			}
+		} );
+		sessionFactory().getCache().evictQueryRegions();
+		sessionFactory().getCache().evictEntityRegions();
+	}
+
+	@Test
+	public void testEntitiesAreLoadedFromQueryCacheEntry() {
+		assertEquals( 5, listItems( null ).size() );
+
+		// the entity region is not needed to load the items
+		sessionFactory().getCache().evictEntityRegions();
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		final CacheGetCounter cacheGetCounter = new CacheGetCounter();
+		final List<Item> items = listItems( cacheGetCounter );
+		assertEquals( 5, items.size() );
+		for ( Item item : items ) {
+			assertTrue( item.getDescription().startsWith( "description" ) );
+		}
+
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		// the query results and the timestamp of the Items table
+		assertEquals( 2, cacheGetCounter.cacheGets );
+	}
+
+	@Test
+	public void testUpdatedEntitiesAreNotLoadedFromStaleQueryCacheEntry() {
+		assertEquals( 5, listItems( null ).size() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final Item item = (Item) session.createQuery( "from Item where name = 'item0'" ).uniqueResult();
+			item.setDescription( "updated" );
+		} );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		final List<Item> items = listItems( null );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+		assertEquals( 1, items.stream().filter( item -> "updated".equals( item.getDescription() ) ).count() );
+	}
+
+	@Test
+	public void testEntitiesAlreadyInSessionAreKept() {
+		assertEquals( 5, listItems( null ).size() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final Item loaded = (Item) session.createQuery( "from Item where name = 'item0'" ).uniqueResult();
+			loaded.setDescription( "changed in session" );
+			session.setHibernateFlushMode( FlushMode.MANUAL );
+			final List<Item> items = session.createQuery( "from Item" ).setCacheable( true ).list();
+			assertTrue( items.contains( loaded ) );
+			assertEquals( "changed in session", loaded.getDescription() );
+		} );
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Item> listItems(CacheGetCounter cacheGetCounter) {
+		try ( Session session = cacheGetCounter == null
+				? openSession()
+				: sessionFactory().withOptions().eventListeners( cacheGetCounter ).openSession() ) {
+			return session.createQuery( "from Item" ).setCacheable( true ).list();
+		}
+	}
+
+	private static class CacheGetCounter extends BaseSessionEventListener {
+		private int cacheGets;
+
+		@Override
+		public void cacheGetStart() {
+			cacheGets++;
+		}
+	}
+}
@@ -17,6 +17,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
+import org.hibernate.BaseSessionEventListener;
 import org.hibernate.Criteria;
 import org.hibernate.EmptyInterceptor;
 import org.hibernate.Hibernate;
@@ -551,6 +552,82 @@ public class QueryCacheTest extends BaseNonConfigCoreFunctionalTestCase {
 //		assertEquals(1, query.getResultList().size());
 //	}
 
+	@Test
+	public void testCachedEntitiesAreReadFromRegionAtOnce() {
+		sessionFactory().getCache().evictQueryRegions();
+		sessionFactory().getCache().evictEntityRegions();
+
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 5; i++ ) {
+			Item item = new Item();
+			item.setName( "item" + i );
+			item.setDescription( "item" + i );
+			s.persist( item );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final String queryString = "from Item";
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 5, s.createQuery( queryString ).setCacheable( true ).list().size() );
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+		final CacheGetCounter cacheGetCounter = new CacheGetCounter();
+		s = sessionFactory().withOptions().eventListeners( cacheGetCounter ).openSession();
+		s.beginTransaction();
+		assertEquals( 5, s.createQuery( queryString ).setCacheable( true ).list().size() );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCacheHitCount() );
+		assertEquals( 5, sessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+		assertEquals( 0, sessionFactory().getStatistics().getPrepareStatementCount() );
+		// the query results, the timestamp of the Item table and the five items
+		assertEquals( 3, cacheGetCounter.cacheGets );
+	}
+
+	@Test
+	public void testTimestampsOfQuerySpacesAreReadAtOnce() {
+		sessionFactory().getCache().evictQueryRegions();
+
+		final String queryString = "select count(*) from Item i, EntityWithCompositeKey e, EntityWithStringCompositeKey s";
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( queryString ).setCacheable( true ).list();
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+		final CacheGetCounter cacheGetCounter = new CacheGetCounter();
+		s = sessionFactory().withOptions().eventListeners( cacheGetCounter ).openSession();
+		s.beginTransaction();
+		s.createQuery( queryString ).setCacheable( true ).list();
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCacheHitCount() );
+		assertEquals(
+				3,
+				sessionFactory().getStatistics().getUpdateTimestampsCacheHitCount()
+						+ sessionFactory().getStatistics().getUpdateTimestampsCacheMissCount()
+		);
+		// the query results and the timestamps of the three tables
+		assertEquals( 2, cacheGetCounter.cacheGets );
+	}
+
+	private static class CacheGetCounter extends BaseSessionEventListener {
+		private int cacheGets;
+
+		@Override
+		public void cacheGetStart() {
+			cacheGets++;
+		}
+	}
+
 	@Test
 	@TestForIssue(jiraKey = "HHH-9962")
 	/* Test courtesy of Giambattista Bloisi */
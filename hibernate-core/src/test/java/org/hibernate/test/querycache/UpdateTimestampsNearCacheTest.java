@@ -0,0 +1,85 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.querycache;
+
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the near cache of the update timestamps, enabled by
+ * {@value AvailableSettings#UPDATE_TIMESTAMPS_NEAR_CACHE_TTL}.
+ */
+public class UpdateTimestampsNearCacheTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "querycache/Item.hbm.xml" };
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.USE_QUERY_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.UPDATE_TIMESTAMPS_NEAR_CACHE_TTL, "60000" );
+	}
+
+	@Test
+	public void testTimestampsAreReadFromNearCache() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( newItem( "first" ) );
+		} );
+		assertEquals( 1, countItems() );
+
+		// the timestamp of the Items table, put in the near cache by the insert, stays valid
+		final SessionFactoryImplementor factory = sessionFactory();
+		statistics.clear();
+		factory.getCache().getUpdateTimestampsCache().getRegion().evictAll();
+		assertEquals( 1, countItems() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getUpdateTimestampsCacheHitCount() );
+
+		// an insert through this node invalidates the timestamp of the near cache at once
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( newItem( "second" ) );
+		} );
+		statistics.clear();
+		assertEquals( 2, countItems() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+
+		// the timestamps are cleared with the region
+		factory.getCache().getUpdateTimestampsCache().clear();
+		statistics.clear();
+		assertEquals( 2, countItems() );
+		assertEquals( 1, statistics.getUpdateTimestampsCacheMissCount() );
+	}
+
+	private long countItems() {
+		try ( Session session = openSession() ) {
+			return (Long) session.createQuery( "select count(*) from Item" ).setCacheable( true ).uniqueResult();
+		}
+	}
+
+	private static Item newItem(String name) {
+		final Item item = new Item();
+		item.setName( name );
+		item.setDescription( name );
+		return item;
+	}
+}
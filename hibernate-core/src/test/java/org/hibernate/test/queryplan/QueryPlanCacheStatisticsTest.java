@@ -0,0 +1,82 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import java.util.Collections;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the query plan cache statistics and weight bound
+ */
+public class QueryPlanCacheStatisticsTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] {
+				"queryplan/filter-defs.hbm.xml",
+				"queryplan/Joined.hbm.xml"
+		};
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		cfg.setProperty( AvailableSettings.QUERY_PLAN_CACHE_MAX_WEIGHT, "20000" );
+	}
+
+	@Before
+	public void clearCache() {
+		sessionFactory().getQueryPlanCache().cleanup();
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Test
+	public void testHitsAndMisses() {
+		final QueryPlanCache cache = sessionFactory().getQueryPlanCache();
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		cache.getHQLQueryPlan( "from Person", false, Collections.emptyMap() );
+		assertEquals( 0, statistics.getQueryPlanCacheHitCount() );
+		assertEquals( 1, statistics.getQueryPlanCacheMissCount() );
+
+		cache.getHQLQueryPlan( "from Person", false, Collections.emptyMap() );
+		cache.getHQLQueryPlan( "from Person", false, Collections.emptyMap() );
+		assertEquals( 2, statistics.getQueryPlanCacheHitCount() );
+		assertEquals( 1, statistics.getQueryPlanCacheMissCount() );
+		assertEquals( 0, statistics.getQueryPlanCacheEvictionCount() );
+		assertTrue( statistics.getQueryPlanCompileTime() >= 0 );
+	}
+
+	@Test
+	public void testLargeInListsEvictedByWeight() {
+		final QueryPlanCache cache = sessionFactory().getQueryPlanCache();
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		for ( int size = 1; size <= 20; size++ ) {
+			final StringBuilder hql = new StringBuilder( "from Person where id in (:id_0" );
+			for ( int i = 1; i < size * 10; i++ ) {
+				hql.append( ", :id_" ).append( i );
+			}
+			cache.getHQLQueryPlan( hql.append( ')' ).toString(), false, Collections.emptyMap() );
+		}
+
+		assertEquals( 20, statistics.getQueryPlanCacheMissCount() );
+		assertTrue( statistics.getQueryPlanCacheEvictionCount() > 0 );
+		assertEquals( 20 - statistics.getQueryPlanCacheEvictionCount(), cache.getQueryPlanCount() );
+	}
+}
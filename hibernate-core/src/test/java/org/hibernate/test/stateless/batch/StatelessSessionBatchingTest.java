@@ -0,0 +1,158 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.stateless.batch;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.hibernate.test.util.jdbc.PreparedStatementSpyConnectionProvider;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests JDBC batching of {@link StatelessSession} statements, grouped per entity and operation.
+ */
+public class StatelessSessionBatchingTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final String INSERT_BOOK = "insert into Book (title, id) values (?, ?)";
+	private static final String INSERT_AUTHOR = "insert into Author (name, id) values (?, ?)";
+
+	private PreparedStatementSpyConnectionProvider connectionProvider = new PreparedStatementSpyConnectionProvider();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Book.class, Author.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, 3 );
+		settings.put( AvailableSettings.ORDER_STATELESS_STATEMENTS, true );
+		settings.put( AvailableSettings.CONNECTION_PROVIDER, connectionProvider );
+	}
+
+	@Override
+	protected void releaseResources() {
+		super.releaseResources();
+		connectionProvider.stop();
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testInterleavedInsertsAreGrouped() {
+		connectionProvider.clear();
+		try (StatelessSession session = sessionFactory().openStatelessSession()) {
+			session.beginTransaction();
+			for ( long i = 0; i < 4; i++ ) {
+				session.insert( new Book( i, "Book " + i ) );
+				session.insert( new Author( i, "Author " + i ) );
+			}
+			session.getTransaction().commit();
+		}
+
+		// without grouping, each switch between the entities executes a batch of one statement
+		assertEquals( 2, connectionProvider.getPreparedStatements( INSERT_BOOK ).size() );
+		assertEquals( 2, connectionProvider.getPreparedStatements( INSERT_AUTHOR ).size() );
+		assertEquals( 4L, countBooks() );
+	}
+
+	@Test
+	public void testPendingStatementsAreExecutedBeforeQueries() {
+		try (StatelessSession session = sessionFactory().openStatelessSession()) {
+			session.beginTransaction();
+			session.insert( new Book( 1L, "Book" ) );
+			session.insert( new Author( 1L, "Author" ) );
+			final Book book = new Book( 2L, "Other book" );
+			session.insert( book );
+
+			List<Book> books = session.createQuery( "from Book", Book.class ).list();
+			assertEquals( 2, books.size() );
+
+			book.title = "Updated";
+			session.update( book );
+			session.delete( books.get( 0 ).id == 1L ? books.get( 0 ) : books.get( 1 ) );
+			assertEquals( "Updated", ( (Book) session.get( Book.class, 2L ) ).title );
+			assertEquals( 1L, session.createQuery( "select count(b) from Book b" ).uniqueResult() );
+			session.getTransaction().commit();
+		}
+		assertEquals( 1L, countBooks() );
+	}
+
+	@Test
+	public void testPendingStatementsAreDiscardedOnRollback() {
+		try (StatelessSession session = sessionFactory().openStatelessSession()) {
+			session.beginTransaction();
+			session.insert( new Book( 1L, "Book" ) );
+			session.getTransaction().rollback();
+
+			session.beginTransaction();
+			session.insert( new Book( 2L, "Other book" ) );
+			session.getTransaction().commit();
+		}
+		assertEquals( 1L, countBooks() );
+	}
+
+	@Test
+	public void testStatementsAreExecutedWithoutTransaction() {
+		try (StatelessSession session = sessionFactory().openStatelessSession()) {
+			for ( long i = 0; i < 5; i++ ) {
+				session.insert( new Book( i, "Book " + i ) );
+			}
+		}
+		assertEquals( 5L, countBooks() );
+	}
+
+	private long countBooks() {
+		return doInHibernate( this::sessionFactory, session -> {
+			return (Long) session.createQuery( "select count(b) from Book b" ).uniqueResult();
+		} );
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Long id;
+
+		private String title;
+
+		public Book() {
+		}
+
+		public Book(Long id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+	@Entity(name = "Author")
+	public static class Author {
+		@Id
+		private Long id;
+
+		private String name;
+
+		public Author() {
+		}
+
+		public Author(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
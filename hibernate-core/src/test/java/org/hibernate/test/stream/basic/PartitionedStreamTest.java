@@ -0,0 +1,150 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.test.stream.basic;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.boot.MetadataSources;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link org.hibernate.query.Query#parallelStream(int)}.
+ */
+public class PartitionedStreamTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final int READINGS = 200;
+
+	@Override
+	protected void applyMetadataSources(MetadataSources sources) {
+		super.applyMetadataSources( sources );
+		sources.addAnnotatedClass( Reading.class );
+		sources.addAnnotatedClass( Calibration.class );
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < READINGS; i++ ) {
+				// sparse identifiers, leaving some ranges empty
+				final long id = i * 7L + ( i > READINGS / 2 ? 10_000 : 0 );
+				session.persist( new Reading( id, i % 2 == 0 ? "indoor" : "outdoor" ) );
+			}
+		} );
+	}
+
+	@After
+	public void cleanup() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "delete from Reading" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testEntitiesAreStreamedInParallel() {
+		doInHibernate( this::sessionFactory, session -> {
+			try ( Stream<Reading> stream = session.createQuery( "from Reading", Reading.class ).parallelStream( 4 ) ) {
+				assertTrue( stream.isParallel() );
+				final List<Reading> readings = stream.collect( Collectors.toList() );
+				assertEquals( READINGS, readings.size() );
+				assertEquals( READINGS, readings.stream().map( reading -> reading.id ).distinct().count() );
+				for ( Reading reading : readings ) {
+					assertFalse( session.contains( reading ) );
+				}
+			}
+		} );
+	}
+
+	@Test
+	public void testRestrictionsAndOrderingAreKept() {
+		doInHibernate( this::sessionFactory, session -> {
+			try ( Stream<Object[]> stream = session.createQuery(
+					"select r.id, r.sensor from Reading r where r.sensor = :sensor or r.id < :id order by r.id" )
+					.setParameter( "sensor", "indoor" )
+					.setParameter( "id", 8L )
+					.parallelStream( 8 ) ) {
+				final Set<Long> ids = stream.map( row -> (Long) row[0] ).collect( Collectors.toSet() );
+				assertEquals( READINGS / 2 + 1, ids.size() );
+				assertTrue( ids.contains( 7L ) );
+			}
+		} );
+	}
+
+	@Test
+	public void testGroupedQueryIsSequential() {
+		doInHibernate( this::sessionFactory, session -> {
+			try ( Stream<Object[]> stream = session.createQuery(
+					"select r.sensor, count(r) from Reading r group by r.sensor" ).parallelStream( 4 ) ) {
+				assertFalse( stream.isParallel() );
+				assertEquals( 2, stream.count() );
+			}
+			try ( Stream<Long> stream = session.createQuery( "select count(r) from Reading r" ).parallelStream( 4 ) ) {
+				assertFalse( stream.isParallel() );
+			}
+		} );
+	}
+
+	@Test
+	public void testLimitedQueryIsSequential() {
+		doInHibernate( this::sessionFactory, session -> {
+			try ( Stream<Reading> stream = session.createQuery( "from Reading order by id", Reading.class )
+					.setMaxResults( 10 )
+					.parallelStream( 4 ) ) {
+				assertFalse( stream.isParallel() );
+				assertEquals( 10, stream.count() );
+			}
+		} );
+	}
+
+	@Test
+	public void testEmptyTable() {
+		doInHibernate( this::sessionFactory, session -> {
+			try ( Stream<Calibration> stream = session.createQuery( "from Calibration", Calibration.class )
+					.parallelStream( 4 ) ) {
+				assertEquals( 0, stream.count() );
+			}
+		} );
+	}
+
+	@Entity(name = "Reading")
+	@Table(name = "READING")
+	public static class Reading {
+		@Id
+		Long id;
+
+		String sensor;
+
+		Reading() {
+		}
+
+		Reading(Long id, String sensor) {
+			this.id = id;
+			this.sensor = sensor;
+		}
+	}
+
+	@Entity(name = "Calibration")
+	@Table(name = "CALIBRATION")
+	public static class Calibration {
+		@Id
+		Long id;
+	}
+}
@@ -0,0 +1,258 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.test.stream.basic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import javax.persistence.CascadeType;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.Table;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the eviction of the entities returned by {@link org.hibernate.query.Query#stream()}.
+ */
+public class StreamEvictionTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final int INVOICES = 50;
+
+	@Override
+	protected void applyMetadataSources(MetadataSources sources) {
+		super.applyMetadataSources( sources );
+		sources.addAnnotatedClass( Customer.class );
+		sources.addAnnotatedClass( Invoice.class );
+		sources.addAnnotatedClass( InvoiceLine.class );
+	}
+
+	@Before
+	public void prepare() {
+		// one customer per invoice, so that each row queues a key of its own for batch fetching
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < INVOICES; i++ ) {
+				final Customer customer = new Customer( i );
+				session.persist( customer );
+				final Invoice invoice = new Invoice( i, customer );
+				invoice.lines.add( new InvoiceLine( i, invoice ) );
+				session.persist( invoice );
+			}
+		} );
+	}
+
+	@After
+	public void cleanup() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "delete from InvoiceLine" ).executeUpdate();
+			session.createQuery( "delete from Invoice" ).executeUpdate();
+			session.createQuery( "delete from Customer" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testStreamedEntitiesAreEvicted() {
+		doInHibernate( this::sessionFactory, session -> {
+			final PersistenceContext persistenceContext = ( (SessionImplementor) session ).getPersistenceContext();
+			final List<Invoice> streamed = new ArrayList<>();
+			try ( Stream<Invoice> stream = session.createQuery( "from Invoice order by id", Invoice.class )
+					.setHint( QueryHints.STREAM_EVICTION, true )
+					.stream() ) {
+				stream.forEach( invoice -> {
+					// the lines of the invoice are loaded, its customer is proxied and queued for batch fetching
+					assertEquals( 1, invoice.lines.size() );
+					assertTrue( session.contains( invoice ) );
+					assertEquals( 2, persistenceContext.getNumberOfManagedEntities() );
+					assertEquals( 1, batchLoadableCustomers( session, streamed.size() + 1 ) );
+					for ( Invoice previous : streamed ) {
+						assertFalse( session.contains( previous ) );
+						assertFalse( session.contains( previous.lines.get( 0 ) ) );
+					}
+					streamed.add( invoice );
+				} );
+			}
+			assertEquals( INVOICES, streamed.size() );
+		} );
+	}
+
+	@Test
+	public void testStreamedTuplesAreEvicted() {
+		doInHibernate( this::sessionFactory, session -> {
+			final AtomicInteger count = new AtomicInteger();
+			try ( Stream<Object[]> stream = session.createQuery( "select i, i.id from Invoice i order by i.id" )
+					.setHint( QueryHints.STREAM_EVICTION, true )
+					.stream() ) {
+				stream.forEach( row -> {
+					assertTrue( session.contains( row[0] ) );
+					assertEquals( 2, ( (SessionImplementor) session ).getPersistenceContext().getNumberOfManagedEntities() );
+					count.incrementAndGet();
+				} );
+			}
+			assertEquals( INVOICES, count.get() );
+		} );
+	}
+
+	@Test
+	public void testEntitiesManagedBeforeTheStreamAreKept() {
+		final int paidId = INVOICES / 2;
+		doInHibernate( this::sessionFactory, session -> {
+			final Invoice paid = session.get( Invoice.class, paidId );
+			paid.paid = true;
+			try ( Stream<Invoice> stream = session.createQuery( "from Invoice order by id", Invoice.class )
+					.setHint( QueryHints.STREAM_EVICTION, true )
+					.stream() ) {
+				stream.forEach( invoice -> assertTrue( session.contains( invoice ) ) );
+			}
+			assertTrue( session.contains( paid ) );
+			assertTrue( session.contains( paid.lines.get( 0 ) ) );
+			assertEquals( 2, ( (SessionImplementor) session ).getPersistenceContext().getNumberOfManagedEntities() );
+		} );
+		doInHibernate( this::sessionFactory, session -> {
+			assertTrue( session.get( Invoice.class, paidId ).paid );
+		} );
+	}
+
+	@Test
+	public void testEntitiesManagedBeforeTheStreamAreNotEvictedByCascade() {
+		final int lineId = INVOICES / 2;
+		doInHibernate( this::sessionFactory, session -> {
+			// its invoice is only proxied, and then loaded by the stream, which cascades the eviction to its lines
+			final InvoiceLine line = session.get( InvoiceLine.class, lineId );
+			line.quantity = 5;
+			try ( Stream<Invoice> stream = session.createQuery( "from Invoice order by id", Invoice.class )
+					.setHint( QueryHints.STREAM_EVICTION, true )
+					.stream() ) {
+				stream.forEach( invoice -> assertTrue( session.contains( invoice ) ) );
+			}
+			assertTrue( session.contains( line ) );
+		} );
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( 5, session.get( InvoiceLine.class, lineId ).quantity );
+		} );
+	}
+
+	@Test
+	public void testProxiesAndBatchFetchingQueuedBeforeTheStreamAreKept() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Invoice reference = session.load( Invoice.class, 0 );
+			// queues its customer for batch fetching
+			session.get( Invoice.class, 1 );
+			try ( Stream<Invoice> stream = session.createQuery( "from Invoice order by id", Invoice.class )
+					.setHint( QueryHints.STREAM_EVICTION, true )
+					.stream() ) {
+				stream.forEach( invoice -> assertTrue( session.contains( invoice ) ) );
+			}
+			assertSame( reference, session.load( Invoice.class, 0 ) );
+			assertEquals( 1, batchLoadableCustomers( session, INVOICES ) );
+		} );
+	}
+
+	@Test
+	public void testStreamedEntitiesAreKeptByDefault() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Invoice first = session.get( Invoice.class, 0 );
+			try ( Stream<Invoice> stream = session.createQuery( "from Invoice order by id", Invoice.class ).stream() ) {
+				stream.forEach( invoice -> assertTrue( session.contains( invoice ) ) );
+			}
+			assertSame( first, session.get( Invoice.class, 0 ) );
+			assertEquals( INVOICES * 2, ( (SessionImplementor) session ).getPersistenceContext().getNumberOfManagedEntities() );
+		} );
+	}
+
+	private int batchLoadableCustomers(Session session, int maxId) {
+		int count = 0;
+		for ( int id = 0; id < maxId; id++ ) {
+			final EntityKey key = ( (SessionImplementor) session ).generateEntityKey(
+					id,
+					sessionFactory().getMetamodel().entityPersister( Customer.class )
+			);
+			if ( ( (SessionImplementor) session ).getPersistenceContext().getBatchFetchQueue().containsEntityKey( key ) ) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Entity(name = "Customer")
+	@Table(name = "CUSTOMER")
+	@BatchSize(size = 10)
+	public static class Customer {
+		@Id
+		Integer id;
+
+		Customer() {
+		}
+
+		Customer(Integer id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "Invoice")
+	@Table(name = "INVOICE")
+	public static class Invoice {
+		@Id
+		Integer id;
+
+		boolean paid;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		Customer customer;
+
+		@OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+		List<InvoiceLine> lines = new ArrayList<>();
+
+		Invoice() {
+		}
+
+		Invoice(Integer id, Customer customer) {
+			this.id = id;
+			this.customer = customer;
+		}
+	}
+
+	@Entity(name = "InvoiceLine")
+	@Table(name = "INVOICE_LINE")
+	public static class InvoiceLine {
+		@Id
+		Integer id;
+
+		int quantity;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		Invoice invoice;
+
+		InvoiceLine() {
+		}
+
+		InvoiceLine(Integer id, Invoice invoice) {
+			this.id = id;
+			this.invoice = invoice;
+		}
+	}
+}
@@ -6,6 +6,8 @@
  */
 package org.hibernate.cache.jcache;
 
+import java.util.Collection;
+import java.util.Map;
 import javax.cache.Cache;
 
 import org.hibernate.cache.CacheException;
@@ -31,6 +33,16 @@ public class JCacheGeneralDataRegion extends JCacheRegion implements GeneralData
 		cache.put( key, value );
 	}
 
+	@Override
+	public Map<Object, Object> getAll(SharedSessionContractImplementor session, Collection<?> keys) throws CacheException {
+		return getAll( keys );
+	}
+
+	@Override
+	public void putAll(SharedSessionContractImplementor session, Map<?, ?> items) throws CacheException {
+		cache.putAll( items );
+	}
+
 	@Override
 	public void evict(Object key) throws CacheException {
 		cache.remove( key );
@@ -6,8 +6,11 @@
  */
 package org.hibernate.cache.jcache;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import javax.cache.Cache;
 
 import org.hibernate.cache.CacheException;
@@ -39,6 +42,18 @@ public class JCacheRegion implements Region {
 		return cache.containsKey( key );
 	}
 
+	/**
+	 * Gets several entries with a single {@link Cache#getAll} call.
+	 *
+	 * @param keys The keys of the entries
+	 * @return The entries found, by key
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<Object, Object> getAll(Collection<?> keys) {
+		final Set<Object> keySet = keys instanceof Set ? (Set<Object>) keys : new HashSet<Object>( keys );
+		return cache.getAll( keySet );
+	}
+
 	public long getSizeInMemory() {
 		return -1;
 	}
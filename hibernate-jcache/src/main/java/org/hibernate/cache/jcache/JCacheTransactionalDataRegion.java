@@ -12,13 +12,13 @@ import javax.cache.Cache;
 
 import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.cache.spi.CacheDataDescription;
-import org.hibernate.cache.spi.TransactionalDataRegion;
 import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.support.SoftLockableDataRegion;
 
 /**
  * @author Alex Snaps
  */
-public class JCacheTransactionalDataRegion extends JCacheRegion implements TransactionalDataRegion {
+public class JCacheTransactionalDataRegion extends JCacheRegion implements SoftLockableDataRegion {
 
 	private static final Set<AccessType> SUPPORTED_ACCESS_TYPES
 			= EnumSet.of( AccessType.READ_ONLY, AccessType.NONSTRICT_READ_WRITE, AccessType.READ_WRITE );
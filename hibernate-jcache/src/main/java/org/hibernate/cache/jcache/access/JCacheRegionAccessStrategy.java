@@ -6,6 +6,9 @@
  */
 package org.hibernate.cache.jcache.access;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.jcache.JCacheTransactionalDataRegion;
@@ -32,6 +35,12 @@ abstract class JCacheRegionAccessStrategy<R extends JCacheTransactionalDataRegio
 		return region.get( key );
 	}
 
+	@Override
+	public Map<Object, Object> getAll(SharedSessionContractImplementor session, Collection<?> keys, long txTimestamp)
+			throws CacheException {
+		return region.getAll( keys );
+	}
+
 	@Override
 	public boolean putFromLoad(SharedSessionContractImplementor session, Object key, Object value, long txTimestamp, Object version) throws CacheException {
 		final SessionFactoryOptions options = region.getSessionFactoryOptions();
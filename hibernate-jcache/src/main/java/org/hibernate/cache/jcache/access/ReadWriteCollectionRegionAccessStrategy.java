@@ -10,6 +10,7 @@ package org.hibernate.cache.jcache.access;
 import org.hibernate.cache.internal.DefaultCacheKeysFactory;
 import org.hibernate.cache.jcache.JCacheCollectionRegion;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccessStrategy;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.persister.collection.CollectionPersister;
 
@@ -17,7 +18,7 @@ import org.hibernate.persister.collection.CollectionPersister;
  * @author Alex Snaps
  */
 public class ReadWriteCollectionRegionAccessStrategy
-		extends AbstractReadWriteRegionAccessStrategy<JCacheCollectionRegion>
+		extends AbstractReadWriteAccessStrategy<JCacheCollectionRegion>
 		implements CollectionRegionAccessStrategy {
 
 	public ReadWriteCollectionRegionAccessStrategy(JCacheCollectionRegion jCacheCollectionRegion) {
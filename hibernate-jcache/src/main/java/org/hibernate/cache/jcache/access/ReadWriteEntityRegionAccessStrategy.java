@@ -11,6 +11,7 @@ import org.hibernate.cache.internal.DefaultCacheKeysFactory;
 import org.hibernate.cache.jcache.JCacheEntityRegion;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccessStrategy;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.persister.entity.EntityPersister;
@@ -19,7 +20,7 @@ import org.hibernate.persister.entity.EntityPersister;
  * @author Alex Snaps
  */
 public class ReadWriteEntityRegionAccessStrategy
-		extends AbstractReadWriteRegionAccessStrategy<JCacheEntityRegion>
+		extends AbstractReadWriteAccessStrategy<JCacheEntityRegion>
 		implements EntityRegionAccessStrategy {
 
 
@@ -34,7 +35,7 @@ public class ReadWriteEntityRegionAccessStrategy
 
 	@Override
 	public boolean afterInsert(SharedSessionContractImplementor session, Object key, Object value, Object version) throws CacheException {
-		return region.putIfAbsent( key, new Item(value, version, region.nextTimestamp(), nextItemId() ));
+		return afterInsertItem( key, value, version );
 	}
 
 	@Override
@@ -46,28 +47,7 @@ public class ReadWriteEntityRegionAccessStrategy
 	@Override
 	public boolean afterUpdate(SharedSessionContractImplementor session, Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock)
 			throws CacheException {
-		while (true) {
-			Lockable item = (Lockable) region.get( key );
-
-			if ( item != null && item.isUnlockable( lock ) ) {
-				Lock lockItem = (Lock) item;
-				if ( lockItem.wasLockedConcurrently() ) {
-					if (region.replace( key, lockItem, lockItem.unlock( region.nextTimestamp() ))) {
-						return false;
-					}
-				}
-				else {
-					if (region.replace( key, lockItem, new Item(value, currentVersion, region.nextTimestamp(), nextItemId() ))) {
-						return true;
-					}
-				}
-			}
-			else {
-				handleMissingLock( key, item );
-				return false;
-			}
-
-		}
+		return afterUpdateItem( key, value, currentVersion, lock );
 	}
 
 	@Override
@@ -12,6 +12,7 @@ import org.hibernate.cache.internal.DefaultCacheKeysFactory;
 import org.hibernate.cache.jcache.JCacheNaturalIdRegion;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccessStrategy;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.persister.entity.EntityPersister;
 
@@ -19,7 +20,7 @@ import org.hibernate.persister.entity.EntityPersister;
  * @author Alex Snaps
  */
 public class ReadWriteNaturalIdRegionAccessStrategy
-		extends AbstractReadWriteRegionAccessStrategy<JCacheNaturalIdRegion>
+		extends AbstractReadWriteAccessStrategy<JCacheNaturalIdRegion>
 		implements NaturalIdRegionAccessStrategy {
 
 	public ReadWriteNaturalIdRegionAccessStrategy(JCacheNaturalIdRegion jCacheNaturalIdRegion) {
@@ -33,7 +34,7 @@ public class ReadWriteNaturalIdRegionAccessStrategy
 
 	@Override
 	public boolean afterInsert(SharedSessionContractImplementor session, Object key, Object value) throws CacheException {
-		return region.putIfAbsent( key, new Item( value, null, region.nextTimestamp(), nextItemId() ));
+		return afterInsertItem( key, value, null );
 	}
 
 	@Override
@@ -45,28 +46,7 @@ public class ReadWriteNaturalIdRegionAccessStrategy
 	@Override
 	public boolean afterUpdate(SharedSessionContractImplementor session, Object key, Object value, SoftLock lock)
 			throws CacheException {
-		while (true) {
-			Lockable item = (Lockable) region.get( key );
-
-			if ( item != null && item.isUnlockable( lock ) ) {
-				final Lock lockItem = (Lock) item;
-				if ( lockItem.wasLockedConcurrently() ) {
-					if (region.replace( key, lockItem, lockItem.unlock( region.nextTimestamp() ) )) {
-						return false;
-					}
-				}
-				else {
-					if (region.replace( key, lockItem, new Item(value, null, region.nextTimestamp(), nextItemId() ))) {
-						return true;
-					}
-				}
-			}
-			else {
-				handleMissingLock( key, item );
-				return false;
-			}
-
-		}
+		return afterUpdateItem( key, value, null, lock );
 	}
 
 	@Override
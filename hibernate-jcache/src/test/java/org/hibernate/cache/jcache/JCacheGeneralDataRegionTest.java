@@ -6,6 +6,8 @@
  */
 package org.hibernate.cache.jcache;
 
+import java.util.Collections;
+import java.util.HashSet;
 import javax.cache.Cache;
 import org.hibernate.engine.spi.SessionImplementor;
 
@@ -40,6 +42,18 @@ public class JCacheGeneralDataRegionTest {
 		verify( region.getCache() ).put( "foo", "bar" );
 	}
 
+	@Test
+	public void testDelegatesGetAllToCache() {
+		region.getAll( Mockito.mock(SessionImplementor.class), Collections.singletonList( "foo" ) );
+		verify( region.getCache() ).getAll( new HashSet<Object>( Collections.singletonList( "foo" ) ) );
+	}
+
+	@Test
+	public void testDelegatesPutAllToCache() {
+		region.putAll( Mockito.mock(SessionImplementor.class), Collections.singletonMap( "foo", "bar" ) );
+		verify( region.getCache() ).putAll( Collections.singletonMap( "foo", "bar" ) );
+	}
+
 	@Test
 	public void testDelegatesEvictKeyToCache() {
 		region.evict( "foo" );
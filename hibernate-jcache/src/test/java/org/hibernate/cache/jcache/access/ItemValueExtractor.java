@@ -7,12 +7,13 @@
 package org.hibernate.cache.jcache.access;
 
 import org.hibernate.cache.jcache.JCacheTransactionalDataRegion;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccessStrategy;
 
 
 /**
  * @author Alex Snaps
  */
-public class ItemValueExtractor extends AbstractReadWriteRegionAccessStrategy<JCacheTransactionalDataRegion> {
+public class ItemValueExtractor extends AbstractReadWriteAccessStrategy<JCacheTransactionalDataRegion> {
 
 
 	/**
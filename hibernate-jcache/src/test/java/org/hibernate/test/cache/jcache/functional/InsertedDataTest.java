@@ -180,7 +180,7 @@ public class InsertedDataTest extends BaseNonConfigCoreFunctionalTestCase {
 		Map cacheMap = sessionFactory().getStatistics().getSecondLevelCacheStatistics( "item" ).getEntries();
 		assertEquals( 1, cacheMap.size() );
 		Object lock = cacheMap.values().iterator().next();
-		assertEquals( "org.hibernate.cache.jcache.access.AbstractReadWriteRegionAccessStrategy$Lock", lock.getClass().getName() );
+		assertEquals( "org.hibernate.cache.spi.support.AbstractReadWriteAccessStrategy$Lock", lock.getClass().getName() );
 
 		s = openSession();
 		s.beginTransaction();